@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+#
+# Compara el throughput y la latencia p99 de la aplicación con hilos de plataforma y con hilos virtuales.
+# Levanta el JAR una vez por modo, ejecuta la misma carga con `hey` y deja los reportes en $OUT.
+#
+# Requisitos: Java 21 (los hilos virtuales no se activan en versiones anteriores), curl y hey
+# (https://github.com/rakyll/hey). Generar el JAR antes con `./gradlew bootJar`.
+#
+# Uso: CONCURRENCY=2000 REQUESTS=400000 scripts/load-compare.sh
+set -euo pipefail
+
+JAR=${JAR:-build/libs/calculateMaxIntegerInclusionCloud-0.0.1-SNAPSHOT.jar}
+CONCURRENCY=${CONCURRENCY:-1000}
+REQUESTS=${REQUESTS:-200000}
+WARMUP=${WARMUP:-15s}
+PORT=${PORT:-8080}
+OUT=${OUT:-build/reports/load}
+BASE_URL="http://localhost:${PORT}/api/v1"
+BODY='{"x":7,"y":5,"n":12345}'
+
+command -v hey >/dev/null || { echo "hey no esta instalado: https://github.com/rakyll/hey" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "No se encontro $JAR, ejecutar ./gradlew bootJar" >&2; exit 1; }
+mkdir -p "$OUT"
+
+APP_PID=""
+stop_app() {
+  if [ -n "$APP_PID" ]; then
+    kill "$APP_PID" 2>/dev/null || true
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=""
+  fi
+}
+trap stop_app EXIT
+
+run_mode() {
+  local mode=$1 virtual=$2
+  echo "== Modo $mode (spring.threads.virtual.enabled=$virtual)"
+  VIRTUAL_THREADS_ENABLED=$virtual java -jar "$JAR" \
+    --server.port="$PORT" \
+    --logging.level.root=WARN \
+    --logging.level.org.hibernate.SQL=WARN \
+    --logging.level.org.hibernate.type.descriptor.sql=WARN \
+    > "$OUT/$mode-app.log" 2>&1 &
+  APP_PID=$!
+  until curl -sf "$BASE_URL/api-docs" > /dev/null; do sleep 1; done
+
+  hey -z "$WARMUP" -c 100 -m POST -T application/json -d "$BODY" "$BASE_URL/operation" > /dev/null
+  hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST -T application/json -d "$BODY" "$BASE_URL/operation" > "$OUT/$mode-calculate.txt"
+  hey -n "$REQUESTS" -c "$CONCURRENCY" "$BASE_URL/operation?limit=100" > "$OUT/$mode-results.txt"
+  stop_app
+}
+
+summary() {
+  local report=$1
+  local rps p99
+  rps=$(awk '/Requests\/sec/ {print $2}' "$report")
+  p99=$(awk '/ 99% in/ {print $3 * 1000}' "$report")
+  printf "%-10s %-22s %12s %12s\n" "$2" "$3" "$rps" "$p99"
+}
+
+run_mode platform false
+run_mode virtual true
+
+printf "\n%-10s %-22s %12s %12s\n" "Modo" "Endpoint" "Req/s" "p99 (ms)"
+for mode in platform virtual; do
+  summary "$OUT/$mode-calculate.txt" "$mode" "POST /operation"
+  summary "$OUT/$mode-results.txt" "$mode" "GET /operation"
+done
@@ -0,0 +1,78 @@
+package com.inclusioncloud.maxinteger.domain.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks for {@link CongruenceSolverService}: solving a system whose plan is cached, building the plan
+ * for every system, and the client-side approach it replaces, which calculates the maximum k of the largest divisor
+ * with the kernel of {@link OperationService} and walks down from it until every other constraint is satisfied.
+ * Every system has {@link #constraints} coprime divisors, so its solutions are spread by their product.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CongruenceSolverServiceBenchmark {
+
+    private static final long[] PRIMES = {101L, 103L, 107L, 109L, 113L, 127L};
+    private static final int SYSTEMS = 1_024;
+
+    @Param({"2", "3", "4"})
+    public int constraints;
+
+    private final CongruenceSolverService solver = new CongruenceSolverService();
+    private final OperationService service = new OperationService();
+
+    private long[] x;
+    private long[][] y;
+    private long[] n;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        x = new long[constraints];
+        System.arraycopy(PRIMES, 0, x, 0, constraints);
+        y = new long[SYSTEMS][constraints];
+        n = new long[SYSTEMS];
+        for (int i = 0; i < SYSTEMS; i++) {
+            for (int j = 0; j < constraints; j++) {
+                y[i][j] = random.nextLong(0, x[j]);
+            }
+            n[i] = random.nextLong(1_000_000_000L, Integer.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public long solveCachedPlan() {
+        int i = index++ & (SYSTEMS - 1);
+        return solver.solveMaxK(x, y[i], n[i]);
+    }
+
+    @Benchmark
+    public long solveNewPlan() {
+        int i = index++ & (SYSTEMS - 1);
+        return new CongruencePlan(x).solve(y[i], n[i]);
+    }
+
+    @Benchmark
+    public long intersectWithKernel() {
+        int i = index++ & (SYSTEMS - 1);
+        int last = constraints - 1;
+        for (long k = service.calculateMaxK(x[last], y[i][last], n[i]); k >= 0; k -= x[last]) {
+            boolean satisfied = true;
+            for (int j = 0; j < last && satisfied; j++) {
+                satisfied = k % x[j] == y[i][j];
+            }
+            if (satisfied) {
+                return k;
+            }
+        }
+        return -1L;
+    }
+}
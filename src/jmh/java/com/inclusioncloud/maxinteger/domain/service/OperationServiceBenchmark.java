@@ -0,0 +1,122 @@
+package com.inclusioncloud.maxinteger.domain.service;
+
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks for {@link OperationService}: the primitive kernel, the {@link Operation}
+ * based API that delegates to it, the bulk kernel used by the batch endpoint and a sweep over
+ * consecutive values of n, either through the kernel or through the incremental {@link MaxKSweep}.
+ * The kernel is also measured near the largest long, where it leaves the fast path, and against the
+ * {@link BigInteger} mode, both when it dispatches to the kernel and when the values need 128 bits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationServiceBenchmark {
+
+    private static final int BATCH_SIZE = 1_024;
+
+    private final OperationService service = new OperationService();
+
+    private long[] x;
+    private long[] y;
+    private long[] n;
+    private Operation[] operations;
+    private long[] largeN;
+    private BigInteger[] wideX;
+    private BigInteger[] wideY;
+    private BigInteger[] wideN;
+    private BigInteger[] hugeN;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        x = new long[BATCH_SIZE];
+        y = new long[BATCH_SIZE];
+        n = new long[BATCH_SIZE];
+        operations = new Operation[BATCH_SIZE];
+        largeN = new long[BATCH_SIZE];
+        wideX = new BigInteger[BATCH_SIZE];
+        wideY = new BigInteger[BATCH_SIZE];
+        wideN = new BigInteger[BATCH_SIZE];
+        hugeN = new BigInteger[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            x[i] = random.nextLong(1, Integer.MAX_VALUE);
+            y[i] = random.nextLong(0, x[i]);
+            n[i] = random.nextLong(y[i], Integer.MAX_VALUE);
+            operations[i] = new Operation(x[i], y[i], n[i], null);
+            largeN[i] = Long.MAX_VALUE - random.nextLong(0, y[i] + 1);
+            wideX[i] = BigInteger.valueOf(x[i]);
+            wideY[i] = BigInteger.valueOf(y[i]);
+            wideN[i] = BigInteger.valueOf(n[i]);
+            hugeN[i] = BigInteger.valueOf(n[i]).shiftLeft(Long.SIZE).add(BigInteger.valueOf(random.nextLong(0, Long.MAX_VALUE)));
+        }
+    }
+
+    @Benchmark
+    public long calculateMaxKPrimitive() {
+        int i = index++ & (BATCH_SIZE - 1);
+        return service.calculateMaxK(x[i], y[i], n[i]);
+    }
+
+    @Benchmark
+    public long calculateMaxKFullRange() {
+        int i = index++ & (BATCH_SIZE - 1);
+        return service.calculateMaxK(x[i], y[i], largeN[i]);
+    }
+
+    @Benchmark
+    public BigInteger calculateMaxKBigIntegerDispatched() {
+        int i = index++ & (BATCH_SIZE - 1);
+        return service.calculateMaxK(wideX[i], wideY[i], wideN[i]);
+    }
+
+    @Benchmark
+    public BigInteger calculateMaxKBigIntegerWide() {
+        int i = index++ & (BATCH_SIZE - 1);
+        return service.calculateMaxK(wideX[i], wideY[i], hugeN[i]);
+    }
+
+    @Benchmark
+    public Long calculateMaxKOperation() {
+        int i = index++ & (BATCH_SIZE - 1);
+        return service.calculateMaxK(operations[i]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void calculateMaxKBatch(Blackhole blackhole) {
+        blackhole.consume(service.calculateMaxKBatch(x, y, n));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long sweepWithKernel() {
+        long sum = 0;
+        for (long i = 0; i < BATCH_SIZE; i++) {
+            sum += service.calculateMaxK(x[0], y[0], n[0] + i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long sweepIncremental() {
+        long sum = 0;
+        MaxKSweep sweep = service.sweepMaxK(x[0], y[0], n[0], n[0] + BATCH_SIZE - 1, 1L);
+        while (sweep.next()) {
+            sum += sweep.maxK();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,95 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.h2;
+
+import com.inclusioncloud.maxinteger.InclusionCloudMaxIntegerApplication;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link OperationH2Adapter} against the in-memory H2 database configured by the
+ * application. The table is filled with {@link #rows} operations before measuring, so the cost of
+ * {@code save} and {@code getAll} can be compared as the history grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class OperationH2AdapterBenchmark {
+
+    private static final int LOAD_CHUNK = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private OperationH2Adapter adapter;
+    private Operation operation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = startContext();
+        adapter = context.getBean(OperationH2Adapter.class);
+        context.getBean(OperationH2Repository.class).deleteAllInBatch();
+        load(adapter, rows);
+        operation = new Operation(7L, 5L, 12345L, 12339L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Operation save() {
+        return adapter.save(operation);
+    }
+
+    @Benchmark
+    public List<Operation> getAll() {
+        return adapter.getAll();
+    }
+
+    /**
+     * Starts the application without the web layer and with SQL logging turned off, so only the
+     * persistence path is measured.
+     *
+     * @return The started application context.
+     */
+    static ConfigurableApplicationContext startContext() {
+        return new SpringApplicationBuilder(InclusionCloudMaxIntegerApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql=WARN");
+    }
+
+    /**
+     * Fills the operations table through the adapter in chunks of {@link #LOAD_CHUNK} rows.
+     *
+     * @param adapter The adapter used to insert the rows.
+     * @param rows The number of rows to insert.
+     */
+    static void load(OperationH2Adapter adapter, int rows) {
+        List<Operation> chunk = new ArrayList<>(LOAD_CHUNK);
+        for (int i = 0; i < rows; i++) {
+            long n = 1_000L + i;
+            chunk.add(new Operation(7L, 5L, n, n - Math.floorMod(n - 5L, 7L)));
+            if (chunk.size() == LOAD_CHUNK) {
+                adapter.saveAll(chunk);
+                chunk = new ArrayList<>(LOAD_CHUNK);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            adapter.saveAll(chunk);
+        }
+    }
+}
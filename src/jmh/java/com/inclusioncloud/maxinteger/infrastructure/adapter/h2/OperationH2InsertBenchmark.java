@@ -0,0 +1,70 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.h2;
+
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of {@link OperationH2Adapter} at {@link #ROWS} rows per invocation, reported as
+ * rows per second. {@code saveOneByOne} inserts each row in its own transaction, like one POST per
+ * operation, while {@code saveAllBatched} goes through {@link OperationH2Adapter#saveAll(List)}, which
+ * relies on pooled sequence ids and JDBC batch inserts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class OperationH2InsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int SAVE_ALL_CHUNK = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private OperationH2Adapter adapter;
+    private OperationH2Repository repository;
+    private List<Operation> operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = OperationH2AdapterBenchmark.startContext();
+        adapter = context.getBean(OperationH2Adapter.class);
+        repository = context.getBean(OperationH2Repository.class);
+        operations = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long n = 1_000L + i;
+            operations.add(new Operation(7L, 5L, n, n - Math.floorMod(n - 5L, 7L)));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTable() {
+        repository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void saveOneByOne() {
+        for (Operation operation : operations) {
+            adapter.save(operation);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void saveAllBatched() {
+        for (int from = 0; from < ROWS; from += SAVE_ALL_CHUNK) {
+            adapter.saveAll(operations.subList(from, from + SAVE_ALL_CHUNK));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.h2.models;
+
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks for the conversions between {@link Operation} and {@link OperationEntity}
+ * performed on every save and on every row read from the database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationEntityBenchmark {
+
+    private Operation domain;
+    private OperationEntity entity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        domain = new Operation(7L, 5L, 12345L, 12339L);
+        entity = OperationEntity.fromDomain(domain);
+        entity.setId(1L);
+    }
+
+    @Benchmark
+    public OperationEntity fromDomain() {
+        return OperationEntity.fromDomain(domain);
+    }
+
+    @Benchmark
+    public Operation toDomain() {
+        return entity.toDomain();
+    }
+}
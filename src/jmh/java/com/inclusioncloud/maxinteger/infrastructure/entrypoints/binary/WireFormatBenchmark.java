@@ -0,0 +1,123 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationBatchRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU per request of the JSON and binary wire formats of the operation endpoints: reading a single and a
+ * batch request and writing a single result and a history page of {@link #results} operations. The JSON side
+ * uses an {@link ObjectMapper} configured with the same defaults as Spring MVC. The size of the message read
+ * or written by each benchmark is reported through {@link WireBytes} as the {@code bytes} secondary result, so
+ * bytes on the wire appear next to the timings in the JMH results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    /**
+     * Size of the message handled by the last invocation, published by JMH as the {@code bytes} counter of
+     * each benchmark. The value is assigned, not accumulated, so it does not depend on the number of operations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+        public long bytes;
+    }
+
+    @Param({"1", "100", "1000"})
+    public int results;
+
+    private ObjectMapper objectMapper;
+    private byte[] jsonRequest;
+    private byte[] binaryRequest;
+    private byte[] jsonBatchRequest;
+    private byte[] binaryBatchRequest;
+    private OperationResponse singleResponse;
+    private OperationResponse pageResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Operation> operations = new ArrayList<>(results);
+        List<Map<String, Long>> triples = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            operations.add(new Operation(1_000L + i, 7L, 5L, 12345L + i, 12339L + i));
+            triples.add(Map.of("x", 7L, "y", 5L, "n", 12345L + i));
+        }
+        jsonRequest = objectMapper.writeValueAsBytes(Map.of("x", 7L, "y", 5L, "n", 12345L));
+        binaryRequest = OperationBinaryCodec.encodeRequest(7L, 5L, 12345L);
+        jsonBatchRequest = objectMapper.writeValueAsBytes(Map.of("operations", triples));
+        binaryBatchRequest = OperationBinaryCodec.encodeBatchRequest(operations);
+        singleResponse = OperationResponse.of(operations.get(0), HttpStatus.CREATED);
+        pageResponse = OperationResponse.of(new OperationPage(operations, operations.get(results - 1).getId()), HttpStatus.OK);
+    }
+
+    @Benchmark
+    public OperationRequest jsonReadRequest(WireBytes wire) throws IOException {
+        wire.bytes = jsonRequest.length;
+        return objectMapper.readValue(jsonRequest, OperationRequest.class);
+    }
+
+    @Benchmark
+    public OperationRequest binaryReadRequest(WireBytes wire) {
+        wire.bytes = binaryRequest.length;
+        return OperationBinaryCodec.decodeRequest(binaryRequest);
+    }
+
+    @Benchmark
+    public OperationBatchRequest jsonReadBatchRequest(WireBytes wire) throws IOException {
+        wire.bytes = jsonBatchRequest.length;
+        return objectMapper.readValue(jsonBatchRequest, OperationBatchRequest.class);
+    }
+
+    @Benchmark
+    public OperationBatchRequest binaryReadBatchRequest(WireBytes wire) {
+        wire.bytes = binaryBatchRequest.length;
+        return OperationBinaryCodec.decodeBatchRequest(binaryBatchRequest);
+    }
+
+    @Benchmark
+    public byte[] jsonWriteSingleResult(WireBytes wire) throws IOException {
+        byte[] encoded = objectMapper.writeValueAsBytes(singleResponse);
+        wire.bytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public byte[] binaryWriteSingleResult(WireBytes wire) {
+        byte[] encoded = OperationBinaryCodec.encodeResponse(singleResponse);
+        wire.bytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public byte[] jsonWritePage(WireBytes wire) throws IOException {
+        byte[] encoded = objectMapper.writeValueAsBytes(pageResponse);
+        wire.bytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public byte[] binaryWritePage(WireBytes wire) {
+        byte[] encoded = OperationBinaryCodec.encodeResponse(pageResponse);
+        wire.bytes = encoded.length;
+        return encoded;
+    }
+}
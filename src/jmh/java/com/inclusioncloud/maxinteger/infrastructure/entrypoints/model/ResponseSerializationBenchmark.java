@@ -0,0 +1,60 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks for the Jackson serialization of the response wrappers returned by the
+ * controllers, using an {@link ObjectMapper} configured with the same defaults as Spring MVC.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int results;
+
+    private ObjectMapper objectMapper;
+    private OperationResponse singleResponse;
+    private OperationResponse listResponse;
+    private GenericResponse<Object> genericResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Operation> operations = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            operations.add(new Operation(7L, 5L, 12345L + i, 12339L + i));
+        }
+        singleResponse = OperationResponse.of(Operation.ofResult(12339L), HttpStatus.CREATED);
+        listResponse = OperationResponse.of(operations, HttpStatus.OK);
+        genericResponse = new GenericResponse<>(HttpStatus.OK.value(), HttpStatus.OK.getReasonPhrase(), operations);
+    }
+
+    @Benchmark
+    public byte[] operationResponseSingle() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(singleResponse);
+    }
+
+    @Benchmark
+    public byte[] operationResponseList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listResponse);
+    }
+
+    @Benchmark
+    public byte[] genericResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(genericResponse);
+    }
+}
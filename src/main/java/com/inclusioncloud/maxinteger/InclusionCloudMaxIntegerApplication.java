@@ -2,8 +2,13 @@ package com.inclusioncloud.maxinteger;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * The reactive transaction manager is excluded so the JPA transaction manager stays the only one
+ * used by {@code @Transactional}; the reactive adapter runs each statement in auto-commit.
+ */
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 public class InclusionCloudMaxIntegerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,142 @@
+package com.inclusioncloud.maxinteger.application.admission;
+
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limiter whose limit adapts to the observed latency with an AIMD (additive increase,
+ * multiplicative decrease) algorithm, like the congestion window of TCP.
+ *
+ * <p>A request is admitted with {@link #tryAcquire()} while the number of requests in flight is lower than the
+ * limit, and reports its latency with {@link #release(long, long, boolean)} when it finishes. A request that took
+ * longer than {@code latencyThreshold} or failed multiplies the limit by {@code backoffRatio}; any other request
+ * adds {@code 1 / limit}, so the limit grows by about one per round of requests. The limit only grows while at
+ * least half of it is in use, and it is decreased at most once per round: only a request that started after the
+ * last decrease can decrease it again, so a burst of requests that were already slow is counted once.</p>
+ *
+ * <p>When the database slows down the limit shrinks and the requests above it are rejected immediately instead of
+ * waiting for a thread, which keeps the latency of the admitted requests bounded. A disabled limiter admits every
+ * request and never adjusts its limit.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private boolean decreased;
+    private long decreasedAt;
+
+    /**
+     * Constructs a new {@code AdaptiveConcurrencyLimiter}.
+     *
+     * @param initialLimit     The limit before any latency was observed.
+     * @param minLimit         The lowest value the limit can decrease to.
+     * @param maxLimit         The highest value the limit can increase to.
+     * @param latencyThreshold Latency above which a request decreases the limit.
+     * @param backoffRatio     Factor applied to the limit when it decreases, between 0 and 1.
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio) {
+        this(true, initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+    }
+
+    /**
+     * Constructs a new {@code AdaptiveConcurrencyLimiter} that can be disabled.
+     *
+     * @param enabled          Whether the limiter is active; a disabled limiter admits every request.
+     * @param initialLimit     The limit before any latency was observed.
+     * @param minLimit         The lowest value the limit can decrease to.
+     * @param maxLimit         The highest value the limit can increase to.
+     * @param latencyThreshold Latency above which a request decreases the limit.
+     * @param backoffRatio     Factor applied to the limit when it decreases, between 0 and 1.
+     */
+    public AdaptiveConcurrencyLimiter(boolean enabled, int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+    }
+
+    /**
+     * Admits a request if fewer requests than the limit are in flight. An admitted request must call
+     * {@link #release(long, long, boolean)} when it finishes.
+     *
+     * @return {@code true} if the request was admitted, {@code false} if it was rejected.
+     */
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Releases an admitted request and adjusts the limit with its latency.
+     *
+     * @param startNanos The {@link System#nanoTime()} at which the request was admitted.
+     * @param endNanos   The {@link System#nanoTime()} at which the request finished.
+     * @param failed     Whether the request failed, which decreases the limit like a slow request.
+     */
+    public void release(long startNanos, long endNanos, boolean failed) {
+        if (!enabled) {
+            return;
+        }
+        int current = inFlight.getAndDecrement();
+        boolean slow = failed || endNanos - startNanos > latencyThresholdNanos;
+        synchronized (this) {
+            double value = limit;
+            if (slow) {
+                if (!decreased || startNanos - decreasedAt >= 0) {
+                    limit = Math.max(minLimit, value * backoffRatio);
+                    decreased = true;
+                    decreasedAt = endNanos;
+                }
+            } else if (current * 2 >= value) {
+                limit = Math.min(maxLimit, value + 1.0 / value);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the current limit.
+     *
+     * @return The maximum number of requests admitted at the same time.
+     */
+    public double limit() {
+        return limit;
+    }
+
+    /**
+     * Retrieves the number of requests currently admitted.
+     *
+     * @return The number of requests in flight.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Retrieves the number of requests rejected because the limit was reached.
+     *
+     * @return The number of rejected requests.
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
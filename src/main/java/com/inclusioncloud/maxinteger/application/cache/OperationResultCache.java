@@ -0,0 +1,288 @@
+package com.inclusioncloud.maxinteger.application.cache;
+
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, concurrent cache of calculated results keyed by the {@code (x, y, n)} triple. It sits in front of
+ * the primitive kernel of {@code OperationService}: a hit means the triple was already validated and
+ * calculated, so the calculation is skipped entirely.
+ *
+ * <p>The cache is set-associative and stored in primitive arrays: each triple is hashed to a set of
+ * {@code ways} slots, keys are kept unboxed three longs per slot and a full set evicts the slot chosen by the
+ * configured {@link EvictionPolicy}. Each set is guarded by one of a fixed number of lock stripes, so
+ * concurrent requests for different triples rarely contend.</p>
+ *
+ * <p>The cache also remembers when each triple was last persisted. With a non-zero {@code persistTtl},
+ * {@link #persistedRecently(long, long, long)} lets the caller skip the database write of a triple stored
+ * less than {@code persistTtl} ago.</p>
+ */
+public class OperationResultCache {
+
+    /**
+     * Value returned by {@link #get(long, long, long)} when the triple is not cached. No valid result can take
+     * this value, because k is always greater than {@code -x} and {@code x} is a positive long.
+     */
+    public static final long MISS = Long.MIN_VALUE;
+
+    private static final int MAX_LOCK_STRIPES = 256;
+    private static final long EMPTY = 0L;
+    private static final long NEVER = Long.MIN_VALUE;
+
+    /**
+     * Policy used to choose the slot evicted when a set is full.
+     */
+    public enum EvictionPolicy {
+        /** Evicts the slot read or written least recently. */
+        LRU,
+        /** Evicts the slot written first, reads do not change the order. */
+        FIFO
+    }
+
+    private final boolean enabled;
+    private final EvictionPolicy evictionPolicy;
+    private final long persistTtlNanos;
+    private final LongSupplier nanoClock;
+    private final int ways;
+    private final int setMask;
+    private final long[] keys;
+    private final long[] results;
+    private final long[] stamps;
+    private final long[] persistedAt;
+    private final long[] setClocks;
+    private final Object[] locks;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder skippedWrites = new LongAdder();
+
+    /**
+     * Constructs a new {@code OperationResultCache}.
+     *
+     * @param enabled        Whether the cache is active; a disabled cache never hits and never skips a write.
+     * @param size           Maximum number of cached triples, rounded up to a power of two.
+     * @param ways           Number of slots per set, rounded up to a power of two and capped by {@code size}.
+     * @param evictionPolicy The policy used to choose the evicted slot of a full set.
+     * @param persistTtl     How long a persisted triple is not written again; {@link Duration#ZERO} writes every time.
+     */
+    public OperationResultCache(boolean enabled, int size, int ways, EvictionPolicy evictionPolicy, Duration persistTtl) {
+        this(enabled, size, ways, evictionPolicy, persistTtl, System::nanoTime);
+    }
+
+    OperationResultCache(boolean enabled, int size, int ways, EvictionPolicy evictionPolicy, Duration persistTtl, LongSupplier nanoClock) {
+        int capacity = powerOfTwo(enabled ? size : 1);
+        this.enabled = enabled;
+        this.evictionPolicy = evictionPolicy;
+        this.persistTtlNanos = persistTtl.toNanos();
+        this.nanoClock = nanoClock;
+        this.ways = Math.min(powerOfTwo(ways), capacity);
+        int sets = capacity / this.ways;
+        this.setMask = sets - 1;
+        this.keys = new long[capacity * 3];
+        this.results = new long[capacity];
+        this.stamps = new long[capacity];
+        this.persistedAt = new long[capacity];
+        this.setClocks = new long[sets];
+        this.locks = new Object[Math.min(sets, MAX_LOCK_STRIPES)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Indicates whether the cache is active.
+     *
+     * @return {@code true} if results are cached.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached result of a triple.
+     *
+     * @param x The divisor of the triple.
+     * @param y The expected remainder of the triple.
+     * @param n The upper bound of the triple.
+     * @return The cached result, or {@link #MISS} if the triple is not cached.
+     */
+    public long get(long x, long y, long n) {
+        if (!enabled) {
+            return MISS;
+        }
+        int set = set(x, y, n);
+        synchronized (lock(set)) {
+            int slot = find(set, x, y, n);
+            if (slot < 0) {
+                misses.increment();
+                return MISS;
+            }
+            if (evictionPolicy == EvictionPolicy.LRU) {
+                stamps[slot] = ++setClocks[set];
+            }
+            hits.increment();
+            return results[slot];
+        }
+    }
+
+    /**
+     * Caches the result of a triple, evicting a slot of its set if the set is full.
+     *
+     * @param x      The divisor of the triple.
+     * @param y      The expected remainder of the triple.
+     * @param n      The upper bound of the triple.
+     * @param result The calculated result of the triple.
+     */
+    public void put(long x, long y, long n, long result) {
+        if (!enabled) {
+            return;
+        }
+        int set = set(x, y, n);
+        synchronized (lock(set)) {
+            int slot = find(set, x, y, n);
+            if (slot < 0) {
+                slot = victim(set);
+                if (stamps[slot] != EMPTY) {
+                    evictions.increment();
+                }
+                keys[slot * 3] = x;
+                keys[slot * 3 + 1] = y;
+                keys[slot * 3 + 2] = n;
+                persistedAt[slot] = NEVER;
+            }
+            results[slot] = result;
+            stamps[slot] = ++setClocks[set];
+        }
+    }
+
+    /**
+     * Indicates whether a cached triple was persisted less than {@code persistTtl} ago, in which case the
+     * caller can skip writing it again. Skipped writes are counted.
+     *
+     * @param x The divisor of the triple.
+     * @param y The expected remainder of the triple.
+     * @param n The upper bound of the triple.
+     * @return {@code true} if the triple was persisted recently.
+     */
+    public boolean persistedRecently(long x, long y, long n) {
+        if (!enabled || persistTtlNanos <= 0) {
+            return false;
+        }
+        int set = set(x, y, n);
+        synchronized (lock(set)) {
+            int slot = find(set, x, y, n);
+            if (slot < 0 || persistedAt[slot] == NEVER || nanoClock.getAsLong() - persistedAt[slot] >= persistTtlNanos) {
+                return false;
+            }
+            skippedWrites.increment();
+            return true;
+        }
+    }
+
+    /**
+     * Records that a cached triple has just been persisted. Nothing is recorded if the triple is not cached.
+     *
+     * @param x The divisor of the triple.
+     * @param y The expected remainder of the triple.
+     * @param n The upper bound of the triple.
+     */
+    public void markPersisted(long x, long y, long n) {
+        if (!enabled || persistTtlNanos <= 0) {
+            return;
+        }
+        int set = set(x, y, n);
+        synchronized (lock(set)) {
+            int slot = find(set, x, y, n);
+            if (slot >= 0) {
+                persistedAt[slot] = nanoClock.getAsLong();
+            }
+        }
+    }
+
+    /**
+     * Returns the maximum number of cached triples.
+     *
+     * @return The capacity of the cache.
+     */
+    public int capacity() {
+        return enabled ? results.length : 0;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return The count of hits.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups of triples that were not cached.
+     *
+     * @return The count of misses.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of triples evicted to make room for new ones.
+     *
+     * @return The count of evictions.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of database writes skipped because the triple was persisted recently.
+     *
+     * @return The count of skipped writes.
+     */
+    public long skippedWriteCount() {
+        return skippedWrites.sum();
+    }
+
+    private int find(int set, long x, long y, long n) {
+        int first = set * ways;
+        for (int slot = first; slot < first + ways; slot++) {
+            int key = slot * 3;
+            if (stamps[slot] != EMPTY && keys[key] == x && keys[key + 1] == y && keys[key + 2] == n) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int victim(int set) {
+        int first = set * ways;
+        int victim = first;
+        for (int slot = first; slot < first + ways; slot++) {
+            if (stamps[slot] == EMPTY) {
+                return slot;
+            }
+            if (stamps[slot] < stamps[victim]) {
+                victim = slot;
+            }
+        }
+        return victim;
+    }
+
+    private int set(long x, long y, long n) {
+        long hash = x * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ y) * 0xC2B2AE3D27D4EB4FL;
+        hash = (hash ^ n) * 0x165667B19E3779F9L;
+        return (int) (hash ^ (hash >>> 32)) & setMask;
+    }
+
+    private Object lock(int set) {
+        return locks[set & (locks.length - 1)];
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
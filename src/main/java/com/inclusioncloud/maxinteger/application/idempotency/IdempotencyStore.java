@@ -0,0 +1,217 @@
+package com.inclusioncloud.maxinteger.application.idempotency;
+
+
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, concurrent store of the results of recent requests keyed by their {@code Idempotency-Key}. A request
+ * retried with the same key is answered with the result of the first one, so the calculation and its database
+ * write run once per key.
+ *
+ * <p>The first request of a key registers a {@link CompletableFuture} before running; a duplicate that arrives
+ * while it is still running waits on that future for up to {@code waitTimeout} instead of running again. A key
+ * is only remembered for a successful result: when the first request fails its waiters receive the same error
+ * and the key is released, so a later retry runs again. Each key also remembers the request it was first used
+ * with, and reusing it for a different request is rejected.</p>
+ *
+ * <p>Keys expire {@code ttl} after they were first used and at most {@code maxKeys} are kept; keys are evicted in
+ * the order they were registered, which is also the order they expire in. A key whose request is still running
+ * is never evicted to make room, since a retry would run it again; when every remembered key is still running a
+ * new key is rejected instead.</p>
+ */
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final boolean enabled;
+    private final int maxKeys;
+    private final long ttlNanos;
+    private final long waitTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new {@code IdempotencyStore}.
+     *
+     * @param enabled     Whether the store is active; a disabled store runs every request.
+     * @param maxKeys     Maximum number of keys remembered at the same time.
+     * @param ttl         How long a key is remembered after it was first used.
+     * @param waitTimeout Maximum time a duplicate waits for the request that is running with the same key.
+     */
+    public IdempotencyStore(boolean enabled, int maxKeys, Duration ttl, Duration waitTimeout) {
+        this(enabled, maxKeys, ttl, waitTimeout, System::nanoTime);
+    }
+
+    IdempotencyStore(boolean enabled, int maxKeys, Duration ttl, Duration waitTimeout, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        this.ttlNanos = ttl.toNanos();
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Runs a request at most once per key. The first request of a key runs {@code action} and its result is
+     * remembered; a later request with the same key and an equal {@code fingerprint} gets that result without
+     * running {@code action}, waiting for it if the first request is still running.
+     *
+     * @param key         The idempotency key sent by the client.
+     * @param fingerprint The request identified by the key, compared with {@link Object#equals(Object)}.
+     * @param action      The request to run.
+     * @param <T>         The type of the result.
+     * @return The result of the first request of the key.
+     * @throws CustomException If the key was used for a different request, the first request of the key is
+     *                         still running after {@code waitTimeout} or the store is full of running requests;
+     *                         any error of {@code action} is rethrown.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Object fingerprint, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        long now = nanoClock.getAsLong();
+        Entry entry = new Entry(key, fingerprint, now);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, entry)) != null && existing.expiredAt(now, ttlNanos)) {
+            entries.remove(key, existing);
+        }
+        if (existing == null) {
+            order.add(entry);
+            evict(now);
+            if (entries.size() > maxKeys) {
+                reject(entry);
+            }
+            return run(entry, action);
+        }
+
+        if (!existing.fingerprint.equals(fingerprint)) {
+            logger.error("Idempotency key {} reused for a different request", key);
+            throw new CustomException(SPError.IDEMPOTENCY_KEY_REUSED.getErrorCode(), SPError.IDEMPOTENCY_KEY_REUSED.getErrorMessage());
+        }
+        replays.increment();
+        return (T) await(existing);
+    }
+
+    /**
+     * Retrieves the number of keys currently remembered, including the ones whose request is still running.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieves the number of requests answered with the result of an earlier request with the same key.
+     *
+     * @return The number of replays.
+     */
+    public long replayCount() {
+        return replays.sum();
+    }
+
+    /**
+     * Retrieves the number of keys evicted because the store was full, before their TTL expired.
+     *
+     * @return The number of evictions.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private <T> T run(Entry entry, Supplier<T> action) {
+        try {
+            T result = action.get();
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.remove(entry.key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CustomException(SPError.GENERIC_ERROR.getErrorCode(), SPError.GENERIC_ERROR.getErrorMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            logger.error("Idempotency key {} is still in progress after {} ms", entry.key, TimeUnit.NANOSECONDS.toMillis(waitTimeoutNanos));
+            throw new CustomException(SPError.IDEMPOTENCY_REQUEST_IN_PROGRESS.getErrorCode(), SPError.IDEMPOTENCY_REQUEST_IN_PROGRESS.getErrorMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(SPError.IDEMPOTENCY_REQUEST_IN_PROGRESS.getErrorCode(), SPError.IDEMPOTENCY_REQUEST_IN_PROGRESS.getErrorMessage(), e);
+        }
+    }
+
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = order.peek()) != null
+                && (oldest.expiredAt(now, ttlNanos) || entries.get(oldest.key) != oldest)) {
+            if (order.remove(oldest)) {
+                entries.remove(oldest.key, oldest);
+            }
+        }
+
+        Iterator<Entry> candidates = order.iterator();
+        while (entries.size() > maxKeys && candidates.hasNext()) {
+            Entry candidate = candidates.next();
+            if (candidate.result.isDone() && order.remove(candidate) && entries.remove(candidate.key, candidate)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private void reject(Entry entry) {
+        CustomException error = new CustomException(SPError.IDEMPOTENCY_STORE_FULL.getErrorCode(), SPError.IDEMPOTENCY_STORE_FULL.getErrorMessage());
+        order.remove(entry);
+        entries.remove(entry.key, entry);
+        entry.result.completeExceptionally(error);
+        logger.error("Idempotency key {} rejected, the {} remembered keys are still in progress", entry.key, maxKeys);
+        throw error;
+    }
+
+    /**
+     * A key, the request it was first used with and the result of that request.
+     */
+    private static final class Entry {
+        private final String key;
+        private final Object fingerprint;
+        private final long createdAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(String key, Object fingerprint, long createdAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+
+        private boolean expiredAt(long now, long ttlNanos) {
+            return now - createdAt >= ttlNanos;
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.inclusioncloud.maxinteger.application.port.out;
 
+import com.inclusioncloud.maxinteger.config.exception.DataBaseException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The {@code OperationStorageRepository} interface defines the outbound port for
@@ -15,6 +22,12 @@ import java.util.List;
  */
 public interface OperationStorageRepository {
 
+    /**
+     * Number of operations read per page by the default implementation of
+     * {@link #find(OperationQuery, long, int)}.
+     */
+    int FIND_SCAN_PAGE_SIZE = 1000;
+
     /**
      * Persists an {@link Operation} object to the storage mechanism.
      * This method is responsible for saving the result of a calculation.
@@ -25,6 +38,31 @@ public interface OperationStorageRepository {
      */
     Operation save(Operation domain);
 
+    /**
+     * Persists a {@link WideOperation}, whose values do not fit in a long. Wide operations are stored
+     * apart from the 64-bit ones: they are not returned by {@link #getAll()}, {@link #getPage(long, int)},
+     * {@link #forEach(Consumer)} or {@link #find(OperationQuery, long, int)}. The default implementation
+     * rejects them, for storages whose columns only hold 64-bit values.
+     *
+     * @param domain The {@link WideOperation} instance to be saved.
+     * @return The persisted {@link WideOperation} instance, with its identifier.
+     * @throws DataBaseException If the storage can not hold wide operations or the operation can not be saved.
+     */
+    default WideOperation saveWide(WideOperation domain) {
+        throw new DataBaseException(SPError.WIDE_STORAGE_NOT_SUPPORTED.getErrorCode(),
+                "Wide operations are not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Indicates whether this storage can hold {@link WideOperation} instances through
+     * {@link #saveWide(WideOperation)}, so callers can reject them before calculating anything.
+     *
+     * @return {@code true} if wide operations can be saved; the default implementation returns {@code false}.
+     */
+    default boolean supportsWide() {
+        return false;
+    }
+
     /**
      * Retrieves all persisted {@link Operation} objects from the storage mechanism.
      * This method will fetch the complete set of operation results that have been stored.
@@ -34,4 +72,73 @@ public interface OperationStorageRepository {
      */
     List<Operation> getAll();
 
+    /**
+     * Persists a batch of {@link Operation} objects in a single unit of work.
+     * Implementations should store the whole batch atomically, so either every
+     * operation is saved or none is.
+     *
+     * @param domains The {@link Operation} instances to be saved.
+     * @return The persisted {@link Operation} instances, in the same order as received.
+     */
+    List<Operation> saveAll(List<Operation> domains);
+
+    /**
+     * Retrieves a page of persisted {@link Operation} objects ordered by identifier, starting
+     * right after the given identifier. Implementations must seek directly to {@code afterId}
+     * (keyset pagination) so the cost of a page does not depend on how deep it is.
+     *
+     * @param afterId The identifier after which the page starts; {@code 0} for the first page.
+     * @param limit   The maximum number of operations of the page.
+     * @return An {@link OperationPage} with the operations and the cursor of the next page.
+     */
+    OperationPage getPage(long afterId, int limit);
+
+    /**
+     * Hands every persisted {@link Operation} to the given consumer, ordered by identifier.
+     * Implementations must read the storage through a forward-only cursor and must not keep
+     * the operations already handed over, so memory use does not depend on the number of
+     * stored operations.
+     *
+     * @param consumer The consumer receiving each stored {@link Operation}, one at a time.
+     * @return The number of operations handed to the consumer.
+     */
+    long forEach(Consumer<Operation> consumer);
+
+    /**
+     * Retrieves the version of the stored operations, a counter that increases with every successful save
+     * ({@link #save(Operation)}, {@link #saveWide(WideOperation)} and {@link #saveAll(List)}). It only
+     * increases once the saved operations can be read, so a caller that reads the version before the
+     * operations never pairs a version with operations older than it. Versions are only comparable within
+     * the same run of the application.
+     *
+     * @return The current version of the stored operations.
+     */
+    long version();
+
+    /**
+     * Retrieves a page of the persisted {@link Operation} objects matching a query, ordered by
+     * identifier and starting right after the given identifier. The default implementation reads
+     * the stored pages in order and filters them, so its cost grows with the number of operations
+     * skipped; implementations able to seek by value should override it.
+     *
+     * @param query   The {@link OperationQuery} the operations must match.
+     * @param afterId The identifier after which the page starts; {@code 0} for the first page.
+     * @param limit   The maximum number of operations of the page.
+     * @return An {@link OperationPage} with the matching operations and the cursor of the next page.
+     */
+    default OperationPage find(OperationQuery query, long afterId, int limit) {
+        List<Operation> fetched = new ArrayList<>(limit + 1);
+        Long cursor = afterId;
+        while (cursor != null && fetched.size() <= limit) {
+            OperationPage page = getPage(cursor, FIND_SCAN_PAGE_SIZE);
+            for (Operation operation : page.getItems()) {
+                if (query.matches(operation) && fetched.add(operation) && fetched.size() > limit) {
+                    break;
+                }
+            }
+            cursor = page.getNextCursor();
+        }
+        return OperationPage.of(fetched, limit);
+    }
+
 }
@@ -0,0 +1,33 @@
+package com.inclusioncloud.maxinteger.application.port.out;
+
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code ReactiveOperationStorageRepository} interface defines the non-blocking outbound port for
+ * persisting operation results. It is the reactive counterpart of {@link OperationStorageRepository}:
+ * methods return immediately and the storage work happens when the returned publisher is subscribed.
+ *
+ * Implementations must not block the subscribing thread and must honour the demand of the subscriber,
+ * so results can be streamed to slow clients without buffering the whole history.
+ */
+public interface ReactiveOperationStorageRepository {
+
+    /**
+     * Persists an {@link Operation} object to the storage mechanism.
+     *
+     * @param domain The {@link Operation} instance to be saved.
+     * @return A {@link Mono} emitting the persisted {@link Operation}, with the identifier assigned by the storage layer.
+     */
+    Mono<Operation> save(Operation domain);
+
+    /**
+     * Retrieves the persisted {@link Operation} objects whose identifier is greater than the given one,
+     * ordered by identifier. Operations are read from the storage as the subscriber requests them.
+     *
+     * @param afterId The identifier after which the results start; {@code 0} for the whole history.
+     * @return A {@link Flux} emitting the stored operations.
+     */
+    Flux<Operation> findAfter(long afterId);
+}
@@ -0,0 +1,121 @@
+package com.inclusioncloud.maxinteger.application.stats;
+
+
+/**
+ * HyperLogLog sketch estimating the number of distinct 64-bit hashes added to it, using {@code 2^precision}
+ * one-byte registers. The standard error of the estimate is about {@code 1.04 / sqrt(2^precision)}.
+ *
+ * <p>Sketches of the same precision can be merged, so an estimate over several sketches is the estimate of
+ * their union. The sketch is not thread-safe; callers guard it with their own lock.</p>
+ */
+public final class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Constructs a new, empty {@code HyperLogLog}.
+     *
+     * @param precision Number of bits of the hash used to select a register, between 4 and 18.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Adds a hash to the sketch. The hash must be well mixed, every bit is used.
+     *
+     * @param hash The 64-bit hash of the element.
+     */
+    public void add(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Merges another sketch into this one, which then estimates the union of both.
+     *
+     * @param other A sketch of the same precision.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Only sketches of the same precision can be merged");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the precision of the sketch.
+     *
+     * @return The number of bits used to select a register.
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Estimates the number of distinct hashes added to the sketch.
+     *
+     * @return The estimated cardinality.
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Mixes a triple into a 64-bit hash suitable for {@link #add(long)}.
+     *
+     * @param x The divisor of the triple.
+     * @param y The expected remainder of the triple.
+     * @param n The upper bound of the triple.
+     * @return The hash of the triple.
+     */
+    public static long hash(long x, long y, long n) {
+        long hash = mix(x * 0x9E3779B97F4A7C15L);
+        hash = mix(hash ^ y);
+        return mix(hash ^ n);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
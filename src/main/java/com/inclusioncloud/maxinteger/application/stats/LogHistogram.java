@@ -0,0 +1,92 @@
+package com.inclusioncloud.maxinteger.application.stats;
+
+
+/**
+ * Mergeable histogram of non-negative longs with log-linear buckets: values below {@value #SUB_BUCKETS} have
+ * their own bucket and every power of two above is split in {@value #SUB_BUCKETS} equal buckets. Quantiles are
+ * reported as the middle of their bucket, so their relative error is at most {@code 1 / (2 * SUB_BUCKETS)}.
+ *
+ * <p>The histogram uses a fixed {@value #BUCKETS} buckets whatever the range of the values. It is not
+ * thread-safe; callers guard it with their own lock.</p>
+ */
+public final class LogHistogram {
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+
+    /**
+     * Records a value. Negative values are recorded as {@code 0}.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value) {
+        counts[bucket(Math.max(0L, value))]++;
+        total++;
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     *
+     * @param other The histogram to merge.
+     */
+    public void merge(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return The count of values.
+     */
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Returns the approximate value below which the given fraction of the recorded values falls.
+     *
+     * @param quantile The quantile, between {@code 0} and {@code 1}.
+     * @return The middle of the bucket holding the quantile, or {@code 0} if the histogram is empty.
+     */
+    public long quantile(double quantile) {
+        long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long lower = lowerBound(i);
+                return lower + (upperBound(i) - lower) / 2;
+            }
+        }
+        return 0L;
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(bucket + 1) - 1;
+    }
+}
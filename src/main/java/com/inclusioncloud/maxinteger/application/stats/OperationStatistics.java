@@ -0,0 +1,96 @@
+package com.inclusioncloud.maxinteger.application.stats;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationStats;
+import com.inclusioncloud.maxinteger.domain.models.ResultSummary;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the persisted operations, overall and per {@code x}, maintained incrementally as the use
+ * cases persist operations so they never require reading the stored history.
+ *
+ * <p>Per-{@code x} statistics are kept for about {@code maxTrackedX} distinct divisors, each with a single
+ * sketch stripe; operations of other divisors are still part of the overall statistics and are counted as
+ * untracked. On startup the statistics are rebuilt with {@link #rebuild(OperationStorageRepository)}.</p>
+ */
+public class OperationStatistics {
+
+    static final int OVERALL_HLL_PRECISION = 14;
+    static final int PER_X_HLL_PRECISION = 10;
+
+    private final ResultAccumulator overall;
+    private final Map<Long, ResultAccumulator> byX = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+    private final int maxTrackedX;
+
+    /**
+     * Constructs a new, empty {@code OperationStatistics}.
+     *
+     * @param stripes     Number of sketch stripes of the overall statistics.
+     * @param maxTrackedX Maximum number of distinct divisors with their own statistics.
+     */
+    public OperationStatistics(int stripes, int maxTrackedX) {
+        this.overall = new ResultAccumulator(stripes, OVERALL_HLL_PRECISION);
+        this.maxTrackedX = maxTrackedX;
+    }
+
+    /**
+     * Records a persisted operation.
+     *
+     * @param operation The persisted {@link Operation}, with its result.
+     */
+    public void record(Operation operation) {
+        record(operation.getX(), operation.getY(), operation.getN(), operation.getResult());
+    }
+
+    /**
+     * Records a persisted operation from its primitive fields.
+     *
+     * @param x      The divisor of the operation.
+     * @param y      The expected remainder of the operation.
+     * @param n      The upper bound of the operation.
+     * @param result The calculated result of the operation.
+     */
+    public void record(long x, long y, long n, long result) {
+        long hash = HyperLogLog.hash(x, y, n);
+        overall.record(hash, result);
+        ResultAccumulator accumulator = byX.get(x);
+        if (accumulator == null) {
+            accumulator = byX.size() < maxTrackedX
+                    ? byX.computeIfAbsent(x, key -> new ResultAccumulator(1, PER_X_HLL_PRECISION))
+                    : null;
+        }
+        if (accumulator == null) {
+            untracked.increment();
+            return;
+        }
+        accumulator.record(hash, result);
+    }
+
+    /**
+     * Records every operation of the storage. Meant to be called once, before any other operation is recorded.
+     *
+     * @param repository The storage whose operations are recorded.
+     * @return The number of operations recorded.
+     */
+    public long rebuild(OperationStorageRepository repository) {
+        return repository.forEach(this::record);
+    }
+
+    /**
+     * Returns a snapshot of the statistics.
+     *
+     * @return The overall statistics and the statistics of every tracked {@code x}, ordered by {@code x}.
+     */
+    public OperationStats snapshot() {
+        Map<Long, ResultSummary> perX = new TreeMap<>();
+        byX.forEach((x, accumulator) -> perX.put(x, accumulator.summary()));
+        return new OperationStats(overall.summary(), perX, untracked.sum());
+    }
+}
@@ -0,0 +1,90 @@
+package com.inclusioncloud.maxinteger.application.stats;
+
+
+import com.inclusioncloud.maxinteger.domain.models.ResultSummary;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Incremental statistics of a set of calculated results. Count, sum, min and max are kept in striped
+ * counters; the distinct-triple estimate and the quantiles are kept in {@link HyperLogLog} and
+ * {@link LogHistogram} sketches split in stripes chosen by the hash of the triple, each guarded by its own
+ * lock. A summary merges the stripes, so recording never waits for a reader for longer than one stripe.
+ */
+final class ResultAccumulator {
+
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private final int hllPrecision;
+    private final HyperLogLog[] distinct;
+    private final LogHistogram[] histograms;
+
+    /**
+     * Constructs a new, empty {@code ResultAccumulator}.
+     *
+     * @param stripes      Number of sketch stripes, rounded up to a power of two.
+     * @param hllPrecision Precision of the distinct-triple sketches.
+     */
+    ResultAccumulator(int stripes, int hllPrecision) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.hllPrecision = hllPrecision;
+        this.distinct = new HyperLogLog[size];
+        this.histograms = new LogHistogram[size];
+        for (int i = 0; i < size; i++) {
+            distinct[i] = new HyperLogLog(hllPrecision);
+            histograms[i] = new LogHistogram();
+        }
+    }
+
+    /**
+     * Records a calculated result.
+     *
+     * @param tripleHash The hash of the {@code (x, y, n)} triple, see {@link HyperLogLog#hash(long, long, long)}.
+     * @param result     The calculated result.
+     */
+    void record(long tripleHash, long result) {
+        count.increment();
+        sum.add(result);
+        min.accumulate(result);
+        max.accumulate(result);
+        int stripe = (int) tripleHash & (distinct.length - 1);
+        synchronized (distinct[stripe]) {
+            distinct[stripe].add(tripleHash);
+            histograms[stripe].record(result);
+        }
+    }
+
+    /**
+     * Merges the stripes into a summary of the recorded results.
+     *
+     * @return The {@link ResultSummary}; min, max, mean and quantiles are {@code null} if nothing was recorded.
+     */
+    ResultSummary summary() {
+        HyperLogLog mergedDistinct = new HyperLogLog(hllPrecision);
+        LogHistogram mergedHistogram = new LogHistogram();
+        for (int i = 0; i < distinct.length; i++) {
+            synchronized (distinct[i]) {
+                mergedDistinct.merge(distinct[i]);
+                mergedHistogram.merge(histograms[i]);
+            }
+        }
+        long total = count.sum();
+        if (total == 0) {
+            return new ResultSummary(0L, null, null, null, 0L, null, null, null);
+        }
+        long lowest = min.get();
+        long highest = max.get();
+        return new ResultSummary(total, lowest, highest, sum.sum() / total, mergedDistinct.estimate(),
+                clamp(mergedHistogram.quantile(0.5), lowest, highest),
+                clamp(mergedHistogram.quantile(0.9), lowest, highest),
+                clamp(mergedHistogram.quantile(0.99), lowest, highest));
+    }
+
+    private static long clamp(long value, long lowest, long highest) {
+        return Math.max(lowest, Math.min(highest, value));
+    }
+}
@@ -0,0 +1,82 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.OperationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * to handle the calculation of the maximum non-negative integer k for a batch of
+ * {@link Operation} instances. The batch is unpacked into primitive arrays and computed by
+ * the bulk kernel of {@link OperationService}, and the results are persisted in a single
+ * call to {@link OperationStorageRepository#saveAll(List)} and recorded in the {@link OperationStatistics}.
+ */
+public class CalculateBatchUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculateBatchUseCase.class);
+    private final OperationService service;
+    private final OperationStorageRepository repository;
+    private final OperationStatistics statistics;
+
+    /**
+     * Constructs a new instance of {@code CalculateBatchUseCase} with the given domain service
+     * storage repository and statistics.
+     *
+     * @param service    The domain service responsible for performing the calculation logic.
+     * @param repository The storage repository used for persisting operation results.
+     * @param statistics The statistics updated with every persisted operation.
+     */
+    public CalculateBatchUseCase(OperationService service, OperationStorageRepository repository, OperationStatistics statistics) {
+        this.service = service;
+        this.repository = repository;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Performs the calculation of the maximum non-negative integer k for every {@link Operation}
+     * of the batch, persists all the results together and returns them in the same order as received.
+     *
+     * @param domains The {@link Operation} instances containing the input parameters.
+     * @return The persisted {@link Operation} instances with their calculation results.
+     * @throws CustomException If an error occurs during the calculation or data persistence.
+     */
+    public List<Operation> calculate(List<Operation> domains) {
+        try {
+            AuditLog.info(AuditLayer.USE_CASE, AuditAction.CALCULATE_BATCH, domains.size());
+            int size = domains.size();
+            long[] x = new long[size];
+            long[] y = new long[size];
+            long[] n = new long[size];
+            for (int i = 0; i < size; i++) {
+                Operation domain = domains.get(i);
+                x[i] = domain.getX();
+                y[i] = domain.getY();
+                n[i] = domain.getN();
+            }
+
+            long[] results = service.calculateMaxKBatch(x, y, n);
+
+            List<Operation> computed = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                computed.add(new Operation(x[i], y[i], n[i], results[i]));
+            }
+            List<Operation> saved = repository.saveAll(computed);
+            computed.forEach(statistics::record);
+            return saved;
+        } catch (Exception e) {
+            logger.error("Error in CalculateBatchUseCase during calculation", e);
+            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_CALCULATE_BATCH.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_CALCULATE_BATCH.getErrorMessage(), e);
+        }
+    }
+}
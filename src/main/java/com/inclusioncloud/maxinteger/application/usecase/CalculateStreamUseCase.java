@@ -0,0 +1,261 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.MaxKSweep;
+import com.inclusioncloud.maxinteger.domain.service.OperationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * to handle the calculation of an unbounded sequence of operations, one at a time. Each
+ * {@link CalculationStream} opened by this use case computes every {@link Operation} as soon
+ * as it is received and keeps only a fixed-size chunk of pending results in memory, which is
+ * flushed to {@link OperationStorageRepository#saveAll(List)} whenever it fills up and when
+ * the stream is closed. A chunk is released, and recorded in the {@link OperationStatistics},
+ * only once it has been persisted; a chunk that can not be persisted ends the persistence of
+ * the stream and is reported to the caller.
+ * It also runs lazy sweeps over a range of n, optionally persisted through the same chunks.
+ */
+public class CalculateStreamUseCase {
+
+    /**
+     * Number of calculated operations persisted together in a single call to the repository.
+     */
+    public static final int CHUNK_SIZE = 1_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculateStreamUseCase.class);
+    private final OperationService service;
+    private final OperationStorageRepository repository;
+    private final OperationStatistics statistics;
+
+    /**
+     * Constructs a new instance of {@code CalculateStreamUseCase} with the given domain service
+     * storage repository and statistics.
+     *
+     * @param service    The domain service responsible for performing the calculation logic.
+     * @param repository The storage repository used for persisting operation results.
+     * @param statistics The statistics updated with every persisted operation.
+     */
+    public CalculateStreamUseCase(OperationService service, OperationStorageRepository repository, OperationStatistics statistics) {
+        this.service = service;
+        this.repository = repository;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Opens a new calculation stream. The returned stream must be closed once the input is
+     * exhausted so the last chunk of results is persisted.
+     *
+     * @return A new {@link CalculationStream}.
+     */
+    public CalculationStream open() {
+        logger.info("Opening calculation stream in CalculateStreamUseCase");
+        return new CalculationStream();
+    }
+
+    /**
+     * Checks the parameters of a sweep without calculating it, so a caller can reject them before writing any
+     * result.
+     *
+     * @param x      The divisor shared by every operation of the sweep.
+     * @param y      The expected remainder shared by every operation of the sweep.
+     * @param nStart The first n of the sweep.
+     * @param nEnd   The last n of the sweep.
+     * @param step   The distance between two consecutive values of n.
+     * @throws CustomException If the parameters are invalid or a result of the sweep does not fit in a long.
+     */
+    public void validateSweep(long x, long y, long nStart, long nEnd, long step) {
+        service.sweepMaxK(x, y, nStart, nEnd, step);
+    }
+
+    /**
+     * Calculates the maximum non-negative integer k for a fixed x and y and every n from {@code nStart} to
+     * {@code nEnd}, both inclusive, taken every {@code step}. Each result is handed to the consumer as soon as
+     * it is calculated and the sweep is never held in memory. Nothing is persisted.
+     *
+     * @param x        The divisor shared by every operation of the sweep.
+     * @param y        The expected remainder shared by every operation of the sweep.
+     * @param nStart   The first n of the sweep.
+     * @param nEnd     The last n of the sweep.
+     * @param step     The distance between two consecutive values of n.
+     * @param consumer The consumer writing each calculated {@link Operation}.
+     * @return The number of calculated operations.
+     * @throws CustomException If the parameters are invalid or the consumer fails.
+     */
+    public long sweep(long x, long y, long nStart, long nEnd, long step, Consumer<Operation> consumer) {
+        return sweep(x, y, nStart, nEnd, step, null, consumer);
+    }
+
+    /**
+     * Calculates a sweep like {@link #sweep(long, long, long, long, long, Consumer)} and also persists every
+     * delivered result in chunks of {@link #CHUNK_SIZE} through the given {@link CalculationStream}. The caller
+     * owns the stream: it closes it to persist the last chunk, and reads {@link CalculationStream#unpersisted()}
+     * when a chunk fails.
+     *
+     * @param x        The divisor shared by every operation of the sweep.
+     * @param y        The expected remainder shared by every operation of the sweep.
+     * @param nStart   The first n of the sweep.
+     * @param nEnd     The last n of the sweep.
+     * @param step     The distance between two consecutive values of n.
+     * @param stream   The stream persisting the results, opened with {@link #open()}.
+     * @param consumer The consumer writing each calculated {@link Operation}.
+     * @return The number of calculated operations.
+     * @throws CustomException If the parameters are invalid or the consumer fails, or with
+     *                         {@link SPError#OPERATION_USE_CASE_ERROR_STREAM_PERSIST} if a chunk can not be persisted.
+     */
+    public long sweep(long x, long y, long nStart, long nEnd, long step, CalculationStream stream, Consumer<Operation> consumer) {
+        try {
+            MaxKSweep sweep = service.sweepMaxK(x, y, nStart, nEnd, step);
+            long produced = 0;
+            while (sweep.next()) {
+                Operation computed = new Operation(x, y, sweep.n(), sweep.maxK());
+                if (stream != null) {
+                    stream.add(computed);
+                }
+                consumer.accept(computed);
+                produced++;
+            }
+            AuditLog.info(AuditLayer.USE_CASE, AuditAction.SWEEP, produced, stream != null ? produced : 0L);
+            return produced;
+        } catch (CustomException e) {
+            if (e.getErrorCode() == SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode()) {
+                throw e;
+            }
+            throw sweepError(e);
+        } catch (Exception e) {
+            throw sweepError(e);
+        }
+    }
+
+    private CustomException sweepError(Exception e) {
+        logger.error("Error in CalculateStreamUseCase during sweep", e);
+        return new CustomException(SPError.OPERATION_USE_CASE_ERROR_SWEEP.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_SWEEP.getErrorMessage(), e);
+    }
+
+    /**
+     * Stateful calculation session. It is not thread-safe and is meant to be used by the
+     * single thread consuming a request body.
+     */
+    public final class CalculationStream implements AutoCloseable {
+
+        private List<Operation> pending = new ArrayList<>(CHUNK_SIZE);
+        private long processed;
+        private Exception failure;
+
+        private CalculationStream() {
+        }
+
+        /**
+         * Calculates the maximum non-negative integer k for the given {@link Operation} and queues
+         * the result to be persisted with the current chunk.
+         *
+         * @param domain An instance of {@link Operation} containing the input parameters.
+         * @return A new {@link Operation} instance with the input parameters and the calculation result.
+         * @throws CustomException If an error occurs during the calculation, or with
+         *                         {@link SPError#OPERATION_USE_CASE_ERROR_STREAM_PERSIST} if the full chunk could not be persisted.
+         */
+        public Operation calculate(Operation domain) {
+            Operation computed;
+            try {
+                long result = service.calculateMaxK(domain.getX(), domain.getY(), domain.getN());
+                computed = domain.withResult(result);
+            } catch (Exception e) {
+                logger.error("Error in CalculateStreamUseCase during calculation", e);
+                throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_CALCULATE_STREAM.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_CALCULATE_STREAM.getErrorMessage(), e);
+            }
+            add(computed);
+            return computed;
+        }
+
+        /**
+         * Queues an already calculated {@link Operation}, flushing the pending chunk first when it is full. The
+         * operation is only queued once the previous chunk has been persisted.
+         *
+         * @param computed The calculated operation.
+         * @throws CustomException If the full chunk could not be persisted.
+         */
+        private void add(Operation computed) {
+            if (pending.size() >= CHUNK_SIZE) {
+                flush();
+            }
+            pending.add(computed);
+            processed++;
+        }
+
+        /**
+         * Persists the pending chunk of results, if any, and starts a new one. The chunk is kept until
+         * {@link OperationStorageRepository#saveAll(List)} succeeds; when it fails the stream stops persisting and
+         * {@link #unpersisted()} reports how many of the results handed out were not stored.
+         *
+         * @throws CustomException If the pending chunk could not be persisted, or a previous one already failed.
+         */
+        public void flush() {
+            if (failure != null) {
+                throw persistError(failure);
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                repository.saveAll(pending);
+            } catch (Exception e) {
+                failure = e;
+                logger.error("Error in CalculateStreamUseCase persisting a chunk of {} operations", pending.size(), e);
+                throw persistError(e);
+            }
+            pending.forEach(statistics::record);
+            pending = new ArrayList<>(CHUNK_SIZE);
+        }
+
+        /**
+         * Returns the number of calculated operations not persisted yet: the pending chunk, or the chunk that
+         * could not be persisted after a failed {@link #flush()}.
+         *
+         * @return The number of unpersisted operations.
+         */
+        public int unpersisted() {
+            return pending.size();
+        }
+
+        private CustomException persistError(Exception cause) {
+            return new CustomException(SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorMessage(), cause);
+        }
+
+        /**
+         * Returns the number of operations calculated by this stream so far.
+         *
+         * @return The number of processed operations.
+         */
+        public long processed() {
+            return processed;
+        }
+
+        /**
+         * Persists the last chunk of results. A stream whose persistence already failed, and was reported by
+         * {@link #flush()}, is closed without retrying it.
+         *
+         * @throws CustomException If the last chunk could not be persisted.
+         */
+        @Override
+        public void close() {
+            if (failure != null) {
+                logger.warn("Calculation stream closed after {} operations, {} of them not persisted", processed, pending.size());
+                return;
+            }
+            flush();
+            logger.info("Calculation stream closed after {} operations", processed);
+        }
+    }
+}
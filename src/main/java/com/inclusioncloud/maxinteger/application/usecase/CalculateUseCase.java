@@ -1,60 +1,174 @@
 package com.inclusioncloud.maxinteger.application.usecase;
 
 
+import com.inclusioncloud.maxinteger.application.cache.OperationResultCache;
 import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.application.writebehind.OperationWriteBehindQueue;
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
 import com.inclusioncloud.maxinteger.config.exception.CustomException;
 import com.inclusioncloud.maxinteger.config.exception.SPError;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
 import com.inclusioncloud.maxinteger.domain.service.OperationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigInteger;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * to handle the calculation of the maximum non-negative integer k, based on the constraints
  * provided in the {@link Operation}. This class acts as an application service,
  * orchestrating the flow of data between the domain layer and the port interfaces. It
  * utilizes the {@link OperationService} for the core calculation logic and
- * {@link OperationStorageRepository} for persisting the results.
+ * {@link OperationStorageRepository} for persisting the results, either synchronously or,
+ * when the write-behind mode is enabled, through the {@link OperationWriteBehindQueue}.
+ * Repeated triples are answered from the {@link OperationResultCache} and every persisted
+ * operation is recorded in the {@link OperationStatistics}, by the write-behind writer once
+ * its batch is saved when that mode is enabled. The time spent in the calculation
+ * kernel is accumulated here, so the kernel itself is never proxied.
  */
 public class CalculateUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(CalculateUseCase.class);
     private final OperationService service;
     private final OperationStorageRepository repository;
+    private final OperationWriteBehindQueue writeBehindQueue;
+    private final OperationResultCache cache;
+    private final OperationStatistics statistics;
+    private final LongAdder kernelCalls = new LongAdder();
+    private final LongAdder kernelNanos = new LongAdder();
 
     /**
-     * Constructs a new instance of {@code CalculateUseCase} with the given domain service
-     * and storage repository.
+     * Constructs a new instance of {@code CalculateUseCase} with the given domain service,
+     * storage repository, write-behind queue, result cache and statistics.
      *
-     * @param service    The domain service responsible for performing the calculation logic.
-     * @param repository The storage repository used for persisting operation results.
+     * @param service          The domain service responsible for performing the calculation logic.
+     * @param repository       The storage repository used for persisting operation results.
+     * @param writeBehindQueue The queue used for persisting operation results when the write-behind mode is enabled.
+     * @param cache            The cache of calculated results, keyed by the (x, y, n) triple.
+     * @param statistics       The statistics updated with every persisted operation.
      */
-    public CalculateUseCase(OperationService service, OperationStorageRepository repository) {
+    public CalculateUseCase(OperationService service, OperationStorageRepository repository, OperationWriteBehindQueue writeBehindQueue,
+                            OperationResultCache cache, OperationStatistics statistics) {
         this.service = service;
         this.repository = repository;
+        this.writeBehindQueue = writeBehindQueue;
+        this.cache = cache;
+        this.statistics = statistics;
     }
 
     /**
      * Performs the calculation of the maximum non-negative integer k based on the input
-     * parameters x, y, and n provided in the {@link Operation}. This method also
-     * persists the result and returns the updated domain entity.
+     * parameters x, y, and n provided in the {@link Operation}. The calculation runs on the
+     * primitive kernel of {@link OperationService}, the calculated operation is persisted and
+     * only the result is returned; the received {@link Operation} is never modified. In
+     * write-behind mode the result is returned as soon as the operation is queued.
+     *
+     * <p>A triple found in the {@link OperationResultCache} skips the calculation and its
+     * validation, and a triple persisted less than the configured TTL ago is not written again. In
+     * write-behind mode the triple is only marked as persisted once its batch has been written.</p>
      *
      * @param domain An instance of {@link Operation} containing the input parameters.
-     * @return The updated {@link Operation} instance with the calculation result.
+     * @return A new {@link Operation} instance with the calculation result.
      * @throws CustomException If an error occurs during the calculation or data persistence.
      */
     public Operation calculate(Operation domain) {
         try {
-            logger.info("Calculating in CalculateUseCase with the following data: {}", domain);
-            Long result = service.calculateMaxK(domain);
-            domain.setResult(result);
-            Operation savedDomain = repository.save(domain);
-            return Operation.builder()
-                    .result(savedDomain.getResult())
-                    .build();
+            long x = domain.getX();
+            long y = domain.getY();
+            long n = domain.getN();
+            long result = cache.get(x, y, n);
+            if (result == OperationResultCache.MISS) {
+                long start = System.nanoTime();
+                result = service.calculateMaxK(x, y, n);
+                kernelNanos.add(System.nanoTime() - start);
+                kernelCalls.increment();
+                cache.put(x, y, n, result);
+            }
+            if (!cache.persistedRecently(x, y, n)) {
+                persist(domain.withResult(result));
+            }
+            AuditLog.info(AuditLayer.USE_CASE, AuditAction.CALCULATE, x, y, n, result);
+            return Operation.ofResult(result);
         } catch (Exception e) {
             logger.error("Error in CalculateUseCase during calculation", e);
-            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorMessage(), e.getCause());
+            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Performs the calculation of the maximum non-negative integer k for an operation whose values do
+     * not fit in a long. The calculation is dispatched by {@link OperationService} to the widest mode it
+     * needs, the calculated operation is persisted synchronously and only the result is returned.
+     *
+     * <p>Wide operations bypass the {@link OperationResultCache}, the write-behind queue and the
+     * {@link OperationStatistics}, which work on 64-bit values.</p>
+     *
+     * @param domain An instance of {@link WideOperation} containing the input parameters.
+     * @return A new {@link WideOperation} instance with the calculation result.
+     * @throws CustomException If the storage does not hold wide operations, or an error occurs during the
+     *                         calculation or data persistence.
+     */
+    public WideOperation calculateWide(WideOperation domain) {
+        if (!repository.supportsWide()) {
+            throw wideNotSupported();
+        }
+        try {
+            BigInteger result = service.calculateMaxK(domain.getX(), domain.getY(), domain.getN());
+            repository.saveWide(domain.withResult(result));
+            AuditLog.info(AuditLayer.USE_CASE, AuditAction.CALCULATE_WIDE, domain.getX().bitLength(), domain.getY().bitLength(),
+                    domain.getN().bitLength(), result.bitLength());
+            return WideOperation.ofResult(result);
+        } catch (Exception e) {
+            logger.error("Error in CalculateUseCase during wide calculation", e);
+            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Indicates whether the configured storage holds wide operations, so {@link #calculateWide(WideOperation)}
+     * can be called.
+     *
+     * @return {@code true} if wide operations can be calculated and persisted.
+     */
+    public boolean supportsWide() {
+        return repository.supportsWide();
+    }
+
+    /**
+     * Returns the number of successful calculations run on the primitive kernel, cache misses only.
+     *
+     * @return The count of kernel calculations.
+     */
+    public long kernelCount() {
+        return kernelCalls.sum();
+    }
+
+    /**
+     * Returns the total time spent in the primitive kernel by the calculations counted in {@link #kernelCount()}.
+     *
+     * @return The accumulated kernel time, in nanoseconds.
+     */
+    public long kernelNanos() {
+        return kernelNanos.sum();
+    }
+
+    private CustomException wideNotSupported() {
+        logger.error("Wide operation rejected, the configured storage only holds 64-bit values");
+        return new CustomException(SPError.WIDE_STORAGE_NOT_SUPPORTED.getErrorCode(), SPError.WIDE_STORAGE_NOT_SUPPORTED.getErrorMessage());
+    }
+
+    private void persist(Operation computed) {
+        if (writeBehindQueue.isEnabled()) {
+            writeBehindQueue.submit(computed);
+        } else {
+            repository.save(computed);
+            statistics.record(computed);
+            cache.markPersisted(computed.getX(), computed.getY(), computed.getN());
         }
     }
 }
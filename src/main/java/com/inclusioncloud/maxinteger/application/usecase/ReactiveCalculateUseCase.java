@@ -0,0 +1,60 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.ReactiveOperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.OperationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * to handle the calculation of the maximum non-negative integer k without blocking the caller.
+ * It is the reactive counterpart of {@link CalculateUseCase}: the calculation runs on the primitive
+ * kernel of {@link OperationService} and the result is persisted through the
+ * {@link ReactiveOperationStorageRepository} and recorded in the {@link OperationStatistics}.
+ */
+public class ReactiveCalculateUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveCalculateUseCase.class);
+    private final OperationService service;
+    private final ReactiveOperationStorageRepository repository;
+    private final OperationStatistics statistics;
+
+    /**
+     * Constructs a new instance of {@code ReactiveCalculateUseCase} with the given domain service
+     * reactive storage repository and statistics.
+     *
+     * @param service    The domain service responsible for performing the calculation logic.
+     * @param repository The reactive storage repository used for persisting operation results.
+     * @param statistics The statistics updated with every persisted operation.
+     */
+    public ReactiveCalculateUseCase(OperationService service, ReactiveOperationStorageRepository repository, OperationStatistics statistics) {
+        this.service = service;
+        this.repository = repository;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Performs the calculation of the maximum non-negative integer k based on the input parameters
+     * x, y, and n provided in the {@link Operation}, persists the calculated operation and emits only
+     * the result once it is stored.
+     *
+     * @param domain An instance of {@link Operation} containing the input parameters.
+     * @return A {@link Mono} emitting a new {@link Operation} instance with the calculation result,
+     *         or a {@link CustomException} if the calculation or the data persistence fails.
+     */
+    public Mono<Operation> calculate(Operation domain) {
+        return Mono.fromCallable(() -> domain.withResult(service.calculateMaxK(domain.getX(), domain.getY(), domain.getN())))
+                .flatMap(repository::save)
+                .doOnNext(statistics::record)
+                .map(saved -> Operation.ofResult(saved.getResult()))
+                .onErrorMap(e -> {
+                    logger.error("Error in ReactiveCalculateUseCase during calculation", e);
+                    return new CustomException(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorMessage(), e);
+                });
+    }
+}
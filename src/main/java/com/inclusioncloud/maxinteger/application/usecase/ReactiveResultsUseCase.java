@@ -0,0 +1,44 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.ReactiveOperationStorageRepository;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * to handle the use case of streaming the results of the performed operations without blocking
+ * the caller. It is the reactive counterpart of {@link ResultsUseCase}: results are read from the
+ * {@link ReactiveOperationStorageRepository} as the subscriber requests them, never collected in a list.
+ */
+public class ReactiveResultsUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveResultsUseCase.class);
+    private final ReactiveOperationStorageRepository repository;
+
+    /**
+     * Constructs a new instance of {@code ReactiveResultsUseCase}.
+     *
+     * @param repository The {@link ReactiveOperationStorageRepository} used to retrieve operation results.
+     */
+    public ReactiveResultsUseCase(ReactiveOperationStorageRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Streams the persisted {@link Operation} results stored after {@code afterId}, ordered by identifier.
+     *
+     * @param afterId The identifier after which the results start; {@code 0} for the whole history.
+     * @return A {@link Flux} emitting the stored operations, or a {@link CustomException} if they can not be read.
+     */
+    public Flux<Operation> getResults(long afterId) {
+        return repository.findAfter(afterId)
+                .onErrorMap(e -> {
+                    logger.error("Error streaming operation results", e);
+                    return new CustomException(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorMessage(), e);
+                });
+    }
+}
@@ -2,13 +2,19 @@ package com.inclusioncloud.maxinteger.application.usecase;
 
 
 import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
 import com.inclusioncloud.maxinteger.config.exception.CustomException;
 import com.inclusioncloud.maxinteger.config.exception.SPError;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * to handle the use case of retrieving results of all performed operations. This class
@@ -41,11 +47,93 @@ public class ResultsUseCase{
      */
     public List<Operation> getResults() {
         try {
-            logger.info("Fetching all operation results");
-            return this.repository.getAll();
+            List<Operation> results = this.repository.getAll();
+            AuditLog.info(AuditLayer.USE_CASE, AuditAction.RESULTS_ALL, results.size());
+            return results;
         } catch (Exception e) {
             logger.error("Error fetching operation results", e);
             throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorMessage(), e.getCause());
         }
     }
+
+    /**
+     * Retrieves a page of the persisted {@link Operation} results ordered by identifier,
+     * starting right after {@code afterId}. Pages are keyset-paginated, so the cost of a page
+     * is the same no matter how much history has been stored before it.
+     *
+     * @param afterId The cursor returned by the previous page, or {@code 0} for the first page.
+     * @param limit   The maximum number of operations of the page.
+     * @return An {@link OperationPage} with the operations and the cursor of the next page.
+     * @throws CustomException If an error occurs during the data retrieval process.
+     */
+    public OperationPage getResults(long afterId, int limit) {
+        try {
+            OperationPage page = this.repository.getPage(afterId, limit);
+            AuditLog.info(AuditLayer.USE_CASE, AuditAction.RESULTS_PAGE, afterId, limit, page.getItems().size());
+            return page;
+        } catch (Exception e) {
+            logger.error("Error fetching operation results page", e);
+            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves a page of the persisted {@link Operation} results matching a query, ordered by
+     * identifier and starting right after {@code afterId}. Storage adapters seek the matching
+     * results through their indexes when they have them.
+     *
+     * @param query   The {@link OperationQuery} the results must match.
+     * @param afterId The cursor returned by the previous page, or {@code 0} for the first page.
+     * @param limit   The maximum number of operations of the page.
+     * @return An {@link OperationPage} with the matching operations and the cursor of the next page.
+     * @throws CustomException If an error occurs during the data retrieval process.
+     */
+    public OperationPage findResults(OperationQuery query, long afterId, int limit) {
+        try {
+            OperationPage page = this.repository.find(query, afterId, limit);
+            AuditLog.info(AuditLayer.USE_CASE, AuditAction.RESULTS_QUERY, afterId, limit, page.getItems().size());
+            return page;
+        } catch (Exception e) {
+            logger.error("Error querying operation results", e);
+            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves the version of the persisted results, which changes every time an operation is saved.
+     * Reading it does not touch the stored results, so it tells whether a page read earlier may have
+     * changed without reading the page again.
+     *
+     * @return The current version of the persisted results.
+     * @throws CustomException If the version can not be read.
+     */
+    public long getResultsVersion() {
+        try {
+            return this.repository.version();
+        } catch (Exception e) {
+            logger.error("Error reading the operation results version", e);
+            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Exports every persisted {@link Operation} result, ordered by identifier, handing them to
+     * the consumer one at a time as they are read from storage. Nothing is accumulated, so the
+     * export runs in constant memory whatever the size of the history.
+     *
+     * @param consumer The consumer writing each exported {@link Operation}.
+     * @return The number of exported operations.
+     * @throws CustomException If the operations can not be read or the consumer fails.
+     */
+    public long exportResults(Consumer<Operation> consumer) {
+        try {
+            logger.info("Exporting all operation results");
+            long exported = this.repository.forEach(consumer);
+            logger.info("Exported {} operation results", exported);
+            return exported;
+        } catch (Exception e) {
+            logger.error("Error exporting operation results", e);
+            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_EXPORT.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_EXPORT.getErrorMessage(), e);
+        }
+    }
 }
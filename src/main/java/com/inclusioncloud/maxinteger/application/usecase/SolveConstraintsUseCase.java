@@ -0,0 +1,67 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Congruence;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.CongruenceSolverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * to handle the calculation of the maximum non-negative integer k ≤ n that satisfies a list of
+ * {@link Congruence} constraints at once. The constraints are unpacked into primitive arrays and solved
+ * by {@link CongruenceSolverService}, which replaces calculating every constraint on its own and
+ * intersecting the results.
+ *
+ * <p>The result does not describe a single (x, y, n) triple, so it is not persisted nor recorded in the
+ * operation statistics.</p>
+ */
+public class SolveConstraintsUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolveConstraintsUseCase.class);
+    private final CongruenceSolverService service;
+
+    /**
+     * Constructs a new instance of {@code SolveConstraintsUseCase} with the given domain service.
+     *
+     * @param service The domain service responsible for solving the constraints.
+     */
+    public SolveConstraintsUseCase(CongruenceSolverService service) {
+        this.service = service;
+    }
+
+    /**
+     * Calculates the maximum non-negative integer k ≤ n such that k mod x = y for every constraint.
+     *
+     * @param constraints The {@link Congruence} constraints that k must satisfy.
+     * @param n           The upper bound for k.
+     * @return A new {@link Operation} instance carrying only the calculation result.
+     * @throws CustomException If the constraints are invalid, incompatible or have no solution lower than or equal to n.
+     */
+    public Operation solve(List<Congruence> constraints, long n) {
+        try {
+            int size = constraints.size();
+            long[] x = new long[size];
+            long[] y = new long[size];
+            for (int i = 0; i < size; i++) {
+                Congruence constraint = constraints.get(i);
+                x[i] = constraint.getX();
+                y[i] = constraint.getY();
+            }
+
+            long result = service.solveMaxK(x, y, n);
+            AuditLog.info(AuditLayer.USE_CASE, AuditAction.CONSTRAINTS, size, n, result);
+            return Operation.ofResult(result);
+        } catch (Exception e) {
+            logger.error("Error in SolveConstraintsUseCase during calculation", e);
+            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_CONSTRAINTS.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_CONSTRAINTS.getErrorMessage(), e);
+        }
+    }
+}
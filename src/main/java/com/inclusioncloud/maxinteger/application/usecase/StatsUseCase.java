@@ -0,0 +1,44 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.OperationStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * to handle the retrieval of the statistics of the persisted operations. The statistics are
+ * maintained incrementally by {@link OperationStatistics} as operations are persisted, so this
+ * use case never reads the stored history.
+ */
+public class StatsUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsUseCase.class);
+    private final OperationStatistics statistics;
+
+    /**
+     * Constructs a new instance of {@code StatsUseCase}.
+     *
+     * @param statistics The incrementally maintained statistics of the persisted operations.
+     */
+    public StatsUseCase(OperationStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Retrieves the statistics of the persisted operations, overall and per divisor {@code x}.
+     *
+     * @return A snapshot of the {@link OperationStats}.
+     * @throws CustomException If an error occurs while summarizing the statistics.
+     */
+    public OperationStats getStats() {
+        try {
+            return statistics.snapshot();
+        } catch (Exception e) {
+            logger.error("Error summarizing operation statistics", e);
+            throw new CustomException(SPError.OPERATION_USE_CASE_ERROR_STATS.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_STATS.getErrorMessage(), e);
+        }
+    }
+}
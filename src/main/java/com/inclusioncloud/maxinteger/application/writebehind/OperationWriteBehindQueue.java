@@ -0,0 +1,269 @@
+package com.inclusioncloud.maxinteger.application.writebehind;
+
+
+import com.inclusioncloud.maxinteger.application.cache.OperationResultCache;
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded in-process queue used by the write-behind persistence mode. Calculated operations are
+ * submitted by the request threads and a single background writer drains them into
+ * {@link OperationStorageRepository#saveAll(List)}, grouping up to {@code batchSize} operations per
+ * transaction and never waiting more than {@code flushInterval} since the oldest pending operation.
+ * Operations are recorded in the {@link OperationStatistics} and marked as persisted in the
+ * {@link OperationResultCache} once their batch has been persisted, so a lost batch is written again.
+ *
+ * <p>When the queue is full, {@link #submit(Operation)} waits up to {@code offerTimeout} for space and
+ * then rejects the operation, so callers are slowed down instead of growing the heap. On
+ * {@link #close()} the writer stops accepting work and flushes everything still queued. Submits hold
+ * the shared side of a lock while they check the closed flag and enqueue, and {@link #close()} sets the
+ * flag under the exclusive side, so no operation can be queued after the writer has been told to stop.</p>
+ */
+public class OperationWriteBehindQueue implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationWriteBehindQueue.class);
+
+    private final OperationStorageRepository repository;
+    private final OperationStatistics statistics;
+    private final OperationResultCache cache;
+    private final boolean enabled;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private final Thread writer;
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private volatile boolean closed;
+    private volatile long lastFlushLagNanos;
+
+    /**
+     * Constructs a new {@code OperationWriteBehindQueue}. The background writer is not started until
+     * {@link #start()} is called.
+     *
+     * @param repository      The storage repository the queued operations are written to.
+     * @param statistics      The statistics updated with every persisted operation.
+     * @param cache           The result cache where every persisted operation is marked as persisted.
+     * @param enabled         Whether the write-behind mode is active.
+     * @param capacity        Maximum number of operations waiting to be persisted.
+     * @param batchSize       Maximum number of operations persisted in a single transaction.
+     * @param flushInterval   Maximum time an operation waits in the queue before its batch is flushed.
+     * @param offerTimeout    Maximum time {@link #submit(Operation)} waits for space when the queue is full.
+     * @param shutdownTimeout Maximum time {@link #close()} waits for the pending operations to be flushed.
+     */
+    public OperationWriteBehindQueue(OperationStorageRepository repository, OperationStatistics statistics, OperationResultCache cache,
+                                     boolean enabled, int capacity, int batchSize, Duration flushInterval, Duration offerTimeout, Duration shutdownTimeout) {
+        this.repository = repository;
+        this.statistics = statistics;
+        this.cache = cache;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.writer = new Thread(this::drain, "operation-write-behind");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Indicates whether the write-behind mode is active.
+     *
+     * @return {@code true} if operations should be submitted to this queue instead of saved synchronously.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts the background writer when the write-behind mode is active.
+     */
+    public void start() {
+        if (enabled && !running) {
+            running = true;
+            writer.start();
+            logger.info("Write-behind writer started with capacity {} and batch size {}", queue.remainingCapacity(), batchSize);
+        }
+    }
+
+    /**
+     * Hands a calculated operation to the background writer.
+     *
+     * @param domain The calculated {@link Operation} to persist.
+     * @throws CustomException If the queue is closed or stays full for longer than the offer timeout.
+     */
+    public void submit(Operation domain) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                logger.error("Write-behind queue rejected an operation after being closed");
+                throw new CustomException(SPError.WRITE_BEHIND_QUEUE_CLOSED.getErrorCode(), SPError.WRITE_BEHIND_QUEUE_CLOSED.getErrorMessage());
+            }
+            if (!queue.offer(new Pending(domain, System.nanoTime()), offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.incrementAndGet();
+                throw queueFull(null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw queueFull(e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of operations waiting to be persisted.
+     *
+     * @return The current queue depth.
+     */
+    public int depth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the time the oldest operation of the last flushed batch spent in the queue.
+     *
+     * @return The flush lag of the last batch, in nanoseconds.
+     */
+    public long lastFlushLagNanos() {
+        return lastFlushLagNanos;
+    }
+
+    /**
+     * Returns the number of operations persisted by the background writer.
+     *
+     * @return The count of flushed operations.
+     */
+    public long flushedCount() {
+        return flushed.get();
+    }
+
+    /**
+     * Returns the number of operations rejected because the queue was full.
+     *
+     * @return The count of rejected operations.
+     */
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns the number of operations lost because their batch could not be persisted.
+     *
+     * @return The count of failed operations.
+     */
+    public long failedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Stops accepting operations and waits up to the shutdown timeout for the writer to flush
+     * everything still queued. Submits already waiting for space, up to the offer timeout, finish
+     * before the queue is closed.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            logger.error("Write-behind writer stopped with {} operations not persisted", queue.size());
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch, first.enqueuedAt() + flushIntervalNanos);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(List<Pending> batch, long deadline) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Operation> operations = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            operations.add(pending.operation());
+        }
+        try {
+            repository.saveAll(operations);
+            for (Operation operation : operations) {
+                statistics.record(operation);
+                cache.markPersisted(operation.getX(), operation.getY(), operation.getN());
+            }
+            flushed.addAndGet(operations.size());
+            lastFlushLagNanos = System.nanoTime() - batch.get(0).enqueuedAt();
+        } catch (Exception e) {
+            failed.addAndGet(operations.size());
+            logger.error("Write-behind writer could not persist a batch of {} operations", operations.size(), e);
+        }
+    }
+
+    private CustomException queueFull(Throwable cause) {
+        logger.error("Write-behind queue rejected an operation, depth {}", queue.size());
+        if (cause == null) {
+            return new CustomException(SPError.WRITE_BEHIND_QUEUE_FULL.getErrorCode(), SPError.WRITE_BEHIND_QUEUE_FULL.getErrorMessage());
+        }
+        return new CustomException(SPError.WRITE_BEHIND_QUEUE_FULL.getErrorCode(), SPError.WRITE_BEHIND_QUEUE_FULL.getErrorMessage(), cause);
+    }
+
+    private record Pending(Operation operation, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
+import com.inclusioncloud.maxinteger.config.audit.AuditPipeline;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the audit log.
+ * It creates the {@link AuditPipeline}, starts its background writer, installs it in {@link AuditLog} and
+ * registers its metrics. When {@code audit.enabled} is {@code false} no pipeline is installed and every
+ * audit call is a no-op.
+ */
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    /**
+     * Creates and installs the audit pipeline from {@link AuditProperties}. Spring calls
+     * {@link AuditPipeline#close()} on shutdown, which writes the pending events.
+     *
+     * @param properties The audit configuration.
+     * @param meterRegistry The registry where the pipeline metrics are published.
+     * @return The started {@link AuditPipeline}.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public AuditPipeline auditPipeline(AuditProperties properties, MeterRegistry meterRegistry) {
+        AuditPipeline pipeline = new AuditPipeline(properties.getCapacity(), properties.getLevels(), properties.getSampleRates(),
+                properties.getShutdownTimeout().toMillis());
+        Gauge.builder("audit.pending", pipeline, AuditPipeline::pending)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.dropped", pipeline, AuditPipeline::droppedCount)
+                .description("Audit events dropped because the buffer was full")
+                .register(meterRegistry);
+        pipeline.start();
+        AuditLog.install(pipeline);
+        return pipeline;
+    }
+}
@@ -0,0 +1,29 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.slf4j.event.Level;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the audit log.
+ * {@code levels} sets the minimum level recorded per layer and {@code sample-rates} keeps one in N events
+ * below {@code WARN} per layer; layers not configured record {@code INFO} and above without sampling.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+    private boolean enabled = true;
+    private int capacity = 8_192;
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+    private Map<AuditLayer, Level> levels = new EnumMap<>(AuditLayer.class);
+    private Map<AuditLayer, Integer> sampleRates = new EnumMap<>(AuditLayer.class);
+}
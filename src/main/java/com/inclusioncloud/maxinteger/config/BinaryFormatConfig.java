@@ -0,0 +1,27 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary.OperationBinaryMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration class for the binary wire format of the operation endpoints.
+ * It registers {@link OperationBinaryMessageConverter} after the default converters, so JSON stays the
+ * format chosen when the client accepts any media type and the binary one is used only when requested.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * Appends the binary converter to the message converters configured by Spring Boot.
+     *
+     * @param converters The message converters of Spring MVC.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new OperationBinaryMessageConverter());
+    }
+}
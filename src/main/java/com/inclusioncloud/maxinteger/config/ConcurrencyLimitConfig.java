@@ -0,0 +1,77 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inclusioncloud.maxinteger.application.admission.AdaptiveConcurrencyLimiter;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.filter.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Configuration class for the adaptive concurrency limit of the operation endpoints.
+ * It creates the {@link AdaptiveConcurrencyLimiter}, registers its metrics and installs the
+ * {@link ConcurrencyLimitFilter} in front of {@code /operation} when the limit is enabled. The limiter is also
+ * used by the controller for the requests sent with an idempotency key, which the filter lets through.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Endpoints that are never limited: the streams, whose latency grows with their size, and the batch and
+     * constraint endpoints, whose latency grows with the number of operations in the request.
+     */
+    private static final Set<String> EXCLUDED_PATHS = Set.of("/operation/stream", "/operation/export", "/operation/sweep",
+            "/operation/batch", "/operation/constraints");
+
+    /**
+     * Creates the concurrency limiter from {@link ConcurrencyLimitProperties}. The limiter is always available so
+     * the controller does not need to check whether it is configured; a disabled limiter admits every request.
+     *
+     * @param properties The concurrency limit configuration.
+     * @param meterRegistry The registry where the limiter metrics are published.
+     * @return The configured {@link AdaptiveConcurrencyLimiter}.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.isEnabled(), properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getLatencyThreshold(), properties.getBackoffRatio());
+        if (properties.isEnabled()) {
+            Gauge.builder("operation.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Maximum number of operation requests admitted at the same time")
+                    .register(meterRegistry);
+            Gauge.builder("operation.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                    .description("Operation requests currently admitted")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::rejectedCount)
+                    .description("Operation requests rejected because the concurrency limit was reached")
+                    .register(meterRegistry);
+        }
+        return limiter;
+    }
+
+    /**
+     * Registers the {@link ConcurrencyLimitFilter} for the {@code /operation} endpoints, disabled when the
+     * limit is not enabled.
+     *
+     * @param limiter The limiter admitting the requests.
+     * @param objectMapper The mapper used to write the error of a rejected request.
+     * @param properties The concurrency limit configuration.
+     * @return The filter registration.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper,
+                                                                                 ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter, objectMapper, EXCLUDED_PATHS));
+        registration.addUrlPatterns("/operation", "/operation/*");
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+}
@@ -0,0 +1,25 @@
+package com.inclusioncloud.maxinteger.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the adaptive concurrency limit of the operation endpoints.
+ * When {@code enabled} is {@code false} every request is admitted.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "operation.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = false;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    private Duration latencyThreshold = Duration.ofMillis(250);
+    private double backoffRatio = 0.9;
+}
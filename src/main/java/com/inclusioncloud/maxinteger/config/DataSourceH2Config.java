@@ -6,6 +6,8 @@ import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,6 +17,10 @@ public class DataSourceH2Config {
     private String driverClassName;
     private String username;
     private String password;
+    private int maximumPoolSize = 10;
+    private int minimumIdle = 10;
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+    private int queryCacheSize = 64;
 
     @Value("initialization-mode")
     private String initializationMode;
@@ -1,15 +1,16 @@
 package com.inclusioncloud.maxinteger.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
 
 @Configuration
 @EnableConfigurationProperties(DataSourceH2Config.class)
 public class H2Config {
+    private static final String POOL_NAME = "operations-h2";
     private final DataSourceH2Config dataSourcePostgresConfig;
 
     /**
@@ -22,18 +23,26 @@ public class H2Config {
     }
 
     /**
-     * Creates and configures a {@link DataSource} bean for the H2 database.
-     * The {@link DataSource} is configured based on the properties provided in {@link DataSourceH2Config}.
+     * Creates and configures a pooled {@link DataSource} bean for the H2 database.
+     * The {@link DataSource} is configured based on the properties provided in {@link DataSourceH2Config}:
+     * connections are reused across transactions instead of being opened for each one, and every
+     * connection keeps up to {@code queryCacheSize} parsed statements. The pool metrics
+     * ({@code hikaricp.connections.*}) are published by the actuator.
      *
      * @return Configured {@link DataSource} instance for the H2 database.
      */
-    @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
+    @Bean(destroyMethod = "close")
+    public HikariDataSource dataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(POOL_NAME);
         dataSource.setDriverClassName(dataSourcePostgresConfig.getDriverClassName());
-        dataSource.setUrl(dataSourcePostgresConfig.getUrl());
+        dataSource.setJdbcUrl(dataSourcePostgresConfig.getUrl());
         dataSource.setUsername(dataSourcePostgresConfig.getUsername());
         dataSource.setPassword(dataSourcePostgresConfig.getPassword());
+        dataSource.setMaximumPoolSize(dataSourcePostgresConfig.getMaximumPoolSize());
+        dataSource.setMinimumIdle(dataSourcePostgresConfig.getMinimumIdle());
+        dataSource.setConnectionTimeout(dataSourcePostgresConfig.getConnectionTimeout().toMillis());
+        dataSource.addDataSourceProperty("QUERY_CACHE_SIZE", String.valueOf(dataSourcePostgresConfig.getQueryCacheSize()));
         return dataSource;
     }
 }
@@ -0,0 +1,43 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.application.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the idempotency keys of the calculate endpoint.
+ * It creates the {@link IdempotencyStore} used by the controller and registers its metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    /**
+     * Creates the idempotency store from {@link IdempotencyProperties}. The store is always available so the
+     * controller does not need to check whether it is configured; a disabled store runs every request.
+     *
+     * @param properties The idempotency configuration.
+     * @param meterRegistry The registry where the store metrics are published.
+     * @return The configured {@link IdempotencyStore}.
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        IdempotencyStore store = new IdempotencyStore(properties.isEnabled(), properties.getMaxKeys(), properties.getTtl(), properties.getWaitTimeout());
+        if (properties.isEnabled()) {
+            Gauge.builder("operation.idempotency.keys", store, IdempotencyStore::size)
+                    .description("Idempotency keys currently remembered")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.idempotency.replays", store, IdempotencyStore::replayCount)
+                    .description("Requests answered with the result of an earlier request with the same idempotency key")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.idempotency.evictions", store, IdempotencyStore::evictionCount)
+                    .description("Idempotency keys evicted before their TTL because the store was full")
+                    .register(meterRegistry);
+        }
+        return store;
+    }
+}
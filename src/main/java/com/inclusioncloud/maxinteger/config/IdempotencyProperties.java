@@ -0,0 +1,23 @@
+package com.inclusioncloud.maxinteger.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the idempotency keys of {@code POST /operation}.
+ * When {@code enabled} is {@code false} the {@code Idempotency-Key} header is ignored and every request is calculated.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "operation.idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    private int maxKeys = 100_000;
+    private Duration ttl = Duration.ofHours(1);
+    private Duration waitTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,34 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.application.usecase.CalculateUseCase;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class for the calculation kernel metrics.
+ * The single-operation kernel is too short to be proxied by the layer aspect, so {@link CalculateUseCase} accumulates
+ * its time and this configuration publishes it as a function timer.
+ */
+@Configuration
+public class KernelMetricsConfig {
+
+    /**
+     * Publishes the number of kernel calculations and the time spent in them as {@code operation.kernel.latency}.
+     *
+     * @param calculateUseCase The use case timing the kernel.
+     * @return The binder registering the kernel timer.
+     */
+    @Bean
+    public MeterBinder kernelMetrics(CalculateUseCase calculateUseCase) {
+        return registry -> FunctionTimer.builder("operation.kernel.latency", calculateUseCase,
+                        CalculateUseCase::kernelCount, CalculateUseCase::kernelNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent in the calculation kernel on cache misses")
+                .tag("class", "OperationService")
+                .tag("method", "calculateMaxK")
+                .register(registry);
+    }
+}
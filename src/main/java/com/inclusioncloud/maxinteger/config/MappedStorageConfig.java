@@ -0,0 +1,30 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.infrastructure.adapter.mmap.OperationMappedFileAdapter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the memory-mapped storage.
+ * It replaces the H2 adapter as the {@code OperationStorageRepository} when {@code operation.storage.type} is {@code mmap}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "operation.storage.type", havingValue = "mmap")
+@EnableConfigurationProperties(MappedStorageProperties.class)
+public class MappedStorageConfig {
+
+    /**
+     * Creates the memory-mapped adapter from {@link MappedStorageProperties}, recovering the segments already
+     * in its directory. Spring calls {@link OperationMappedFileAdapter#close()} on shutdown, which forces the
+     * written records to the storage device.
+     *
+     * @param properties The memory-mapped storage configuration.
+     * @return The configured {@link OperationMappedFileAdapter}.
+     */
+    @Bean(destroyMethod = "close")
+    public OperationMappedFileAdapter operationMappedFileAdapter(MappedStorageProperties properties) {
+        return new OperationMappedFileAdapter(properties.getDirectory(), properties.getSegmentSize().toBytes(), properties.isForceOnWrite());
+    }
+}
@@ -0,0 +1,24 @@
+package com.inclusioncloud.maxinteger.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration properties for the memory-mapped storage, used when {@code operation.storage.type} is {@code mmap}.
+ * When {@code forceOnWrite} is {@code false} records survive a crash of the process but may be lost if the
+ * machine stops before the operating system writes them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "operation.storage.mmap")
+public class MappedStorageProperties {
+    private Path directory = Path.of("data", "operations");
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private boolean forceOnWrite = false;
+}
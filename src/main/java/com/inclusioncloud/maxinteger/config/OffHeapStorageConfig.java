@@ -0,0 +1,40 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.infrastructure.adapter.offheap.OperationOffHeapAdapter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the off-heap columnar storage.
+ * It replaces the H2 adapter as the {@code OperationStorageRepository} when {@code operation.storage.type} is
+ * {@code offheap} and registers the memory used by the columns.
+ */
+@Configuration
+@ConditionalOnProperty(name = "operation.storage.type", havingValue = "offheap")
+@EnableConfigurationProperties(OffHeapStorageProperties.class)
+public class OffHeapStorageConfig {
+
+    /**
+     * Creates the off-heap adapter from {@link OffHeapStorageProperties}.
+     *
+     * @param properties The off-heap storage configuration.
+     * @param meterRegistry The registry where the storage metrics are published.
+     * @return The configured {@link OperationOffHeapAdapter}.
+     */
+    @Bean
+    public OperationOffHeapAdapter operationOffHeapAdapter(OffHeapStorageProperties properties, MeterRegistry meterRegistry) {
+        OperationOffHeapAdapter adapter = new OperationOffHeapAdapter(properties.getChunkRows());
+        Gauge.builder("operation.storage.offheap.rows", adapter, OperationOffHeapAdapter::size)
+                .description("Operations stored in the off-heap columns")
+                .register(meterRegistry);
+        Gauge.builder("operation.storage.offheap.allocated", adapter, OperationOffHeapAdapter::allocatedBytes)
+                .description("Off-heap memory allocated by the columns")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return adapter;
+    }
+}
@@ -0,0 +1,19 @@
+package com.inclusioncloud.maxinteger.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the off-heap columnar storage, used when {@code operation.storage.type} is {@code offheap}.
+ * {@code chunkRows} is the number of rows allocated at once in every column; the total is bounded by
+ * {@code -XX:MaxDirectMemorySize}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "operation.storage.offheap")
+public class OffHeapStorageProperties {
+    private int chunkRows = 1 << 20;
+}
@@ -0,0 +1,50 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.application.cache.OperationResultCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the result cache.
+ * It creates the {@link OperationResultCache} used by the calculate use case and registers its metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(OperationCacheProperties.class)
+public class OperationCacheConfig {
+
+    /**
+     * Creates the result cache from {@link OperationCacheProperties}. The cache is always available so the
+     * use case does not need to check whether it is configured; a disabled cache never hits.
+     *
+     * @param properties The cache configuration.
+     * @param meterRegistry The registry where the cache metrics are published.
+     * @return The configured {@link OperationResultCache}.
+     */
+    @Bean
+    public OperationResultCache operationResultCache(OperationCacheProperties properties, MeterRegistry meterRegistry) {
+        OperationResultCache cache = new OperationResultCache(properties.isEnabled(), properties.getSize(), properties.getWays(),
+                properties.getEviction(), properties.getPersistTtl());
+        if (properties.isEnabled()) {
+            Gauge.builder("operation.cache.capacity", cache, OperationResultCache::capacity)
+                    .description("Maximum number of cached triples")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.cache.hits", cache, OperationResultCache::hitCount)
+                    .description("Calculations answered from the result cache")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.cache.misses", cache, OperationResultCache::missCount)
+                    .description("Calculations not found in the result cache")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.cache.evictions", cache, OperationResultCache::evictionCount)
+                    .description("Triples evicted from the result cache")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.cache.skipped_writes", cache, OperationResultCache::skippedWriteCount)
+                    .description("Database writes skipped because the triple was persisted recently")
+                    .register(meterRegistry);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,25 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.application.cache.OperationResultCache;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the result cache of the calculate use case.
+ * A {@code persistTtl} of zero keeps persisting every calculation, even when the result comes from the cache.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "operation.cache")
+public class OperationCacheProperties {
+    private boolean enabled = true;
+    private int size = 65_536;
+    private int ways = 8;
+    private OperationResultCache.EvictionPolicy eviction = OperationResultCache.EvictionPolicy.LRU;
+    private Duration persistTtl = Duration.ZERO;
+}
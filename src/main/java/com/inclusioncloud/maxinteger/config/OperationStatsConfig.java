@@ -0,0 +1,36 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the operation statistics.
+ * It creates the {@link OperationStatistics} shared by the use cases and rebuilds it from the storage.
+ */
+@Configuration
+@EnableConfigurationProperties(OperationStatsProperties.class)
+public class OperationStatsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationStatsConfig.class);
+
+    /**
+     * Creates the operation statistics from {@link OperationStatsProperties} and rebuilds them from the
+     * stored operations. The rebuild runs while the context starts, before any request is accepted.
+     *
+     * @param properties The statistics configuration.
+     * @param repository The storage the statistics are rebuilt from.
+     * @return The rebuilt {@link OperationStatistics}.
+     */
+    @Bean
+    public OperationStatistics operationStatistics(OperationStatsProperties properties, OperationStorageRepository repository) {
+        OperationStatistics statistics = new OperationStatistics(properties.getStripes(), properties.getMaxTrackedX());
+        long rebuilt = statistics.rebuild(repository);
+        logger.info("Operation statistics rebuilt from {} stored operations", rebuilt);
+        return statistics;
+    }
+}
@@ -0,0 +1,19 @@
+package com.inclusioncloud.maxinteger.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the incrementally maintained operation statistics.
+ * {@code maxTrackedX} bounds the number of divisors with their own statistics.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "operation.stats")
+public class OperationStatsProperties {
+    private int stripes = 16;
+    private int maxTrackedX = 1_024;
+}
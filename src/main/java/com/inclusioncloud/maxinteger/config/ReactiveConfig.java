@@ -0,0 +1,46 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.application.port.out.ReactiveOperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.application.usecase.ReactiveCalculateUseCase;
+import com.inclusioncloud.maxinteger.application.usecase.ReactiveResultsUseCase;
+import com.inclusioncloud.maxinteger.domain.service.OperationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the reactive use cases.
+ * The reactive stack persists through R2DBC on the H2 database, so it is only created when {@code operation.storage.type}
+ * is {@code h2}; with the {@code mmap} or {@code offheap} storage the reactive endpoints are not available instead of
+ * writing to a database the rest of the application does not read.
+ */
+@Configuration
+@ConditionalOnProperty(name = "operation.storage.type", havingValue = "h2", matchIfMissing = true)
+public class ReactiveConfig {
+
+    /**
+     * Creates the reactive calculation use case.
+     *
+     * @param service The domain service performing the calculation.
+     * @param repository The reactive storage repository.
+     * @param statistics The statistics updated with every persisted operation.
+     * @return The configured {@link ReactiveCalculateUseCase}.
+     */
+    @Bean
+    public ReactiveCalculateUseCase reactiveCalculateUseCase(OperationService service, ReactiveOperationStorageRepository repository,
+                                                             OperationStatistics statistics) {
+        return new ReactiveCalculateUseCase(service, repository, statistics);
+    }
+
+    /**
+     * Creates the reactive results use case.
+     *
+     * @param repository The reactive storage repository.
+     * @return The configured {@link ReactiveResultsUseCase}.
+     */
+    @Bean
+    public ReactiveResultsUseCase reactiveResultsUseCase(ReactiveOperationStorageRepository repository) {
+        return new ReactiveResultsUseCase(repository);
+    }
+}
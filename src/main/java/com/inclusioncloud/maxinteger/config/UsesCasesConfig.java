@@ -14,10 +14,13 @@ import org.springframework.context.annotation.FilterType;
  *
  *
  * where only classes named with 'UseCase' suffix are considered for dependency injection.</p>
+ *
+ * <p>The reactive use cases are left out and created by {@link ReactiveConfig}, only with the H2 storage.</p>
  */
 @Configuration
 @ComponentScan(basePackages = "com.inclusioncloud.maxinteger",
         includeFilters = {@ComponentScan.Filter(type = FilterType.REGEX, pattern = "^.+UseCase$")},
+        excludeFilters = {@ComponentScan.Filter(type = FilterType.REGEX, pattern = "^.+\\.Reactive[^.]+UseCase$")},
         useDefaultFilters = false)
 public class UsesCasesConfig {
     // This class does not require additional methods or attributes as its purpose is solely configuration.
@@ -0,0 +1,61 @@
+package com.inclusioncloud.maxinteger.config;
+
+import com.inclusioncloud.maxinteger.application.cache.OperationResultCache;
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.application.writebehind.OperationWriteBehindQueue;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the write-behind persistence mode.
+ * It creates the {@link OperationWriteBehindQueue} used by the calculate use case, starts its background
+ * writer when the mode is enabled and registers the queue metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindConfig {
+
+    /**
+     * Creates the write-behind queue from {@link WriteBehindProperties}. The queue is always available so the
+     * use case can check whether the mode is enabled; its writer only runs when it is. Spring calls
+     * {@link OperationWriteBehindQueue#close()} on shutdown, which flushes the pending operations.
+     *
+     * @param repository The storage repository the queued operations are written to.
+     * @param statistics The statistics updated by the writer with every persisted operation.
+     * @param cache      The result cache where the writer marks every persisted operation.
+     * @param properties The write-behind configuration.
+     * @param meterRegistry The registry where the queue metrics are published.
+     * @return The configured {@link OperationWriteBehindQueue}.
+     */
+    @Bean(destroyMethod = "close")
+    public OperationWriteBehindQueue operationWriteBehindQueue(OperationStorageRepository repository, OperationStatistics statistics,
+                                                               OperationResultCache cache, WriteBehindProperties properties, MeterRegistry meterRegistry) {
+        OperationWriteBehindQueue queue = new OperationWriteBehindQueue(repository, statistics, cache, properties.isEnabled(),
+                properties.getCapacity(), properties.getBatchSize(), properties.getFlushInterval(), properties.getOfferTimeout(), properties.getShutdownTimeout());
+        if (properties.isEnabled()) {
+            Gauge.builder("operation.write_behind.queue.depth", queue, OperationWriteBehindQueue::depth)
+                    .description("Operations waiting to be persisted by the write-behind writer")
+                    .register(meterRegistry);
+            Gauge.builder("operation.write_behind.flush.lag", queue, q -> q.lastFlushLagNanos() / 1_000_000.0)
+                    .description("Time the oldest operation of the last flushed batch spent in the queue")
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.write_behind.flushed", queue, OperationWriteBehindQueue::flushedCount)
+                    .description("Operations persisted by the write-behind writer")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.write_behind.rejected", queue, OperationWriteBehindQueue::rejectedCount)
+                    .description("Operations rejected because the write-behind queue was full")
+                    .register(meterRegistry);
+            FunctionCounter.builder("operation.write_behind.failed", queue, OperationWriteBehindQueue::failedCount)
+                    .description("Operations lost because their batch could not be persisted")
+                    .register(meterRegistry);
+            queue.start();
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,25 @@
+package com.inclusioncloud.maxinteger.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the write-behind persistence mode of the calculate use case.
+ * When {@code enabled} is {@code false} every operation is saved synchronously.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "operation.write-behind")
+public class WriteBehindProperties {
+    private boolean enabled = false;
+    private int capacity = 10_000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private Duration offerTimeout = Duration.ofMillis(50);
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,60 @@
+package com.inclusioncloud.maxinteger.config.audit;
+
+/**
+ * Actions recorded by the audit log. Every action names the numeric fields it carries, in the order
+ * they are passed to {@link AuditLog}, so an event stores only primitive values and its line is built
+ * by the background writer.
+ */
+public enum AuditAction {
+    CALCULATE_REQUEST("calculate_request", "x", "y", "n"),
+    CALCULATE("calculate", "x", "y", "n", "result"),
+    CALCULATE_WIDE_REQUEST("calculate_wide_request", "x_bits", "y_bits", "n_bits"),
+    CALCULATE_WIDE("calculate_wide", "x_bits", "y_bits", "n_bits", "result_bits"),
+    CALCULATE_BATCH("calculate_batch", "size"),
+    RESULTS_REQUEST("results_request", "after", "limit"),
+    RESULTS_PAGE("results_page", "after", "limit", "returned"),
+    RESULTS_QUERY("results_query", "after", "limit", "returned"),
+    RESULTS_ALL("results_all", "returned"),
+    SWEEP_REQUEST("sweep_request", "x", "y", "n_start", "n_end", "step"),
+    SWEEP("sweep", "returned", "persisted"),
+    CONSTRAINTS_REQUEST("constraints_request", "constraints", "n"),
+    CONSTRAINTS("constraints", "constraints", "n", "result"),
+    SAVE("save", "id", "x", "y", "n", "result"),
+    SAVE_BATCH("save_batch", "size");
+
+    private final String label;
+    private final String[] fields;
+
+    AuditAction(String label, String... fields) {
+        this.label = label;
+        this.fields = fields;
+    }
+
+    /**
+     * Retrieves the name of the action written in every audit line.
+     *
+     * @return The label of the action.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Retrieves the name of the field at the given position.
+     *
+     * @param index The position of the field.
+     * @return The name of the field.
+     */
+    String field(int index) {
+        return fields[index];
+    }
+
+    /**
+     * Retrieves the number of fields carried by the action.
+     *
+     * @return The number of fields.
+     */
+    int fieldCount() {
+        return fields.length;
+    }
+}
@@ -0,0 +1,30 @@
+package com.inclusioncloud.maxinteger.config.audit;
+
+import org.slf4j.event.Level;
+
+/**
+ * Preallocated slot of the {@link AuditRingBuffer}. Producers overwrite its fields before publishing it, so
+ * recording an event does not allocate; only the background writer reads it after it has been published.
+ */
+final class AuditEvent {
+
+    static final int MAX_VALUES = 5;
+
+    long timestamp;
+    AuditLayer layer;
+    Level level;
+    AuditAction action;
+    final long[] values = new long[MAX_VALUES];
+
+    void set(long timestamp, AuditLayer layer, Level level, AuditAction action, long a, long b, long c, long d, long e) {
+        this.timestamp = timestamp;
+        this.layer = layer;
+        this.level = level;
+        this.action = action;
+        values[0] = a;
+        values[1] = b;
+        values[2] = c;
+        values[3] = d;
+        values[4] = e;
+    }
+}
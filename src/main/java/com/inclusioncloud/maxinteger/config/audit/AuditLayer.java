@@ -0,0 +1,26 @@
+package com.inclusioncloud.maxinteger.config.audit;
+
+/**
+ * Layers of the application that emit audit events. Each layer has its own level and sampling rate.
+ */
+public enum AuditLayer {
+    CONTROLLER("controller"),
+    USE_CASE("usecase"),
+    SERVICE("service"),
+    ADAPTER("adapter");
+
+    private final String label;
+
+    AuditLayer(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Retrieves the name of the layer written in every audit line.
+     *
+     * @return The label of the layer.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
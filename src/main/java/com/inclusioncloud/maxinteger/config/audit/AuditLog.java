@@ -0,0 +1,136 @@
+package com.inclusioncloud.maxinteger.config.audit;
+
+import org.slf4j.event.Level;
+
+/**
+ * Static entry point of the audit log, used by every layer in place of per-request log lines.
+ * Calls only store primitive values in the {@link AuditPipeline}; nothing is formatted or written on the
+ * calling thread. Until a pipeline is installed, and after it is removed, every call is a no-op.
+ */
+public final class AuditLog {
+
+    private static volatile AuditPipeline pipeline;
+
+    private AuditLog() {
+    }
+
+    /**
+     * Installs the pipeline that receives the audit events.
+     *
+     * @param auditPipeline The pipeline to use, or {@code null} to stop recording.
+     */
+    public static void install(AuditPipeline auditPipeline) {
+        pipeline = auditPipeline;
+    }
+
+    /**
+     * Records an {@code INFO} event with one value.
+     *
+     * @param layer  The layer emitting the event.
+     * @param action The recorded action.
+     * @param a      The value of the action.
+     */
+    public static void info(AuditLayer layer, AuditAction action, long a) {
+        record(layer, Level.INFO, action, a, 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * Records an {@code INFO} event with two values.
+     *
+     * @param layer  The layer emitting the event.
+     * @param action The recorded action.
+     * @param a      The first value of the action.
+     * @param b      The second value of the action.
+     */
+    public static void info(AuditLayer layer, AuditAction action, long a, long b) {
+        record(layer, Level.INFO, action, a, b, 0L, 0L, 0L);
+    }
+
+    /**
+     * Records an {@code INFO} event with three values.
+     *
+     * @param layer  The layer emitting the event.
+     * @param action The recorded action.
+     * @param a      The first value of the action.
+     * @param b      The second value of the action.
+     * @param c      The third value of the action.
+     */
+    public static void info(AuditLayer layer, AuditAction action, long a, long b, long c) {
+        record(layer, Level.INFO, action, a, b, c, 0L, 0L);
+    }
+
+    /**
+     * Records an {@code INFO} event with four values.
+     *
+     * @param layer  The layer emitting the event.
+     * @param action The recorded action.
+     * @param a      The first value of the action.
+     * @param b      The second value of the action.
+     * @param c      The third value of the action.
+     * @param d      The fourth value of the action.
+     */
+    public static void info(AuditLayer layer, AuditAction action, long a, long b, long c, long d) {
+        record(layer, Level.INFO, action, a, b, c, d, 0L);
+    }
+
+    /**
+     * Records an {@code INFO} event with five values.
+     *
+     * @param layer  The layer emitting the event.
+     * @param action The recorded action.
+     * @param a      The first value of the action.
+     * @param b      The second value of the action.
+     * @param c      The third value of the action.
+     * @param d      The fourth value of the action.
+     * @param e      The fifth value of the action.
+     */
+    public static void info(AuditLayer layer, AuditAction action, long a, long b, long c, long d, long e) {
+        record(layer, Level.INFO, action, a, b, c, d, e);
+    }
+
+    /**
+     * Records a {@code DEBUG} event with one value.
+     *
+     * @param layer  The layer emitting the event.
+     * @param action The recorded action.
+     * @param a      The value of the action.
+     */
+    public static void debug(AuditLayer layer, AuditAction action, long a) {
+        record(layer, Level.DEBUG, action, a, 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * Records a {@code DEBUG} event with three values.
+     *
+     * @param layer  The layer emitting the event.
+     * @param action The recorded action.
+     * @param a      The first value of the action.
+     * @param b      The second value of the action.
+     * @param c      The third value of the action.
+     */
+    public static void debug(AuditLayer layer, AuditAction action, long a, long b, long c) {
+        record(layer, Level.DEBUG, action, a, b, c, 0L, 0L);
+    }
+
+    /**
+     * Records a {@code DEBUG} event with five values.
+     *
+     * @param layer  The layer emitting the event.
+     * @param action The recorded action.
+     * @param a      The first value of the action.
+     * @param b      The second value of the action.
+     * @param c      The third value of the action.
+     * @param d      The fourth value of the action.
+     * @param e      The fifth value of the action.
+     */
+    public static void debug(AuditLayer layer, AuditAction action, long a, long b, long c, long d, long e) {
+        record(layer, Level.DEBUG, action, a, b, c, d, e);
+    }
+
+    private static void record(AuditLayer layer, Level level, AuditAction action, long a, long b, long c, long d, long e) {
+        AuditPipeline current = pipeline;
+        if (current != null) {
+            current.record(layer, level, action, a, b, c, d, e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.inclusioncloud.maxinteger.config.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous audit event pipeline. Request threads filter each event by the level of its layer and by
+ * sampling, then publish it to an {@link AuditRingBuffer} as primitive fields; a single background writer
+ * formats the events as {@code key=value} lines and writes them to the {@value #AUDIT_LOGGER} logger.
+ *
+ * <p>Sampling keeps one in {@code sampleRate} events of a layer. Events at {@code WARN} or above are never
+ * sampled out.</p>
+ */
+public class AuditPipeline implements AutoCloseable {
+
+    static final String AUDIT_LOGGER = "audit";
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPipeline.class);
+    private static final int DRAIN_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditRingBuffer buffer;
+    private final int[] thresholds;
+    private final int[] sampleRates;
+    private final Logger auditLogger;
+    private final StringBuilder line = new StringBuilder(128);
+    private final Thread writer;
+    private final long shutdownTimeoutMillis;
+    private volatile boolean running;
+
+    /**
+     * Constructs a new {@code AuditPipeline}. The background writer is not started until {@link #start()} is called.
+     *
+     * @param capacity              Maximum number of events waiting to be written.
+     * @param levels                Minimum level recorded for each layer; layers not present record {@code INFO} and above.
+     * @param sampleRateByLayer     One in how many events below {@code WARN} are kept for each layer; layers not present keep all.
+     * @param shutdownTimeoutMillis Maximum time {@link #close()} waits for the pending events to be written.
+     */
+    public AuditPipeline(int capacity, Map<AuditLayer, Level> levels, Map<AuditLayer, Integer> sampleRateByLayer, long shutdownTimeoutMillis) {
+        this(capacity, levels, sampleRateByLayer, shutdownTimeoutMillis, LoggerFactory.getLogger(AUDIT_LOGGER));
+    }
+
+    AuditPipeline(int capacity, Map<AuditLayer, Level> levels, Map<AuditLayer, Integer> sampleRateByLayer, long shutdownTimeoutMillis, Logger auditLogger) {
+        this.buffer = new AuditRingBuffer(capacity);
+        this.thresholds = new int[AuditLayer.values().length];
+        this.sampleRates = new int[AuditLayer.values().length];
+        for (AuditLayer layer : AuditLayer.values()) {
+            thresholds[layer.ordinal()] = levels.getOrDefault(layer, Level.INFO).toInt();
+            sampleRates[layer.ordinal()] = Math.max(1, sampleRateByLayer.getOrDefault(layer, 1));
+        }
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.auditLogger = auditLogger;
+        this.writer = new Thread(this::write, "audit-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts the background writer.
+     */
+    public void start() {
+        if (!running) {
+            running = true;
+            writer.start();
+        }
+    }
+
+    /**
+     * Indicates whether an event of the given layer and level would be recorded, before sampling.
+     *
+     * @param layer The layer emitting the event.
+     * @param level The level of the event.
+     * @return {@code true} if the level is enabled for the layer.
+     */
+    public boolean isEnabled(AuditLayer layer, Level level) {
+        return level.toInt() >= thresholds[layer.ordinal()];
+    }
+
+    /**
+     * Records an event if its level is enabled for its layer and it is kept by sampling. Never blocks: the
+     * event is dropped if the buffer is full.
+     *
+     * @param layer  The layer emitting the event.
+     * @param level  The level of the event.
+     * @param action The recorded action, which names the values.
+     * @param a      The first value of the action, or {@code 0} if it has fewer.
+     * @param b      The second value of the action, or {@code 0} if it has fewer.
+     * @param c      The third value of the action, or {@code 0} if it has fewer.
+     * @param d      The fourth value of the action, or {@code 0} if it has fewer.
+     * @param e      The fifth value of the action, or {@code 0} if it has fewer.
+     */
+    public void record(AuditLayer layer, Level level, AuditAction action, long a, long b, long c, long d, long e) {
+        if (!isEnabled(layer, level)) {
+            return;
+        }
+        int sampleRate = sampleRates[layer.ordinal()];
+        if (sampleRate > 1 && level.toInt() < Level.WARN.toInt() && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        buffer.publish(System.currentTimeMillis(), layer, level, action, a, b, c, d, e);
+    }
+
+    /**
+     * Returns the number of events waiting to be written.
+     *
+     * @return The number of pending events.
+     */
+    public long pending() {
+        return buffer.size();
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full.
+     *
+     * @return The count of dropped events.
+     */
+    public long droppedCount() {
+        return buffer.droppedCount();
+    }
+
+    /**
+     * Stops the background writer after writing the pending events, waiting up to the shutdown timeout.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (buffer.size() > 0) {
+            logger.warn("Audit writer stopped with {} events not written", buffer.size());
+        }
+    }
+
+    /**
+     * Writes the pending events on the calling thread. Used by the writer and by tests.
+     *
+     * @return The number of events written.
+     */
+    int drain() {
+        return buffer.drain(this::writeEvent, DRAIN_BATCH);
+    }
+
+    private void write() {
+        while (running || buffer.size() > 0) {
+            if (drain() == 0) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void writeEvent(AuditEvent event) {
+        line.setLength(0);
+        line.append("ts=").append(event.timestamp)
+                .append(" layer=").append(event.layer.getLabel())
+                .append(" action=").append(event.action.getLabel());
+        for (int i = 0; i < event.action.fieldCount(); i++) {
+            line.append(' ').append(event.action.field(i)).append('=').append(event.values[i]);
+        }
+        auditLogger.atLevel(event.level).log(line.toString());
+    }
+}
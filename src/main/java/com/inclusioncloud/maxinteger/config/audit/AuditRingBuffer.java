@@ -0,0 +1,112 @@
+package com.inclusioncloud.maxinteger.config.audit;
+
+import org.slf4j.event.Level;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free ring buffer of {@link AuditEvent} slots with many producers and a single consumer.
+ *
+ * <p>Producers claim a sequence with a compare-and-set, fill the slot of that sequence and publish it by
+ * storing the sequence in the slot's entry of {@code published}. The consumer reads slots in sequence order
+ * and only advances past a slot once it has been published. When the buffer is full the event is dropped and
+ * counted; request threads never wait for the writer.</p>
+ */
+final class AuditRingBuffer {
+
+    private final AuditEvent[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long consumed;
+
+    /**
+     * Creates a ring buffer with the given number of slots, rounded up to a power of two.
+     *
+     * @param capacity The minimum number of events the buffer can hold.
+     */
+    AuditRingBuffer(int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AuditEvent[size];
+        this.published = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new AuditEvent();
+            published.set(i, -1L);
+        }
+    }
+
+    /**
+     * Claims a slot, fills it and publishes it.
+     *
+     * @return {@code true} if the event was published, {@code false} if the buffer was full and it was dropped.
+     */
+    boolean publish(long timestamp, AuditLayer layer, Level level, AuditAction action, long a, long b, long c, long d, long e) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        int index = (int) sequence & mask;
+        slots[index].set(timestamp, layer, level, action, a, b, c, d, e);
+        published.lazySet(index, sequence);
+        return true;
+    }
+
+    /**
+     * Hands the published events to the handler in sequence order. Must only be called by the consumer thread.
+     *
+     * @param handler The handler of each event; the event must not be kept after the call.
+     * @param max     The maximum number of events to drain.
+     * @return The number of events drained.
+     */
+    int drain(Consumer<AuditEvent> handler, int max) {
+        long next = consumed;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                break;
+            }
+            handler.accept(slots[index]);
+            next++;
+            drained++;
+        }
+        consumed = next;
+        return drained;
+    }
+
+    /**
+     * Returns the number of events waiting to be drained.
+     *
+     * @return The number of claimed events not yet drained.
+     */
+    long size() {
+        return claimed.get() - consumed;
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full.
+     *
+     * @return The count of dropped events.
+     */
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of slots of the buffer.
+     *
+     * @return The capacity of the buffer.
+     */
+    int capacity() {
+        return slots.length;
+    }
+}
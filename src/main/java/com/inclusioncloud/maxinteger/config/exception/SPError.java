@@ -12,7 +12,24 @@ public enum SPError {
     OPERATION_SERVICE_ERROR_CALCULATE(1009, "Errors performing mathematical operation calculations"),
     OPERATION_USE_CASE_ERROR_CALCULATE(1010, "Use case calculation error, indicates failures in business logic or operation execution"),
     OPERATION_CONTROLLER_ERROR_CALCULATE(1011, "Controller calculation error, indicates failures in business logic or operation execution"),
-    OPERATION_USE_CASE_ERROR_RESULTS(1012, "Use case results error, indicates failures in business logic or operation execution");
+    OPERATION_USE_CASE_ERROR_RESULTS(1012, "Use case results error, indicates failures in business logic or operation execution"),
+    OPERATION_USE_CASE_ERROR_CALCULATE_BATCH(1013, "Use case batch calculation error, indicates failures in business logic or operation execution"),
+    OPERATION_USE_CASE_ERROR_CALCULATE_STREAM(1014, "Use case stream calculation error, indicates failures in business logic or operation execution"),
+    OPERATION_CONTROLLER_ERROR_STREAM(1015, "Controller stream error, indicates the request body could not be read or the response could not be written"),
+    WRITE_BEHIND_QUEUE_FULL(1016, "Write-behind queue is full, the operation could not be accepted for persistence"),
+    OPERATION_USE_CASE_ERROR_EXPORT(1017, "Use case export error, indicates the stored operations could not be read or written to the export"),
+    OPERATION_USE_CASE_ERROR_STATS(1018, "Use case statistics error, indicates the operation statistics could not be summarized"),
+    OPERATION_USE_CASE_ERROR_SWEEP(1019, "Use case sweep error, indicates the range of operations could not be calculated, written or persisted"),
+    OPERATION_SERVICE_ERROR_OVERFLOW(1020, "The result of the calculation does not fit in a 64-bit integer"),
+    OPERATION_SERVICE_ERROR_NO_SOLUTION(1021, "No non-negative integer k lower than or equal to n satisfies every constraint"),
+    OPERATION_USE_CASE_ERROR_CONSTRAINTS(1022, "Use case constraints error, indicates failures in business logic or operation execution"),
+    IDEMPOTENCY_KEY_REUSED(1023, "The idempotency key was already used for a different request"),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS(1024, "A request with the same idempotency key is still in progress"),
+    CONCURRENCY_LIMIT_EXCEEDED(1025, "The server is at its concurrency limit, the request was rejected and can be retried later"),
+    OPERATION_USE_CASE_ERROR_STREAM_PERSIST(1026, "Use case stream persistence error, the results calculated since the last persisted chunk were not stored"),
+    WRITE_BEHIND_QUEUE_CLOSED(1027, "Write-behind queue is closed, the operation could not be accepted for persistence"),
+    WIDE_STORAGE_NOT_SUPPORTED(1028, "The configured storage only holds values that fit in 64 bits"),
+    IDEMPOTENCY_STORE_FULL(1029, "Every remembered idempotency key is still in progress, the request was rejected and can be retried later");
 
     private final int errorCode;
     private final String errorMessage;
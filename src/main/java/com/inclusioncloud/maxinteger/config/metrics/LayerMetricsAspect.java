@@ -0,0 +1,149 @@
+package com.inclusioncloud.maxinteger.config.metrics;
+
+import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
+import com.inclusioncloud.maxinteger.config.exception.GenericException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect that times every layer of the calculation path, from the controller down to the H2 adapter,
+ * and counts the errors of each layer by {@code SPError} code.
+ *
+ * <p>Each instrumented method publishes an {@value #LATENCY_METRIC} timer tagged with its {@code layer},
+ * {@code class}, {@code method} and {@code outcome}, with a percentile histogram so p99 can be aggregated
+ * across pods. Comparing the layers shows whether time goes to validation and mapping (controller),
+ * orchestration (use case), computation (service) or JPA (adapter); serialization is the difference between
+ * {@code http.server.requests} and the controller timer.</p>
+ *
+ * <p>Timers are resolved once per method and cached, so the hot path only reads the clock twice and
+ * records one sample.</p>
+ *
+ * <p>Storage adapters are matched through the methods of the {@code OperationStorageRepository} port, so any
+ * adapter implementing it is timed without listing its methods here. The single-operation kernel
+ * {@code OperationService.calculateMaxK} runs in nanoseconds and is not proxied; {@code CalculateUseCase}
+ * accumulates its time instead and publishes it as {@code operation.kernel.latency}.</p>
+ */
+@Aspect
+@Component
+public class LayerMetricsAspect {
+
+    static final String LATENCY_METRIC = "operation.layer.latency";
+    static final String ERROR_METRIC = "operation.errors";
+
+    private static final String CONTROLLER_LAYER = "controller";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, LayerTimers> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the aspect publishing its meters to the given registry.
+     *
+     * @param meterRegistry The registry where the latency timers and error counters are published.
+     */
+    public LayerMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Times an instrumented method and counts the {@link GenericException} it throws, or the
+     * {@link ErrorResponse} it returns when it is a controller.
+     *
+     * @param joinPoint The intercepted method execution.
+     * @return The value returned by the method.
+     * @throws Throwable The exception thrown by the method, unchanged.
+     */
+    @Around("execution(public * com.inclusioncloud.maxinteger.infrastructure.entrypoints.controller.OperationsController.*(..))"
+            + " || execution(public * com.inclusioncloud.maxinteger.application.usecase.CalculateUseCase.calculate(..))"
+            + " || execution(public * com.inclusioncloud.maxinteger.application.usecase.CalculateUseCase.calculateWide(..))"
+            + " || execution(public * com.inclusioncloud.maxinteger.application.usecase.ResultsUseCase.*(..))"
+            + " || execution(public * com.inclusioncloud.maxinteger.application.usecase.SolveConstraintsUseCase.solve(..))"
+            + " || execution(public * com.inclusioncloud.maxinteger.domain.service.CongruenceSolverService.solveMaxK(..))"
+            + " || execution(public * com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        LayerTimers layerTimers = timers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::register);
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof ResponseEntity<?> response && response.getBody() instanceof ErrorResponse error) {
+                layerTimers.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                countError(layerTimers.layer, error.getCodeStatus());
+            } else {
+                layerTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            return result;
+        } catch (Throwable ex) {
+            layerTimers.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (ex instanceof GenericException genericException) {
+                countError(layerTimers.layer, genericException.getErrorCode());
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Counts the errors answered by the global exception handler, such as request validation failures.
+     *
+     * @param response The error response returned by the handler.
+     */
+    @AfterReturning(pointcut = "execution(public * com.inclusioncloud.maxinteger.config.GlobalExceptionHandler.*(..))", returning = "response")
+    public void countHandledError(ResponseEntity<ErrorResponse> response) {
+        if (response.getBody() != null) {
+            countError(CONTROLLER_LAYER, response.getBody().getCodeStatus());
+        }
+    }
+
+    private void countError(String layer, int code) {
+        errorCounters.computeIfAbsent(layer + ':' + code, key -> Counter.builder(ERROR_METRIC)
+                        .description("Errors by layer and SPError code")
+                        .tag("layer", layer)
+                        .tag("code", String.valueOf(code))
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private LayerTimers register(Method method) {
+        String layer = layer(method.getDeclaringClass().getPackageName());
+        return new LayerTimers(layer, timer(method, layer, "success"), timer(method, layer, "error"));
+    }
+
+    private Timer timer(Method method, String layer, String outcome) {
+        return Timer.builder(LATENCY_METRIC)
+                .description("Latency of each layer of the calculation path")
+                .tag("layer", layer)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String layer(String packageName) {
+        if (packageName.endsWith(".controller")) {
+            return CONTROLLER_LAYER;
+        }
+        if (packageName.endsWith(".usecase")) {
+            return "usecase";
+        }
+        if (packageName.endsWith(".service")) {
+            return "service";
+        }
+        return "adapter";
+    }
+
+    private record LayerTimers(String layer, Timer success, Timer error) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.inclusioncloud.maxinteger.domain.models;
+
+import lombok.*;
+
+/**
+ * The {@code Congruence} class represents a single constraint k mod x = y of a multi-constraint
+ * calculation, where x is the divisor and y the expected remainder.
+ *
+ * The class is immutable.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class Congruence {
+    private final long x;
+    private final long y;
+}
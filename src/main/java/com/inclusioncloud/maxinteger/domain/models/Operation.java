@@ -4,32 +4,56 @@ import lombok.*;
 
 /**
  * The {@code OperationDomain} class represents the domain model for an operation.
- * It encapsulates the input parameters (x, y, n) and the result of the calculation.
- * This class utilizes Lombok annotations for boilerplate code like getters, setters,
+ * It encapsulates the input parameters (x, y, n), the result of the calculation and,
+ * once stored, the identifier assigned by the storage layer.
+ * This class utilizes Lombok annotations for boilerplate code like getters
  * and the builder pattern, improving readability and maintainability.
  *
- * The class is designed to be immutable with respect to the input parameters (x, y, n),
- * ensuring that these values cannot be altered once an instance is created, thus
- * maintaining the integrity of the operation data.
+ * The class is immutable: the input parameters (x, y, n) and the result cannot be
+ * altered once an instance is created, thus maintaining the integrity of the
+ * operation data. A calculated operation is obtained through {@link #withResult(long)}.
  */
 @Getter
-@Setter
 @AllArgsConstructor
 @Builder
 @ToString
 public class Operation {
+    private final Long id;
     private final Long x;
     private final Long y;
     private final Long n;
-    private Long result;
+    private final Long result;
 
     /**
-     * Sets the result of the operation. This method allows updating the result
-     * field while keeping the input parameters (x, y, n) immutable.
+     * Creates an operation that has not been stored yet, so it has no identifier.
      *
-     * @param result The result of the operation to be set.
+     * @param x      The value of x.
+     * @param y      The value of y.
+     * @param n      The value of n.
+     * @param result The result of the operation, or {@code null} if it has not been calculated.
      */
-    public void setResult(Long result) {
-        this.result = result;
+    public Operation(Long x, Long y, Long n, Long result) {
+        this(null, x, y, n, result);
+    }
+
+    /**
+     * Returns a new operation with the same identifier and input parameters (x, y, n) and the given result.
+     *
+     * @param result The result of the operation.
+     * @return A new {@link Operation} carrying the result.
+     */
+    public Operation withResult(long result) {
+        return new Operation(this.id, this.x, this.y, this.n, result);
+    }
+
+    /**
+     * Creates an operation that only carries a result, used when the input parameters
+     * are already known by the caller.
+     *
+     * @param result The result of the operation.
+     * @return A new {@link Operation} with only the result set.
+     */
+    public static Operation ofResult(long result) {
+        return new Operation(null, null, null, result);
     }
 }
@@ -0,0 +1,34 @@
+package com.inclusioncloud.maxinteger.domain.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * The {@code OperationPage} class represents a page of stored operations ordered by identifier.
+ * The {@code nextCursor} is the identifier of the last operation of the page and must be sent
+ * back to fetch the following page; it is {@code null} when there are no more operations.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class OperationPage {
+    private final List<Operation> items;
+    private final Long nextCursor;
+
+    /**
+     * Builds a page from a list fetched with one element more than the requested limit.
+     * The extra element is only used to know whether another page exists and is not returned.
+     *
+     * @param fetched The operations fetched, ordered by identifier, with at most {@code limit + 1} elements.
+     * @param limit   The maximum number of operations of the page.
+     * @return The resulting {@link OperationPage}.
+     */
+    public static OperationPage of(List<Operation> fetched, int limit) {
+        if (fetched.size() <= limit) {
+            return new OperationPage(fetched, null);
+        }
+        List<Operation> items = fetched.subList(0, limit);
+        return new OperationPage(items, items.get(limit - 1).getId());
+    }
+}
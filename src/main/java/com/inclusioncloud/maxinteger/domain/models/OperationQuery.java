@@ -0,0 +1,132 @@
+package com.inclusioncloud.maxinteger.domain.models;
+
+import lombok.*;
+
+/**
+ * The {@code OperationQuery} class represents a filter over the stored operations. {@code x}, {@code y}
+ * and {@code n} match exact values, while {@code minN}, {@code maxN}, {@code minResult} and
+ * {@code maxResult} bound inclusive ranges; every field is optional and a {@code null} field does not
+ * filter. An exact {@code n} is combined with the {@code n} range, so both must hold.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@ToString
+public class OperationQuery {
+    private final Long x;
+    private final Long y;
+    private final Long n;
+    private final Long minN;
+    private final Long maxN;
+    private final Long minResult;
+    private final Long maxResult;
+
+    /**
+     * Indicates whether the query has no filter at all, so it matches every stored operation.
+     *
+     * @return {@code true} if every field is {@code null}.
+     */
+    public boolean isEmpty() {
+        return x == null && y == null && n == null && minN == null && maxN == null && minResult == null && maxResult == null;
+    }
+
+    /**
+     * Indicates whether {@code x}, {@code y} and {@code n} are all given, so the query looks up a single triple.
+     *
+     * @return {@code true} if the query filters by the whole triple.
+     */
+    public boolean isTriple() {
+        return x != null && y != null && n != null;
+    }
+
+    /**
+     * Indicates whether the query bounds the result.
+     *
+     * @return {@code true} if {@code minResult} or {@code maxResult} is given.
+     */
+    public boolean hasResultRange() {
+        return minResult != null || maxResult != null;
+    }
+
+    /**
+     * Returns the lowest {@code y} matched by the query.
+     *
+     * @return {@code y} if given, otherwise {@link Long#MIN_VALUE}.
+     */
+    public long lowerY() {
+        return y != null ? y : Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the highest {@code y} matched by the query.
+     *
+     * @return {@code y} if given, otherwise {@link Long#MAX_VALUE}.
+     */
+    public long upperY() {
+        return y != null ? y : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the lowest {@code n} matched by the query, combining the exact value and the range.
+     *
+     * @return The greatest of {@code n} and {@code minN} given, otherwise {@link Long#MIN_VALUE}.
+     */
+    public long lowerN() {
+        long lower = minN != null ? minN : Long.MIN_VALUE;
+        return n != null ? Math.max(n, lower) : lower;
+    }
+
+    /**
+     * Returns the highest {@code n} matched by the query, combining the exact value and the range.
+     *
+     * @return The least of {@code n} and {@code maxN} given, otherwise {@link Long#MAX_VALUE}.
+     */
+    public long upperN() {
+        long upper = maxN != null ? maxN : Long.MAX_VALUE;
+        return n != null ? Math.min(n, upper) : upper;
+    }
+
+    /**
+     * Returns the lowest result matched by the query.
+     *
+     * @return {@code minResult} if given, otherwise {@link Long#MIN_VALUE}.
+     */
+    public long lowerResult() {
+        return minResult != null ? minResult : Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the highest result matched by the query.
+     *
+     * @return {@code maxResult} if given, otherwise {@link Long#MAX_VALUE}.
+     */
+    public long upperResult() {
+        return maxResult != null ? maxResult : Long.MAX_VALUE;
+    }
+
+    /**
+     * Evaluates the query on the values of a stored operation.
+     *
+     * @param x      The x of the operation.
+     * @param y      The y of the operation.
+     * @param n      The n of the operation.
+     * @param result The result of the operation.
+     * @return {@code true} if the operation matches every filter of the query.
+     */
+    public boolean matches(long x, long y, long n, long result) {
+        return (this.x == null || this.x == x)
+                && y >= lowerY() && y <= upperY()
+                && n >= lowerN() && n <= upperN()
+                && result >= lowerResult() && result <= upperResult();
+    }
+
+    /**
+     * Evaluates the query on a stored operation.
+     *
+     * @param operation The operation to evaluate.
+     * @return {@code true} if the operation matches every filter of the query.
+     */
+    public boolean matches(Operation operation) {
+        return matches(operation.getX(), operation.getY(), operation.getN(), operation.getResult());
+    }
+}
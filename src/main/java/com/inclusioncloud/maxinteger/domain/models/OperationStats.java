@@ -0,0 +1,19 @@
+package com.inclusioncloud.maxinteger.domain.models;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * The {@code OperationStats} class represents the statistics of the persisted operations, overall and per
+ * divisor {@code x}. Only a bounded number of divisors have their own statistics; {@code untrackedCount}
+ * is the number of operations whose divisor is not in {@code byX}.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class OperationStats {
+    private final ResultSummary overall;
+    private final Map<Long, ResultSummary> byX;
+    private final long untrackedCount;
+}
@@ -0,0 +1,22 @@
+package com.inclusioncloud.maxinteger.domain.models;
+
+import lombok.*;
+
+/**
+ * The {@code ResultSummary} class represents the statistics of a set of calculated results.
+ * {@code distinctTriples} and the quantiles {@code p50}, {@code p90} and {@code p99} are estimates;
+ * every field but the counts is {@code null} when the set is empty.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ResultSummary {
+    private final long count;
+    private final Long min;
+    private final Long max;
+    private final Double mean;
+    private final long distinctTriples;
+    private final Long p50;
+    private final Long p90;
+    private final Long p99;
+}
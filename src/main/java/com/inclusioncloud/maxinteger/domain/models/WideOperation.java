@@ -0,0 +1,65 @@
+package com.inclusioncloud.maxinteger.domain.models;
+
+import lombok.*;
+
+import java.math.BigInteger;
+
+/**
+ * The {@code WideOperation} class represents an operation whose parameters or result do not fit in
+ * a 64-bit {@link Operation}. It carries the same data as {@link Operation} with arbitrary-precision
+ * values and is only used by the calculations that need them, so the common case keeps working on
+ * primitive longs.
+ *
+ * The class is immutable: a calculated operation is obtained through {@link #withResult(BigInteger)}.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@ToString
+public class WideOperation {
+
+    /**
+     * Maximum number of decimal digits of x, y and n. It matches the default maximum number length
+     * accepted by the JSON parser.
+     */
+    public static final int MAX_DIGITS = 1_000;
+
+    private final Long id;
+    private final BigInteger x;
+    private final BigInteger y;
+    private final BigInteger n;
+    private final BigInteger result;
+
+    /**
+     * Creates an operation that has not been stored yet, so it has no identifier.
+     *
+     * @param x      The value of x.
+     * @param y      The value of y.
+     * @param n      The value of n.
+     * @param result The result of the operation, or {@code null} if it has not been calculated.
+     */
+    public WideOperation(BigInteger x, BigInteger y, BigInteger n, BigInteger result) {
+        this(null, x, y, n, result);
+    }
+
+    /**
+     * Returns a new operation with the same identifier and input parameters (x, y, n) and the given result.
+     *
+     * @param result The result of the operation.
+     * @return A new {@link WideOperation} carrying the result.
+     */
+    public WideOperation withResult(BigInteger result) {
+        return new WideOperation(this.id, this.x, this.y, this.n, result);
+    }
+
+    /**
+     * Creates an operation that only carries a result, used when the input parameters
+     * are already known by the caller.
+     *
+     * @param result The result of the operation.
+     * @return A new {@link WideOperation} with only the result set.
+     */
+    public static WideOperation ofResult(BigInteger result) {
+        return new WideOperation(null, null, null, result);
+    }
+}
@@ -0,0 +1,142 @@
+package com.inclusioncloud.maxinteger.domain.service;
+
+import java.math.BigInteger;
+
+/**
+ * The {@code CongruencePlan} class holds everything the solution of a system of congruences k mod x<sub>i</sub> = y<sub>i</sub>
+ * needs that depends only on the divisors. It is built once per list of divisors by {@link CongruenceSolverService}
+ * and reused for every list of remainders.
+ *
+ * <p>The congruences are combined one after another, as in the Chinese remainder theorem generalized to divisors
+ * that are not coprime. Combining a solution r modulo M with k mod x = y needs g = gcd(M, x), the reduced divisor
+ * x / g and the inverse of M / g modulo x / g, and the combined modulus is lcm(M, x). The plan keeps those values
+ * for every step, so solving a system costs a remainder check and two multiplications per congruence.</p>
+ *
+ * <p>The combined modulus is kept while it fits in a long. At the first step where it does not, at most one
+ * solution is lower than {@link Long#MAX_VALUE}: the plan calculates it at that step and only checks it against the
+ * remaining congruences. Instances are immutable and safe to share between threads.</p>
+ */
+final class CongruencePlan {
+
+    /**
+     * Value returned by {@link #solve(long[], long)} when no k satisfies every congruence.
+     */
+    static final long NO_SOLUTION = -1L;
+
+    private final long[] moduli;
+    private final long[] prefixModuli;
+    private final long[] gcds;
+    private final long[] reducedModuli;
+    private final long[] inverses;
+    private final int lastCombined;
+    private final long modulus;
+
+    CongruencePlan(long[] moduli) {
+        int size = moduli.length;
+        this.moduli = moduli.clone();
+        this.prefixModuli = new long[size];
+        this.gcds = new long[size];
+        this.reducedModuli = new long[size];
+        this.inverses = new long[size];
+
+        long lcm = moduli[0];
+        int step = 1;
+        for (; step < size; step++) {
+            long gcd = gcd(lcm, moduli[step]);
+            long reduced = moduli[step] / gcd;
+            prefixModuli[step] = lcm;
+            gcds[step] = gcd;
+            reducedModuli[step] = reduced;
+            inverses[step] = reduced == 1 ? 0 : inverse((lcm / gcd) % reduced, reduced);
+            if (lcm > Long.MAX_VALUE / reduced) {
+                break;
+            }
+            lcm *= reduced;
+        }
+        this.lastCombined = step;
+        this.modulus = lcm;
+    }
+
+    /**
+     * Calculates the maximum k ≤ n that satisfies k mod x<sub>i</sub> = y<sub>i</sub> for the divisors of the plan.
+     *
+     * @param residues The expected remainders, one per divisor of the plan and each lower than its divisor.
+     * @param n        The upper bound for k, not negative.
+     * @return The maximum k, or {@link #NO_SOLUTION} if the congruences are incompatible or their lowest solution is greater than n.
+     */
+    long solve(long[] residues, long n) {
+        long remainder = residues[0];
+        for (int step = 1; step < moduli.length; step++) {
+            if (step > lastCombined) {
+                if (remainder % moduli[step] != residues[step]) {
+                    return NO_SOLUTION;
+                }
+                continue;
+            }
+            long difference = residues[step] - remainder;
+            if (difference % gcds[step] != 0) {
+                return NO_SOLUTION;
+            }
+            long reduced = reducedModuli[step];
+            long t = multiplyMod(Math.floorMod(difference / gcds[step], reduced), inverses[step], reduced);
+            if (step < lastCombined) {
+                remainder += prefixModuli[step] * t;
+            } else {
+                long increment = prefixModuli[step] * t;
+                if (Math.multiplyHigh(prefixModuli[step], t) != 0 || increment < 0 || increment > Long.MAX_VALUE - remainder) {
+                    return NO_SOLUTION;
+                }
+                remainder += increment;
+            }
+        }
+        if (remainder > n) {
+            return NO_SOLUTION;
+        }
+        return lastCombined < moduli.length ? remainder : n - (n - remainder) % modulus;
+    }
+
+    /**
+     * Retrieves the number of congruences of the plan.
+     *
+     * @return The number of divisors.
+     */
+    int size() {
+        return moduli.length;
+    }
+
+    private static long multiplyMod(long a, long b, long m) {
+        if (Math.multiplyHigh(a, b) == 0) {
+            long product = a * b;
+            if (product >= 0) {
+                return product % m;
+            }
+        }
+        return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(BigInteger.valueOf(m)).longValue();
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    private static long inverse(long a, long m) {
+        long oldRemainder = a;
+        long remainder = m;
+        long oldCoefficient = 1;
+        long coefficient = 0;
+        while (remainder != 0) {
+            long quotient = oldRemainder / remainder;
+            long next = oldRemainder - quotient * remainder;
+            oldRemainder = remainder;
+            remainder = next;
+            next = oldCoefficient - quotient * coefficient;
+            oldCoefficient = coefficient;
+            coefficient = next;
+        }
+        return Math.floorMod(oldCoefficient, m);
+    }
+}
@@ -0,0 +1,136 @@
+package com.inclusioncloud.maxinteger.domain.service;
+
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code CongruenceSolverService} class calculates the maximum non-negative integer k ≤ n that satisfies
+ * several congruences k mod x<sub>i</sub> = y<sub>i</sub> at once, the multi-constraint counterpart of
+ * {@link OperationService#calculateMaxK(long, long, long)}.
+ *
+ * <p>The congruences are combined into a single one with the Chinese remainder theorem generalized to divisors that
+ * are not coprime. The part of the combination that depends only on the divisors (combined moduli, gcds and
+ * modular inverses) is kept in a {@link CongruencePlan} cached by list of divisors, so a system whose divisors were
+ * already seen is solved with a few multiplications, whatever its remainders and n. About {@code maxPlans} lists of
+ * divisors are cached; systems with other divisors are still solved, building their plan every time.</p>
+ */
+public class CongruenceSolverService {
+
+    /**
+     * Default maximum number of cached plans.
+     */
+    static final int DEFAULT_MAX_PLANS = 1_024;
+
+    private static final Logger logger = LoggerFactory.getLogger(CongruenceSolverService.class);
+
+    private final Map<Divisors, CongruencePlan> plans = new ConcurrentHashMap<>();
+    private final LongAdder planHits = new LongAdder();
+    private final LongAdder planMisses = new LongAdder();
+    private final int maxPlans;
+
+    /**
+     * Constructs a new {@code CongruenceSolverService} caching up to {@value #DEFAULT_MAX_PLANS} plans.
+     */
+    public CongruenceSolverService() {
+        this(DEFAULT_MAX_PLANS);
+    }
+
+    CongruenceSolverService(int maxPlans) {
+        this.maxPlans = maxPlans;
+    }
+
+    /**
+     * Calculates the maximum non-negative integer k ≤ n such that k mod x[i] = y[i] for every i.
+     * The congruences are received as parallel primitive arrays, like the batch kernel of {@link OperationService}.
+     *
+     * @param x The divisors, each greater than zero.
+     * @param y The expected remainders, each not negative and lower than its divisor.
+     * @param n The upper bound for k, must not be negative.
+     * @return The calculated maximum value of k that satisfies every congruence.
+     * @throws CustomException If the parameters are invalid or no k ≤ n satisfies every congruence.
+     */
+    public long solveMaxK(long[] x, long[] y, long n) {
+        if (x.length == 0 || x.length != y.length || n < 0) {
+            logger.error("Invalid input for MaxK constraints: sizes x={}, y={}, n={}", x.length, y.length, n);
+            throw new CustomException(SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorMessage());
+        }
+        for (int i = 0; i < x.length; i++) {
+            if (x[i] <= 0 || y[i] < 0 || y[i] >= x[i]) {
+                logger.error("Invalid constraint for MaxK at index {}: x={}, y={}", i, x[i], y[i]);
+                throw new CustomException(SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorMessage());
+            }
+        }
+
+        long maxK = plan(x).solve(y, n);
+        if (maxK == CongruencePlan.NO_SOLUTION) {
+            logger.error("No MaxK satisfies the {} constraints with n={}", x.length, n);
+            throw new CustomException(SPError.OPERATION_SERVICE_ERROR_NO_SOLUTION.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_NO_SOLUTION.getErrorMessage());
+        }
+        AuditLog.debug(AuditLayer.SERVICE, AuditAction.CONSTRAINTS, x.length, n, maxK);
+        return maxK;
+    }
+
+    /**
+     * Retrieves the number of systems solved with a cached plan.
+     *
+     * @return The number of plan cache hits.
+     */
+    long planHitCount() {
+        return planHits.sum();
+    }
+
+    /**
+     * Retrieves the number of systems whose plan had to be built.
+     *
+     * @return The number of plan cache misses.
+     */
+    long planMissCount() {
+        return planMisses.sum();
+    }
+
+    private CongruencePlan plan(long[] x) {
+        Divisors key = new Divisors(x);
+        CongruencePlan plan = plans.get(key);
+        if (plan != null) {
+            planHits.increment();
+            return plan;
+        }
+        planMisses.increment();
+        return plans.size() < maxPlans
+                ? plans.computeIfAbsent(new Divisors(x.clone()), divisors -> new CongruencePlan(divisors.values))
+                : new CongruencePlan(x);
+    }
+
+    /**
+     * Key of the plan cache: the list of divisors, compared by value and in order.
+     */
+    private static final class Divisors {
+        private final long[] values;
+        private final int hash;
+
+        private Divisors(long[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Divisors divisors && hash == divisors.hash && Arrays.equals(values, divisors.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.inclusioncloud.maxinteger.domain.service;
+
+/**
+ * The {@code MaxKSweep} class is a lazy cursor over the maximum non-negative integer k for a fixed x and y
+ * and every n of the range [nStart, nEnd] taken with a fixed step. Values are produced one at a time by
+ * {@link #next()}, so a sweep of any length runs in constant memory.
+ *
+ * <p>The kernel of {@link OperationService#calculateMaxK(long, long, long)} only needs n mod x. Instead of
+ * dividing for every n, the sweep computes n mod x and step mod x once and then advances the remainder by
+ * step mod x, wrapping it at x, so every step costs an addition and two comparisons. The values produced are
+ * the same the kernel returns for each n, and they are derived from n by subtraction so the whole long range
+ * can be swept without overflowing.</p>
+ *
+ * <p>Instances are created through {@link OperationService#sweepMaxK(long, long, long, long, long)}, which
+ * validates the parameters. A sweep is not thread-safe and is meant to be consumed by a single thread.</p>
+ */
+public final class MaxKSweep {
+
+    private final long x;
+    private final long y;
+    private final long nEnd;
+    private final long step;
+    private final long stepRemainder;
+    private long n;
+    private long remainder;
+    private long maxK;
+    private boolean started;
+    private boolean exhausted;
+
+    MaxKSweep(long x, long y, long nStart, long nEnd, long step) {
+        this.x = x;
+        this.y = y;
+        this.nEnd = nEnd;
+        this.step = step;
+        this.stepRemainder = step % x;
+        this.n = nStart;
+        this.remainder = nStart % x;
+    }
+
+    /**
+     * Moves the cursor to the next n of the range and calculates its maximum k.
+     *
+     * @return {@code true} if the cursor moved to a new n, {@code false} once the range is exhausted.
+     */
+    public boolean next() {
+        if (exhausted) {
+            return false;
+        }
+        if (started) {
+            if (n > nEnd - step) {
+                exhausted = true;
+                return false;
+            }
+            n += step;
+            remainder += stepRemainder - x;
+            if (remainder < 0) {
+                remainder += x;
+            }
+        }
+        started = true;
+        maxK = y <= remainder ? n - (remainder - y) : n - remainder + (y - x);
+        return true;
+    }
+
+    /**
+     * Retrieves the n the cursor is positioned at.
+     *
+     * @return The current value of n.
+     */
+    public long n() {
+        return n;
+    }
+
+    /**
+     * Retrieves the maximum k calculated for the current n.
+     *
+     * @return The maximum non-negative integer k such that k ≤ n and k mod x = y.
+     */
+    public long maxK() {
+        return maxK;
+    }
+
+    /**
+     * Retrieves the value of x shared by every n of the sweep.
+     *
+     * @return The divisor of the sweep.
+     */
+    public long x() {
+        return x;
+    }
+
+    /**
+     * Retrieves the value of y shared by every n of the sweep.
+     *
+     * @return The expected remainder of the sweep.
+     */
+    public long y() {
+        return y;
+    }
+}
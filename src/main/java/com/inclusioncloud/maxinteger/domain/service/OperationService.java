@@ -1,12 +1,17 @@
 package com.inclusioncloud.maxinteger.domain.service;
 
 
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
 import com.inclusioncloud.maxinteger.config.exception.CustomException;
 import com.inclusioncloud.maxinteger.config.exception.SPError;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigInteger;
+
 /**
  * The {@code OperationService} class, part of the domain service layer, encapsulates the business logic
  * for calculating the maximum non-negative integer k, such that 0 ≤ k ≤ n and k mod x = y.
@@ -19,28 +24,154 @@ public class OperationService {
     /**
      * Calculates the maximum non-negative integer k satisfying 0 ≤ k ≤ n and k mod x = y.
      * It uses the {@link Operation} object to retrieve the parameters x, y, and n,
-     * and applies the algorithm to find the suitable value of k.
+     * and delegates to the primitive kernel {@link #calculateMaxK(long, long, long)}.
      *
      * @param domain An instance of {@link Operation} containing parameters x, y, and n.
      * @return The calculated maximum value of k that meets the conditions.
      * @throws CustomException If an error occurs during the calculation process.
      */
     public Long calculateMaxK(Operation domain) {
-        if (domain.getX() < 0 || domain.getY() < 0 || domain.getN() < 0) {
-            logger.error("Invalid input for MaxK calculation: x={}, y={}, n={}", domain.getX(), domain.getY(), domain.getN());
+        return calculateMaxK(domain.getX(), domain.getY(), domain.getN());
+    }
+
+    /**
+     * Calculates the maximum non-negative integer k satisfying 0 ≤ k ≤ n and k mod x = y
+     * working only with primitive values. This is the kernel used by every calculation path:
+     * it does not box its arguments, does not log on success and does not allocate.
+     *
+     * <p>When n + y fits in a long, which covers every value below 2<sup>62</sup>, the result is
+     * calculated on the fast path with a single division. Otherwise it is calculated in the full
+     * long range by {@link #calculateMaxKFullRange(long, long, long)}, which never overflows.</p>
+     *
+     * @param x The divisor, must be greater than zero.
+     * @param y The expected remainder, must not be negative.
+     * @param n The upper bound for k, must not be negative.
+     * @return The calculated maximum value of k that meets the conditions.
+     * @throws CustomException If any of the parameters is invalid or the result does not fit in a long.
+     */
+    public long calculateMaxK(long x, long y, long n) {
+        if (x <= 0 || y < 0 || n < 0) {
+            logger.error("Invalid input for MaxK calculation: x={}, y={}, n={}", x, y, n);
             throw new CustomException(SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorMessage());
         }
 
-        try {
-            Long maxK = domain.getN() - (domain.getN() % domain.getX()) + domain.getY();
-            if (maxK > domain.getN()) {
-                maxK -= domain.getX();
+        if (y <= Long.MAX_VALUE - n) {
+            long maxK = n - (n % x) + y;
+            return maxK > n ? maxK - x : maxK;
+        }
+        return calculateMaxKFullRange(x, y, n);
+    }
+
+    /**
+     * Calculates the maximum non-negative integer k satisfying 0 ≤ k ≤ n and k mod x = y with
+     * arbitrary precision, for values of x, y or n that do not fit in a long. The calculation is
+     * dispatched to the primitive kernel whenever the three values and the result fit in a long,
+     * so only the values that need it pay for {@link BigInteger} arithmetic.
+     *
+     * @param x The divisor, must be greater than zero.
+     * @param y The expected remainder, must not be negative.
+     * @param n The upper bound for k, must not be negative.
+     * @return The calculated maximum value of k that meets the conditions.
+     * @throws CustomException If any of the parameters is invalid.
+     */
+    public BigInteger calculateMaxK(BigInteger x, BigInteger y, BigInteger n) {
+        if (x.signum() <= 0 || y.signum() < 0 || n.signum() < 0) {
+            logger.error("Invalid input for wide MaxK calculation: x={}, y={}, n={}", x, y, n);
+            throw new CustomException(SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorMessage());
+        }
+
+        if (x.bitLength() < Long.SIZE && y.bitLength() < Long.SIZE && n.bitLength() < Long.SIZE) {
+            long longX = x.longValue();
+            long longY = y.longValue();
+            long longN = n.longValue();
+            if (longY <= Long.MAX_VALUE - longN || longY < longX) {
+                return BigInteger.valueOf(calculateMaxK(longX, longY, longN));
             }
-            logger.info("Calculated MaxK: {}", maxK);
-            return maxK;
-        } catch (Exception e) {
-            logger.error("Error in MaxK calculation", e);
-            throw new CustomException(SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorMessage(), e);
+        }
+        BigInteger maxK = n.subtract(n.mod(x)).add(y);
+        return maxK.compareTo(n) > 0 ? maxK.subtract(x) : maxK;
+    }
+
+    /**
+     * Creates a lazy sweep of the maximum non-negative integer k for a fixed x and y and every n from
+     * {@code nStart} to {@code nEnd}, both inclusive, taken every {@code step}. Nothing is calculated until
+     * the returned {@link MaxKSweep} is advanced, and consecutive values are derived from the previous one
+     * without a division.
+     *
+     * @param x      The divisor, must be greater than zero.
+     * @param y      The expected remainder, must not be negative.
+     * @param nStart The first n of the sweep, must not be negative.
+     * @param nEnd   The last n of the sweep, must not be lower than {@code nStart}.
+     * @param step   The distance between two consecutive values of n, must be greater than zero.
+     * @return A {@link MaxKSweep} positioned before the first n of the range.
+     * @throws CustomException If any of the parameters is invalid or a result of the range does not fit in a long.
+     */
+    public MaxKSweep sweepMaxK(long x, long y, long nStart, long nEnd, long step) {
+        if (x <= 0 || y < 0 || nStart < 0 || nEnd < nStart || step <= 0) {
+            logger.error("Invalid input for MaxK sweep: x={}, y={}, nStart={}, nEnd={}, step={}", x, y, nStart, nEnd, step);
+            throw new CustomException(SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorMessage());
+        }
+        if (y >= x && y - x > Long.MAX_VALUE - nEnd) {
+            logger.error("MaxK sweep overflows a long: x={}, y={}, nEnd={}", x, y, nEnd);
+            throw new CustomException(SPError.OPERATION_SERVICE_ERROR_OVERFLOW.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_OVERFLOW.getErrorMessage());
+        }
+        return new MaxKSweep(x, y, nStart, nEnd, step);
+    }
+
+    /**
+     * Calculates the maximum non-negative integer k for every (x, y, n) triple of a batch.
+     * The parameters are received as parallel primitive arrays so the whole batch is validated
+     * in a single pass and then computed in a tight loop, without creating an {@link Operation}
+     * per element.
+     *
+     * @param x The values of x, one per triple.
+     * @param y The values of y, one per triple.
+     * @param n The values of n, one per triple.
+     * @return An array with the calculated maximum value of k for each triple, in the same order as the input.
+     * @throws CustomException If the arrays differ in length or any triple contains invalid values.
+     */
+    public long[] calculateMaxKBatch(long[] x, long[] y, long[] n) {
+        if (x.length != y.length || x.length != n.length) {
+            logger.error("Invalid batch for MaxK calculation: sizes x={}, y={}, n={}", x.length, y.length, n.length);
+            throw new CustomException(SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorMessage());
+        }
+
+        for (int i = 0; i < n.length; i++) {
+            if (x[i] <= 0 || y[i] < 0 || n[i] < 0) {
+                logger.error("Invalid input for MaxK batch calculation at index {}: x={}, y={}, n={}", i, x[i], y[i], n[i]);
+                throw new CustomException(SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorMessage());
+            }
+        }
+
+        long[] results = new long[n.length];
+        for (int i = 0; i < n.length; i++) {
+            if (y[i] <= Long.MAX_VALUE - n[i]) {
+                long maxK = n[i] - (n[i] % x[i]) + y[i];
+                results[i] = maxK > n[i] ? maxK - x[i] : maxK;
+            } else {
+                results[i] = calculateMaxKFullRange(x[i], y[i], n[i]);
+            }
+        }
+        AuditLog.debug(AuditLayer.SERVICE, AuditAction.CALCULATE_BATCH, results.length);
+        return results;
+    }
+
+    /**
+     * Calculates the maximum k for values where n + y does not fit in a long. The candidate
+     * n - (n mod x) + y is never built: the result is derived from n by subtracting, which can not
+     * overflow while y is lower than x. A y not lower than x can move the result above n, so that
+     * case is checked and reported when it does not fit in a long.
+     */
+    private long calculateMaxKFullRange(long x, long y, long n) {
+        long remainder = n % x;
+        if (y <= remainder) {
+            return n - (remainder - y);
+        }
+        try {
+            return Math.addExact(n - remainder, y - x);
+        } catch (ArithmeticException e) {
+            logger.error("MaxK calculation overflows a long: x={}, y={}, n={}", x, y, n);
+            throw new CustomException(SPError.OPERATION_SERVICE_ERROR_OVERFLOW.getErrorCode(), SPError.OPERATION_SERVICE_ERROR_OVERFLOW.getErrorMessage(), e);
         }
     }
 }
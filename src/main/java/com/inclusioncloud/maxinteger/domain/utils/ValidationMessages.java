@@ -1,5 +1,7 @@
 package com.inclusioncloud.maxinteger.domain.utils;
 
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
+
 /**
  * The {@code ValidationMessages} class provides a centralized repository of constant
  * messages used for validation throughout the application. This class follows the
@@ -17,9 +19,28 @@ public class ValidationMessages {
     public static final String MIN_VALUE_X = "X debe ser mayor a -1";
     public static final String MIN_VALUE_Y = "Y debe ser mayor a -1";
     public static final String MIN_VALUE_N = "N debe ser mayor a -1";
-    public static final String MAX_VALUE_X = "X supera el valor máximo permitido " + Long.MAX_VALUE;
-    public static final String MAX_VALUE_Y = "Y supera el valor máximo permitido " + Long.MAX_VALUE;
-    public static final String MAX_VALUE_N = "N supera el valor máximo permitido " + Long.MAX_VALUE;
+    public static final String MAX_VALUE_X = "X supera la cantidad máxima de digitos permitida " + WideOperation.MAX_DIGITS;
+    public static final String MAX_VALUE_Y = "Y supera la cantidad máxima de digitos permitida " + WideOperation.MAX_DIGITS;
+    public static final String MAX_VALUE_N = "N supera la cantidad máxima de digitos permitida " + WideOperation.MAX_DIGITS;
+    public static final String NOT_EMPTY_OPERATIONS = "Operations no puede estar vacio";
+    public static final String MIN_VALUE_AFTER = "After debe ser mayor a -1";
+    public static final String RANGE_VALUE_LIMIT = "Limit debe estar entre 1 y 1000";
+    public static final String RANGE_VALUE_N = "MinN no puede ser mayor a maxN";
+    public static final String RANGE_VALUE_RESULT = "MinResult no puede ser mayor a maxResult";
+    public static final String MIN_VALUE_SWEEP_X = "X debe ser mayor a 0";
+    public static final String MIN_VALUE_STEP = "Step debe ser mayor a 0";
+    public static final String RANGE_VALUE_SWEEP = "NStart no puede ser mayor a nEnd";
+    public static final String WIDE_NOT_SUPPORTED = "Los valores mayores a 64 bits solo se admiten en el calculo individual";
+    public static final String WIDE_STORAGE_NOT_SUPPORTED = "Los valores mayores a 64 bits solo se admiten con el almacenamiento h2";
+    public static final String MIN_VALUE_CONSTRAINT_X = "X debe ser mayor a 0";
+    public static final String MIN_VALUE_CONSTRAINT_Y = "Y no puede ser negativo";
+    public static final String MIN_VALUE_CONSTRAINT_N = "N no puede ser negativo";
+    public static final String RANGE_VALUE_CONSTRAINT = "Y debe ser menor a X";
+    public static final String NOT_NULL_CONSTRAINT = "Las restricciones no pueden ser null";
+    public static final String NOT_EMPTY_CONSTRAINTS = "Constraints no puede estar vacio";
+    public static final String MAX_SIZE_CONSTRAINTS = "Constraints supera el tamaño máximo permitido de 1000 elementos";
+    public static final String LENGTH_IDEMPOTENCY_KEY = "Idempotency-Key debe tener entre 1 y 255 caracteres";
+    public static final String MAX_SIZE_OPERATIONS = "Operations supera el tamaño máximo permitido de 10000 elementos";
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -2,35 +2,63 @@ package com.inclusioncloud.maxinteger.infrastructure.adapter.h2;
 
 
 import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
 import com.inclusioncloud.maxinteger.config.exception.DataBaseException;
 import com.inclusioncloud.maxinteger.config.exception.SPError;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
 import com.inclusioncloud.maxinteger.infrastructure.adapter.h2.models.OperationEntity;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Adapter class for handling operation-related database interactions.
  * Implements the OperationStorageRepository interface.
  * Provides methods to save and retrieve operation records using H2 database.
+ * It is the default storage, used unless {@code operation.storage.type} selects another one.
  */
 @Component
+@ConditionalOnProperty(name = "operation.storage.type", havingValue = "h2", matchIfMissing = true)
 public class OperationH2Adapter implements OperationStorageRepository {
 
+    /**
+     * Number of entities flushed together by {@link #saveAll(List)}, aligned with
+     * {@code hibernate.jdbc.batch_size} so every flush becomes a single JDBC batch.
+     */
+    static final int BATCH_SIZE = 50;
+
     private static final Logger logger = LoggerFactory.getLogger(OperationH2Adapter.class);
     private final OperationH2Repository repository;
+    private final EntityManager entityManager;
+    private final OperationTableVersion tableVersion;
 
     /**
      * Constructor for dependency injection of the OperationH2Repository.
      * @param operationRepository The H2 repository interface for operations.
+     * @param entityManager The entity manager used to flush and clear the persistence context during batch inserts.
+     * @param tableVersion The version of the 'operations' table, increased after every committed write.
      */
-    public OperationH2Adapter(OperationH2Repository operationRepository) {
+    public OperationH2Adapter(OperationH2Repository operationRepository, EntityManager entityManager, OperationTableVersion tableVersion) {
         this.repository = operationRepository;
+        this.entityManager = entityManager;
+        this.tableVersion = tableVersion;
     }
 
     /**
@@ -44,17 +72,48 @@ public class OperationH2Adapter implements OperationStorageRepository {
     @Transactional
     public Operation save(Operation domain) {
         try {
-            logger.info("Attempting to save operation: {}", domain);
             OperationEntity entity = OperationEntity.fromDomain(domain);
-            OperationEntity savedEntity = repository.save(entity);
-            logger.info("Operation saved successfully: {}", savedEntity.toDomain());
-            return savedEntity.toDomain();
+            Operation saved = repository.save(entity).toDomain();
+            tableVersion.increment();
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.SAVE, saved.getId(), saved.getX(), saved.getY(), saved.getN(), saved.getResult());
+            return saved;
         } catch (Exception e) {
             logger.error("Error saving operation: {}", e.getMessage());
             throw new DataBaseException(SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorMessage(), e);
         }
     }
 
+    /**
+     * Indicates that the H2 storage holds wide operations in its arbitrary-precision columns.
+     *
+     * @return Always {@code true}.
+     */
+    @Override
+    public boolean supportsWide() {
+        return true;
+    }
+
+    /**
+     * Saves a wide operation domain object to the database. Its values are stored in the arbitrary-precision
+     * columns of {@link OperationEntity}, so the 64-bit queries of this adapter do not return it.
+     *
+     * @param domain The wide operation domain object to save.
+     * @return The saved wide operation domain object.
+     * @throws DataBaseException if any database operation fails.
+     */
+    @Override
+    @Transactional
+    public WideOperation saveWide(WideOperation domain) {
+        try {
+            WideOperation saved = repository.save(OperationEntity.fromWideDomain(domain)).toWideDomain();
+            tableVersion.increment();
+            return saved;
+        } catch (Exception e) {
+            logger.error("Error saving wide operation: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorMessage(), e);
+        }
+    }
+
     /**
      * Retrieves all operation domain objects from the database.
      *
@@ -65,13 +124,163 @@ public class OperationH2Adapter implements OperationStorageRepository {
     @Transactional(readOnly = true)
     public List<Operation> getAll() {
         try {
-            logger.info("Retrieving all operations from the database");
-            return repository.findAll().stream()
+            List<Operation> operations = repository.findByResultIsNotNull().stream()
                     .map(OperationEntity::toDomain)
                     .collect(Collectors.toList());
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.RESULTS_ALL, operations.size());
+            return operations;
         } catch (Exception e) {
             logger.error("Error retrieving operations: {}", e.getMessage());
             throw new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
         }
     }
+
+    /**
+     * Retrieves a page of operation domain objects ordered by identifier using keyset pagination.
+     * One extra row is fetched to know whether a next page exists.
+     *
+     * @param afterId The identifier after which the page starts.
+     * @param limit The maximum number of operations of the page.
+     * @return The page of operation domain objects.
+     * @throws DataBaseException if any database operation fails.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OperationPage getPage(long afterId, int limit) {
+        try {
+            List<Operation> fetched = repository.findByIdGreaterThanAndResultIsNotNullOrderByIdAsc(afterId, PageRequest.of(0, limit + 1)).stream()
+                    .map(OperationEntity::toDomain)
+                    .collect(Collectors.toList());
+            OperationPage page = OperationPage.of(fetched, limit);
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.RESULTS_PAGE, afterId, limit, page.getItems().size());
+            return page;
+        } catch (Exception e) {
+            logger.error("Error retrieving operations page: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves a page of the operation domain objects matching a query, ordered by identifier.
+     * The repository query is chosen by the filter given, so the matching rows are read in page order
+     * through an index ending with {@code id}: the whole triple, then x, then an exact n, then y. A query
+     * with only n and result ranges is read in primary key order. One extra row is fetched to know whether
+     * a next page exists.
+     *
+     * @param query The query the operations must match.
+     * @param afterId The identifier after which the page starts.
+     * @param limit The maximum number of operations of the page.
+     * @return The page of matching operation domain objects.
+     * @throws DataBaseException if any database operation fails.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OperationPage find(OperationQuery query, long afterId, int limit) {
+        try {
+            List<Operation> fetched = findEntities(query, afterId, PageRequest.of(0, limit + 1)).stream()
+                    .map(OperationEntity::toDomain)
+                    .collect(Collectors.toList());
+            OperationPage page = OperationPage.of(fetched, limit);
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.RESULTS_QUERY, afterId, limit, page.getItems().size());
+            return page;
+        } catch (Exception e) {
+            logger.error("Error querying operations: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    private List<OperationEntity> findEntities(OperationQuery query, long afterId, Pageable pageable) {
+        if (query.isTriple()) {
+            return repository.findByTriple(query.getX(), query.getY(), query.getN(),
+                    query.lowerResult(), query.upperResult(), afterId, pageable);
+        }
+        if (query.getX() != null) {
+            return repository.findByX(query.getX(), query.lowerY(), query.upperY(), query.lowerN(), query.upperN(),
+                    query.lowerResult(), query.upperResult(), afterId, pageable);
+        }
+        if (query.getN() != null) {
+            return repository.findByN(query.getN(), query.lowerN(), query.upperN(), query.lowerY(), query.upperY(),
+                    query.lowerResult(), query.upperResult(), afterId, pageable);
+        }
+        if (query.getY() != null) {
+            return repository.findByY(query.getY(), query.lowerN(), query.upperN(),
+                    query.lowerResult(), query.upperResult(), afterId, pageable);
+        }
+        if (query.hasResultRange()) {
+            return repository.findByResult(query.lowerResult(), query.upperResult(), query.lowerN(), query.upperN(),
+                    afterId, pageable);
+        }
+        return repository.findByRange(query.lowerN(), query.upperN(), afterId, pageable);
+    }
+
+    /**
+     * Streams every operation domain object to the consumer through a forward-only cursor.
+     * Each entity is detached from the persistence context once it has been handed over, so
+     * neither the session nor the caller accumulate the rows already read.
+     *
+     * @param consumer The consumer receiving each operation domain object.
+     * @return The number of operations handed to the consumer.
+     * @throws DataBaseException if any database operation fails.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long forEach(Consumer<Operation> consumer) {
+        try (Stream<OperationEntity> entities = repository.streamAllOrderById()) {
+            logger.info("Streaming all operations from the database");
+            long count = 0;
+            Iterator<OperationEntity> cursor = entities.iterator();
+            while (cursor.hasNext()) {
+                OperationEntity entity = cursor.next();
+                consumer.accept(entity.toDomain());
+                entityManager.detach(entity);
+                count++;
+            }
+            logger.info("Streamed {} operations", count);
+            return count;
+        } catch (Exception e) {
+            logger.error("Error streaming operations: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Saves a batch of operation domain objects to the database in a single transaction.
+     * Entities are flushed every {@link #BATCH_SIZE} rows, so Hibernate sends them as multi-row
+     * JDBC batches, and the persistence context is cleared after each flush to keep its size bounded.
+     *
+     * @param domains The operation domain objects to save.
+     * @return The saved operation domain objects, in the same order as received.
+     * @throws DataBaseException if any database operation fails.
+     */
+    @Override
+    @Transactional
+    public List<Operation> saveAll(List<Operation> domains) {
+        try {
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.SAVE_BATCH, domains.size());
+            List<Operation> saved = new ArrayList<>(domains.size());
+            for (int from = 0; from < domains.size(); from += BATCH_SIZE) {
+                List<OperationEntity> chunk = domains.subList(from, Math.min(from + BATCH_SIZE, domains.size())).stream()
+                        .map(OperationEntity::fromDomain)
+                        .collect(Collectors.toList());
+                repository.saveAll(chunk).forEach(entity -> saved.add(entity.toDomain()));
+                repository.flush();
+                entityManager.clear();
+            }
+            tableVersion.increment();
+            return saved;
+        } catch (Exception e) {
+            logger.error("Error saving operations batch: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves the version of the 'operations' table, shared with the R2DBC adapter.
+     *
+     * @return The number of writes committed since the application started.
+     */
+    @Override
+    public long version() {
+        return tableVersion.get();
+    }
 }
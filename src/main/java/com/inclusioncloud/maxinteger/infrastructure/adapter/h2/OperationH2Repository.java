@@ -2,14 +2,217 @@ package com.inclusioncloud.maxinteger.infrastructure.adapter.h2;
 
 
 import com.inclusioncloud.maxinteger.infrastructure.adapter.h2.models.OperationEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Spring Data JPA repository for {@link OperationEntity} instances.
  * The repository is used for standard data access operations on Operation entities.
+ *
+ * <p>The parameter queries are native H2 queries. The equality lookups name the index whose leading columns they
+ * fix with {@code USE INDEX} and order by those columns and then {@code id}: the index ends with {@code id}, so the
+ * rows are read already in page order from {@code afterId} and H2 stops after the page instead of sorting every
+ * match. {@code findByTriple} uses {@code (x, y, n, id)}, {@code findByX} {@code (x, id)}, {@code findByN}
+ * {@code (n, id)} and {@code findByY} {@code (y, id)}. {@code findByResult}, for a result range, seeks the
+ * {@code (result, id)} index to the range and sorts only the matching rows by {@code id}. {@code findByRange}, for
+ * the n range alone, names no index and lets the planner choose between the primary key, read in {@code id} order,
+ * and the {@code n} index. Unused filters are passed as the full {@code long} range, so they match every row.</p>
  */
 @Repository
 public interface OperationH2Repository extends JpaRepository<OperationEntity, Long> {
-    // In the future, if you need to implement custom queries, they can be added here.
+
+    /**
+     * Native query of {@link #findByTriple}, reading the {@code (x, y, n, id)} index from the triple and the cursor.
+     */
+    String FIND_BY_TRIPLE = "SELECT * FROM operations USE INDEX (" + OperationEntity.TRIPLE_INDEX + ")"
+            + " WHERE x = :x AND y = :y AND n = :n AND id > :afterId AND result BETWEEN :minResult AND :maxResult"
+            + " ORDER BY x, y, n, id";
+
+    /**
+     * Native query of {@link #findByX}, reading the {@code (x, id)} index from x and the cursor.
+     */
+    String FIND_BY_X = "SELECT * FROM operations USE INDEX (" + OperationEntity.X_INDEX + ")"
+            + " WHERE x = :x AND id > :afterId AND y BETWEEN :minY AND :maxY AND n BETWEEN :minN AND :maxN"
+            + " AND result BETWEEN :minResult AND :maxResult ORDER BY x, id";
+
+    /**
+     * Native query of {@link #findByN}, reading the {@code (n, id)} index from n and the cursor.
+     */
+    String FIND_BY_N = "SELECT * FROM operations USE INDEX (" + OperationEntity.N_INDEX + ")"
+            + " WHERE n = :n AND id > :afterId AND n BETWEEN :minN AND :maxN AND y BETWEEN :minY AND :maxY"
+            + " AND result BETWEEN :minResult AND :maxResult ORDER BY n, id";
+
+    /**
+     * Native query of {@link #findByY}, reading the {@code (y, id)} index from y and the cursor.
+     */
+    String FIND_BY_Y = "SELECT * FROM operations USE INDEX (" + OperationEntity.Y_INDEX + ")"
+            + " WHERE y = :y AND id > :afterId AND n BETWEEN :minN AND :maxN"
+            + " AND result BETWEEN :minResult AND :maxResult ORDER BY y, id";
+
+    /**
+     * Native query of {@link #findByResult}, seeking the {@code (result, id)} index to the result range.
+     */
+    String FIND_BY_RESULT = "SELECT * FROM operations USE INDEX (" + OperationEntity.RESULT_INDEX + ")"
+            + " WHERE result BETWEEN :minResult AND :maxResult AND id > :afterId AND n BETWEEN :minN AND :maxN ORDER BY id";
+
+    /**
+     * Native query of {@link #findByRange}, with no index named.
+     */
+    String FIND_BY_RANGE = "SELECT * FROM operations"
+            + " WHERE id > :afterId AND n BETWEEN :minN AND :maxN ORDER BY id";
+
+    /**
+     * Retrieves every 64-bit operation, skipping the wide ones, whose {@code result} column is null.
+     *
+     * @return The list of {@link OperationEntity} found.
+     */
+    List<OperationEntity> findByResultIsNotNull();
+
+    /**
+     * Retrieves the 64-bit operations whose identifier is greater than the given one, ordered by identifier.
+     * The primary key index is used to seek to {@code id}, so deep pages cost the same as the first one.
+     * Wide operations, whose {@code result} column is null, are skipped.
+     * Only the page size of {@code pageable} is expected to be used; the page number must be zero.
+     *
+     * @param id The identifier after which the results start.
+     * @param pageable The page request limiting the number of results.
+     * @return The list of {@link OperationEntity} found.
+     */
+    List<OperationEntity> findByIdGreaterThanAndResultIsNotNullOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Retrieves the operations of a triple whose identifier is greater than the given one, ordered by
+     * identifier. The {@code (x, y, n, id)} index is read from the triple and the cursor.
+     *
+     * @param x The x of the operations.
+     * @param y The y of the operations.
+     * @param n The n of the operations.
+     * @param minResult The lowest result matched.
+     * @param maxResult The highest result matched.
+     * @param afterId The identifier after which the results start.
+     * @param pageable The page request limiting the number of results.
+     * @return The list of {@link OperationEntity} found.
+     */
+    @Query(value = FIND_BY_TRIPLE, nativeQuery = true)
+    List<OperationEntity> findByTriple(@Param("x") long x, @Param("y") long y, @Param("n") long n,
+                                       @Param("minResult") long minResult, @Param("maxResult") long maxResult,
+                                       @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the operations of an x whose identifier is greater than the given one, ordered by
+     * identifier. The {@code (x, id)} index is read from x and the cursor, and the other filters are
+     * evaluated on each row until the page is full.
+     *
+     * @param x The x of the operations.
+     * @param minY The lowest y matched.
+     * @param maxY The highest y matched.
+     * @param minN The lowest n matched.
+     * @param maxN The highest n matched.
+     * @param minResult The lowest result matched.
+     * @param maxResult The highest result matched.
+     * @param afterId The identifier after which the results start.
+     * @param pageable The page request limiting the number of results.
+     * @return The list of {@link OperationEntity} found.
+     */
+    @Query(value = FIND_BY_X, nativeQuery = true)
+    List<OperationEntity> findByX(@Param("x") long x, @Param("minY") long minY, @Param("maxY") long maxY,
+                                  @Param("minN") long minN, @Param("maxN") long maxN,
+                                  @Param("minResult") long minResult, @Param("maxResult") long maxResult,
+                                  @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the operations of an exact n whose identifier is greater than the given one, ordered by
+     * identifier. The {@code (n, id)} index is read from n and the cursor.
+     *
+     * @param n The n of the operations.
+     * @param minN The lowest n matched, combined with the exact value.
+     * @param maxN The highest n matched, combined with the exact value.
+     * @param minY The lowest y matched.
+     * @param maxY The highest y matched.
+     * @param minResult The lowest result matched.
+     * @param maxResult The highest result matched.
+     * @param afterId The identifier after which the results start.
+     * @param pageable The page request limiting the number of results.
+     * @return The list of {@link OperationEntity} found.
+     */
+    @Query(value = FIND_BY_N, nativeQuery = true)
+    List<OperationEntity> findByN(@Param("n") long n, @Param("minN") long minN, @Param("maxN") long maxN,
+                                  @Param("minY") long minY, @Param("maxY") long maxY,
+                                  @Param("minResult") long minResult, @Param("maxResult") long maxResult,
+                                  @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the operations of a y whose identifier is greater than the given one, ordered by
+     * identifier. The {@code (y, id)} index is read from y and the cursor.
+     *
+     * @param y The y of the operations.
+     * @param minN The lowest n matched.
+     * @param maxN The highest n matched.
+     * @param minResult The lowest result matched.
+     * @param maxResult The highest result matched.
+     * @param afterId The identifier after which the results start.
+     * @param pageable The page request limiting the number of results.
+     * @return The list of {@link OperationEntity} found.
+     */
+    @Query(value = FIND_BY_Y, nativeQuery = true)
+    List<OperationEntity> findByY(@Param("y") long y, @Param("minN") long minN, @Param("maxN") long maxN,
+                                  @Param("minResult") long minResult, @Param("maxResult") long maxResult,
+                                  @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the operations with result and n in ranges whose identifier is greater than the given one,
+     * ordered by identifier. The {@code (result, id)} index is sought to the result range, so only the matching
+     * rows are read, and they are then sorted by identifier.
+     *
+     * @param minResult The lowest result matched.
+     * @param maxResult The highest result matched.
+     * @param minN The lowest n matched.
+     * @param maxN The highest n matched.
+     * @param afterId The identifier after which the results start.
+     * @param pageable The page request limiting the number of results.
+     * @return The list of {@link OperationEntity} found.
+     */
+    @Query(value = FIND_BY_RESULT, nativeQuery = true)
+    List<OperationEntity> findByResult(@Param("minResult") long minResult, @Param("maxResult") long maxResult,
+                                       @Param("minN") long minN, @Param("maxN") long maxN,
+                                       @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the operations with n in a range whose identifier is greater than the given one, ordered by
+     * identifier. No index is named: a wide range is read from the primary key in page order, and the planner
+     * may seek the {@code (n, id)} index for a narrow n range.
+     *
+     * @param minN The lowest n matched.
+     * @param maxN The highest n matched.
+     * @param afterId The identifier after which the results start.
+     * @param pageable The page request limiting the number of results.
+     * @return The list of {@link OperationEntity} found.
+     */
+    @Query(value = FIND_BY_RANGE, nativeQuery = true)
+    List<OperationEntity> findByRange(@Param("minN") long minN, @Param("maxN") long maxN,
+                                      @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Opens a forward-only cursor over every 64-bit operation, ordered by identifier. Rows are fetched from
+     * the database {@code 500} at a time and the entities are loaded read-only, so Hibernate keeps no
+     * snapshot of them. The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return A {@link Stream} of {@link OperationEntity} backed by an open result set.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select o from OperationEntity o where o.result is not null order by o.id")
+    Stream<OperationEntity> streamAllOrderById();
 }
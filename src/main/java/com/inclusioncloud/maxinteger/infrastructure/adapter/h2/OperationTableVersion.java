@@ -0,0 +1,47 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.h2;
+
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the 'operations' table, increased by every successful write of the JPA and the R2DBC adapters.
+ * Both adapters write to the same table, so they share this counter and {@link OperationH2Adapter#version()}
+ * also changes when an operation is saved through the reactive endpoint.
+ *
+ * <p>Inside a transaction the version is increased after the commit: a reader that sees the new version also
+ * sees the rows written, so a version is never paired with rows older than it.</p>
+ */
+@Component
+public class OperationTableVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Increases the version, after the commit of the current transaction if there is one.
+     */
+    public void increment() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Retrieves the current version.
+     *
+     * @return The number of writes committed since the application started.
+     */
+    public long get() {
+        return version.get();
+    }
+}
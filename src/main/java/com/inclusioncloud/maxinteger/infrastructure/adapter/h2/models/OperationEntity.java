@@ -1,13 +1,29 @@
 package com.inclusioncloud.maxinteger.infrastructure.adapter.h2.models;
 
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigInteger;
+
 
 /**
  * Entity class representing an operation record in the database.
  * Maps the 'operations' table columns to fields in this class.
+ *
+ * <p>Identifiers come from the 'operations_seq' sequence with a pooled optimizer, so Hibernate
+ * reserves {@link #ID_ALLOCATION_SIZE} ids per round trip and can group inserts in JDBC batches.
+ * The pooled-lo variant is configured, so every sequence value is the first id of its block and
+ * other writers of the table can take single values from the same sequence.</p>
+ *
+ * <p>The table is indexed on {@code (x, y, n, id)}, {@code (x, id)}, {@code (n, id)} and {@code (y, id)}. Every
+ * index ends with {@code id}, so once the parameter queries of {@code OperationH2Repository} fix its leading
+ * columns the matching rows are read in {@code id} order and a page stops after its last row, without sorting.</p>
+ *
+ * <p>An operation whose values do not fit in a long is stored in the {@code wide_*} columns, numeric columns
+ * of {@link #WIDE_PRECISION} digits, and leaves the 64-bit columns null. The 64-bit columns keep the fast
+ * {@code BIGINT} indexes for the common case, and the queries over them skip the wide rows.</p>
  */
 @Getter
 @Setter
@@ -15,25 +31,75 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "operations")
+@Table(name = "operations", indexes = {
+        @Index(name = OperationEntity.TRIPLE_INDEX, columnList = "x, y, n, id"),
+        @Index(name = OperationEntity.X_INDEX, columnList = "x, id"),
+        @Index(name = OperationEntity.N_INDEX, columnList = "n, id"),
+        @Index(name = OperationEntity.Y_INDEX, columnList = "y, id"),
+        @Index(name = OperationEntity.RESULT_INDEX, columnList = "result, id")
+})
 public class OperationEntity {
 
+    /**
+     * Number of identifiers reserved on each call to the sequence.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Name of the index on {@code (x, y, n, id)}, used by lookups by triple.
+     */
+    public static final String TRIPLE_INDEX = "idx_operations_x_y_n_id";
+
+    /**
+     * Name of the index on {@code (x, id)}, used by lookups by x.
+     */
+    public static final String X_INDEX = "idx_operations_x_id";
+
+    /**
+     * Name of the index on {@code (n, id)}, used by lookups by exact n.
+     */
+    public static final String N_INDEX = "idx_operations_n_id";
+
+    /**
+     * Name of the index on {@code (y, id)}, used by lookups by y.
+     */
+    public static final String Y_INDEX = "idx_operations_y_id";
+
+    /**
+     * Name of the index on {@code (result, id)}, used by lookups by result range.
+     */
+    public static final String RESULT_INDEX = "idx_operations_result_id";
+
+    /**
+     * Number of digits of the wide columns: the digits of n plus one, since a result can exceed n by less than y.
+     */
+    public static final int WIDE_PRECISION = WideOperation.MAX_DIGITS + 1;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operations_seq")
+    @SequenceGenerator(name = "operations_seq", sequenceName = "operations_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @Column(nullable = false)
     private Long x;
 
-    @Column(nullable = false)
     private Long y;
 
-    @Column(nullable = false)
     private Long n;
 
-    @Column(nullable = false)
     private Long result;
 
+    @Column(name = "wide_x", precision = WIDE_PRECISION, scale = 0)
+    private BigInteger wideX;
+
+    @Column(name = "wide_y", precision = WIDE_PRECISION, scale = 0)
+    private BigInteger wideY;
+
+    @Column(name = "wide_n", precision = WIDE_PRECISION, scale = 0)
+    private BigInteger wideN;
+
+    @Column(name = "wide_result", precision = WIDE_PRECISION, scale = 0)
+    private BigInteger wideResult;
+
     /**
      * Converts a {@link Operation} object to an {@link OperationEntity}.
      *
@@ -55,6 +121,30 @@ public class OperationEntity {
      * @return The corresponding OperationDomain object.
      */
     public Operation toDomain() {
-        return new Operation(this.x, this.y, this.n, this.result);
+        return new Operation(this.id, this.x, this.y, this.n, this.result);
+    }
+
+    /**
+     * Converts a {@link WideOperation} object to an {@link OperationEntity} stored in the wide columns.
+     *
+     * @param domain The WideOperation object to convert.
+     * @return The corresponding OperationEntity object.
+     */
+    public static OperationEntity fromWideDomain(WideOperation domain) {
+        return OperationEntity.builder()
+                .wideX(domain.getX())
+                .wideY(domain.getY())
+                .wideN(domain.getN())
+                .wideResult(domain.getResult())
+                .build();
+    }
+
+    /**
+     * Converts this entity to its wide domain representation.
+     *
+     * @return The corresponding WideOperation object.
+     */
+    public WideOperation toWideDomain() {
+        return new WideOperation(this.id, this.wideX, this.wideY, this.wideN, this.wideResult);
     }
 }
@@ -0,0 +1,418 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.mmap;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
+import com.inclusioncloud.maxinteger.config.exception.DataBaseException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only {@link OperationStorageRepository} that stores every operation as a fixed-width
+ * {@value #RECORD_BYTES}-byte record ({@code id}, {@code x}, {@code y}, {@code n} and {@code result} as longs)
+ * in memory-mapped segment files, instead of going through JPA and H2.
+ *
+ * <p>Identifiers are assigned sequentially from {@code 1}, so the record of an identifier is found by arithmetic
+ * and {@link #getPage(long, int)} seeks directly to its cursor. Each segment file holds a fixed number of records
+ * and is named after the identifier of its first record; a new segment is mapped when the current one is full.</p>
+ *
+ * <p>The identifier of a record is written after its other fields and acts as its commit marker: a record whose
+ * identifier is not the next expected one was never completely written. The identifiers of a batch are written
+ * from the last record to the first, so a batch is only visible after recovery once its first record is
+ * committed, that is, once the whole batch is. On startup, closed segments are measured by binary search and the
+ * tail of the last segment is scanned record by record; records left after the first uncommitted one are erased.</p>
+ *
+ * <p>Writes are serialized by a lock and readers never take it: they read up to the last identifier published
+ * when the read started. Written records survive a crash of the process as soon as they are in the page cache;
+ * with {@code forceOnWrite} every write is also forced to the device before it returns.</p>
+ */
+public class OperationMappedFileAdapter implements OperationStorageRepository, AutoCloseable {
+
+    /**
+     * Size in bytes of a stored record.
+     */
+    static final int RECORD_BYTES = 5 * Long.BYTES;
+
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationMappedFileAdapter.class);
+    private static final int ID = 0;
+    private static final int X = 8;
+    private static final int Y = 16;
+    private static final int N = 24;
+    private static final int RESULT = 32;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final boolean forceOnWrite;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Segment[] segments;
+    private volatile long lastId;
+
+    /**
+     * Constructs a new {@code OperationMappedFileAdapter}, mapping the existing segments of {@code directory}
+     * and recovering the tail of the last one.
+     *
+     * @param directory    The directory holding the segment files; it is created if it does not exist.
+     * @param segmentBytes Size of each segment file in bytes, rounded down to a whole number of records.
+     * @param forceOnWrite Whether each write is forced to the storage device before it returns.
+     * @throws DataBaseException if the segment files cannot be opened or mapped.
+     */
+    public OperationMappedFileAdapter(Path directory, long segmentBytes, boolean forceOnWrite) {
+        long records = segmentBytes / RECORD_BYTES;
+        if (records < 1 || records > Integer.MAX_VALUE / RECORD_BYTES) {
+            throw new IllegalArgumentException("Segment size must hold between 1 and " + Integer.MAX_VALUE / RECORD_BYTES + " records");
+        }
+        this.directory = directory;
+        this.recordsPerSegment = (int) records;
+        this.forceOnWrite = forceOnWrite;
+        try {
+            Files.createDirectories(directory);
+            open();
+        } catch (IOException e) {
+            logger.error("Error opening segment files in {}: {}", directory, e.getMessage());
+            throw new DataBaseException(SPError.DATABASE_CONNECTION_ERROR.getErrorCode(), SPError.DATABASE_CONNECTION_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Appends an operation as a new record.
+     *
+     * @param domain The operation domain object to save.
+     * @return The saved operation domain object, with its identifier.
+     * @throws DataBaseException if the record cannot be written.
+     */
+    @Override
+    public Operation save(Operation domain) {
+        writeLock.lock();
+        try {
+            Segment segment = reserve(1);
+            long id = lastId + 1;
+            int offset = segment.offset(id);
+            writeFields(segment.buffer, offset, domain);
+            segment.buffer.putLong(offset + ID, id);
+            if (forceOnWrite) {
+                segment.buffer.force();
+            }
+            lastId = id;
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.SAVE, id, domain.getX(), domain.getY(), domain.getN(), domain.getResult());
+            return stored(id, domain);
+        } catch (Exception e) {
+            logger.error("Error saving operation: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a batch of operations as consecutive records of the same segment. The identifiers are written
+     * last, from the last record to the first, so after a crash either the whole batch or none of it is recovered.
+     *
+     * @param domains The operation domain objects to save, at most as many as a segment holds.
+     * @return The saved operation domain objects, in the same order as received.
+     * @throws DataBaseException if the batch does not fit in a segment or cannot be written.
+     */
+    @Override
+    public List<Operation> saveAll(List<Operation> domains) {
+        if (domains.isEmpty()) {
+            return List.of();
+        }
+        writeLock.lock();
+        try {
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.SAVE_BATCH, domains.size());
+            if (domains.size() > recordsPerSegment) {
+                throw new IllegalArgumentException("A batch of " + domains.size() + " operations does not fit in a segment of " + recordsPerSegment + " records");
+            }
+            Segment segment = reserve(domains.size());
+            long firstId = lastId + 1;
+            for (int i = 0; i < domains.size(); i++) {
+                writeFields(segment.buffer, segment.offset(firstId + i), domains.get(i));
+            }
+            for (int i = domains.size() - 1; i >= 0; i--) {
+                segment.buffer.putLong(segment.offset(firstId + i) + ID, firstId + i);
+            }
+            if (forceOnWrite) {
+                segment.buffer.force();
+            }
+            lastId = firstId + domains.size() - 1;
+            List<Operation> saved = new ArrayList<>(domains.size());
+            for (int i = 0; i < domains.size(); i++) {
+                saved.add(stored(firstId + i, domains.get(i)));
+            }
+            return saved;
+        } catch (Exception e) {
+            logger.error("Error saving operations batch: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the identifier of the last committed record, which increases with every write.
+     *
+     * @return The identifier of the last committed record.
+     */
+    @Override
+    public long version() {
+        return lastId;
+    }
+
+    /**
+     * Reads every stored record.
+     *
+     * @return A list of all operation domain objects, ordered by identifier.
+     * @throws DataBaseException if the records cannot be read.
+     */
+    @Override
+    public List<Operation> getAll() {
+        try {
+            long last = lastId;
+            List<Operation> operations = new ArrayList<>((int) Math.min(last, Integer.MAX_VALUE - 8));
+            for (long id = 1; id <= last; id++) {
+                operations.add(read(id));
+            }
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.RESULTS_ALL, operations.size());
+            return operations;
+        } catch (Exception e) {
+            logger.error("Error retrieving operations: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the records that follow {@code afterId}. Identifiers are contiguous, so the first record of the
+     * page is located by arithmetic and no other record is read. A cursor at or past the last record gets an
+     * empty page.
+     *
+     * @param afterId The identifier after which the page starts; {@code 0} for the first page.
+     * @param limit   The maximum number of operations of the page.
+     * @return An {@link OperationPage} with the operations and the cursor of the next page.
+     * @throws DataBaseException if the records cannot be read.
+     */
+    @Override
+    public OperationPage getPage(long afterId, int limit) {
+        try {
+            long stored = lastId;
+            long from = Math.max(afterId, 0L);
+            long count = from >= stored ? 0L : Math.min(stored - from, limit + 1L);
+            List<Operation> fetched = new ArrayList<>((int) count);
+            for (long id = from + 1; id <= from + count; id++) {
+                fetched.add(read(id));
+            }
+            OperationPage page = OperationPage.of(fetched, limit);
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.RESULTS_PAGE, afterId, limit, page.getItems().size());
+            return page;
+        } catch (Exception e) {
+            logger.error("Error retrieving operations page: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Hands every record stored when the call starts to the consumer, reading the segments sequentially.
+     *
+     * @param consumer The consumer receiving each operation domain object.
+     * @return The number of operations handed to the consumer.
+     * @throws DataBaseException if the records cannot be read.
+     */
+    @Override
+    public long forEach(Consumer<Operation> consumer) {
+        try {
+            long last = lastId;
+            for (long id = 1; id <= last; id++) {
+                consumer.accept(read(id));
+            }
+            return last;
+        } catch (Exception e) {
+            logger.error("Error streaming operations: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the identifier of the last stored record.
+     *
+     * @return The last identifier, or {@code 0} if nothing is stored.
+     */
+    public long lastId() {
+        return lastId;
+    }
+
+    /**
+     * Forces the written records to the storage device and closes the segment files.
+     */
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.buffer.force();
+                segment.channel.close();
+            }
+            segments = new Segment[0];
+        } catch (IOException e) {
+            logger.error("Error closing segment files in {}: {}", directory, e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        if (files.isEmpty()) {
+            segments = new Segment[]{map(1L)};
+            lastId = 0L;
+            return;
+        }
+        Segment[] mapped = new Segment[files.size()];
+        long expectedFirstId = 1L;
+        for (int i = 0; i < files.size(); i++) {
+            long firstId = Long.parseLong(files.get(i).getFileName().toString().replace(SEGMENT_SUFFIX, ""));
+            if (firstId != expectedFirstId) {
+                throw new IOException("Segment " + files.get(i) + " does not follow identifier " + (expectedFirstId - 1));
+            }
+            mapped[i] = map(firstId);
+            int count = i < files.size() - 1 ? countCommitted(mapped[i]) : recoverTail(mapped[i]);
+            expectedFirstId = firstId + count;
+        }
+        segments = mapped;
+        lastId = expectedFirstId - 1;
+        logger.info("Recovered {} operations from {} segments in {}", lastId, mapped.length, directory);
+    }
+
+    private int countCommitted(Segment segment) {
+        int low = 0;
+        int high = recordsPerSegment;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (segment.buffer.getLong(middle * RECORD_BYTES + ID) != 0L) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int recoverTail(Segment segment) {
+        int count = 0;
+        while (count < recordsPerSegment && segment.buffer.getLong(count * RECORD_BYTES + ID) == segment.firstId + count) {
+            count++;
+        }
+        int erased = 0;
+        for (int slot = count; slot < recordsPerSegment; slot++) {
+            if (segment.buffer.getLong(slot * RECORD_BYTES + ID) != 0L) {
+                segment.buffer.putLong(slot * RECORD_BYTES + ID, 0L);
+                erased++;
+            }
+        }
+        if (erased > 0) {
+            segment.buffer.force();
+            logger.warn("Erased {} uncommitted records after operation {}", erased, segment.firstId + count - 1);
+        }
+        return count;
+    }
+
+    private Segment reserve(int records) throws IOException {
+        Segment current = segments[segments.length - 1];
+        if (lastId + records - current.firstId < recordsPerSegment) {
+            return current;
+        }
+        current.buffer.force();
+        Segment next = map(lastId + 1);
+        Segment[] grown = new Segment[segments.length + 1];
+        System.arraycopy(segments, 0, grown, 0, segments.length);
+        grown[segments.length] = next;
+        segments = grown;
+        logger.info("Rolled to segment {}", next.firstId);
+        return next;
+    }
+
+    private Segment map(long firstId) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", firstId, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_BYTES);
+        return new Segment(firstId, channel, buffer);
+    }
+
+    private Operation read(long id) {
+        Segment[] current = segments;
+        int low = 0;
+        int high = current.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (current[middle].firstId <= id) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        Segment segment = current[low];
+        int offset = segment.offset(id);
+        return Operation.builder()
+                .id(id)
+                .x(segment.buffer.getLong(offset + X))
+                .y(segment.buffer.getLong(offset + Y))
+                .n(segment.buffer.getLong(offset + N))
+                .result(segment.buffer.getLong(offset + RESULT))
+                .build();
+    }
+
+    private static void writeFields(MappedByteBuffer buffer, int offset, Operation domain) {
+        buffer.putLong(offset + X, domain.getX());
+        buffer.putLong(offset + Y, domain.getY());
+        buffer.putLong(offset + N, domain.getN());
+        buffer.putLong(offset + RESULT, domain.getResult());
+    }
+
+    private static Operation stored(long id, Operation domain) {
+        return Operation.builder()
+                .id(id)
+                .x(domain.getX())
+                .y(domain.getY())
+                .n(domain.getN())
+                .result(domain.getResult())
+                .build();
+    }
+
+    private static final class Segment {
+        private final long firstId;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(long firstId, FileChannel channel, MappedByteBuffer buffer) {
+            this.firstId = firstId;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private int offset(long id) {
+            return (int) (id - firstId) * RECORD_BYTES;
+        }
+    }
+}
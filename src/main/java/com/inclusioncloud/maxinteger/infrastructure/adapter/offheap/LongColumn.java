@@ -0,0 +1,81 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.offheap;
+
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Growable column of primitive longs stored off-heap, in direct buffers of {@code chunkRows} values each.
+ * The heap only holds one buffer object per chunk, whatever the number of rows.
+ *
+ * <p>Chunks are only ever added. Writers must be serialized by the caller and must publish the new row
+ * count through a volatile field after writing; readers only read rows below the published count.</p>
+ */
+final class LongColumn {
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private volatile LongBuffer[] chunks = new LongBuffer[0];
+
+    /**
+     * Constructs a new, empty {@code LongColumn}.
+     *
+     * @param chunkRows Number of values per chunk, rounded up to a power of two.
+     */
+    LongColumn(int chunkRows) {
+        int rows = chunkRows <= 1 ? 1 : Integer.highestOneBit(chunkRows - 1) << 1;
+        this.chunkShift = Integer.numberOfTrailingZeros(rows);
+        this.chunkMask = rows - 1;
+    }
+
+    /**
+     * Allocates chunks until the column can hold {@code rows} values.
+     *
+     * @param rows The number of values the column must be able to hold.
+     */
+    void ensureCapacity(long rows) {
+        LongBuffer[] current = chunks;
+        long needed = (rows + chunkMask) >>> chunkShift;
+        if (needed <= current.length) {
+            return;
+        }
+        LongBuffer[] grown = new LongBuffer[Math.toIntExact(needed)];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        for (int i = current.length; i < grown.length; i++) {
+            grown[i] = ByteBuffer.allocateDirect((chunkMask + 1) * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+        chunks = grown;
+    }
+
+    void set(long row, long value) {
+        chunks[(int) (row >>> chunkShift)].put((int) row & chunkMask, value);
+    }
+
+    long get(long row) {
+        return chunks[(int) (row >>> chunkShift)].get((int) row & chunkMask);
+    }
+
+    /**
+     * Returns the chunk holding a row. Scans read whole chunks to avoid locating the chunk of every row.
+     *
+     * @param chunk The index of the chunk.
+     * @return The buffer of the chunk.
+     */
+    LongBuffer chunk(int chunk) {
+        return chunks[chunk];
+    }
+
+    int chunkShift() {
+        return chunkShift;
+    }
+
+    /**
+     * Returns the off-heap memory allocated by the column.
+     *
+     * @return The allocated bytes.
+     */
+    long allocatedBytes() {
+        return (long) chunks.length * (chunkMask + 1) * Long.BYTES;
+    }
+}
@@ -0,0 +1,331 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.offheap;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
+import com.inclusioncloud.maxinteger.config.exception.DataBaseException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.LongBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory {@link OperationStorageRepository} that keeps {@code x}, {@code y}, {@code n} and {@code result} in
+ * off-heap {@link LongColumn}s, one {@value #ROW_BYTES}-byte row per operation. No {@code OperationEntity} or
+ * {@link Operation} is kept per row: the identifier of a row is its position plus one, and {@link Operation}
+ * instances are only created while a caller reads them.
+ *
+ * <p>{@link #getAll()} and {@link #getPage(long, int)} return lists backed by the columns, and
+ * {@link #count(RowFilter)}, {@link #summarizeResults(RowFilter)} and {@link #find(RowFilter, long, int)} scan
+ * the columns chunk by chunk on primitive values.</p>
+ *
+ * <p>Appends are serialized by a lock and published by a volatile row count, so a batch becomes visible as a
+ * whole and readers never take the lock. The store is not durable: its content is lost when the process stops.</p>
+ */
+public class OperationOffHeapAdapter implements OperationStorageRepository {
+
+    /**
+     * Off-heap bytes used by a stored row: four longs, the identifier is not stored.
+     */
+    public static final int ROW_BYTES = 4 * Long.BYTES;
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationOffHeapAdapter.class);
+
+    private final LongColumn xs;
+    private final LongColumn ys;
+    private final LongColumn ns;
+    private final LongColumn results;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long rows;
+
+    /**
+     * Constructs a new, empty {@code OperationOffHeapAdapter}.
+     *
+     * @param chunkRows Number of rows allocated at once in every column, rounded up to a power of two.
+     */
+    public OperationOffHeapAdapter(int chunkRows) {
+        this.xs = new LongColumn(chunkRows);
+        this.ys = new LongColumn(chunkRows);
+        this.ns = new LongColumn(chunkRows);
+        this.results = new LongColumn(chunkRows);
+    }
+
+    /**
+     * Appends an operation as a new row.
+     *
+     * @param domain The operation domain object to save.
+     * @return The saved operation domain object, with its identifier.
+     * @throws DataBaseException if the row cannot be allocated or written.
+     */
+    @Override
+    public Operation save(Operation domain) {
+        writeLock.lock();
+        try {
+            long row = rows;
+            ensureCapacity(row + 1);
+            write(row, domain);
+            rows = row + 1;
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.SAVE, row + 1, domain.getX(), domain.getY(), domain.getN(), domain.getResult());
+            return read(row);
+        } catch (Exception | OutOfMemoryError e) {
+            logger.error("Error saving operation: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a batch of operations as consecutive rows, visible to readers only once every row is written.
+     *
+     * @param domains The operation domain objects to save.
+     * @return The saved operation domain objects, in the same order as received.
+     * @throws DataBaseException if the rows cannot be allocated or written.
+     */
+    @Override
+    public List<Operation> saveAll(List<Operation> domains) {
+        writeLock.lock();
+        try {
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.SAVE_BATCH, domains.size());
+            long first = rows;
+            ensureCapacity(first + domains.size());
+            for (int i = 0; i < domains.size(); i++) {
+                write(first + i, domains.get(i));
+            }
+            rows = first + domains.size();
+            return new ArrayList<>(new RowList(first, rows));
+        } catch (Exception | OutOfMemoryError e) {
+            logger.error("Error saving operations batch: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the number of stored rows, which increases with every write.
+     *
+     * @return The number of stored rows.
+     */
+    @Override
+    public long version() {
+        return rows;
+    }
+
+    /**
+     * Returns every stored operation as a list backed by the columns; each element is created when it is read.
+     *
+     * @return A list of all operation domain objects, ordered by identifier.
+     * @throws DataBaseException if more rows are stored than a list can index.
+     */
+    @Override
+    public List<Operation> getAll() {
+        try {
+            List<Operation> operations = new RowList(0L, rows);
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.RESULTS_ALL, operations.size());
+            return operations;
+        } catch (Exception e) {
+            logger.error("Error retrieving operations: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the rows that follow {@code afterId}, located by position.
+     *
+     * @param afterId The identifier after which the page starts; {@code 0} for the first page.
+     * @param limit   The maximum number of operations of the page.
+     * @return An {@link OperationPage} with the operations and the cursor of the next page.
+     */
+    @Override
+    public OperationPage getPage(long afterId, int limit) {
+        try {
+            long stored = rows;
+            long from = Math.min(Math.max(afterId, 0L), stored);
+            OperationPage page = OperationPage.of(new RowList(from, Math.min(stored, from + limit + 1)), limit);
+            AuditLog.debug(AuditLayer.ADAPTER, AuditAction.RESULTS_PAGE, afterId, limit, page.getItems().size());
+            return page;
+        } catch (Exception e) {
+            logger.error("Error retrieving operations page: {}", e.getMessage());
+            throw new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
+        }
+    }
+
+    /**
+     * Hands every row stored when the call starts to the consumer, creating one operation at a time.
+     *
+     * @param consumer The consumer receiving each operation domain object.
+     * @return The number of operations handed to the consumer.
+     */
+    @Override
+    public long forEach(Consumer<Operation> consumer) {
+        long stored = rows;
+        for (long row = 0; row < stored; row++) {
+            consumer.accept(read(row));
+        }
+        return stored;
+    }
+
+    /**
+     * Counts the stored rows matching a filter, scanning the columns without creating any object per row.
+     *
+     * @param filter The filter evaluated on every row.
+     * @return The number of matching rows.
+     */
+    public long count(RowFilter filter) {
+        long[] count = new long[1];
+        scan(0L, filter, row -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Summarizes the results of the stored rows matching a filter, scanning the columns without creating any
+     * object per row.
+     *
+     * @param filter The filter evaluated on every row.
+     * @return The count, min, max, sum and average of the matching results.
+     */
+    public LongSummaryStatistics summarizeResults(RowFilter filter) {
+        LongSummaryStatistics statistics = new LongSummaryStatistics();
+        scan(0L, filter, row -> {
+            statistics.accept(results.get(row));
+            return true;
+        });
+        return statistics;
+    }
+
+    /**
+     * Returns a page of the stored rows matching a filter, ordered by identifier. Only the matching rows of the
+     * page are materialized.
+     *
+     * @param filter  The filter evaluated on every row.
+     * @param afterId The identifier after which the page starts; {@code 0} for the first page.
+     * @param limit   The maximum number of operations of the page.
+     * @return An {@link OperationPage} with the matching operations and the cursor of the next page.
+     */
+    public OperationPage find(RowFilter filter, long afterId, int limit) {
+        List<Operation> fetched = new ArrayList<>(limit + 1);
+        scan(Math.max(afterId, 0L), filter, row -> {
+            fetched.add(read(row));
+            return fetched.size() <= limit;
+        });
+        return OperationPage.of(fetched, limit);
+    }
+
+    /**
+     * Returns a page of the stored rows matching a query, ordered by identifier. The query is evaluated on the
+     * columns by {@link #find(RowFilter, long, int)}, so rows that do not match are never materialized.
+     *
+     * @param query   The query the operations must match.
+     * @param afterId The identifier after which the page starts; {@code 0} for the first page.
+     * @param limit   The maximum number of operations of the page.
+     * @return An {@link OperationPage} with the matching operations and the cursor of the next page.
+     */
+    @Override
+    public OperationPage find(OperationQuery query, long afterId, int limit) {
+        OperationPage page = find(query::matches, afterId, limit);
+        AuditLog.debug(AuditLayer.ADAPTER, AuditAction.RESULTS_QUERY, afterId, limit, page.getItems().size());
+        return page;
+    }
+
+    /**
+     * Returns the number of stored rows.
+     *
+     * @return The row count.
+     */
+    public long size() {
+        return rows;
+    }
+
+    /**
+     * Returns the off-heap memory allocated by the columns, including rows allocated but not used yet.
+     *
+     * @return The allocated bytes.
+     */
+    public long allocatedBytes() {
+        return xs.allocatedBytes() + ys.allocatedBytes() + ns.allocatedBytes() + results.allocatedBytes();
+    }
+
+    private void scan(long fromRow, RowFilter filter, RowVisitor visitor) {
+        long stored = rows;
+        int shift = xs.chunkShift();
+        for (long chunkStart = (fromRow >>> shift) << shift; chunkStart < stored; chunkStart += 1L << shift) {
+            int chunk = (int) (chunkStart >>> shift);
+            LongBuffer x = xs.chunk(chunk);
+            LongBuffer y = ys.chunk(chunk);
+            LongBuffer n = ns.chunk(chunk);
+            LongBuffer result = results.chunk(chunk);
+            int end = (int) Math.min(1L << shift, stored - chunkStart);
+            for (int i = (int) Math.max(0L, fromRow - chunkStart); i < end; i++) {
+                if (filter.test(x.get(i), y.get(i), n.get(i), result.get(i)) && !visitor.visit(chunkStart + i)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void ensureCapacity(long capacity) {
+        xs.ensureCapacity(capacity);
+        ys.ensureCapacity(capacity);
+        ns.ensureCapacity(capacity);
+        results.ensureCapacity(capacity);
+    }
+
+    private void write(long row, Operation domain) {
+        xs.set(row, domain.getX());
+        ys.set(row, domain.getY());
+        ns.set(row, domain.getN());
+        results.set(row, domain.getResult());
+    }
+
+    private Operation read(long row) {
+        return new Operation(row + 1, xs.get(row), ys.get(row), ns.get(row), results.get(row));
+    }
+
+    @FunctionalInterface
+    private interface RowVisitor {
+        boolean visit(long row);
+    }
+
+    /**
+     * Read-only list of the rows {@code [from, to)}, creating each {@link Operation} when it is read.
+     */
+    private final class RowList extends AbstractList<Operation> implements RandomAccess {
+        private final long from;
+        private final int size;
+
+        private RowList(long from, long to) {
+            this.from = from;
+            this.size = Math.toIntExact(to - from);
+        }
+
+        @Override
+        public Operation get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return read(from + index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
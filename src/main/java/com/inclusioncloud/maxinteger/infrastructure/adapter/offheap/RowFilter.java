@@ -0,0 +1,26 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.offheap;
+
+
+/**
+ * Predicate over the columns of a stored operation, evaluated on primitive values so scans never
+ * materialize an {@code Operation}.
+ */
+@FunctionalInterface
+public interface RowFilter {
+
+    /**
+     * Filter accepting every row.
+     */
+    RowFilter ALL = (x, y, n, result) -> true;
+
+    /**
+     * Evaluates the filter on a stored row.
+     *
+     * @param x      The divisor of the row.
+     * @param y      The expected remainder of the row.
+     * @param n      The upper bound of the row.
+     * @param result The calculated result of the row.
+     * @return {@code true} if the row matches.
+     */
+    boolean test(long x, long y, long n, long result);
+}
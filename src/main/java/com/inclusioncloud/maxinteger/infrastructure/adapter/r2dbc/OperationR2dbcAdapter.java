@@ -0,0 +1,111 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.r2dbc;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.ReactiveOperationStorageRepository;
+import com.inclusioncloud.maxinteger.config.exception.DataBaseException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.infrastructure.adapter.h2.OperationTableVersion;
+import io.r2dbc.spi.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Adapter class for handling operation-related database interactions without blocking the caller.
+ * Implements the ReactiveOperationStorageRepository interface over R2DBC, on the same 'operations'
+ * table used by the JPA adapter.
+ *
+ * <p>New rows take their id from 'operations_seq'. The JPA adapter uses that sequence with the
+ * pooled-lo optimizer, taking every value as the first id of a block it owns, so each value handed out
+ * here starts a block JPA will never use and the ids of both adapters can not collide.</p>
+ *
+ * <p>H2 runs inside the JVM and its R2DBC driver executes statements on the subscribing thread, so
+ * the work is subscribed on a bounded elastic scheduler. Request and event-loop threads are released as
+ * soon as the publisher is returned.</p>
+ *
+ * <p>The adapter writes to H2 directly, so it is only created when H2 is the configured storage.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "operation.storage.type", havingValue = "h2", matchIfMissing = true)
+public class OperationR2dbcAdapter implements ReactiveOperationStorageRepository {
+
+    static final String INSERT_SQL = "INSERT INTO operations (id, x, y, n, result) VALUES (NEXT VALUE FOR operations_seq, :x, :y, :n, :result)";
+    static final String SELECT_AFTER_SQL = "SELECT id, x, y, n, result FROM operations WHERE id > :afterId AND result IS NOT NULL ORDER BY id";
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationR2dbcAdapter.class);
+    private final DatabaseClient databaseClient;
+    private final OperationTableVersion tableVersion;
+    private final Scheduler scheduler;
+
+    /**
+     * Constructor for dependency injection of the DatabaseClient.
+     * @param databaseClient The R2DBC client bound to the H2 database.
+     * @param tableVersion The version of the 'operations' table, shared with the JPA adapter.
+     */
+    public OperationR2dbcAdapter(DatabaseClient databaseClient, OperationTableVersion tableVersion) {
+        this.databaseClient = databaseClient;
+        this.tableVersion = tableVersion;
+        this.scheduler = Schedulers.boundedElastic();
+    }
+
+    /**
+     * Saves an operation domain object to the database.
+     *
+     * @param domain The operation domain object to save.
+     * @return A {@link Mono} emitting the saved operation domain object.
+     * @throws DataBaseException through the {@link Mono} if any database operation fails.
+     */
+    @Override
+    public Mono<Operation> save(Operation domain) {
+        return databaseClient.sql(INSERT_SQL)
+                .bind("x", domain.getX())
+                .bind("y", domain.getY())
+                .bind("n", domain.getN())
+                .bind("result", domain.getResult())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                .map(id -> new Operation(id, domain.getX(), domain.getY(), domain.getN(), domain.getResult()))
+                .doOnNext(saved -> tableVersion.increment())
+                .doOnSubscribe(subscription -> logger.debug("Attempting to save operation: {}", domain))
+                .onErrorMap(e -> {
+                    logger.error("Error saving operation: {}", e.getMessage());
+                    return new DataBaseException(SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorMessage(), e);
+                })
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * Retrieves the operation domain objects stored after the given identifier, ordered by identifier.
+     * Rows are read from the result set as the subscriber requests them.
+     *
+     * @param afterId The identifier after which the results start.
+     * @return A {@link Flux} emitting the operation domain objects.
+     * @throws DataBaseException through the {@link Flux} if any database operation fails.
+     */
+    @Override
+    public Flux<Operation> findAfter(long afterId) {
+        return databaseClient.sql(SELECT_AFTER_SQL)
+                .bind("afterId", afterId)
+                .map((row, metadata) -> toDomain(row))
+                .all()
+                .doOnSubscribe(subscription -> logger.debug("Streaming operations after id {}", afterId))
+                .onErrorMap(e -> {
+                    logger.error("Error retrieving operations: {}", e.getMessage());
+                    return new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), e);
+                })
+                .subscribeOn(scheduler);
+    }
+
+    private Operation toDomain(Row row) {
+        return new Operation(row.get("id", Long.class), row.get("x", Long.class), row.get("y", Long.class),
+                row.get("n", Long.class), row.get("result", Long.class));
+    }
+}
@@ -0,0 +1,117 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary;
+
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader of the primitives written by {@link BinaryEncoder}. Every read checks the bounds of the message,
+ * so a truncated or malformed message fails with an {@link IllegalArgumentException} instead of reading
+ * past its end.
+ */
+final class BinaryDecoder {
+
+    private final byte[] bytes;
+    private int position;
+
+    /**
+     * Creates a decoder over a whole message.
+     *
+     * @param bytes The encoded message.
+     */
+    BinaryDecoder(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Reads one unsigned byte.
+     *
+     * @return The value of the byte, between 0 and 255.
+     * @throws IllegalArgumentException If the message has no bytes left.
+     */
+    int readByte() {
+        if (position >= bytes.length) {
+            throw new IllegalArgumentException("Unexpected end of message at byte " + position);
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @return The value read.
+     * @throws IllegalArgumentException If the varint is truncated or longer than
+     *                                  {@value OperationBinaryCodec#MAX_VARINT_BYTES} bytes.
+     */
+    long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < OperationBinaryCodec.MAX_VARINT_BYTES * 7; shift += 7) {
+            int current = readByte();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint longer than " + OperationBinaryCodec.MAX_VARINT_BYTES + " bytes at byte " + position);
+    }
+
+    /**
+     * Reads a zigzag-encoded signed varint.
+     *
+     * @return The value read.
+     * @throws IllegalArgumentException If the varint is malformed.
+     */
+    long readSigned() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads an unsigned varint used as the number of elements that follow, each of them taking at least
+     * {@code minElementBytes}. The count is checked against the remaining bytes, so a corrupt count cannot
+     * make the caller allocate more than the message can hold.
+     *
+     * @param minElementBytes The minimum encoded size of one element.
+     * @return The number of elements.
+     * @throws IllegalArgumentException If the message is too short for the count.
+     */
+    int readCount(int minElementBytes) {
+        long count = readVarint();
+        if (count > (long) remaining() / minElementBytes) {
+            throw new IllegalArgumentException("Count " + count + " exceeds the remaining " + remaining() + " bytes");
+        }
+        return (int) count;
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     *
+     * @return The string read.
+     * @throws IllegalArgumentException If the string is truncated.
+     */
+    String readString() {
+        int length = readCount(1);
+        String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Returns the number of bytes not read yet.
+     *
+     * @return The remaining bytes.
+     */
+    int remaining() {
+        return bytes.length - position;
+    }
+
+    /**
+     * Checks that the whole message has been read.
+     *
+     * @throws IllegalArgumentException If bytes are left after the message.
+     */
+    void expectEnd() {
+        if (position != bytes.length) {
+            throw new IllegalArgumentException(remaining() + " trailing bytes after the message");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer writing the primitives of the binary wire format: single bytes, unsigned LEB128
+ * varints, zigzag-encoded signed varints and length-prefixed UTF-8 strings.
+ */
+final class BinaryEncoder {
+
+    private byte[] buffer;
+    private int size;
+
+    /**
+     * Creates an encoder with the given initial capacity; the buffer doubles whenever it is full.
+     *
+     * @param capacity The initial capacity in bytes.
+     */
+    BinaryEncoder(int capacity) {
+        this.buffer = new byte[Math.max(capacity, 16)];
+    }
+
+    /**
+     * Writes the lowest 8 bits of a value.
+     *
+     * @param value The value to write.
+     * @return This encoder.
+     */
+    BinaryEncoder writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Writes a value as an unsigned varint: 7 bits per byte, least significant group first, with the high bit
+     * set on every byte but the last. Values below 128 take one byte and no value takes more than
+     * {@value OperationBinaryCodec#MAX_VARINT_BYTES}.
+     *
+     * @param value The value to write, read as unsigned.
+     * @return This encoder.
+     */
+    BinaryEncoder writeVarint(long value) {
+        ensureCapacity(OperationBinaryCodec.MAX_VARINT_BYTES);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Writes a signed value as a zigzag varint, so small negative values are as short as small positive ones.
+     *
+     * @param value The value to write.
+     * @return This encoder.
+     */
+    BinaryEncoder writeSigned(long value) {
+        return writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a string as its UTF-8 length, as a varint, followed by its UTF-8 bytes.
+     *
+     * @param value The string to write; {@code null} is written as the empty string.
+     * @return This encoder.
+     */
+    BinaryEncoder writeString(String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return The size of the encoded message.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Copies the written bytes to the given stream.
+     *
+     * @param out The stream receiving the encoded message.
+     * @throws IOException If the stream cannot be written.
+     */
+    void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    /**
+     * Returns a copy of the written bytes.
+     *
+     * @return The encoded message.
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (size + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + bytes));
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary;
+
+
+import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.GenericResponse;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationBatchRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationResponse;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encoder and decoder of the compact binary wire format of the operation endpoints. Every number is a
+ * varint, so the small values these endpoints carry take one to three bytes instead of their decimal
+ * digits plus the JSON field names, and a message is read in a single pass with no tokenizer.
+ *
+ * <p>Signed values ({@code x}, {@code y}, {@code n}, {@code result} and {@code id}) are zigzag varints;
+ * status codes, counts and cursors are unsigned varints. The messages are:</p>
+ * <pre>
+ * request        := x y n
+ * batch request  := count (x y n)*
+ * response       := kind:byte codeStatus body
+ *   kind 0 error       body := message:string count message:string*
+ *   kind 1 operation   body := operation
+ *   kind 2 operations  body := count operation*
+ *   kind 3 page        body := count operation* nextCursor   (0 when there is no next page)
+ * operation      := presence:byte [id] [x] [y] [n] [result]
+ * string         := length utf8-bytes
+ * </pre>
+ * <p>The presence byte has one bit per field, from bit 0 for {@code id} to bit 4 for {@code result}, and
+ * only the fields whose bit is set follow it. Successful responses do not carry their message, which is the
+ * reason phrase of {@code codeStatus}.</p>
+ * <p>Every value is a 64-bit integer, so wide operations are only available in JSON.</p>
+ */
+public final class OperationBinaryCodec {
+
+    /**
+     * Maximum encoded size of a varint.
+     */
+    static final int MAX_VARINT_BYTES = 10;
+
+    static final int KIND_ERROR = 0;
+    static final int KIND_OPERATION = 1;
+    static final int KIND_OPERATIONS = 2;
+    static final int KIND_PAGE = 3;
+
+    private static final int PRESENCE_MASK = 0x1F;
+    private static final int MAX_OPERATION_BYTES = 1 + 5 * MAX_VARINT_BYTES;
+    private static final int HEADER_BYTES = 1 + MAX_VARINT_BYTES;
+
+    private OperationBinaryCodec() {
+    }
+
+    /**
+     * Encodes a single calculation request.
+     *
+     * @param x The value of x.
+     * @param y The value of y.
+     * @param n The value of n.
+     * @return The encoded request.
+     */
+    public static byte[] encodeRequest(long x, long y, long n) {
+        return new BinaryEncoder(3 * MAX_VARINT_BYTES).writeSigned(x).writeSigned(y).writeSigned(n).toByteArray();
+    }
+
+    /**
+     * Encodes a batch calculation request with the {@code (x, y, n)} triples of the given operations.
+     *
+     * @param operations The operations to calculate.
+     * @return The encoded request.
+     */
+    public static byte[] encodeBatchRequest(List<Operation> operations) {
+        BinaryEncoder encoder = new BinaryEncoder(MAX_VARINT_BYTES + operations.size() * 3 * 3);
+        encoder.writeVarint(operations.size());
+        for (Operation operation : operations) {
+            encoder.writeSigned(operation.getX()).writeSigned(operation.getY()).writeSigned(operation.getN());
+        }
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Decodes a single calculation request.
+     *
+     * @param bytes The encoded request.
+     * @return The decoded {@link OperationRequest}, to be validated as if it had been read from JSON.
+     * @throws IllegalArgumentException If the message is malformed.
+     */
+    public static OperationRequest decodeRequest(byte[] bytes) {
+        BinaryDecoder decoder = new BinaryDecoder(bytes);
+        OperationRequest request = readRequest(decoder);
+        decoder.expectEnd();
+        return request;
+    }
+
+    /**
+     * Decodes a batch calculation request.
+     *
+     * @param bytes The encoded request.
+     * @return The decoded {@link OperationBatchRequest}, to be validated as if it had been read from JSON.
+     * @throws IllegalArgumentException If the message is malformed.
+     */
+    public static OperationBatchRequest decodeBatchRequest(byte[] bytes) {
+        BinaryDecoder decoder = new BinaryDecoder(bytes);
+        int count = decoder.readCount(3);
+        List<OperationRequest> operations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            operations.add(readRequest(decoder));
+        }
+        decoder.expectEnd();
+        OperationBatchRequest request = new OperationBatchRequest();
+        request.setOperations(operations);
+        return request;
+    }
+
+    /**
+     * Indicates whether a response body can be encoded: an {@link ErrorResponse}, or a {@link GenericResponse}
+     * carrying an {@link Operation}, a list of them, an {@link OperationPage} or a list of validation messages.
+     *
+     * @param body The response body.
+     * @return {@code true} if {@link #encodeResponse(Object)} accepts the body.
+     */
+    public static boolean canEncode(Object body) {
+        if (body instanceof ErrorResponse) {
+            return true;
+        }
+        if (!(body instanceof GenericResponse<?> response)) {
+            return false;
+        }
+        Object data = response.getData();
+        return data instanceof Operation || data instanceof OperationPage || data == null
+                || (data instanceof List<?> list && (list.stream().allMatch(Operation.class::isInstance)
+                || list.stream().allMatch(String.class::isInstance)));
+    }
+
+    /**
+     * Encodes a response body returned by the operation controllers.
+     *
+     * @param body An {@link ErrorResponse} or a {@link GenericResponse} accepted by {@link #canEncode(Object)}.
+     * @return The encoded response.
+     * @throws IllegalArgumentException If the body cannot be encoded.
+     */
+    public static byte[] encodeResponse(Object body) {
+        return encode(body).toByteArray();
+    }
+
+    /**
+     * Encodes a response body into a buffer, so the caller can write it without copying it first.
+     *
+     * @param body An {@link ErrorResponse} or a {@link GenericResponse} accepted by {@link #canEncode(Object)}.
+     * @return The encoder holding the encoded response.
+     * @throws IllegalArgumentException If the body cannot be encoded.
+     */
+    static BinaryEncoder encode(Object body) {
+        if (!canEncode(body)) {
+            throw new IllegalArgumentException("No binary encoding for " + describe(body));
+        }
+        if (body instanceof ErrorResponse error) {
+            return encodeError(error.getCodeStatus(), error.getMessage(), error.getData());
+        }
+        GenericResponse<?> response = (GenericResponse<?>) body;
+        Object data = response.getData();
+        if (data instanceof Operation operation) {
+            BinaryEncoder encoder = new BinaryEncoder(HEADER_BYTES + MAX_OPERATION_BYTES);
+            encoder.writeByte(KIND_OPERATION).writeVarint(response.getCodeStatus());
+            writeOperation(encoder, operation);
+            return encoder;
+        }
+        if (data instanceof OperationPage page) {
+            BinaryEncoder encoder = operationsEncoder(KIND_PAGE, response.getCodeStatus(), page.getItems());
+            return encoder.writeVarint(page.getNextCursor() == null ? 0L : page.getNextCursor());
+        }
+        List<?> list = data == null ? List.of() : (List<?>) data;
+        if (!list.isEmpty() && list.get(0) instanceof String) {
+            return encodeError(response.getCodeStatus(), response.getMessage(), list);
+        }
+        @SuppressWarnings("unchecked")
+        List<Operation> operations = (List<Operation>) list;
+        return operationsEncoder(KIND_OPERATIONS, response.getCodeStatus(), operations);
+    }
+
+    /**
+     * Decodes a response, as a client of the binary format would.
+     *
+     * @param bytes The encoded response.
+     * @return An {@link ErrorResponse} whose data is the list of messages for an error, or otherwise an
+     *         {@link OperationResponse} whose data is an {@link Operation}, a list of them or an {@link OperationPage}.
+     * @throws IllegalArgumentException If the message is malformed.
+     */
+    public static Object decodeResponse(byte[] bytes) {
+        BinaryDecoder decoder = new BinaryDecoder(bytes);
+        int kind = decoder.readByte();
+        int codeStatus = (int) decoder.readVarint();
+        Object result;
+        if (kind == KIND_ERROR) {
+            String message = decoder.readString();
+            int count = decoder.readCount(1);
+            List<String> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                messages.add(decoder.readString());
+            }
+            result = new ErrorResponse(false, codeStatus, message, messages);
+        } else if (kind == KIND_OPERATION) {
+            result = response(codeStatus, readOperation(decoder));
+        } else if (kind == KIND_OPERATIONS) {
+            result = response(codeStatus, readOperations(decoder));
+        } else if (kind == KIND_PAGE) {
+            List<Operation> items = readOperations(decoder);
+            long nextCursor = decoder.readVarint();
+            result = response(codeStatus, new OperationPage(items, nextCursor == 0L ? null : nextCursor));
+        } else {
+            throw new IllegalArgumentException("Unknown response kind " + kind);
+        }
+        decoder.expectEnd();
+        return result;
+    }
+
+    private static OperationRequest readRequest(BinaryDecoder decoder) {
+        OperationRequest request = new OperationRequest();
+        request.setX(BigInteger.valueOf(decoder.readSigned()));
+        request.setY(BigInteger.valueOf(decoder.readSigned()));
+        request.setN(BigInteger.valueOf(decoder.readSigned()));
+        return request;
+    }
+
+    private static BinaryEncoder encodeError(int codeStatus, String message, Object data) {
+        List<?> messages = data instanceof List<?> list ? list : List.of();
+        BinaryEncoder encoder = new BinaryEncoder(HEADER_BYTES + 64 * (messages.size() + 1));
+        encoder.writeByte(KIND_ERROR).writeVarint(codeStatus).writeString(message).writeVarint(messages.size());
+        for (Object detail : messages) {
+            encoder.writeString(String.valueOf(detail));
+        }
+        return encoder;
+    }
+
+    private static BinaryEncoder operationsEncoder(int kind, int codeStatus, List<Operation> operations) {
+        // Most stored operations encode in about 12 bytes; the buffer grows if they are larger.
+        BinaryEncoder encoder = new BinaryEncoder(2 * HEADER_BYTES + operations.size() * 12);
+        encoder.writeByte(kind).writeVarint(codeStatus).writeVarint(operations.size());
+        for (Operation operation : operations) {
+            writeOperation(encoder, operation);
+        }
+        return encoder;
+    }
+
+    private static void writeOperation(BinaryEncoder encoder, Operation operation) {
+        Long id = operation.getId();
+        Long x = operation.getX();
+        Long y = operation.getY();
+        Long n = operation.getN();
+        Long result = operation.getResult();
+        int presence = (id != null ? 1 : 0) | (x != null ? 1 << 1 : 0) | (y != null ? 1 << 2 : 0)
+                | (n != null ? 1 << 3 : 0) | (result != null ? 1 << 4 : 0);
+        encoder.writeByte(presence);
+        if (id != null) {
+            encoder.writeSigned(id);
+        }
+        if (x != null) {
+            encoder.writeSigned(x);
+        }
+        if (y != null) {
+            encoder.writeSigned(y);
+        }
+        if (n != null) {
+            encoder.writeSigned(n);
+        }
+        if (result != null) {
+            encoder.writeSigned(result);
+        }
+    }
+
+    private static Operation readOperation(BinaryDecoder decoder) {
+        int presence = decoder.readByte();
+        if ((presence & ~PRESENCE_MASK) != 0) {
+            throw new IllegalArgumentException("Invalid operation presence byte " + presence);
+        }
+        Long id = (presence & 1) != 0 ? decoder.readSigned() : null;
+        Long x = (presence & 1 << 1) != 0 ? decoder.readSigned() : null;
+        Long y = (presence & 1 << 2) != 0 ? decoder.readSigned() : null;
+        Long n = (presence & 1 << 3) != 0 ? decoder.readSigned() : null;
+        Long result = (presence & 1 << 4) != 0 ? decoder.readSigned() : null;
+        return new Operation(id, x, y, n, result);
+    }
+
+    private static List<Operation> readOperations(BinaryDecoder decoder) {
+        int count = decoder.readCount(1);
+        List<Operation> operations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            operations.add(readOperation(decoder));
+        }
+        return operations;
+    }
+
+    private static OperationResponse response(int codeStatus, Object data) {
+        HttpStatus status = HttpStatus.resolve(codeStatus);
+        OperationResponse response = new OperationResponse();
+        response.setCodeStatus(codeStatus);
+        response.setMessage(status != null ? status.getReasonPhrase() : null);
+        response.setData(data);
+        return response;
+    }
+
+    private static String describe(Object body) {
+        if (body instanceof GenericResponse<?> response && response.getData() != null) {
+            return GenericResponse.class.getSimpleName() + " of " + response.getData().getClass().getSimpleName();
+        }
+        return body == null ? "null" : body.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,82 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary;
+
+
+import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.GenericResponse;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationBatchRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * {@link org.springframework.http.converter.HttpMessageConverter} of the {@value #MEDIA_TYPE_VALUE} media type,
+ * which carries the messages of {@link OperationBinaryCodec}. Registered next to the JSON converter, it lets the
+ * operation endpoints read an {@link OperationRequest} or an {@link OperationBatchRequest} sent with that
+ * {@code Content-Type} and write their responses in it when the client {@code Accept}s it. Requests decoded from
+ * the binary format go through the same bean validation as JSON ones.
+ */
+public class OperationBinaryMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    /**
+     * Media type of the binary wire format.
+     */
+    public static final String MEDIA_TYPE_VALUE = "application/x-operation-varint";
+
+    /**
+     * Media type of the binary wire format.
+     */
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    /**
+     * Creates the converter of the {@value #MEDIA_TYPE_VALUE} media type.
+     */
+    public OperationBinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return OperationRequest.class == clazz || OperationBatchRequest.class == clazz
+                || GenericResponse.class.isAssignableFrom(clazz) || ErrorResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return (OperationRequest.class == clazz || OperationBatchRequest.class == clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return (GenericResponse.class.isAssignableFrom(clazz) || ErrorResponse.class == clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] bytes = inputMessage.getBody().readAllBytes();
+        try {
+            return clazz == OperationRequest.class
+                    ? OperationBinaryCodec.decodeRequest(bytes)
+                    : OperationBinaryCodec.decodeBatchRequest(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Malformed binary operation request: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        BinaryEncoder encoder;
+        try {
+            encoder = OperationBinaryCodec.encode(body);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotWritableException(e.getMessage(), e);
+        }
+        outputMessage.getHeaders().setContentLength(encoder.size());
+        encoder.writeTo(outputMessage.getBody());
+    }
+}
@@ -1,63 +1,138 @@
 package com.inclusioncloud.maxinteger.infrastructure.entrypoints.controller;
 
 
+import com.inclusioncloud.maxinteger.application.admission.AdaptiveConcurrencyLimiter;
+import com.inclusioncloud.maxinteger.application.idempotency.IdempotencyStore;
+import com.inclusioncloud.maxinteger.application.usecase.CalculateBatchUseCase;
 import com.inclusioncloud.maxinteger.application.usecase.CalculateUseCase;
 import com.inclusioncloud.maxinteger.application.usecase.ResultsUseCase;
+import com.inclusioncloud.maxinteger.application.usecase.SolveConstraintsUseCase;
+import com.inclusioncloud.maxinteger.application.usecase.StatsUseCase;
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
 import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
 import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
+import com.inclusioncloud.maxinteger.domain.models.OperationStats;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
+import com.inclusioncloud.maxinteger.domain.utils.ValidationMessages;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary.OperationBinaryMessageConverter;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.filter.ConcurrencyLimitFilter;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.ConstraintsRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationBatchRequest;
 import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
 import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * The {@code OperationsController} class handles incoming REST API requests related to operations.
  * It manages endpoints for calculating the maximum non-negative integer k based on given parameters
- * and for retrieving all past calculation results.
+ * and for retrieving all past calculation results and their statistics. It also solves several (x, y)
+ * constraints at once for a single n.
+ *
+ * <p>Besides JSON, the calculation and history endpoints accept and return the compact binary format of
+ * {@link OperationBinaryMessageConverter}, chosen through the {@code Content-Type} and {@code Accept} headers.</p>
  */
 @RestController
 @RequestMapping("/operation")
 @CrossOrigin(origins = "*", allowedHeaders = "*", methods = {})
 public class OperationsController {
 
+    /**
+     * Number of results returned by {@code GET /operation} when no limit is given.
+     */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Maximum number of results returned by a single page of {@code GET /operation}.
+     */
+    static final int MAX_PAGE_SIZE = 1_000;
+
+    /**
+     * Header carrying the key that identifies a {@code POST /operation} request and its retries.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Maximum length of an idempotency key.
+     */
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private static final Logger logger = LoggerFactory.getLogger(OperationsController.class);
 
     private final CalculateUseCase calculateUseCase;
+    private final CalculateBatchUseCase calculateBatchUseCase;
     private final ResultsUseCase resultUseCase;
+    private final StatsUseCase statsUseCase;
+    private final SolveConstraintsUseCase solveConstraintsUseCase;
+    private final IdempotencyStore idempotencyStore;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final String resultsEpoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
 
     /**
      * Creates an instance of {@code OperationsController} with necessary ports.
      *
      * @param calculateUseCase Port for operation calculations.
+     * @param calculateBatchUseCase Port for batch operation calculations.
      * @param resultUseCase Port for retrieving operation results.
+     * @param statsUseCase Port for retrieving the statistics of the operation results.
+     * @param solveConstraintsUseCase Port for multi-constraint calculations.
+     * @param idempotencyStore Store of the results of recent requests sent with an idempotency key.
+     * @param concurrencyLimiter Limiter admitting the requests sent with an idempotency key when they run.
      */
-    public OperationsController(CalculateUseCase calculateUseCase, ResultsUseCase resultUseCase) {
+    public OperationsController(CalculateUseCase calculateUseCase, CalculateBatchUseCase calculateBatchUseCase, ResultsUseCase resultUseCase,
+                                StatsUseCase statsUseCase, SolveConstraintsUseCase solveConstraintsUseCase, IdempotencyStore idempotencyStore,
+                                AdaptiveConcurrencyLimiter concurrencyLimiter) {
         this.calculateUseCase = calculateUseCase;
+        this.calculateBatchUseCase = calculateBatchUseCase;
         this.resultUseCase = resultUseCase;
+        this.statsUseCase = statsUseCase;
+        this.solveConstraintsUseCase = solveConstraintsUseCase;
+        this.idempotencyStore = idempotencyStore;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     /**
      * Endpoint for calculating the maximum non-negative integer k. Validates the request and
-     * delegates the calculation to the application service.
+     * delegates the calculation to the application service. Requests whose values do not fit
+     * in a long are calculated with arbitrary precision and always answered in JSON, since the
+     * binary format only carries 64-bit values.
+     *
+     * <p>A request sent with an {@value #IDEMPOTENCY_KEY_HEADER} header is calculated and persisted once per key:
+     * a retry with the same key is answered from the {@link IdempotencyStore}, waiting for the first request if
+     * it is still running. Such a request takes a slot of the {@link AdaptiveConcurrencyLimiter} only while its
+     * calculation runs, so a retry waiting for the first request does not count against the limit.</p>
      *
      * @param request Contains x, y, and n values for the operation.
      * @param bindingResult Captures validation results for the request.
+     * @param idempotencyKey The key identifying the request and its retries, optional.
      * @return ResponseEntity containing the result or error.
      */
     @Operation(
             summary = "Calculate the maximum integer",
-            description = "Calculates the maximum non-negative integer k such that 0≤k≤n and k mod x = y. Returns the calculated value or validation errors.",
+            description = "Calculates the maximum non-negative integer k such that 0≤k≤n and k mod x = y. Values larger than 64 bits are calculated with arbitrary precision. "
+                    + "Requests retried with the same Idempotency-Key header are answered with the first result. Returns the calculated value or validation errors.",
             responses = {
                     @ApiResponse(
                             responseCode = "201",
@@ -68,59 +143,320 @@ public class OperationsController {
                             responseCode = "400",
                             description = "Invalid input parameters or calculation error",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "A request with the same idempotency key is still in progress",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "The idempotency key was already used for a different request",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Every remembered idempotency key is still in progress, or the concurrency limit was reached",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
                     )
             }
     )
 
     @PostMapping
-    public ResponseEntity<Object> calculate(@Valid @RequestBody OperationRequest request, BindingResult bindingResult) {
+    public ResponseEntity<Object> calculate(@Valid @RequestBody OperationRequest request, BindingResult bindingResult,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         try {
-            logger.info("Received calculation request: {}", request);
             if (bindingResult.hasErrors()) {
                 logger.error("Validation errors: {}", bindingResult.getFieldErrors());
                 return ResponseEntity.badRequest().body(OperationResponse.badRequest(bindingResult));
             }
+            if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+                logger.error("Validation errors: {}", ValidationMessages.LENGTH_IDEMPOTENCY_KEY);
+                return ResponseEntity.badRequest().body(new ErrorResponse(false, SPError.INVALID_PARAMS_ERROR.getErrorCode(),
+                        SPError.INVALID_PARAMS_ERROR.getErrorMessage(), List.of(ValidationMessages.LENGTH_IDEMPOTENCY_KEY)));
+            }
+            if (request.isWide() && !this.calculateUseCase.supportsWide()) {
+                logger.error("Validation errors: {}", ValidationMessages.WIDE_STORAGE_NOT_SUPPORTED);
+                return ResponseEntity.badRequest().body(new ErrorResponse(false, SPError.WIDE_STORAGE_NOT_SUPPORTED.getErrorCode(),
+                        SPError.WIDE_STORAGE_NOT_SUPPORTED.getErrorMessage(), List.of(ValidationMessages.WIDE_STORAGE_NOT_SUPPORTED)));
+            }
 
-            com.inclusioncloud.maxinteger.domain.models.Operation result = this.calculateUseCase.calculate(request.toDomain());
+            Object result = idempotencyKey == null
+                    ? calculateRequest(request)
+                    : this.idempotencyStore.execute(idempotencyKey, request, () -> admitted(() -> calculateRequest(request)));
+            if (result instanceof WideOperation) {
+                return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).body(OperationResponse.of(result, HttpStatus.CREATED));
+            }
             return ResponseEntity.status(HttpStatus.CREATED).body(OperationResponse.of(result, HttpStatus.CREATED));
+        } catch (CustomException ex) {
+            if (ex.getErrorCode() == SPError.IDEMPOTENCY_KEY_REUSED.getErrorCode()) {
+                return idempotencyError(HttpStatus.UNPROCESSABLE_ENTITY, ex);
+            }
+            if (ex.getErrorCode() == SPError.IDEMPOTENCY_REQUEST_IN_PROGRESS.getErrorCode()) {
+                return idempotencyError(HttpStatus.CONFLICT, ex);
+            }
+            if (ex.getErrorCode() == SPError.IDEMPOTENCY_STORE_FULL.getErrorCode()) {
+                return idempotencyError(HttpStatus.SERVICE_UNAVAILABLE, ex);
+            }
+            if (ex.getErrorCode() == SPError.CONCURRENCY_LIMIT_EXCEEDED.getErrorCode()) {
+                ErrorResponse errorResponse = new ErrorResponse(false, ex.getErrorCode(), ex.getMessage(), null);
+                logger.debug("Idempotent request rejected, concurrency limit {} reached", (int) this.concurrencyLimiter.limit());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, ConcurrencyLimitFilter.RETRY_AFTER_SECONDS).body(errorResponse);
+            }
+            return calculationError(ex);
+        } catch (Exception ex) {
+            return calculationError(ex);
+        }
+    }
+
+    /**
+     * Endpoint for calculating the maximum non-negative integer k for a batch of triples in a single request.
+     * Validates every element of the batch and delegates the whole batch to the application service.
+     *
+     * @param request Contains the list of x, y, and n values to calculate.
+     * @param bindingResult Captures validation results for the request.
+     * @return ResponseEntity containing the results, in the same order as the request, or error.
+     */
+    @Operation(
+            summary = "Calculate the maximum integer for a batch of triples",
+            description = "Calculates the maximum non-negative integer k such that 0≤k≤n and k mod x = y for every triple of the batch. Results are returned in the same order as the request and persisted in a single transaction.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "Batch calculation successful",
+                            content = @Content(schema = @Schema(implementation = OperationResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid input parameters or calculation error",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+                    )
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<Object> calculateBatch(@Valid @RequestBody OperationBatchRequest request, BindingResult bindingResult) {
+        try {
+            if (bindingResult.hasErrors()) {
+                logger.error("Validation errors: {}", bindingResult.getFieldErrors());
+                return ResponseEntity.badRequest().body(OperationResponse.badRequest(bindingResult));
+            }
+
+            AuditLog.info(AuditLayer.CONTROLLER, AuditAction.CALCULATE_BATCH, request.getOperations().size());
+            List<com.inclusioncloud.maxinteger.domain.models.Operation> results = this.calculateBatchUseCase.calculate(request.toDomain());
+            return ResponseEntity.status(HttpStatus.CREATED).body(OperationResponse.of(results, HttpStatus.CREATED));
+        } catch (Exception ex) {
+            ErrorResponse errorResponse = new ErrorResponse(false, SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorMessage(), ex.getCause());
+            logger.error("Batch calculation error: {}", errorResponse, ex);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    /**
+     * Endpoint for calculating the maximum non-negative integer k ≤ n that satisfies every (x, y) constraint
+     * of the request at once. Validates the request and delegates the calculation to the application service.
+     * The result is not persisted.
+     *
+     * @param request Contains n and the list of x and y values of the constraints.
+     * @param bindingResult Captures validation results for the request.
+     * @return ResponseEntity containing the result or error.
+     */
+    @Operation(
+            summary = "Calculate the maximum integer satisfying several constraints",
+            description = "Calculates the maximum non-negative integer k such that 0≤k≤n and k mod x = y for every (x, y) constraint of the request. "
+                    + "Returns an error when the constraints are incompatible or no such k is lower than or equal to n.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Calculation successful",
+                            content = @Content(schema = @Schema(implementation = OperationResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid input parameters, incompatible constraints or calculation error",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+                    )
+            }
+    )
+    @PostMapping("/constraints")
+    public ResponseEntity<Object> solveConstraints(@Valid @RequestBody ConstraintsRequest request, BindingResult bindingResult) {
+        try {
+            if (bindingResult.hasErrors()) {
+                logger.error("Validation errors: {}", bindingResult.getFieldErrors());
+                return ResponseEntity.badRequest().body(OperationResponse.badRequest(bindingResult));
+            }
+
+            AuditLog.info(AuditLayer.CONTROLLER, AuditAction.CONSTRAINTS_REQUEST, request.getConstraints().size(), request.getN());
+            com.inclusioncloud.maxinteger.domain.models.Operation result = this.solveConstraintsUseCase.solve(request.toDomain(), request.getN());
+            return ResponseEntity.ok(OperationResponse.of(result, HttpStatus.OK));
         } catch (Exception ex) {
             ErrorResponse errorResponse = new ErrorResponse(false, SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorMessage(), ex.getCause());
-            logger.error("Calculation error: {}", errorResponse, ex);
+            logger.error("Constraints calculation error: {}", errorResponse, ex);
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
 
     /**
-     * Endpoint for retrieving all past calculation results.
+     * Endpoint for retrieving the past calculation results one page at a time. Pages are ordered by
+     * identifier and keyset-paginated: the {@code nextCursor} of a page is sent as {@code after} to
+     * fetch the following one. When any filter is given, only the matching results are returned and
+     * they are looked up through the storage indexes.
+     *
+     * <p>Every page carries a weak {@code ETag} made of the start time of the application and the version of the
+     * stored results. It is weak because the JSON and the binary representations of a page share it, and the
+     * response always varies on {@code Accept}. A request whose {@code If-None-Match} holds the current one is
+     * answered with {@code 304 Not Modified} before the storage is read or anything is serialized.</p>
      *
-     * @return ResponseEntity containing a list of results or an error.
+     * @param after The cursor returned by the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of results of the page, between 1 and {@value #MAX_PAGE_SIZE}.
+     * @param x The exact x of the results, optional.
+     * @param y The exact y of the results, optional.
+     * @param n The exact n of the results, optional.
+     * @param minN The lowest n of the results, optional.
+     * @param maxN The highest n of the results, optional.
+     * @param minResult The lowest result, optional.
+     * @param maxResult The highest result, optional.
+     * @param webRequest The request, used to check its {@code If-None-Match} header.
+     * @param response The response, which varies on {@code Accept} for every status.
+     * @return ResponseEntity containing a page of results or an error, or {@code null} when the results did not change.
      */
     @Operation(
-            summary = "Retrieve all calculation results",
-            description = "Fetches all the past results of the calculation operations.",
+            summary = "Retrieve calculation results page by page",
+            description = "Fetches a page of the past results of the calculation operations, ordered by id, and the cursor of the next page. "
+                    + "The results can be filtered by exact x, y and n and by n and result ranges. "
+                    + "Responses carry an ETag; a request sending it in If-None-Match gets 304 while no operation was saved.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Results retrieved successfully",
-                            content = @Content(schema = @Schema(implementation = List.class))
+                            content = @Content(schema = @Schema(implementation = OperationResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "No operation was saved since the ETag sent in If-None-Match"
                     ),
                     @ApiResponse(
                             responseCode = "400",
-                            description = "Error occurred while fetching the results",
+                            description = "Invalid page parameters or error occurred while fetching the results",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))
                     )
             }
     )
     @GetMapping
-    public ResponseEntity<Object> result() {
+    public ResponseEntity<Object> result(@RequestParam(name = "after", defaultValue = "0") long after,
+                                         @RequestParam(name = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                         @RequestParam(name = "x", required = false) Long x,
+                                         @RequestParam(name = "y", required = false) Long y,
+                                         @RequestParam(name = "n", required = false) Long n,
+                                         @RequestParam(name = "minN", required = false) Long minN,
+                                         @RequestParam(name = "maxN", required = false) Long maxN,
+                                         @RequestParam(name = "minResult", required = false) Long minResult,
+                                         @RequestParam(name = "maxResult", required = false) Long maxResult,
+                                         WebRequest webRequest, HttpServletResponse response) {
         try {
-            logger.info("Fetching all results");
-            List<com.inclusioncloud.maxinteger.domain.models.Operation> results = this.resultUseCase.getResults();
-            return ResponseEntity.ok(OperationResponse.of(results, HttpStatus.OK));
+            List<String> errors = new ArrayList<>();
+            if (after < 0) {
+                errors.add("Field: after -> Error:" + ValidationMessages.MIN_VALUE_AFTER);
+            }
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                errors.add("Field: limit -> Error:" + ValidationMessages.RANGE_VALUE_LIMIT);
+            }
+            if (minN != null && maxN != null && minN > maxN) {
+                errors.add("Field: minN -> Error:" + ValidationMessages.RANGE_VALUE_N);
+            }
+            if (minResult != null && maxResult != null && minResult > maxResult) {
+                errors.add("Field: minResult -> Error:" + ValidationMessages.RANGE_VALUE_RESULT);
+            }
+            if (!errors.isEmpty()) {
+                logger.error("Validation errors: {}", errors);
+                return ResponseEntity.badRequest().body(new ErrorResponse(false, SPError.INVALID_PARAMS_ERROR.getErrorCode(), SPError.INVALID_PARAMS_ERROR.getErrorMessage(), errors));
+            }
+
+            String etag = "W/\"" + resultsEpoch + '-' + this.resultUseCase.getResultsVersion() + "\"";
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            AuditLog.info(AuditLayer.CONTROLLER, AuditAction.RESULTS_REQUEST, after, limit);
+            OperationQuery query = new OperationQuery(x, y, n, minN, maxN, minResult, maxResult);
+            OperationPage page = query.isEmpty()
+                    ? this.resultUseCase.getResults(after, limit)
+                    : this.resultUseCase.findResults(query, after, limit);
+            return ResponseEntity.ok(OperationResponse.of(page, HttpStatus.OK));
         } catch (Exception ex) {
             ErrorResponse errorResponse = new ErrorResponse(false, SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorMessage(), ex.getCause());
             logger.error("Error fetching results: {}", errorResponse, ex);
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
+
+    /**
+     * Endpoint for retrieving the statistics of the past calculation results, overall and per x.
+     * The statistics are maintained as operations are persisted, so the stored history is not read.
+     *
+     * @return ResponseEntity containing the statistics or an error.
+     */
+    @Operation(
+            summary = "Retrieve calculation statistics",
+            description = "Fetches the count, min, max and mean result, the estimated number of distinct triples and the estimated result quantiles, overall and per x.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Statistics retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = OperationResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Error occurred while fetching the statistics",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+                    )
+            }
+    )
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> stats() {
+        try {
+            OperationStats stats = this.statsUseCase.getStats();
+            return ResponseEntity.ok(OperationResponse.of(stats, HttpStatus.OK));
+        } catch (Exception ex) {
+            ErrorResponse errorResponse = new ErrorResponse(false, SPError.OPERATION_USE_CASE_ERROR_STATS.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_STATS.getErrorMessage(), ex.getCause());
+            logger.error("Error fetching statistics: {}", errorResponse, ex);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    private Object calculateRequest(OperationRequest request) {
+        if (request.isWide()) {
+            AuditLog.info(AuditLayer.CONTROLLER, AuditAction.CALCULATE_WIDE_REQUEST,
+                    request.getX().bitLength(), request.getY().bitLength(), request.getN().bitLength());
+            return this.calculateUseCase.calculateWide(request.toWideDomain());
+        }
+
+        AuditLog.info(AuditLayer.CONTROLLER, AuditAction.CALCULATE_REQUEST, request.getX().longValue(), request.getY().longValue(), request.getN().longValue());
+        return this.calculateUseCase.calculate(request.toDomain());
+    }
+
+    private Object admitted(Supplier<Object> action) {
+        if (!this.concurrencyLimiter.tryAcquire()) {
+            throw new CustomException(SPError.CONCURRENCY_LIMIT_EXCEEDED.getErrorCode(), SPError.CONCURRENCY_LIMIT_EXCEEDED.getErrorMessage());
+        }
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            this.concurrencyLimiter.release(start, System.nanoTime(), false);
+        }
+    }
+
+    private ResponseEntity<Object> calculationError(Exception ex) {
+        ErrorResponse errorResponse = new ErrorResponse(false, SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorMessage(), ex.getCause());
+        logger.error("Calculation error: {}", errorResponse, ex);
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    private ResponseEntity<Object> idempotencyError(HttpStatus status, CustomException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(false, ex.getErrorCode(), ex.getMessage(), null);
+        logger.error("Idempotency error: {}", errorResponse);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
 }
@@ -0,0 +1,344 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.controller;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.inclusioncloud.maxinteger.application.usecase.CalculateStreamUseCase;
+import com.inclusioncloud.maxinteger.application.usecase.ResultsUseCase;
+import com.inclusioncloud.maxinteger.config.audit.AuditAction;
+import com.inclusioncloud.maxinteger.config.audit.AuditLayer;
+import com.inclusioncloud.maxinteger.config.audit.AuditLog;
+import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
+import com.inclusioncloud.maxinteger.config.exception.GenericException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.utils.ValidationMessages;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code OperationsStreamController} class handles the streaming REST API requests related to operations.
+ * Request and response bodies are newline-delimited JSON (NDJSON): records are read, processed and written
+ * one at a time, so memory use does not depend on the size of the body, of the stored history or of a sweep.
+ */
+@RestController
+@RequestMapping("/operation")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {})
+public class OperationsStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationsStreamController.class);
+
+    private final CalculateStreamUseCase calculateStreamUseCase;
+    private final ResultsUseCase resultsUseCase;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Creates an instance of {@code OperationsStreamController} with necessary ports.
+     *
+     * @param calculateStreamUseCase Port for streamed operation calculations.
+     * @param resultsUseCase Port for exporting the stored operations.
+     * @param objectMapper Mapper used to read and write every NDJSON record.
+     * @param validator Validator applied to every record of the request body.
+     */
+    public OperationsStreamController(CalculateStreamUseCase calculateStreamUseCase, ResultsUseCase resultsUseCase,
+                                      ObjectMapper objectMapper, Validator validator) {
+        this.calculateStreamUseCase = calculateStreamUseCase;
+        this.resultsUseCase = resultsUseCase;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Endpoint for calculating the maximum non-negative integer k for a stream of requests. Every line of the
+     * body is an {@link OperationRequest}; every line of the response is either the calculated operation or
+     * an {@link ErrorResponse} for the record at the same position. If a chunk of results can not be persisted,
+     * the stream ends with a {@link SPError#OPERATION_USE_CASE_ERROR_STREAM_PERSIST} line whose data is the
+     * number of previously written results that were not stored.
+     *
+     * @param request The HTTP request whose body is read record by record.
+     * @param response The HTTP response where every result is written as soon as it is calculated.
+     * @throws IOException If the response can not be written.
+     */
+    @Operation(
+            summary = "Calculate the maximum integer for a stream of triples",
+            description = "Reads newline-delimited JSON records with x, y and n and writes one newline-delimited JSON result per record, in the same order, as soon as it is calculated.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Stream processed, each line contains a result or the error of its record"
+                    )
+            }
+    )
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void calculateStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.info("Received calculation stream request");
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            CalculateStreamUseCase.CalculationStream stream = calculateStreamUseCase.open();
+            try (MappingIterator<OperationRequest> records = objectMapper.readerFor(OperationRequest.class).readValues(request.getInputStream())) {
+                while (records.hasNextValue()) {
+                    OperationRequest record = records.nextValue();
+                    Set<ConstraintViolation<OperationRequest>> violations = validator.validate(record);
+                    if (!violations.isEmpty()) {
+                        writeLine(generator, invalidRecord(violations));
+                        continue;
+                    }
+                    if (record.isWide()) {
+                        writeLine(generator, new ErrorResponse(false, SPError.INVALID_PARAMS_ERROR.getErrorCode(),
+                                SPError.INVALID_PARAMS_ERROR.getErrorMessage(), List.of(ValidationMessages.WIDE_NOT_SUPPORTED)));
+                        continue;
+                    }
+                    try {
+                        writeLine(generator, stream.calculate(record.toDomain()));
+                    } catch (GenericException ex) {
+                        if (ex.getErrorCode() == SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode()) {
+                            writeLine(generator, unpersisted(ex, stream.unpersisted()));
+                            break;
+                        }
+                        writeLine(generator, new ErrorResponse(false, ex.getErrorCode(), ex.getMessage(), null));
+                    }
+                }
+            } catch (Exception ex) {
+                ErrorResponse errorResponse = new ErrorResponse(false, SPError.OPERATION_CONTROLLER_ERROR_STREAM.getErrorCode(), SPError.OPERATION_CONTROLLER_ERROR_STREAM.getErrorMessage(), null);
+                logger.error("Calculation stream error: {}", errorResponse, ex);
+                writeLine(generator, errorResponse);
+            }
+            closeStream(generator, stream);
+        }
+    }
+
+    /**
+     * Endpoint for exporting every stored operation, ordered by identifier. Operations are read through a
+     * database cursor and written as soon as they are read, so the export runs in constant memory. The body
+     * is NDJSON by default, or a chunked JSON array when the client only accepts {@code application/json}.
+     *
+     * <p>If the export fails half way, the NDJSON body ends with an {@link ErrorResponse} line, while the
+     * JSON array is left unterminated so the client can not mistake a partial export for a complete one.</p>
+     *
+     * @param request The HTTP request, used to choose the body format from its {@code Accept} header.
+     * @param response The HTTP response where every operation is written.
+     * @throws IOException If the response can not be written.
+     */
+    @Operation(
+            summary = "Export every stored operation",
+            description = "Streams the full history of calculated operations ordered by id, as newline-delimited JSON or, with Accept: application/json, as a chunked JSON array.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Export streamed, an NDJSON export ends with an error line if it could not be completed"
+                    )
+            }
+    )
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public void export(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean jsonArray = acceptsJsonArray(request);
+        logger.info("Received export request as {}", jsonArray ? "JSON array" : "NDJSON");
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(jsonArray ? MediaType.APPLICATION_JSON_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (jsonArray) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+            try {
+                resultsUseCase.exportResults(operation -> writeRecord(writer, generator, operation, !jsonArray));
+                if (jsonArray) {
+                    generator.writeEndArray();
+                }
+            } catch (GenericException ex) {
+                logger.error("Export error: {}", ex.getMessage(), ex);
+                if (!jsonArray) {
+                    writeLine(generator, new ErrorResponse(false, ex.getErrorCode(), ex.getMessage(), null));
+                }
+            }
+        }
+    }
+
+    /**
+     * Endpoint for calculating the maximum non-negative integer k for a fixed x and y and every n of a range,
+     * taken with a fixed step. Results are calculated lazily and written as one NDJSON line each as soon as
+     * they are calculated, so the sweep is never held in memory. Optionally, the results are persisted in
+     * chunks while they are written.
+     *
+     * <p>Invalid parameters, and a range whose results do not fit in a long, are answered with {@code 400} and a
+     * single {@link ErrorResponse} line. If the sweep fails half way, the body ends with an {@link ErrorResponse}
+     * line; when a chunk of persisted results fails, that line is a
+     * {@link SPError#OPERATION_USE_CASE_ERROR_STREAM_PERSIST} error whose data is the number of written results that
+     * were not stored.</p>
+     *
+     * @param x The divisor shared by every operation, greater than zero.
+     * @param y The expected remainder shared by every operation, not negative.
+     * @param nStart The first n of the sweep, not negative.
+     * @param nEnd The last n of the sweep, not lower than {@code nStart}.
+     * @param step The distance between two consecutive values of n, greater than zero.
+     * @param persist Whether the calculated operations are persisted.
+     * @param response The HTTP response where every result is written.
+     * @throws IOException If the response can not be written.
+     */
+    @Operation(
+            summary = "Calculate the maximum integer for a range of n",
+            description = "Streams one newline-delimited JSON result for every n from nStart to nEnd, both inclusive, taken every step, with the given x and y. "
+                    + "Results are calculated incrementally as they are written and, when persist is set, stored in chunks.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Sweep streamed, ends with an error line if it could not be completed"
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid sweep parameters, or a range whose results do not fit in a long"
+                    )
+            }
+    )
+    @GetMapping(value = "/sweep", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void sweep(@RequestParam(name = "x") long x,
+                      @RequestParam(name = "y") long y,
+                      @RequestParam(name = "nStart") long nStart,
+                      @RequestParam(name = "nEnd") long nEnd,
+                      @RequestParam(name = "step", defaultValue = "1") long step,
+                      @RequestParam(name = "persist", defaultValue = "false") boolean persist,
+                      HttpServletResponse response) throws IOException {
+        List<String> errors = new ArrayList<>();
+        if (x < 1) {
+            errors.add("Field: x -> Error:" + ValidationMessages.MIN_VALUE_SWEEP_X);
+        }
+        if (y < 0) {
+            errors.add("Field: y -> Error:" + ValidationMessages.MIN_VALUE_Y);
+        }
+        if (nStart < 0) {
+            errors.add("Field: nStart -> Error:" + ValidationMessages.MIN_VALUE_N);
+        }
+        if (nStart > nEnd) {
+            errors.add("Field: nStart -> Error:" + ValidationMessages.RANGE_VALUE_SWEEP);
+        }
+        if (step < 1) {
+            errors.add("Field: step -> Error:" + ValidationMessages.MIN_VALUE_STEP);
+        }
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        if (!errors.isEmpty()) {
+            logger.error("Validation errors: {}", errors);
+            badRequest(response, new ErrorResponse(false, SPError.INVALID_PARAMS_ERROR.getErrorCode(), SPError.INVALID_PARAMS_ERROR.getErrorMessage(), errors));
+            return;
+        }
+        try {
+            calculateStreamUseCase.validateSweep(x, y, nStart, nEnd, step);
+        } catch (GenericException ex) {
+            logger.error("Invalid sweep: {}", ex.getMessage());
+            badRequest(response, new ErrorResponse(false, ex.getErrorCode(), ex.getMessage(), null));
+            return;
+        }
+
+        AuditLog.info(AuditLayer.CONTROLLER, AuditAction.SWEEP_REQUEST, x, y, nStart, nEnd, step);
+        response.setStatus(HttpServletResponse.SC_OK);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            if (!persist) {
+                try {
+                    calculateStreamUseCase.sweep(x, y, nStart, nEnd, step, operation -> writeRecord(writer, generator, operation, true));
+                } catch (GenericException ex) {
+                    logger.error("Sweep error: {}", ex.getMessage(), ex);
+                    writeLine(generator, new ErrorResponse(false, ex.getErrorCode(), ex.getMessage(), null));
+                }
+                return;
+            }
+
+            CalculateStreamUseCase.CalculationStream stream = calculateStreamUseCase.open();
+            try {
+                calculateStreamUseCase.sweep(x, y, nStart, nEnd, step, stream, operation -> writeRecord(writer, generator, operation, true));
+            } catch (GenericException ex) {
+                if (ex.getErrorCode() == SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode()) {
+                    writeLine(generator, unpersisted(ex, stream.unpersisted()));
+                } else {
+                    logger.error("Sweep error: {}", ex.getMessage(), ex);
+                    writeLine(generator, new ErrorResponse(false, ex.getErrorCode(), ex.getMessage(), null));
+                }
+            }
+            closeStream(generator, stream);
+        }
+    }
+
+    private void badRequest(HttpServletResponse response, ErrorResponse errorResponse) throws IOException {
+        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            writeLine(generator, errorResponse);
+        }
+    }
+
+    /**
+     * Persists the last chunk of a calculation stream. When it fails, the body ends with the persistence error
+     * and the number of written results that were not stored, like a chunk failing in the middle of the stream.
+     */
+    private void closeStream(JsonGenerator generator, CalculateStreamUseCase.CalculationStream stream) throws IOException {
+        try {
+            stream.close();
+        } catch (GenericException ex) {
+            if (ex.getErrorCode() != SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode()) {
+                throw ex;
+            }
+            writeLine(generator, unpersisted(ex, stream.unpersisted()));
+        }
+    }
+
+    private ErrorResponse unpersisted(GenericException ex, int unpersisted) {
+        logger.error("Calculation stream stopped, {} written results were not persisted", unpersisted, ex);
+        return new ErrorResponse(false, ex.getErrorCode(), ex.getMessage(), unpersisted);
+    }
+
+    private boolean acceptsJsonArray(HttpServletRequest request) {
+        List<MediaType> accepted = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        return accepted.stream().anyMatch(MediaType.APPLICATION_JSON::equalsTypeAndSubtype)
+                && accepted.stream().noneMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+
+    private void writeRecord(ObjectWriter writer, JsonGenerator generator, Object value, boolean newLine) {
+        try {
+            writer.writeValue(generator, value);
+            if (newLine) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) throws IOException {
+        objectMapper.writeValue(generator, value);
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    private ErrorResponse invalidRecord(Set<ConstraintViolation<OperationRequest>> violations) {
+        List<String> errors = violations.stream()
+                .map(violation -> "Field: " + violation.getPropertyPath() + " -> Error:" + violation.getMessage())
+                .collect(Collectors.toList());
+        return new ErrorResponse(false, SPError.INVALID_PARAMS_ERROR.getErrorCode(), SPError.INVALID_PARAMS_ERROR.getErrorMessage(), errors);
+    }
+}
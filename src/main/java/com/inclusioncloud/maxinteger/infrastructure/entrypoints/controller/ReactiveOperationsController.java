@@ -0,0 +1,148 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.controller;
+
+
+import com.inclusioncloud.maxinteger.application.usecase.ReactiveCalculateUseCase;
+import com.inclusioncloud.maxinteger.application.usecase.ReactiveResultsUseCase;
+import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.utils.ValidationMessages;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The {@code ReactiveOperationsController} class is the non-blocking counterpart of {@link OperationsController}.
+ * Handlers return {@link Mono} and {@link Flux}, so the request thread is released while the operation is
+ * calculated and persisted, and the history is streamed with backpressure instead of being built as a list.
+ *
+ * <p>The reactive path goes straight to H2 through R2DBC: it does not use the result cache, the idempotency keys,
+ * the write-behind persistence nor the concurrency limit of the blocking endpoints. It is only available when
+ * {@code operation.storage.type} is {@code h2}; with any other storage the endpoints are not registered.</p>
+ */
+@RestController
+@ConditionalOnProperty(name = "operation.storage.type", havingValue = "h2", matchIfMissing = true)
+@RequestMapping("/reactive/operation")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {})
+public class ReactiveOperationsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveOperationsController.class);
+
+    private final ReactiveCalculateUseCase calculateUseCase;
+    private final ReactiveResultsUseCase resultsUseCase;
+
+    /**
+     * Creates an instance of {@code ReactiveOperationsController} with necessary ports.
+     *
+     * @param calculateUseCase Port for non-blocking operation calculations.
+     * @param resultsUseCase Port for streaming operation results.
+     */
+    public ReactiveOperationsController(ReactiveCalculateUseCase calculateUseCase, ReactiveResultsUseCase resultsUseCase) {
+        this.calculateUseCase = calculateUseCase;
+        this.resultsUseCase = resultsUseCase;
+    }
+
+    /**
+     * Endpoint for calculating the maximum non-negative integer k without blocking the request thread.
+     * Validates the request and delegates the calculation to the reactive application service.
+     * Only values that fit in a long are accepted.
+     *
+     * @param request Contains x, y, and n values for the operation.
+     * @param bindingResult Captures validation results for the request.
+     * @return A {@link Mono} emitting the ResponseEntity with the result or error.
+     */
+    @Operation(
+            summary = "Calculate the maximum integer without blocking",
+            description = "Calculates the maximum non-negative integer k such that 0≤k≤n and k mod x = y and persists it through the reactive adapter.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "Calculation successful",
+                            content = @Content(schema = @Schema(implementation = OperationResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid input parameters or calculation error",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+                    )
+            }
+    )
+    @PostMapping
+    public Mono<ResponseEntity<Object>> calculate(@Valid @RequestBody OperationRequest request, BindingResult bindingResult) {
+        logger.debug("Received reactive calculation request: {}", request);
+        if (bindingResult.hasErrors()) {
+            logger.error("Validation errors: {}", bindingResult.getFieldErrors());
+            return Mono.just(ResponseEntity.badRequest().body(OperationResponse.badRequest(bindingResult)));
+        }
+        if (request.isWide()) {
+            logger.error("Validation errors: {}", ValidationMessages.WIDE_NOT_SUPPORTED);
+            return Mono.just(ResponseEntity.badRequest().body(new ErrorResponse(false, SPError.INVALID_PARAMS_ERROR.getErrorCode(),
+                    SPError.INVALID_PARAMS_ERROR.getErrorMessage(), List.of(ValidationMessages.WIDE_NOT_SUPPORTED))));
+        }
+
+        return calculateUseCase.calculate(request.toDomain())
+                .<ResponseEntity<Object>>map(result -> ResponseEntity.status(HttpStatus.CREATED).body(OperationResponse.of(result, HttpStatus.CREATED)))
+                .onErrorResume(ex -> {
+                    ErrorResponse errorResponse = new ErrorResponse(false, SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorCode(), SPError.OPERATION_CONTROLLER_ERROR_CALCULATE.getErrorMessage(), ex.getCause());
+                    logger.error("Reactive calculation error: {}", errorResponse, ex);
+                    return Mono.just(ResponseEntity.badRequest().body(errorResponse));
+                });
+    }
+
+    /**
+     * Endpoint for streaming the past calculation results, ordered by identifier, as newline-delimited JSON.
+     * Results are read from the database only as fast as the client consumes them. If the stream fails,
+     * it ends with an {@link ErrorResponse} line.
+     *
+     * @param after The identifier after which the results start, {@code 0} for the whole history.
+     * @return A {@link Flux} emitting the stored operations.
+     */
+    @Operation(
+            summary = "Stream calculation results",
+            description = "Streams the past results of the calculation operations ordered by id as newline-delimited JSON, with backpressure.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Results streamed, the last line contains the error if the stream could not be completed"
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+                    )
+            }
+    )
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Object>> results(@RequestParam(name = "after", defaultValue = "0") long after) {
+        if (after < 0) {
+            List<String> errors = List.of("Field: after -> Error:" + ValidationMessages.MIN_VALUE_AFTER);
+            logger.error("Validation errors: {}", errors);
+            return ResponseEntity.badRequest().body(Flux.just(new ErrorResponse(false, SPError.INVALID_PARAMS_ERROR.getErrorCode(), SPError.INVALID_PARAMS_ERROR.getErrorMessage(), errors)));
+        }
+
+        logger.debug("Streaming results after id {}", after);
+        Flux<Object> results = resultsUseCase.getResults(after)
+                .cast(Object.class)
+                .onErrorResume(ex -> {
+                    ErrorResponse errorResponse = new ErrorResponse(false, SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorMessage(), null);
+                    logger.error("Error streaming results: {}", errorResponse, ex);
+                    return Mono.just(errorResponse);
+                });
+        return ResponseEntity.ok(results);
+    }
+}
@@ -0,0 +1,107 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.filter;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inclusioncloud.maxinteger.application.admission.AdaptiveConcurrencyLimiter;
+import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.controller.OperationsController;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Servlet filter admitting the operation requests through an {@link AdaptiveConcurrencyLimiter} before they reach
+ * the controllers and the use cases.
+ *
+ * <p>A request above the limit is answered at once with {@code 503 Service Unavailable}, a {@code Retry-After}
+ * header and the {@link SPError#CONCURRENCY_LIMIT_EXCEEDED} error, without reading its body or taking a database
+ * connection. An admitted request reports its latency to the limiter when it finishes; a request that throws or
+ * ends with a {@code 5xx} status counts as failed.</p>
+ *
+ * <p>The streaming, batch and constraint endpoints are excluded: their latency grows with the size of the request
+ * rather than with the load, and would shrink the limit of the short requests. A {@code POST /operation} sent with an
+ * {@value OperationsController#IDEMPOTENCY_KEY_HEADER} header is also let through, since a retry may only wait for
+ * the first request of its key; the controller takes a slot for it only when the calculation actually runs.</p>
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Seconds a rejected client is asked to wait before retrying.
+     */
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    /**
+     * Path of the calculate endpoint, the only one whose idempotent requests are admitted by the controller.
+     */
+    private static final String CALCULATE_PATH = "/operation";
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final Set<String> excludedPaths;
+
+    /**
+     * Constructs a new {@code ConcurrencyLimitFilter}.
+     *
+     * @param limiter       The limiter admitting the requests.
+     * @param objectMapper  The mapper used to write the error of a rejected request.
+     * @param excludedPaths Paths, relative to the context path, that are never limited.
+     */
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper, Set<String> excludedPaths) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.contains(path) || isIdempotentCalculation(request, path);
+    }
+
+    private static boolean isIdempotentCalculation(HttpServletRequest request, String path) {
+        return HttpMethod.POST.matches(request.getMethod()) && CALCULATE_PATH.equals(path)
+                && request.getHeader(OperationsController.IDEMPOTENCY_KEY_HEADER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(start, System.nanoTime(), failed);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(false, SPError.CONCURRENCY_LIMIT_EXCEEDED.getErrorCode(),
+                SPError.CONCURRENCY_LIMIT_EXCEEDED.getErrorMessage(), null);
+        logger.debug("Request {} {} rejected, concurrency limit {} reached", request.getMethod(), request.getRequestURI(), (int) limiter.limit());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
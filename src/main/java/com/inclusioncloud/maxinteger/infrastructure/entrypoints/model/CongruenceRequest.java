@@ -0,0 +1,58 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.model;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.inclusioncloud.maxinteger.domain.models.Congruence;
+import com.inclusioncloud.maxinteger.domain.utils.ValidationMessages;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object for a single constraint k mod x = y of a {@link ConstraintsRequest}.
+ */
+@Data
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CongruenceRequest {
+
+    /**
+     * The divisor of the constraint. Must not be null and must be greater than zero.
+     */
+    @NotNull(message = ValidationMessages.NOT_NULL_X)
+    @Min(value = 1, message = ValidationMessages.MIN_VALUE_CONSTRAINT_X)
+    private Long x;
+
+    /**
+     * The expected remainder of the constraint. Must not be null, must not be negative and must be lower than x.
+     */
+    @NotNull(message = ValidationMessages.NOT_NULL_Y)
+    @Min(value = 0, message = ValidationMessages.MIN_VALUE_CONSTRAINT_Y)
+    private Long y;
+
+    /**
+     * Checks that y is a remainder of x, so the constraint can be satisfied.
+     *
+     * @return {@code true} if y is lower than x or either value is missing, which is reported by its own validation.
+     */
+    @JsonIgnore
+    @AssertTrue(message = ValidationMessages.RANGE_VALUE_CONSTRAINT)
+    public boolean isRemainderOfX() {
+        return this.x == null || this.y == null || this.y < this.x;
+    }
+
+    /**
+     * Converts this DTO to its corresponding domain entity.
+     *
+     * @return A {@link Congruence} instance representing the constraint.
+     */
+    public Congruence toDomain() {
+        return new Congruence(this.x, this.y);
+    }
+}
@@ -0,0 +1,60 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.model;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.inclusioncloud.maxinteger.domain.models.Congruence;
+import com.inclusioncloud.maxinteger.domain.utils.ValidationMessages;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Data transfer object for multi-constraint requests.
+ * This class encapsulates the upper bound n and the list of (x, y) constraints that k must satisfy at once.
+ */
+@Data
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConstraintsRequest {
+
+    /**
+     * Maximum number of constraints accepted in a single request.
+     */
+    public static final int MAX_CONSTRAINTS = 1_000;
+
+    /**
+     * The upper bound for k. Must not be null and must not be negative.
+     */
+    @NotNull(message = ValidationMessages.NOT_NULL_N)
+    @Min(value = 0, message = ValidationMessages.MIN_VALUE_CONSTRAINT_N)
+    private Long n;
+
+    /**
+     * The constraints k must satisfy. Must not be empty and must not exceed {@link #MAX_CONSTRAINTS} elements.
+     */
+    @Valid
+    @NotEmpty(message = ValidationMessages.NOT_EMPTY_CONSTRAINTS)
+    @Size(max = MAX_CONSTRAINTS, message = ValidationMessages.MAX_SIZE_CONSTRAINTS)
+    private List<@NotNull(message = ValidationMessages.NOT_NULL_CONSTRAINT) CongruenceRequest> constraints;
+
+    /**
+     * Converts the constraints of this DTO to their corresponding domain entities, keeping the request order.
+     *
+     * @return A list of {@link Congruence} instances representing the constraints.
+     */
+    public List<Congruence> toDomain() {
+        return this.constraints.stream()
+                .map(CongruenceRequest::toDomain)
+                .collect(Collectors.toList());
+    }
+}
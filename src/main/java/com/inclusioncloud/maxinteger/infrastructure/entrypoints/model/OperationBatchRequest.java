@@ -0,0 +1,66 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.model;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.utils.ValidationMessages;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Data transfer object for batch operation requests.
+ * This class encapsulates the list of (x, y, n) triples to be calculated in a single request.
+ */
+@Data
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OperationBatchRequest {
+
+    /**
+     * Maximum number of operations accepted in a single batch.
+     */
+    public static final int MAX_OPERATIONS = 10_000;
+
+    /**
+     * The operations to calculate. Each element is validated with the same rules as a single {@link OperationRequest}.
+     * Must not be empty and must not exceed {@link #MAX_OPERATIONS} elements.
+     */
+    @Valid
+    @NotEmpty(message = ValidationMessages.NOT_EMPTY_OPERATIONS)
+    @Size(max = MAX_OPERATIONS, message = ValidationMessages.MAX_SIZE_OPERATIONS)
+    private List<OperationRequest> operations;
+
+    /**
+     * Checks that every operation of the batch fits in a long, since batches are calculated on the
+     * primitive kernel only.
+     *
+     * @return {@code true} if no operation of the batch is wide.
+     */
+    @JsonIgnore
+    @AssertTrue(message = ValidationMessages.WIDE_NOT_SUPPORTED)
+    public boolean isWithinLongRange() {
+        return this.operations == null || this.operations.stream().noneMatch(operation -> operation != null && operation.isWide());
+    }
+
+    /**
+     * Converts this DTO to its corresponding list of domain entities, keeping the request order.
+     *
+     * @return A list of {@link Operation} instances representing the operation parameters.
+     */
+    public List<Operation> toDomain() {
+        return this.operations.stream()
+                .map(OperationRequest::toDomain)
+                .collect(Collectors.toList());
+    }
+}
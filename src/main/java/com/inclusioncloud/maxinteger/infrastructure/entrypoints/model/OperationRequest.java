@@ -1,20 +1,26 @@
 package com.inclusioncloud.maxinteger.infrastructure.entrypoints.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
 import com.inclusioncloud.maxinteger.domain.utils.ValidationMessages;
-import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigInteger;
+
 /**
  * Data transfer object for operation requests.
  * This class encapsulates the input data needed to perform the operation calculation.
+ * Values are read with arbitrary precision: a request whose values fit in a long is converted
+ * with {@link #toDomain()}, any other with {@link #toWideDomain()}.
  */
 @Data
 @NoArgsConstructor
@@ -24,41 +30,66 @@ public class OperationRequest {
 
     /**
      * The value of 'x' for the calculation.
-     * Must not be null, must be greater than or equal to -1, and must not exceed {@link Integer#MAX_VALUE}.
+     * Must not be null, must be greater than or equal to -1, and must not exceed {@link WideOperation#MAX_DIGITS} digits.
      */
     @NotNull(message = ValidationMessages.NOT_NULL_X)
     @Min(value = -1, message = ValidationMessages.MIN_VALUE_X)
-    @Max(value = Integer.MAX_VALUE, message = ValidationMessages.MAX_VALUE_X)
-    private Long x;
+    @Digits(integer = WideOperation.MAX_DIGITS, fraction = 0, message = ValidationMessages.MAX_VALUE_X)
+    private BigInteger x;
 
     /**
      * The value of 'y' for the calculation.
-     * Must not be null, must be greater than or equal to -1, and must not exceed {@link Integer#MAX_VALUE}.
+     * Must not be null, must be greater than or equal to -1, and must not exceed {@link WideOperation#MAX_DIGITS} digits.
      */
     @NotNull(message = ValidationMessages.NOT_NULL_Y)
     @Min(value = -1, message = ValidationMessages.MIN_VALUE_Y)
-    @Max(value = Integer.MAX_VALUE, message = ValidationMessages.MAX_VALUE_Y)
-    private Long y;
+    @Digits(integer = WideOperation.MAX_DIGITS, fraction = 0, message = ValidationMessages.MAX_VALUE_Y)
+    private BigInteger y;
 
     /**
      * The value of 'n' for the calculation.
-     * Must not be null, must be greater than or equal to -1, and must not exceed {@link Integer#MAX_VALUE}.
+     * Must not be null, must be greater than or equal to -1, and must not exceed {@link WideOperation#MAX_DIGITS} digits.
      */
     @NotNull(message = ValidationMessages.NOT_NULL_N)
     @Min(value = -1, message = ValidationMessages.MIN_VALUE_N)
-    @Max(value = Integer.MAX_VALUE, message = ValidationMessages.MAX_VALUE_N)
-    private Long n;
+    @Digits(integer = WideOperation.MAX_DIGITS, fraction = 0, message = ValidationMessages.MAX_VALUE_N)
+    private BigInteger n;
+
+    /**
+     * Checks whether any of the values does not fit in a long, so the request must be calculated
+     * as a {@link WideOperation}.
+     *
+     * @return {@code true} if x, y or n is outside the range of a long.
+     */
+    @JsonIgnore
+    public boolean isWide() {
+        return isWide(this.x) || isWide(this.y) || isWide(this.n);
+    }
 
     /**
-     * Converts this DTO to its corresponding domain entity.
+     * Converts this DTO to its corresponding domain entity. Only valid for requests that are not wide.
      *
      * @return An {@link Operation} instance representing the operation parameters.
+     * @throws ArithmeticException If any of the values does not fit in a long.
      */
     public Operation toDomain() {
-        return Operation.builder()
-                .x(this.x)
-                .y(this.y)
-                .n(this.n)
-                .build();
+        return new Operation(toLong(this.x), toLong(this.y), toLong(this.n), null);
+    }
+
+    /**
+     * Converts this DTO to its corresponding arbitrary-precision domain entity.
+     *
+     * @return A {@link WideOperation} instance representing the operation parameters.
+     */
+    public WideOperation toWideDomain() {
+        return new WideOperation(this.x, this.y, this.n, null);
+    }
+
+    private static boolean isWide(BigInteger value) {
+        return value != null && value.bitLength() >= Long.SIZE;
+    }
+
+    private static Long toLong(BigInteger value) {
+        return value == null ? null : value.longValueExact();
     }
 }
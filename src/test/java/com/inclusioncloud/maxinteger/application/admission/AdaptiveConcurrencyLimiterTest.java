@@ -0,0 +1,111 @@
+package com.inclusioncloud.maxinteger.application.admission;
+
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter}.
+ * These tests validate the admission of requests and the additive increase and multiplicative decrease of the limit.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    /**
+     * Test to ensure requests above the limit are rejected and counted until a request is released.
+     */
+    @Test
+    void tryAcquire_RejectsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofMillis(100), 0.5);
+
+        assertTrue(limiter.tryAcquire(), "The first request should be admitted");
+        assertTrue(limiter.tryAcquire(), "The second request should be admitted");
+        assertFalse(limiter.tryAcquire(), "A request above the limit should be rejected");
+        assertEquals(1L, limiter.rejectedCount(), "The rejection should be counted");
+
+        limiter.release(0L, FAST, false);
+        assertTrue(limiter.tryAcquire(), "A request should be admitted once another one is released");
+        assertEquals(2, limiter.inFlight(), "Two requests should be in flight");
+    }
+
+    /**
+     * Test to ensure fast requests increase the limit by about one per round while the limit is in use.
+     */
+    @Test
+    void release_IncreasesLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, Duration.ofMillis(100), 0.5);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(), "The request should be admitted");
+        }
+        for (int i = 0; i < 4; i++) {
+            limiter.release(0L, FAST, false);
+        }
+
+        assertTrue(limiter.limit() > 4.0 && limiter.limit() < 5.0, "A round of fast requests should add less than one to the limit");
+        assertEquals(0, limiter.inFlight(), "No request should be in flight");
+    }
+
+    /**
+     * Test to ensure the limit does not grow while less than half of it is in use.
+     */
+    @Test
+    void release_IdleDoesNotIncreaseLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, Duration.ofMillis(100), 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(0L, FAST, false);
+        }
+
+        assertEquals(10.0, limiter.limit(), "A limit that is not in use should not grow");
+    }
+
+    /**
+     * Test to ensure a slow or failed request decreases the limit once per round, down to the minimum.
+     */
+    @Test
+    void release_DecreasesLimitOncePerRound() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 3, 10, Duration.ofMillis(100), 0.5);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+        }
+
+        limiter.release(0L, SLOW, false);
+        assertEquals(4.0, limiter.limit(), "A slow request should halve the limit");
+        limiter.release(0L, SLOW, false);
+        assertEquals(4.0, limiter.limit(), "A request that started before the decrease should not decrease it again");
+        limiter.release(SLOW, SLOW + FAST, true);
+        assertEquals(3.0, limiter.limit(), "A failed request should decrease the limit down to the minimum");
+    }
+
+    /**
+     * Test to ensure a disabled limiter admits every request and never adjusts its limit.
+     */
+    @Test
+    void tryAcquire_Disabled() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(false, 1, 1, 10, Duration.ofMillis(100), 0.5);
+
+        assertTrue(limiter.tryAcquire(), "The first request should be admitted");
+        assertTrue(limiter.tryAcquire(), "A request above the limit should be admitted");
+        limiter.release(0L, SLOW, true);
+
+        assertEquals(0, limiter.inFlight(), "A disabled limiter should not count the requests");
+        assertEquals(0L, limiter.rejectedCount(), "No request should be rejected");
+        assertEquals(1.0, limiter.limit(), "The limit should not be adjusted");
+    }
+
+    /**
+     * Test to ensure the initial limit is kept within the minimum and the maximum.
+     */
+    @Test
+    void constructor_ClampsInitialLimit() {
+        assertEquals(10.0, new AdaptiveConcurrencyLimiter(50, 1, 10, Duration.ofMillis(100), 0.5).limit(), "The limit should not exceed the maximum");
+        assertEquals(2.0, new AdaptiveConcurrencyLimiter(0, 2, 10, Duration.ofMillis(100), 0.5).limit(), "The limit should not be lower than the minimum");
+    }
+}
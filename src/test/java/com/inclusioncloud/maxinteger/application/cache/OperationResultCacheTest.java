@@ -0,0 +1,96 @@
+package com.inclusioncloud.maxinteger.application.cache;
+
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OperationResultCache}.
+ * These tests validate lookups, both eviction policies, the hit and miss counters and the persist TTL.
+ */
+class OperationResultCacheTest {
+
+    /**
+     * Test to ensure a cached triple is returned and counted as a hit, and an unknown one as a miss.
+     */
+    @Test
+    void get_HitAndMiss() {
+        OperationResultCache cache = new OperationResultCache(true, 16, 4, OperationResultCache.EvictionPolicy.LRU, Duration.ZERO);
+        cache.put(7L, 5L, 12345L, 12339L);
+
+        assertEquals(12339L, cache.get(7L, 5L, 12345L), "The cached result should be returned");
+        assertEquals(OperationResultCache.MISS, cache.get(7L, 5L, 12346L), "An unknown triple should miss");
+        assertEquals(1L, cache.hitCount(), "The hit should be counted");
+        assertEquals(1L, cache.missCount(), "The miss should be counted");
+    }
+
+    /**
+     * Test to ensure the LRU policy keeps a triple that was read after being written.
+     */
+    @Test
+    void put_EvictsLeastRecentlyUsed() {
+        OperationResultCache cache = new OperationResultCache(true, 2, 2, OperationResultCache.EvictionPolicy.LRU, Duration.ZERO);
+        cache.put(1L, 0L, 1L, 1L);
+        cache.put(2L, 0L, 2L, 2L);
+        cache.get(1L, 0L, 1L);
+
+        cache.put(3L, 0L, 3L, 3L);
+
+        assertEquals(1L, cache.get(1L, 0L, 1L), "The recently read triple should be kept");
+        assertEquals(OperationResultCache.MISS, cache.get(2L, 0L, 2L), "The least recently used triple should be evicted");
+        assertEquals(1L, cache.evictionCount(), "The eviction should be counted");
+    }
+
+    /**
+     * Test to ensure the FIFO policy evicts the oldest written triple even if it was read.
+     */
+    @Test
+    void put_EvictsFirstIn() {
+        OperationResultCache cache = new OperationResultCache(true, 2, 2, OperationResultCache.EvictionPolicy.FIFO, Duration.ZERO);
+        cache.put(1L, 0L, 1L, 1L);
+        cache.put(2L, 0L, 2L, 2L);
+        cache.get(1L, 0L, 1L);
+
+        cache.put(3L, 0L, 3L, 3L);
+
+        assertEquals(OperationResultCache.MISS, cache.get(1L, 0L, 1L), "The first written triple should be evicted");
+        assertEquals(2L, cache.get(2L, 0L, 2L), "The second written triple should be kept");
+    }
+
+    /**
+     * Test to ensure a persisted triple is reported as recent only until the TTL expires.
+     */
+    @Test
+    void persistedRecently_ExpiresAfterTtl() {
+        AtomicLong clock = new AtomicLong(1_000L);
+        OperationResultCache cache = new OperationResultCache(true, 16, 4, OperationResultCache.EvictionPolicy.LRU,
+                Duration.ofNanos(100L), clock::get);
+        cache.put(7L, 5L, 12345L, 12339L);
+
+        assertFalse(cache.persistedRecently(7L, 5L, 12345L), "A triple never persisted should be written");
+        cache.markPersisted(7L, 5L, 12345L);
+        clock.addAndGet(50L);
+        assertTrue(cache.persistedRecently(7L, 5L, 12345L), "A triple persisted within the TTL should be skipped");
+        clock.addAndGet(50L);
+        assertFalse(cache.persistedRecently(7L, 5L, 12345L), "A triple persisted before the TTL should be written again");
+        assertEquals(1L, cache.skippedWriteCount(), "The skipped write should be counted");
+    }
+
+    /**
+     * Test to ensure a disabled cache never hits and never skips a write.
+     */
+    @Test
+    void disabled_NeverHits() {
+        OperationResultCache cache = new OperationResultCache(false, 16, 4, OperationResultCache.EvictionPolicy.LRU, Duration.ofHours(1));
+        cache.put(7L, 5L, 12345L, 12339L);
+        cache.markPersisted(7L, 5L, 12345L);
+
+        assertEquals(OperationResultCache.MISS, cache.get(7L, 5L, 12345L), "A disabled cache should always miss");
+        assertFalse(cache.persistedRecently(7L, 5L, 12345L), "A disabled cache should never skip a write");
+        assertEquals(0, cache.capacity(), "A disabled cache should not report capacity");
+    }
+}
@@ -0,0 +1,255 @@
+package com.inclusioncloud.maxinteger.application.idempotency;
+
+
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link IdempotencyStore}.
+ * These tests validate replays, in-flight duplicates, key reuse, failures and the TTL and size bounds.
+ */
+class IdempotencyStoreTest {
+
+    /**
+     * Test to ensure a retried key is answered with the first result without running the request again.
+     */
+    @Test
+    void execute_Replays() {
+        IdempotencyStore store = new IdempotencyStore(true, 16, Duration.ofMinutes(1), Duration.ofSeconds(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        Integer first = store.execute("key", "request", runs::incrementAndGet);
+        Integer retry = store.execute("key", "request", runs::incrementAndGet);
+
+        assertEquals(1, first, "The first request should run");
+        assertEquals(1, retry, "The retry should get the first result");
+        assertEquals(1, runs.get(), "The request should run once");
+        assertEquals(1L, store.replayCount(), "The replay should be counted");
+    }
+
+    /**
+     * Test to ensure a duplicate that arrives while the first request is running waits for its result.
+     */
+    @Test
+    void execute_WaitsForInFlightRequest() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(true, 16, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> store.execute("key", "request", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return runs.incrementAndGet();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS), "The first request should start");
+            Future<Integer> duplicate = executor.submit(() -> store.execute("key", "request", runs::incrementAndGet));
+            Thread.sleep(50);
+            assertFalse(duplicate.isDone(), "The duplicate should wait for the first request");
+
+            release.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS), "The first request should get its result");
+            assertEquals(1, duplicate.get(5, TimeUnit.SECONDS), "The duplicate should get the result of the first request");
+            assertEquals(1, runs.get(), "The request should run once");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test to ensure a duplicate gives up with its own error when the first request runs longer than the wait timeout.
+     */
+    @Test
+    void execute_InFlightTimeout() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(true, 16, Duration.ofMinutes(1), Duration.ofMillis(20));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> store.execute("key", "request", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return 1;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS), "The first request should start");
+
+            CustomException thrown = assertThrows(CustomException.class, () -> store.execute("key", "request", () -> 2),
+                    "The duplicate should not wait longer than the timeout");
+
+            assertEquals(SPError.IDEMPOTENCY_REQUEST_IN_PROGRESS.getErrorCode(), thrown.getErrorCode(), "The error should report the request in progress");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test to ensure a key can not be reused for a different request.
+     */
+    @Test
+    void execute_KeyReused() {
+        IdempotencyStore store = new IdempotencyStore(true, 16, Duration.ofMinutes(1), Duration.ofSeconds(1));
+        store.execute("key", "request", () -> 1);
+
+        CustomException thrown = assertThrows(CustomException.class, () -> store.execute("key", "other request", () -> 2),
+                "A different request should be rejected");
+
+        assertEquals(SPError.IDEMPOTENCY_KEY_REUSED.getErrorCode(), thrown.getErrorCode(), "The error should report the reused key");
+    }
+
+    /**
+     * Test to ensure a failed request releases its key, so a retry runs again.
+     */
+    @Test
+    void execute_FailureReleasesKey() {
+        IdempotencyStore store = new IdempotencyStore(true, 16, Duration.ofMinutes(1), Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> store.execute("key", "request", () -> {
+            throw new IllegalStateException("Database error");
+        }), "The error of the request should be rethrown");
+
+        assertEquals(2, store.execute("key", "request", () -> 2), "The retry should run again");
+        assertEquals(0L, store.replayCount(), "A retry after a failure should not be a replay");
+    }
+
+    /**
+     * Test to ensure a key is forgotten once its TTL expires.
+     */
+    @Test
+    void execute_TtlExpires() {
+        AtomicLong clock = new AtomicLong();
+        IdempotencyStore store = new IdempotencyStore(true, 16, Duration.ofSeconds(10), Duration.ofSeconds(1), clock::get);
+        store.execute("key", "request", () -> 1);
+
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertEquals(1, store.execute("key", "request", () -> 2), "The key should be remembered within the TTL");
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(3, store.execute("key", "other request", () -> 3), "An expired key should run any request again");
+    }
+
+    /**
+     * Test to ensure the oldest key is evicted when the store is full.
+     */
+    @Test
+    void execute_EvictsOldestKey() {
+        IdempotencyStore store = new IdempotencyStore(true, 2, Duration.ofMinutes(1), Duration.ofSeconds(1));
+        store.execute("first", "request", () -> 1);
+        store.execute("second", "request", () -> 2);
+
+        store.execute("third", "request", () -> 3);
+
+        assertEquals(2, store.size(), "The store should not exceed its size");
+        assertEquals(1L, store.evictionCount(), "The eviction should be counted");
+        assertEquals(4, store.execute("first", "request", () -> 4), "The oldest key should be forgotten");
+        assertEquals(3, store.execute("third", "request", () -> 5), "The newest key should be remembered");
+    }
+
+    /**
+     * Test to ensure a key whose request is still running is not evicted to make room for a new key.
+     */
+    @Test
+    void execute_EvictionSkipsInFlightKey() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(true, 2, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> store.execute("first", "request", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return 1;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS), "The first request should start");
+            store.execute("second", "request", () -> 2);
+
+            store.execute("third", "request", () -> 3);
+
+            assertEquals(1L, store.evictionCount(), "The eviction should be counted");
+            Future<Integer> retry = executor.submit(() -> store.execute("first", "request", () -> {
+                runs.incrementAndGet();
+                return 4;
+            }));
+            release.countDown();
+            assertEquals(1, first.get(5, TimeUnit.SECONDS), "The first request should complete");
+            assertEquals(1, retry.get(5, TimeUnit.SECONDS), "The in-flight key should be remembered");
+            assertEquals(1, runs.get(), "The in-flight request should run once");
+            assertEquals(5, store.execute("second", "request", () -> 5), "The oldest completed key should be forgotten");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test to verify a new key is rejected when every remembered key is still running.
+     */
+    @Test
+    void execute_FullOfInFlightKeys() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(true, 1, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> first = executor.submit(() -> store.execute("first", "request", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return 1;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS), "The first request should start");
+
+            CustomException thrown = assertThrows(CustomException.class, () -> store.execute("second", "request", runs::incrementAndGet),
+                    "A new key should be rejected while the store is full of running requests");
+
+            assertEquals(SPError.IDEMPOTENCY_STORE_FULL.getErrorCode(), thrown.getErrorCode(), "The error should report the full store");
+            assertEquals(0, runs.get(), "The rejected request should not run");
+            assertEquals(0L, store.evictionCount(), "The running key should not be evicted");
+            release.countDown();
+            assertEquals(1, first.get(5, TimeUnit.SECONDS), "The first request should complete");
+            assertEquals(1, store.size(), "Only the running key should be remembered");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test to ensure a disabled store runs every request.
+     */
+    @Test
+    void execute_Disabled() {
+        IdempotencyStore store = new IdempotencyStore(false, 16, Duration.ofMinutes(1), Duration.ofSeconds(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        store.execute("key", "request", runs::incrementAndGet);
+        store.execute("key", "request", runs::incrementAndGet);
+
+        assertEquals(2, runs.get(), "Every request should run");
+        assertEquals(0, store.size(), "No key should be remembered");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
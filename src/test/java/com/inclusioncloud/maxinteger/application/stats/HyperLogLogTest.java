@@ -0,0 +1,57 @@
+package com.inclusioncloud.maxinteger.application.stats;
+
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link HyperLogLog}.
+ * These tests validate the estimate of small and large cardinalities and the merge of sketches.
+ */
+class HyperLogLogTest {
+
+    /**
+     * Test to ensure repeated triples are counted once.
+     */
+    @Test
+    void estimate_IgnoresDuplicates() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add(HyperLogLog.hash(7L, 5L, i % 10));
+        }
+
+        assertEquals(10.0, sketch.estimate(), 1.0, "Ten distinct triples should be estimated almost exactly");
+    }
+
+    /**
+     * Test to ensure a large cardinality is estimated within a few standard errors.
+     */
+    @Test
+    void estimate_LargeCardinality() {
+        HyperLogLog sketch = new HyperLogLog(14);
+        for (long n = 0; n < 200_000; n++) {
+            sketch.add(HyperLogLog.hash(7L, 5L, n));
+        }
+
+        assertEquals(200_000.0, sketch.estimate(), 200_000 * 0.03, "The estimate should be within 3% of the cardinality");
+    }
+
+    /**
+     * Test to ensure merged sketches estimate the union of their triples.
+     */
+    @Test
+    void merge_EstimatesUnion() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (long n = 0; n < 1_000; n++) {
+            first.add(HyperLogLog.hash(7L, 5L, n));
+            second.add(HyperLogLog.hash(7L, 5L, n + 500));
+        }
+
+        first.merge(second);
+
+        assertEquals(1_500.0, first.estimate(), 1_500 * 0.05, "The merged sketch should estimate the union");
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)), "Sketches of different precision should not merge");
+    }
+}
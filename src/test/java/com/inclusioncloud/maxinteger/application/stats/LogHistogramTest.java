@@ -0,0 +1,59 @@
+package com.inclusioncloud.maxinteger.application.stats;
+
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LogHistogram}.
+ * These tests validate the bucket boundaries, the quantile error and the merge of histograms.
+ */
+class LogHistogramTest {
+
+    /**
+     * Test to ensure every value falls within the bounds of its bucket, up to {@link Long#MAX_VALUE}.
+     */
+    @Test
+    void bucket_ContainsValue() {
+        long[] values = {0L, 7L, 8L, 15L, 16L, 1_000L, 123_456_789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LogHistogram.bucket(value);
+            assertTrue(LogHistogram.lowerBound(bucket) <= value && value <= LogHistogram.upperBound(bucket),
+                    "The value " + value + " should fall within its bucket");
+        }
+        assertEquals(LogHistogram.BUCKETS - 1, LogHistogram.bucket(Long.MAX_VALUE), "The largest value should use the last bucket");
+    }
+
+    /**
+     * Test to ensure quantiles stay within the relative error of the buckets.
+     */
+    @Test
+    void quantile_WithinRelativeError() {
+        LogHistogram histogram = new LogHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(5_000.0, histogram.quantile(0.5), 5_000 / 16.0, "The median should be within the bucket error");
+        assertEquals(9_900.0, histogram.quantile(0.99), 9_900 / 16.0, "The p99 should be within the bucket error");
+    }
+
+    /**
+     * Test to ensure a merged histogram holds the values of both.
+     */
+    @Test
+    void merge_AddsCounts() {
+        LogHistogram first = new LogHistogram();
+        LogHistogram second = new LogHistogram();
+        first.record(1L);
+        second.record(3L);
+        second.record(-5L);
+
+        first.merge(second);
+
+        assertEquals(3L, first.count(), "The merged histogram should count every value");
+        assertEquals(0L, first.quantile(0.0), "A negative value should be recorded as zero");
+        assertEquals(3L, first.quantile(1.0), "The largest value should be the last quantile");
+    }
+}
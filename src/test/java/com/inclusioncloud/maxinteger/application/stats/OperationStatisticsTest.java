@@ -0,0 +1,87 @@
+package com.inclusioncloud.maxinteger.application.stats;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationStats;
+import com.inclusioncloud.maxinteger.domain.models.ResultSummary;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OperationStatistics}.
+ * These tests validate the overall and per x summaries, the bound on tracked divisors and the rebuild from storage.
+ */
+@ExtendWith(MockitoExtension.class)
+class OperationStatisticsTest {
+
+    @Mock
+    private OperationStorageRepository repository;
+
+    /**
+     * Test to ensure count, min, max, mean and distinct triples are summarized overall and per x.
+     */
+    @Test
+    void snapshot_OverallAndPerX() {
+        OperationStatistics statistics = new OperationStatistics(4, 16);
+        statistics.record(7L, 5L, 12345L, 12339L);
+        statistics.record(7L, 5L, 12345L, 12339L);
+        statistics.record(10L, 5L, 15L, 15L);
+
+        OperationStats stats = statistics.snapshot();
+
+        ResultSummary overall = stats.getOverall();
+        assertEquals(3L, overall.getCount(), "Every operation should be counted");
+        assertEquals(15L, overall.getMin(), "The minimum result should match");
+        assertEquals(12339L, overall.getMax(), "The maximum result should match");
+        assertEquals((12339.0 * 2 + 15.0) / 3, overall.getMean(), 1e-9, "The mean result should match");
+        assertEquals(2L, overall.getDistinctTriples(), "Repeated triples should be counted once");
+        assertEquals(1L, stats.getByX().get(10L).getCount(), "The operation of x=10 should be counted apart");
+        assertEquals(15L, stats.getByX().get(10L).getP99(), "Quantiles should be clamped to the observed results");
+    }
+
+    /**
+     * Test to ensure divisors over the bound are only part of the overall statistics.
+     */
+    @Test
+    void record_MaxTrackedX() {
+        OperationStatistics statistics = new OperationStatistics(1, 2);
+        for (long x = 1; x <= 5; x++) {
+            statistics.record(x, 0L, 10L, 10L - 10L % x);
+        }
+
+        OperationStats stats = statistics.snapshot();
+
+        assertEquals(5L, stats.getOverall().getCount(), "Every operation should be part of the overall statistics");
+        assertEquals(2, stats.getByX().size(), "Only the first divisors should be tracked");
+        assertEquals(3L, stats.getUntrackedCount(), "Operations of untracked divisors should be counted");
+    }
+
+    /**
+     * Test to ensure the statistics are rebuilt from every stored operation.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void rebuild_FromStorage() {
+        when(repository.forEach(any())).thenAnswer(invocation -> {
+            Consumer<Operation> consumer = invocation.getArgument(0);
+            consumer.accept(MockFactory.getStoredOperationDomainFactory(1L));
+            consumer.accept(MockFactory.getStoredOperationDomainFactory(2L));
+            return 2L;
+        });
+        OperationStatistics statistics = new OperationStatistics(1, 16);
+
+        assertEquals(2L, statistics.rebuild(repository), "The rebuilt operations should be reported");
+        assertEquals(2L, statistics.snapshot().getOverall().getCount(), "Every stored operation should be recorded");
+        assertNull(new OperationStatistics(1, 16).snapshot().getOverall().getMean(), "Empty statistics should have no mean");
+    }
+}
@@ -0,0 +1,91 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.OperationService;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CalculateBatchUseCase} class.
+ * These tests ensure the batch is computed through the bulk kernel and persisted in a single call.
+ */
+@ExtendWith(MockitoExtension.class)
+class CalculateBatchUseCaseTest {
+
+    @Mock
+    private OperationStorageRepository repository;
+
+    private OperationStatistics statistics;
+
+    private CalculateBatchUseCase calculateBatchUseCase;
+
+    private List<Operation> inputDomains;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        statistics = new OperationStatistics(1, 16);
+        calculateBatchUseCase = new CalculateBatchUseCase(new OperationService(), repository, statistics);
+        inputDomains = MockFactory.getOperationBatchDomainFactory();
+    }
+
+    /**
+     * Test to ensure the batch is calculated in order and saved with a single repository call.
+     */
+    @Test
+    void calculate_Success() {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Operation> result = calculateBatchUseCase.calculate(inputDomains);
+
+        assertEquals(3, result.size(), "Every operation of the batch should be returned");
+        assertEquals(12339L, result.get(0).getResult(), "The first result should match the expected value");
+        assertEquals(0L, result.get(1).getResult(), "The second result should match the expected value");
+        assertEquals(20L, result.get(2).getResult(), "The third result should match the expected value");
+        verify(repository, times(1)).saveAll(anyList());
+        verify(repository, never()).save(any());
+        assertEquals(3L, statistics.snapshot().getOverall().getCount(), "Every saved operation should be recorded in the statistics");
+    }
+
+    /**
+     * Test to verify behavior when a triple of the batch is invalid.
+     */
+    @Test
+    void calculate_CalculationError() {
+        List<Operation> invalid = List.of(MockFactory.getOperationDomainFactory(), MockFactory.getOperationDomainInvalidFactory());
+
+        CustomException thrown = assertThrows(CustomException.class, () -> calculateBatchUseCase.calculate(invalid));
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_CALCULATE_BATCH.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    /**
+     * Test to verify behavior when a persistence error occurs.
+     */
+    @Test
+    void calculate_PersistenceError() {
+        when(repository.saveAll(anyList())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+
+        CustomException thrown = assertThrows(CustomException.class, () -> calculateBatchUseCase.calculate(inputDomains));
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_CALCULATE_BATCH.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+    }
+}
@@ -0,0 +1,203 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.OperationService;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CalculateStreamUseCase} class.
+ * These tests ensure every operation is calculated on arrival and persisted in fixed-size chunks.
+ */
+@ExtendWith(MockitoExtension.class)
+class CalculateStreamUseCaseTest {
+
+    @Mock
+    private OperationStorageRepository repository;
+
+    private CalculateStreamUseCase calculateStreamUseCase;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        calculateStreamUseCase = new CalculateStreamUseCase(new OperationService(), repository, new OperationStatistics(1, 16));
+    }
+
+    /**
+     * Test to ensure every operation is calculated as soon as it is received.
+     */
+    @Test
+    void calculate_Success() {
+        try (CalculateStreamUseCase.CalculationStream stream = calculateStreamUseCase.open()) {
+            Operation result = stream.calculate(MockFactory.getOperationDomainBorderFactory());
+
+            assertEquals(20L, result.getResult(), "The result should match the expected value");
+            assertEquals(1L, stream.processed(), "The stream should count the processed operation");
+            verify(repository, never()).saveAll(anyList());
+        }
+        verify(repository, times(1)).saveAll(anyList());
+    }
+
+    /**
+     * Test to ensure results are persisted in chunks of {@link CalculateStreamUseCase#CHUNK_SIZE}.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void calculate_FlushesFullChunks() {
+        int total = CalculateStreamUseCase.CHUNK_SIZE * 2 + 1;
+        try (CalculateStreamUseCase.CalculationStream stream = calculateStreamUseCase.open()) {
+            for (int i = 0; i < total; i++) {
+                stream.calculate(MockFactory.getOperationDomainBorderFactory());
+            }
+        }
+
+        ArgumentCaptor<List<Operation>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(3)).saveAll(chunks.capture());
+        assertEquals(CalculateStreamUseCase.CHUNK_SIZE, chunks.getAllValues().get(0).size(), "The first chunk should be full");
+        assertEquals(CalculateStreamUseCase.CHUNK_SIZE, chunks.getAllValues().get(1).size(), "The second chunk should be full");
+        assertEquals(1, chunks.getAllValues().get(2).size(), "The last chunk should hold the remaining operation");
+    }
+
+    /**
+     * Test to verify an invalid operation fails without breaking the stream.
+     */
+    @Test
+    void calculate_CalculationError() {
+        try (CalculateStreamUseCase.CalculationStream stream = calculateStreamUseCase.open()) {
+            CustomException thrown = assertThrows(CustomException.class, () -> stream.calculate(MockFactory.getOperationDomainInvalidFactory()));
+
+            assertEquals(SPError.OPERATION_USE_CASE_ERROR_CALCULATE_STREAM.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+            assertEquals(20L, stream.calculate(MockFactory.getOperationDomainBorderFactory()).getResult(), "The stream should keep calculating");
+        }
+    }
+
+    /**
+     * Test to verify behavior when the last chunk can not be persisted.
+     */
+    @Test
+    void close_PersistenceError() {
+        when(repository.saveAll(anyList())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+        CalculateStreamUseCase.CalculationStream stream = calculateStreamUseCase.open();
+        stream.calculate(MockFactory.getOperationDomainBorderFactory());
+
+        CustomException thrown = assertThrows(CustomException.class, stream::close);
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+        assertEquals(1, stream.unpersisted(), "The unpersisted operation should be reported");
+    }
+
+    /**
+     * Test to verify a full chunk that can not be persisted is kept, reported and not retried on close.
+     */
+    @Test
+    void calculate_ChunkPersistenceError() {
+        when(repository.saveAll(anyList())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+        CalculateStreamUseCase.CalculationStream stream = calculateStreamUseCase.open();
+        for (int i = 0; i < CalculateStreamUseCase.CHUNK_SIZE; i++) {
+            stream.calculate(MockFactory.getOperationDomainBorderFactory());
+        }
+
+        CustomException thrown = assertThrows(CustomException.class, () -> stream.calculate(MockFactory.getOperationDomainBorderFactory()));
+        stream.close();
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+        assertEquals(CalculateStreamUseCase.CHUNK_SIZE, stream.unpersisted(), "The chunk should be kept after the failed save");
+        assertEquals(CalculateStreamUseCase.CHUNK_SIZE, stream.processed(), "The operation arriving after the failure should not be queued");
+        verify(repository, times(1)).saveAll(anyList());
+    }
+
+    /**
+     * Test to ensure a sweep hands every result to the consumer in order without persisting it.
+     */
+    @Test
+    void sweep_NotPersisted() {
+        List<Operation> written = new ArrayList<>();
+
+        long produced = calculateStreamUseCase.sweep(7L, 5L, 12340L, 12350L, 5L, written::add);
+
+        assertEquals(3L, produced, "Every n of the range should be calculated");
+        assertEquals(List.of(12340L, 12345L, 12350L), written.stream().map(Operation::getN).toList(), "The values of n should follow the step");
+        assertEquals(12339L, written.get(1).getResult(), "The result should match the expected value");
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    /**
+     * Test to ensure a persisted sweep is saved in chunks of {@link CalculateStreamUseCase#CHUNK_SIZE}.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void sweep_PersistedInChunks() {
+        long total = CalculateStreamUseCase.CHUNK_SIZE * 2L + 1;
+        long[] written = new long[1];
+
+        long produced;
+        try (CalculateStreamUseCase.CalculationStream stream = calculateStreamUseCase.open()) {
+            produced = calculateStreamUseCase.sweep(7L, 5L, 0L, total - 1, 1L, stream, operation -> written[0]++);
+        }
+
+        ArgumentCaptor<List<Operation>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(3)).saveAll(chunks.capture());
+        assertEquals(total, produced, "Every n of the range should be calculated");
+        assertEquals(total, written[0], "Every result should be handed to the consumer");
+        assertEquals(1, chunks.getAllValues().get(2).size(), "The last chunk should hold the remaining operation");
+    }
+
+    /**
+     * Test to verify invalid sweep parameters are reported with the sweep error code.
+     */
+    @Test
+    void sweep_InvalidParameters() {
+        CustomException thrown = assertThrows(CustomException.class,
+                () -> calculateStreamUseCase.sweep(0L, 5L, 0L, 10L, 1L, operation -> { }));
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_SWEEP.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+    }
+
+    /**
+     * Test to verify a sweep whose results overflow a long is rejected before any result is calculated.
+     */
+    @Test
+    void validateSweep_Overflow() {
+        CustomException thrown = assertThrows(CustomException.class,
+                () -> calculateStreamUseCase.validateSweep(1L, Long.MAX_VALUE, 0L, 10L, 1L));
+
+        assertEquals(SPError.OPERATION_SERVICE_ERROR_OVERFLOW.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+    }
+
+    /**
+     * Test to verify a chunk of a persisted sweep that can not be saved is reported with the stream persistence
+     * error and kept in the stream.
+     */
+    @Test
+    void sweep_ChunkPersistenceError() {
+        when(repository.saveAll(anyList())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+        CalculateStreamUseCase.CalculationStream stream = calculateStreamUseCase.open();
+
+        CustomException thrown = assertThrows(CustomException.class,
+                () -> calculateStreamUseCase.sweep(7L, 5L, 0L, CalculateStreamUseCase.CHUNK_SIZE * 2L, 1L, stream, operation -> { }));
+        stream.close();
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+        assertEquals(CalculateStreamUseCase.CHUNK_SIZE, stream.unpersisted(), "The failed chunk should be kept");
+        verify(repository, times(1)).saveAll(anyList());
+    }
+}
@@ -1,19 +1,25 @@
 package com.inclusioncloud.maxinteger.application.usecase;
 
 
+import com.inclusioncloud.maxinteger.application.cache.OperationResultCache;
 import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.application.writebehind.OperationWriteBehindQueue;
 import com.inclusioncloud.maxinteger.config.exception.CustomException;
 import com.inclusioncloud.maxinteger.config.exception.SPError;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
 import com.inclusioncloud.maxinteger.domain.service.OperationService;
 import com.inclusioncloud.maxinteger.mocks.MockFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigInteger;
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -30,17 +36,23 @@ class CalculateUseCaseTest {
     @Mock
     private OperationStorageRepository repository;
 
-    @InjectMocks
+    @Mock
+    private OperationWriteBehindQueue writeBehindQueue;
+
+    private OperationStatistics statistics;
+
     private CalculateUseCase calculateUseCase;
 
     private Operation inputDomain;
 
     /**
-     * Sets up the test environment before each test.
+     * Sets up the test environment before each test, with the result cache disabled.
      */
     @BeforeEach
     void setUp() {
         inputDomain = MockFactory.getOperationDomainFactory();
+        statistics = new OperationStatistics(1, 16);
+        calculateUseCase = useCaseWithCache(new OperationResultCache(false, 0, 1, OperationResultCache.EvictionPolicy.LRU, Duration.ZERO));
     }
 
     /**
@@ -48,14 +60,47 @@ class CalculateUseCaseTest {
      */
     @Test
     void calculate_Success() {
-        when(operationService.calculateMaxK(inputDomain)).thenReturn(123L);
-        when(repository.save(inputDomain)).thenReturn(inputDomain);
+        when(operationService.calculateMaxK(10L, 5L, 15L)).thenReturn(123L);
+        when(repository.save(any(Operation.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Operation result = calculateUseCase.calculate(inputDomain);
 
         assertNotNull(result, "The result should not be null");
         assertEquals(123L, result.getResult(), "The result should match the expected value");
-        verify(repository, times(1)).save(inputDomain);
+        verify(repository, times(1)).save(argThat(saved -> saved.getResult() == 123L && saved.getN() == 15L));
+        assertEquals(15L, inputDomain.getResult(), "The received operation should not be modified");
+        assertEquals(1L, statistics.snapshot().getOverall().getCount(), "The saved operation should be recorded in the statistics");
+    }
+
+    /**
+     * Test to ensure the write-behind mode queues the calculated operation instead of saving it.
+     */
+    @Test
+    void calculate_WriteBehind() {
+        when(operationService.calculateMaxK(10L, 5L, 15L)).thenReturn(123L);
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+
+        Operation result = calculateUseCase.calculate(inputDomain);
+
+        assertEquals(123L, result.getResult(), "The result should be returned before it is persisted");
+        verify(writeBehindQueue, times(1)).submit(argThat(queued -> queued.getResult() == 123L));
+        verify(repository, never()).save(any());
+        assertEquals(0L, statistics.snapshot().getOverall().getCount(), "A queued operation should only be recorded once it is persisted");
+    }
+
+    /**
+     * Test to verify behavior when the write-behind queue rejects the operation.
+     */
+    @Test
+    void calculate_WriteBehindQueueFull() {
+        when(operationService.calculateMaxK(10L, 5L, 15L)).thenReturn(123L);
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+        doThrow(new CustomException(SPError.WRITE_BEHIND_QUEUE_FULL.getErrorCode(), SPError.WRITE_BEHIND_QUEUE_FULL.getErrorMessage()))
+                .when(writeBehindQueue).submit(any());
+
+        CustomException thrown = assertThrows(CustomException.class, () -> calculateUseCase.calculate(inputDomain));
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
     }
 
     /**
@@ -63,7 +108,7 @@ class CalculateUseCaseTest {
      */
     @Test
     void calculate_CalculationError() {
-        when(operationService.calculateMaxK(inputDomain)).thenThrow(MockFactory.getCustomExceptionUseCaseFactory());
+        when(operationService.calculateMaxK(anyLong(), anyLong(), anyLong())).thenThrow(MockFactory.getCustomExceptionUseCaseFactory());
 
         CustomException thrown = assertThrows(CustomException.class, () -> calculateUseCase.calculate(inputDomain));
 
@@ -76,12 +121,114 @@ class CalculateUseCaseTest {
      */
     @Test
     void calculate_PersistenceError() {
-        when(operationService.calculateMaxK(inputDomain)).thenReturn(123L);
-        when(repository.save(inputDomain)).thenThrow(MockFactory.getCustomExceptionUseCaseFactory());
+        when(operationService.calculateMaxK(10L, 5L, 15L)).thenReturn(123L);
+        when(repository.save(any(Operation.class))).thenThrow(MockFactory.getCustomExceptionUseCaseFactory());
 
         CustomException thrown = assertThrows(CustomException.class, () -> calculateUseCase.calculate(inputDomain));
 
         assertEquals(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
         assertEquals(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorMessage(), thrown.getMessage(), "The error message should match the expected value");
     }
+
+    /**
+     * Test to ensure a repeated triple is answered from the cache without calling the service again.
+     */
+    @Test
+    void calculate_CacheHit() {
+        calculateUseCase = useCaseWithCache(new OperationResultCache(true, 16, 4, OperationResultCache.EvictionPolicy.LRU, Duration.ZERO));
+        when(operationService.calculateMaxK(10L, 5L, 15L)).thenReturn(123L);
+
+        calculateUseCase.calculate(inputDomain);
+        Operation result = calculateUseCase.calculate(inputDomain);
+
+        assertEquals(123L, result.getResult(), "The cached result should be returned");
+        verify(operationService, times(1)).calculateMaxK(10L, 5L, 15L);
+        verify(repository, times(2)).save(any(Operation.class));
+        assertEquals(1L, calculateUseCase.kernelCount(), "Only the cache miss should be timed as a kernel calculation");
+        assertTrue(calculateUseCase.kernelNanos() >= 0L, "The kernel time should be accumulated");
+    }
+
+    /**
+     * Test to ensure a triple persisted within the TTL is not written again.
+     */
+    @Test
+    void calculate_CacheSkipsRecentWrite() {
+        calculateUseCase = useCaseWithCache(new OperationResultCache(true, 16, 4, OperationResultCache.EvictionPolicy.LRU, Duration.ofHours(1)));
+        when(operationService.calculateMaxK(10L, 5L, 15L)).thenReturn(123L);
+
+        calculateUseCase.calculate(inputDomain);
+        Operation result = calculateUseCase.calculate(inputDomain);
+
+        assertEquals(123L, result.getResult(), "The cached result should be returned");
+        verify(repository, times(1)).save(any(Operation.class));
+        assertEquals(1L, statistics.snapshot().getOverall().getCount(), "A skipped write should not be recorded in the statistics");
+    }
+
+    /**
+     * Test to ensure a queued triple is not marked as persisted, so a repeat is written again until its batch is saved.
+     */
+    @Test
+    void calculate_CacheWriteBehindNotMarked() {
+        calculateUseCase = useCaseWithCache(new OperationResultCache(true, 16, 4, OperationResultCache.EvictionPolicy.LRU, Duration.ofHours(1)));
+        when(operationService.calculateMaxK(10L, 5L, 15L)).thenReturn(123L);
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+
+        calculateUseCase.calculate(inputDomain);
+        calculateUseCase.calculate(inputDomain);
+
+        verify(writeBehindQueue, times(2)).submit(argThat(queued -> queued.getResult() == 123L));
+    }
+
+    /**
+     * Test to ensure a wide operation is calculated with arbitrary precision and saved through the wide port,
+     * without going through the write-behind queue or the statistics.
+     */
+    @Test
+    void calculateWide_Success() {
+        WideOperation wide = MockFactory.getWideOperationDomainFactory();
+        BigInteger expected = new BigInteger("123456789012345678901234567888");
+        when(repository.supportsWide()).thenReturn(true);
+        when(operationService.calculateMaxK(wide.getX(), wide.getY(), wide.getN())).thenReturn(expected);
+
+        WideOperation result = calculateUseCase.calculateWide(wide);
+
+        assertEquals(expected, result.getResult(), "The result should match the expected value");
+        verify(repository, times(1)).saveWide(argThat(saved -> expected.equals(saved.getResult()) && wide.getN().equals(saved.getN())));
+        verify(writeBehindQueue, never()).submit(any());
+        assertEquals(0L, statistics.snapshot().getOverall().getCount(), "A wide operation should not be recorded in the statistics");
+    }
+
+    /**
+     * Test to verify a persistence error of a wide operation is wrapped in the calculate error.
+     */
+    @Test
+    void calculateWide_PersistenceError() {
+        WideOperation wide = MockFactory.getWideOperationDomainFactory();
+        when(repository.supportsWide()).thenReturn(true);
+        when(operationService.calculateMaxK(wide.getX(), wide.getY(), wide.getN())).thenReturn(BigInteger.TEN);
+        when(repository.saveWide(any(WideOperation.class))).thenThrow(MockFactory.getDataBaseExceptionFactory());
+
+        CustomException thrown = assertThrows(CustomException.class, () -> calculateUseCase.calculateWide(wide));
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+    }
+
+    /**
+     * Test to verify a wide operation is rejected before calculating when the storage can not hold it.
+     */
+    @Test
+    void calculateWide_StorageNotSupported() {
+        WideOperation wide = MockFactory.getWideOperationDomainFactory();
+        when(repository.supportsWide()).thenReturn(false);
+
+        CustomException thrown = assertThrows(CustomException.class, () -> calculateUseCase.calculateWide(wide));
+
+        assertEquals(SPError.WIDE_STORAGE_NOT_SUPPORTED.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+        verify(operationService, never()).calculateMaxK(any(BigInteger.class), any(BigInteger.class), any(BigInteger.class));
+        verify(repository, never()).saveWide(any(WideOperation.class));
+    }
+
+    private CalculateUseCase useCaseWithCache(OperationResultCache cache) {
+        return new CalculateUseCase(operationService, repository, writeBehindQueue, cache, statistics);
+    }
 }
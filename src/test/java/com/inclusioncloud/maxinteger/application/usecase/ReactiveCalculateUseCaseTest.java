@@ -0,0 +1,85 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.ReactiveOperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.OperationService;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReactiveCalculateUseCase} class.
+ * These tests ensure the reactive calculate use case emits the result or the mapped error.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveCalculateUseCaseTest {
+
+    @Mock
+    private OperationService operationService;
+
+    @Mock
+    private ReactiveOperationStorageRepository repository;
+
+    @Mock
+    private OperationStatistics statistics;
+
+    @InjectMocks
+    private ReactiveCalculateUseCase calculateUseCase;
+
+    /**
+     * Test to ensure the calculated operation is persisted and only its result is emitted.
+     */
+    @Test
+    void calculate_Success() {
+        when(operationService.calculateMaxK(10L, 5L, 15L)).thenReturn(123L);
+        when(repository.save(any(Operation.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(calculateUseCase.calculate(MockFactory.getOperationDomainFactory()))
+                .assertNext(result -> assertEquals(123L, result.getResult(), "The result should match the expected value"))
+                .verifyComplete();
+
+        verify(repository, times(1)).save(argThat(saved -> saved.getResult() == 123L && saved.getN() == 15L));
+        verify(statistics, times(1)).record(argThat((Operation saved) -> saved.getResult() == 123L));
+    }
+
+    /**
+     * Test to verify a calculation error is emitted as a use case error without persisting.
+     */
+    @Test
+    void calculate_CalculationError() {
+        when(operationService.calculateMaxK(anyLong(), anyLong(), anyLong())).thenThrow(MockFactory.getCustomExceptionUseCaseFactory());
+
+        StepVerifier.create(calculateUseCase.calculate(MockFactory.getOperationDomainFactory()))
+                .expectErrorSatisfies(error -> assertEquals(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorCode(), ((CustomException) error).getErrorCode(),
+                        "The error code should match the expected value"))
+                .verify();
+
+        verify(repository, never()).save(any());
+    }
+
+    /**
+     * Test to verify a persistence error is emitted as a use case error.
+     */
+    @Test
+    void calculate_PersistenceError() {
+        when(operationService.calculateMaxK(10L, 5L, 15L)).thenReturn(123L);
+        when(repository.save(any(Operation.class))).thenReturn(Mono.error(MockFactory.getDataBaseExceptionFactory()));
+
+        StepVerifier.create(calculateUseCase.calculate(MockFactory.getOperationDomainFactory()))
+                .expectErrorSatisfies(error -> assertEquals(SPError.OPERATION_USE_CASE_ERROR_CALCULATE.getErrorCode(), ((CustomException) error).getErrorCode(),
+                        "The error code should match the expected value"))
+                .verify();
+    }
+}
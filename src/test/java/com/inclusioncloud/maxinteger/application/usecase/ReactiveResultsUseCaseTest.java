@@ -0,0 +1,58 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.port.out.ReactiveOperationStorageRepository;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ReactiveResultsUseCase}.
+ * These tests validate the streaming of stored results and the mapping of storage errors.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveResultsUseCaseTest {
+
+    @Mock
+    private ReactiveOperationStorageRepository repository;
+
+    @InjectMocks
+    private ReactiveResultsUseCase resultsUseCase;
+
+    /**
+     * Test to ensure the stored operations are emitted in the order provided by the repository.
+     */
+    @Test
+    void getResults_Success() {
+        when(repository.findAfter(0L)).thenReturn(Flux.just(
+                MockFactory.getStoredOperationDomainFactory(1L), MockFactory.getStoredOperationDomainFactory(2L)));
+
+        StepVerifier.create(resultsUseCase.getResults(0L))
+                .assertNext(operation -> assertEquals(1L, operation.getId(), "The first operation should be emitted first"))
+                .assertNext(operation -> assertEquals(2L, operation.getId(), "The second operation should be emitted second"))
+                .verifyComplete();
+    }
+
+    /**
+     * Test to verify a storage error is emitted as a use case error.
+     */
+    @Test
+    void getResults_Error() {
+        when(repository.findAfter(0L)).thenReturn(Flux.error(MockFactory.getDataBaseExceptionFactory()));
+
+        StepVerifier.create(resultsUseCase.getResults(0L))
+                .expectErrorSatisfies(error -> assertEquals(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), ((CustomException) error).getErrorCode(),
+                        "The error code should match the expected value"))
+                .verify();
+    }
+}
@@ -5,6 +5,8 @@ import com.inclusioncloud.maxinteger.application.port.out.OperationStorageReposi
 import com.inclusioncloud.maxinteger.config.exception.CustomException;
 import com.inclusioncloud.maxinteger.config.exception.SPError;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
 import com.inclusioncloud.maxinteger.mocks.MockFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,8 +17,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 
 /**
@@ -78,4 +84,91 @@ class ResultsUseCaseTest {
         assertEquals(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
         assertEquals(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorMessage(), thrown.getMessage(), "The error message should match the expected value");
     }
+
+    /**
+     * Test to ensure successful retrieval of a page of operation results.
+     */
+    @Test
+    void getResultsPage_Success() {
+        OperationPage expectedPage = MockFactory.getOperationPageFactory();
+        when(repository.getPage(0L, 1)).thenReturn(expectedPage);
+
+        OperationPage actualPage = resultsUseCase.getResults(0L, 1);
+
+        assertSame(expectedPage, actualPage, "The page should be returned as provided by the repository");
+    }
+
+    /**
+     * Test to verify behavior when an error occurs during page retrieval.
+     */
+    @Test
+    void getResultsPage_Error() {
+        when(repository.getPage(anyLong(), anyInt())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+
+        CustomException thrown = assertThrows(CustomException.class, () -> resultsUseCase.getResults(10L, 100));
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+    }
+
+    /**
+     * Test to ensure the query is handed to the repository and its page returned.
+     */
+    @Test
+    void findResults_Success() {
+        OperationQuery query = OperationQuery.builder().x(10L).build();
+        OperationPage expectedPage = MockFactory.getOperationPageFactory();
+        when(repository.find(query, 0L, 1)).thenReturn(expectedPage);
+
+        OperationPage actualPage = resultsUseCase.findResults(query, 0L, 1);
+
+        assertSame(expectedPage, actualPage, "The page should be returned as provided by the repository");
+    }
+
+    /**
+     * Test to verify behavior when an error occurs during a query.
+     */
+    @Test
+    void findResults_Error() {
+        when(repository.find(any(OperationQuery.class), anyLong(), anyInt())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+
+        CustomException thrown = assertThrows(CustomException.class,
+                () -> resultsUseCase.findResults(OperationQuery.builder().n(15L).build(), 0L, 100));
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+    }
+
+    /**
+     * Test to ensure the export hands the consumer to the repository and returns the exported count.
+     */
+    @Test
+    void exportResults_Success() {
+        Consumer<Operation> consumer = operation -> { };
+        when(repository.forEach(consumer)).thenReturn(3L);
+
+        long exported = resultsUseCase.exportResults(consumer);
+
+        assertEquals(3L, exported, "The exported count should be returned as provided by the repository");
+    }
+
+    /**
+     * Test to verify behavior when an error occurs during the export.
+     */
+    @Test
+    void exportResults_Error() {
+        when(repository.forEach(any())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+
+        CustomException thrown = assertThrows(CustomException.class, () -> resultsUseCase.exportResults(operation -> { }));
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_EXPORT.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+    }
+
+    /**
+     * Test to ensure the results version is read from the repository.
+     */
+    @Test
+    void getResultsVersion_Success() {
+        when(repository.version()).thenReturn(7L);
+
+        assertEquals(7L, resultsUseCase.getResultsVersion(), "The version should be the repository one");
+    }
 }
@@ -0,0 +1,51 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Congruence;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.CongruenceSolverService;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SolveConstraintsUseCase} class.
+ * These tests ensure the constraints are solved together and the errors are wrapped in the use case error.
+ */
+class SolveConstraintsUseCaseTest {
+
+    private final SolveConstraintsUseCase solveConstraintsUseCase = new SolveConstraintsUseCase(new CongruenceSolverService());
+
+    /**
+     * Test to ensure every constraint is satisfied by the returned result.
+     */
+    @Test
+    void solve_Success() {
+        List<Congruence> constraints = MockFactory.getCongruenceDomainFactory();
+
+        Operation result = solveConstraintsUseCase.solve(constraints, 1_000L);
+
+        assertEquals(968L, result.getResult(), "The result should be the largest k ≤ n satisfying every constraint");
+        constraints.forEach(constraint -> assertEquals(constraint.getY(), result.getResult() % constraint.getX(),
+                "The result should satisfy the constraint " + constraint));
+    }
+
+    /**
+     * Test to verify incompatible constraints are reported with the use case error and the service error as cause.
+     */
+    @Test
+    void solve_NoSolution() {
+        List<Congruence> constraints = List.of(new Congruence(4L, 1L), new Congruence(6L, 2L));
+
+        CustomException thrown = assertThrows(CustomException.class, () -> solveConstraintsUseCase.solve(constraints, 1_000L));
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_CONSTRAINTS.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+        assertEquals(SPError.OPERATION_SERVICE_ERROR_NO_SOLUTION.getErrorCode(), ((CustomException) thrown.getCause()).getErrorCode(),
+                "The cause should report that there is no solution");
+    }
+}
@@ -0,0 +1,53 @@
+package com.inclusioncloud.maxinteger.application.usecase;
+
+
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.OperationStats;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link StatsUseCase} class.
+ * These tests ensure the statistics are returned from the incremental statistics and errors are wrapped.
+ */
+@ExtendWith(MockitoExtension.class)
+class StatsUseCaseTest {
+
+    @Mock
+    private OperationStatistics statistics;
+
+    @InjectMocks
+    private StatsUseCase statsUseCase;
+
+    /**
+     * Test to ensure the snapshot of the statistics is returned.
+     */
+    @Test
+    void getStats_Success() {
+        OperationStats expected = MockFactory.getOperationStatsFactory();
+        when(statistics.snapshot()).thenReturn(expected);
+
+        assertSame(expected, statsUseCase.getStats(), "The snapshot should be returned");
+    }
+
+    /**
+     * Test to ensure a failure summarizing the statistics is reported as a use case error.
+     */
+    @Test
+    void getStats_Error() {
+        when(statistics.snapshot()).thenThrow(new IllegalStateException("Broken sketch"));
+
+        CustomException thrown = assertThrows(CustomException.class, () -> statsUseCase.getStats());
+
+        assertEquals(SPError.OPERATION_USE_CASE_ERROR_STATS.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+    }
+}
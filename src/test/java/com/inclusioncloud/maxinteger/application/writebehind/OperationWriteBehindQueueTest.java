@@ -0,0 +1,171 @@
+package com.inclusioncloud.maxinteger.application.writebehind;
+
+
+import com.inclusioncloud.maxinteger.application.cache.OperationResultCache;
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link OperationWriteBehindQueue}.
+ * These tests validate batching, backpressure and the flush on shutdown.
+ */
+@ExtendWith(MockitoExtension.class)
+class OperationWriteBehindQueueTest {
+
+    @Mock
+    private OperationStorageRepository repository;
+
+    private final OperationStatistics statistics = new OperationStatistics(1, 16);
+
+    private final OperationResultCache cache = new OperationResultCache(true, 16, 4, OperationResultCache.EvictionPolicy.LRU, Duration.ofHours(1));
+
+    /**
+     * Test to ensure queued operations are persisted in batches and flushed on close.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void close_FlushesPendingOperations() {
+        OperationWriteBehindQueue queue = new OperationWriteBehindQueue(repository, statistics, cache, true, 100, 10,
+                Duration.ofSeconds(5), Duration.ofMillis(10), Duration.ofSeconds(5));
+        queue.start();
+        for (int i = 0; i < 25; i++) {
+            queue.submit(MockFactory.getOperationDomainFactory());
+        }
+
+        queue.close();
+
+        ArgumentCaptor<List<Operation>> batches = ArgumentCaptor.forClass(List.class);
+        verify(repository, atLeast(3)).saveAll(batches.capture());
+        assertTrue(batches.getAllValues().stream().allMatch(batch -> batch.size() <= 10), "No batch should exceed the batch size");
+        assertEquals(25L, queue.flushedCount(), "Every queued operation should be persisted");
+        assertEquals(25L, statistics.snapshot().getOverall().getCount(), "Every persisted operation should be recorded in the statistics");
+        assertEquals(0, queue.depth(), "The queue should be empty after close");
+    }
+
+    /**
+     * Test to ensure a cached triple is marked as persisted once its batch has been written.
+     */
+    @Test
+    void write_MarksPersisted() {
+        Operation operation = MockFactory.getOperationDomainFactory();
+        cache.put(operation.getX(), operation.getY(), operation.getN(), operation.getResult());
+        OperationWriteBehindQueue queue = new OperationWriteBehindQueue(repository, statistics, cache, true, 10, 10,
+                Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofSeconds(5));
+        queue.start();
+        queue.submit(operation);
+
+        queue.close();
+
+        assertTrue(cache.persistedRecently(operation.getX(), operation.getY(), operation.getN()), "The written triple should be marked as persisted");
+    }
+
+    /**
+     * Test to ensure a full queue rejects operations once the offer timeout expires.
+     */
+    @Test
+    void submit_QueueFull() {
+        OperationWriteBehindQueue queue = new OperationWriteBehindQueue(repository, statistics, cache, true, 1, 10,
+                Duration.ofMillis(100), Duration.ofMillis(10), Duration.ofSeconds(1));
+        queue.submit(MockFactory.getOperationDomainFactory());
+
+        CustomException thrown = assertThrows(CustomException.class, () -> queue.submit(MockFactory.getOperationDomainFactory()));
+
+        assertEquals(SPError.WRITE_BEHIND_QUEUE_FULL.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+        assertEquals(1L, queue.rejectedCount(), "The rejected operation should be counted");
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    /**
+     * Test to ensure a closed queue rejects new operations instead of queueing them.
+     */
+    @Test
+    void submit_AfterClose() {
+        OperationWriteBehindQueue queue = new OperationWriteBehindQueue(repository, statistics, cache, true, 10, 10,
+                Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofSeconds(1));
+        queue.start();
+        queue.close();
+
+        CustomException thrown = assertThrows(CustomException.class, () -> queue.submit(MockFactory.getOperationDomainFactory()));
+
+        assertEquals(SPError.WRITE_BEHIND_QUEUE_CLOSED.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+        assertEquals(0, queue.depth(), "The rejected operation should not be queued");
+        assertEquals(0L, queue.rejectedCount(), "A closed queue should not be reported as full");
+    }
+
+    /**
+     * Test to ensure every operation accepted while the queue is being closed is persisted.
+     */
+    @Test
+    void submit_ConcurrentWithClose() throws InterruptedException {
+        OperationWriteBehindQueue queue = new OperationWriteBehindQueue(repository, statistics, cache, true, 100_000, 100,
+                Duration.ofMillis(5), Duration.ofMillis(1), Duration.ofSeconds(10));
+        queue.start();
+        AtomicLong accepted = new AtomicLong();
+        List<Thread> submitters = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread submitter = new Thread(() -> {
+                while (true) {
+                    try {
+                        queue.submit(MockFactory.getOperationDomainFactory());
+                        accepted.incrementAndGet();
+                    } catch (CustomException e) {
+                        if (e.getErrorCode() == SPError.WRITE_BEHIND_QUEUE_CLOSED.getErrorCode()) {
+                            return;
+                        }
+                    }
+                }
+            });
+            submitters.add(submitter);
+            submitter.start();
+        }
+
+        Thread.sleep(20);
+        queue.close();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertTrue(accepted.get() > 0, "Some operations should be accepted before the close");
+        assertEquals(accepted.get(), queue.flushedCount(), "Every accepted operation should be persisted");
+        assertEquals(0, queue.depth(), "No operation should be left in the queue");
+    }
+
+    /**
+     * Test to ensure a failed batch is counted without stopping the writer.
+     */
+    @Test
+    void write_PersistenceError() {
+        when(repository.saveAll(anyList())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+        OperationWriteBehindQueue queue = new OperationWriteBehindQueue(repository, statistics, cache, true, 10, 10,
+                Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofSeconds(5));
+        Operation operation = MockFactory.getOperationDomainFactory();
+        cache.put(operation.getX(), operation.getY(), operation.getN(), operation.getResult());
+        queue.start();
+        queue.submit(operation);
+
+        queue.close();
+
+        assertEquals(1L, queue.failedCount(), "The operation of the failed batch should be counted");
+        assertEquals(0L, queue.flushedCount(), "No operation should be reported as persisted");
+        assertEquals(0L, statistics.snapshot().getOverall().getCount(), "A lost operation should not be recorded in the statistics");
+        assertFalse(cache.persistedRecently(operation.getX(), operation.getY(), operation.getN()), "A lost triple should not be marked as persisted");
+    }
+}
@@ -0,0 +1,91 @@
+package com.inclusioncloud.maxinteger.config;
+
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link H2Config}.
+ * These tests validate that the H2 data source is a bounded pool reusing its connections and applying the
+ * configured statement cache.
+ */
+class H2ConfigTest {
+
+    /**
+     * Test to ensure the pool is built from the configured properties.
+     */
+    @Test
+    void dataSource_ConfiguredPool() {
+        try (HikariDataSource dataSource = new H2Config(config("h2config_properties", 3)).dataSource()) {
+            assertEquals("operations-h2", dataSource.getPoolName(), "The pool name should match the expected value");
+            assertEquals(3, dataSource.getMaximumPoolSize(), "The maximum pool size should match the configured value");
+            assertEquals(1, dataSource.getMinimumIdle(), "The minimum idle connections should match the configured value");
+            assertEquals(250L, dataSource.getConnectionTimeout(), "The connection timeout should match the configured value");
+        }
+    }
+
+    /**
+     * Test to ensure a returned connection is handed out again instead of opening a new one.
+     */
+    @Test
+    void dataSource_ReusesConnections() throws SQLException {
+        try (HikariDataSource dataSource = new H2Config(config("h2config_reuse", 1)).dataSource()) {
+            Connection first;
+            try (Connection connection = dataSource.getConnection()) {
+                first = connection.unwrap(Connection.class);
+            }
+            try (Connection connection = dataSource.getConnection()) {
+                assertSame(first, connection.unwrap(Connection.class), "The pooled connection should be reused");
+            }
+            assertEquals(1, dataSource.getHikariPoolMXBean().getTotalConnections(), "The pool should hold a single connection");
+        }
+    }
+
+    /**
+     * Test to verify a caller waits at most the connection timeout when every connection is in use.
+     */
+    @Test
+    void dataSource_PoolExhausted() throws SQLException {
+        try (HikariDataSource dataSource = new H2Config(config("h2config_exhausted", 1)).dataSource();
+             Connection ignored = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection, "A second connection should not be opened over the maximum pool size");
+        }
+    }
+
+    /**
+     * Test to ensure every connection uses the configured statement cache size.
+     */
+    @Test
+    void dataSource_QueryCacheSize() throws SQLException {
+        try (HikariDataSource dataSource = new H2Config(config("h2config_cache", 1)).dataSource();
+             Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet setting = statement.executeQuery(
+                     "SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = 'QUERY_CACHE_SIZE'")) {
+            assertTrue(setting.next(), "The statement cache setting should be reported");
+            assertEquals("32", setting.getString(1), "The statement cache size should match the configured value");
+        }
+    }
+
+    private static DataSourceH2Config config(String database, int maximumPoolSize) {
+        DataSourceH2Config config = new DataSourceH2Config();
+        config.setUrl("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        config.setDriverClassName("org.h2.Driver");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(Duration.ofMillis(250));
+        config.setQueryCacheSize(32);
+        return config;
+    }
+}
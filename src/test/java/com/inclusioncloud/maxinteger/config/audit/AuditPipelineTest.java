@@ -0,0 +1,96 @@
+package com.inclusioncloud.maxinteger.config.audit;
+
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link AuditPipeline}.
+ * These tests validate the per-layer levels, sampling and the format of the written lines.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditPipelineTest {
+
+    @Mock
+    private Logger auditLogger;
+
+    @Mock
+    private LoggingEventBuilder eventBuilder;
+
+    /**
+     * Test to ensure an event is written as a key=value line at its level.
+     */
+    @Test
+    void drain_WritesLine() {
+        when(auditLogger.atLevel(any())).thenReturn(eventBuilder);
+        AuditPipeline pipeline = new AuditPipeline(16, Map.of(), Map.of(), 100L, auditLogger);
+
+        pipeline.record(AuditLayer.USE_CASE, Level.INFO, AuditAction.CALCULATE, 10L, 5L, 15L, 15L, 0L);
+
+        assertEquals(1, pipeline.drain(), "The recorded event should be written");
+        verify(auditLogger).atLevel(Level.INFO);
+        verify(eventBuilder).log(endsWith("layer=usecase action=calculate x=10 y=5 n=15 result=15"));
+    }
+
+    /**
+     * Test to ensure events below the level of their layer are not recorded.
+     */
+    @Test
+    void record_BelowLayerLevel() {
+        AuditPipeline pipeline = new AuditPipeline(16, Map.of(AuditLayer.ADAPTER, Level.WARN), Map.of(), 100L, auditLogger);
+
+        pipeline.record(AuditLayer.ADAPTER, Level.INFO, AuditAction.SAVE_BATCH, 1L, 0L, 0L, 0L, 0L);
+        pipeline.record(AuditLayer.SERVICE, Level.DEBUG, AuditAction.CALCULATE_BATCH, 1L, 0L, 0L, 0L, 0L);
+
+        assertEquals(0L, pipeline.pending(), "Events below the layer level should not be recorded");
+        assertTrue(pipeline.isEnabled(AuditLayer.CONTROLLER, Level.INFO), "Layers not configured should record INFO");
+    }
+
+    /**
+     * Test to ensure sampling keeps a fraction of the events but never drops WARN events.
+     */
+    @Test
+    void record_Sampling() {
+        AuditPipeline pipeline = new AuditPipeline(4_096, Map.of(), Map.of(AuditLayer.CONTROLLER, 10), 100L, auditLogger);
+
+        for (int i = 0; i < 1_000; i++) {
+            pipeline.record(AuditLayer.CONTROLLER, Level.INFO, AuditAction.RESULTS_ALL, i, 0L, 0L, 0L, 0L);
+        }
+        long sampled = pipeline.pending();
+        for (int i = 0; i < 100; i++) {
+            pipeline.record(AuditLayer.CONTROLLER, Level.WARN, AuditAction.RESULTS_ALL, i, 0L, 0L, 0L, 0L);
+        }
+
+        assertTrue(sampled > 0 && sampled < 1_000, "Sampling should keep only part of the INFO events");
+        assertEquals(sampled + 100L, pipeline.pending(), "WARN events should never be sampled out");
+    }
+
+    /**
+     * Test to ensure close writes the pending events through the background writer.
+     */
+    @Test
+    void close_WritesPendingEvents() {
+        when(auditLogger.atLevel(any())).thenReturn(eventBuilder);
+        AuditPipeline pipeline = new AuditPipeline(16, Map.of(), Map.of(), 5_000L, auditLogger);
+        pipeline.start();
+        pipeline.record(AuditLayer.CONTROLLER, Level.INFO, AuditAction.RESULTS_REQUEST, 0L, 100L, 0L, 0L, 0L);
+
+        pipeline.close();
+
+        assertEquals(0L, pipeline.pending(), "No event should be pending after close");
+        verify(eventBuilder).log(contains("action=results_request after=0 limit=100"));
+    }
+}
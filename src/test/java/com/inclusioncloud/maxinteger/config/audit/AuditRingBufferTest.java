@@ -0,0 +1,51 @@
+package com.inclusioncloud.maxinteger.config.audit;
+
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AuditRingBuffer}.
+ * These tests validate the publishing order and that a full buffer drops events instead of blocking.
+ */
+class AuditRingBufferTest {
+
+    /**
+     * Test to ensure events are drained in the order they were published.
+     */
+    @Test
+    void drain_PublishingOrder() {
+        AuditRingBuffer buffer = new AuditRingBuffer(8);
+        for (long i = 1; i <= 3; i++) {
+            buffer.publish(i, AuditLayer.CONTROLLER, Level.INFO, AuditAction.RESULTS_ALL, i, 0L, 0L, 0L, 0L);
+        }
+
+        List<Long> drained = new ArrayList<>();
+        int count = buffer.drain(event -> drained.add(event.values[0]), 10);
+
+        assertEquals(3, count, "Every published event should be drained");
+        assertEquals(List.of(1L, 2L, 3L), drained, "Events should be drained in publishing order");
+        assertEquals(0L, buffer.size(), "The buffer should be empty after draining");
+    }
+
+    /**
+     * Test to ensure a full buffer drops new events and counts them.
+     */
+    @Test
+    void publish_BufferFull() {
+        AuditRingBuffer buffer = new AuditRingBuffer(2);
+        assertTrue(buffer.publish(1L, AuditLayer.ADAPTER, Level.INFO, AuditAction.SAVE_BATCH, 1L, 0L, 0L, 0L, 0L), "The first event should fit");
+        assertTrue(buffer.publish(2L, AuditLayer.ADAPTER, Level.INFO, AuditAction.SAVE_BATCH, 2L, 0L, 0L, 0L, 0L), "The second event should fit");
+
+        assertFalse(buffer.publish(3L, AuditLayer.ADAPTER, Level.INFO, AuditAction.SAVE_BATCH, 3L, 0L, 0L, 0L, 0L), "An event over capacity should be dropped");
+        assertEquals(1L, buffer.droppedCount(), "The dropped event should be counted");
+
+        buffer.drain(event -> { }, 1);
+        assertTrue(buffer.publish(4L, AuditLayer.ADAPTER, Level.INFO, AuditAction.SAVE_BATCH, 4L, 0L, 0L, 0L, 0L), "A drained slot should be reused");
+    }
+}
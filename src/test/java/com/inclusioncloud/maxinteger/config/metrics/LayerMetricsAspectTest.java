@@ -0,0 +1,101 @@
+package com.inclusioncloud.maxinteger.config.metrics;
+
+
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.CongruenceSolverService;
+import com.inclusioncloud.maxinteger.domain.service.OperationService;
+import com.inclusioncloud.maxinteger.infrastructure.adapter.offheap.OperationOffHeapAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LayerMetricsAspect}, applied to real services and adapters through AspectJ proxies.
+ * These tests validate the layer timers, the error counters by {@link SPError} code and which methods are instrumented.
+ */
+class LayerMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Test a successful calculation is recorded in the service layer timer.
+     */
+    @Test
+    void time_Success() {
+        CongruenceSolverService solver = proxy(new CongruenceSolverService());
+
+        assertEquals(968L, solver.solveMaxK(new long[]{3L, 5L, 7L}, new long[]{2L, 3L, 2L}, 1_000L), "The proxied service should return the result");
+
+        Timer timer = meterRegistry.find(LayerMetricsAspect.LATENCY_METRIC)
+                .tags("layer", "service", "method", "solveMaxK", "outcome", "success").timer();
+        assertNotNull(timer, "The service timer should be registered");
+        assertEquals(1L, timer.count(), "The calculation should be recorded once");
+    }
+
+    /**
+     * Test a failed calculation is recorded as an error and counted by its code.
+     */
+    @Test
+    void time_Error() {
+        CongruenceSolverService solver = proxy(new CongruenceSolverService());
+
+        assertThrows(CustomException.class, () -> solver.solveMaxK(new long[]{0L}, new long[]{5L}, 15L));
+
+        Timer timer = meterRegistry.find(LayerMetricsAspect.LATENCY_METRIC)
+                .tags("layer", "service", "outcome", "error").timer();
+        Counter counter = meterRegistry.find(LayerMetricsAspect.ERROR_METRIC)
+                .tags("layer", "service", "code", String.valueOf(SPError.OPERATION_SERVICE_ERROR_CALCULATE.getErrorCode())).counter();
+        assertNotNull(timer, "The error timer should be registered");
+        assertEquals(1L, timer.count(), "The failed calculation should be recorded once");
+        assertNotNull(counter, "The error counter should be registered");
+        assertEquals(1.0, counter.count(), "The error should be counted by its code");
+    }
+
+    /**
+     * Test any adapter is timed through the methods of the storage port.
+     */
+    @Test
+    void time_StoragePort() {
+        OperationStorageRepository repository = proxy(new OperationOffHeapAdapter(16));
+
+        repository.save(new Operation(7L, 5L, 12345L, 12339L));
+
+        Timer timer = meterRegistry.find(LayerMetricsAspect.LATENCY_METRIC)
+                .tags("layer", "adapter", "class", "OperationOffHeapAdapter", "method", "save", "outcome", "success").timer();
+        assertNotNull(timer, "The adapter timer should be registered");
+        assertEquals(1L, timer.count(), "The save should be recorded once");
+    }
+
+    /**
+     * Test the single-operation kernel is not instrumented.
+     */
+    @Test
+    void time_KernelNotProxied() {
+        OperationService service = proxy(new OperationService());
+
+        assertEquals(15L, service.calculateMaxK(10L, 5L, 15L), "The proxied service should return the result");
+
+        assertNull(meterRegistry.find(LayerMetricsAspect.LATENCY_METRIC).tags("method", "calculateMaxK").timer(),
+                "The kernel should not be timed by the aspect");
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LayerMetricsAspect(meterRegistry));
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,143 @@
+package com.inclusioncloud.maxinteger.domain.service;
+
+import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CongruenceSolverService}.
+ * These tests validate the solution of coprime and non-coprime systems, the systems whose combined modulus
+ * does not fit in a long and the reuse of cached plans.
+ */
+class CongruenceSolverServiceTest {
+
+    private final CongruenceSolverService solver = new CongruenceSolverService();
+
+    /**
+     * Test to ensure a system with coprime divisors is solved like the Chinese remainder theorem states.
+     */
+    @Test
+    void solveMaxK_Coprime() {
+        assertEquals(968L, solver.solveMaxK(new long[]{3L, 5L, 7L}, new long[]{2L, 3L, 2L}, 1_000L),
+                "The result should be the largest k ≤ n congruent to 23 modulo 105");
+        assertEquals(23L, solver.solveMaxK(new long[]{3L, 5L, 7L}, new long[]{2L, 3L, 2L}, 23L),
+                "The lowest solution should be returned when it is n");
+    }
+
+    /**
+     * Test to ensure a system with a single constraint matches the kernel of {@link OperationService}.
+     */
+    @Test
+    void solveMaxK_SingleConstraint() {
+        assertEquals(new OperationService().calculateMaxK(7L, 5L, 12345L), solver.solveMaxK(new long[]{7L}, new long[]{5L}, 12345L),
+                "A single constraint should match the kernel");
+    }
+
+    /**
+     * Test to ensure systems with divisors that are not coprime match an exhaustive search.
+     */
+    @Test
+    void solveMaxK_MatchesExhaustiveSearch() {
+        Random random = new Random(42);
+        for (int iteration = 0; iteration < 2_000; iteration++) {
+            int size = 1 + random.nextInt(4);
+            long[] x = new long[size];
+            long[] y = new long[size];
+            for (int i = 0; i < size; i++) {
+                x[i] = 1 + random.nextInt(12);
+                y[i] = random.nextInt((int) x[i]);
+            }
+            long n = random.nextInt(3_000);
+
+            long expected = exhaustiveSearch(x, y, n);
+
+            if (expected < 0) {
+                assertThrows(CustomException.class, () -> solver.solveMaxK(x, y, n), "A system without solution should be rejected");
+            } else {
+                assertEquals(expected, solver.solveMaxK(x, y, n), "The result should match the exhaustive search");
+            }
+        }
+    }
+
+    /**
+     * Test to ensure incompatible constraints and a lowest solution greater than n are reported as no solution.
+     */
+    @Test
+    void solveMaxK_NoSolution() {
+        CustomException incompatible = assertThrows(CustomException.class, () -> solver.solveMaxK(new long[]{4L, 6L}, new long[]{1L, 2L}, 1_000L),
+                "Constraints with different parity should be incompatible");
+        CustomException tooLow = assertThrows(CustomException.class, () -> solver.solveMaxK(new long[]{3L, 5L, 7L}, new long[]{2L, 3L, 2L}, 22L),
+                "A lowest solution greater than n should be rejected");
+
+        assertEquals(SPError.OPERATION_SERVICE_ERROR_NO_SOLUTION.getErrorCode(), incompatible.getErrorCode(), "The error code should report no solution");
+        assertEquals(SPError.OPERATION_SERVICE_ERROR_NO_SOLUTION.getErrorCode(), tooLow.getErrorCode(), "The error code should report no solution");
+    }
+
+    /**
+     * Test to ensure a system whose combined modulus does not fit in a long is solved without overflowing.
+     */
+    @Test
+    void solveMaxK_CombinedModulusBeyondLong() {
+        long[] x = {1_000_000_007L, 998_244_353L, 1_000_000_009L, 999_999_937L};
+        long k = Long.MAX_VALUE - 12_345L;
+        long[] y = new long[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = k % x[i];
+        }
+
+        assertEquals(k, solver.solveMaxK(x, y, Long.MAX_VALUE), "The only solution below the largest long should be found");
+        assertThrows(CustomException.class, () -> solver.solveMaxK(x, y, k - 1), "The solution should not be returned above n");
+
+        long[] coprime = {1_000_000_007L, 998_244_353L};
+        long modulus = coprime[0] * coprime[1];
+        long expected = BigInteger.valueOf(Long.MAX_VALUE).subtract(BigInteger.valueOf(Long.MAX_VALUE - k).mod(BigInteger.valueOf(modulus))).longValueExact();
+        assertEquals(expected, solver.solveMaxK(coprime, new long[]{k % coprime[0], k % coprime[1]}, Long.MAX_VALUE),
+                "A combined modulus that fits in a long should give the largest solution");
+    }
+
+    /**
+     * Test to ensure the plan of a list of divisors is built once and reused for other remainders and n.
+     */
+    @Test
+    void solveMaxK_ReusesPlan() {
+        CongruenceSolverService cachingSolver = new CongruenceSolverService(1);
+
+        cachingSolver.solveMaxK(new long[]{3L, 5L, 7L}, new long[]{2L, 3L, 2L}, 1_000L);
+        cachingSolver.solveMaxK(new long[]{3L, 5L, 7L}, new long[]{1L, 1L, 1L}, 500L);
+        long uncached = cachingSolver.solveMaxK(new long[]{4L, 9L}, new long[]{1L, 1L}, 100L);
+
+        assertEquals(1L, cachingSolver.planHitCount(), "The second system should reuse the plan of the first one");
+        assertEquals(2L, cachingSolver.planMissCount(), "The first system and the uncached divisors should build a plan");
+        assertEquals(73L, uncached, "A system above the cache capacity should still be solved");
+    }
+
+    /**
+     * Test to ensure invalid parameters are rejected before solving anything.
+     */
+    @Test
+    void solveMaxK_InvalidInput() {
+        assertThrows(CustomException.class, () -> solver.solveMaxK(new long[0], new long[0], 10L), "An empty system should be rejected");
+        assertThrows(CustomException.class, () -> solver.solveMaxK(new long[]{3L}, new long[]{1L, 2L}, 10L), "Arrays of different sizes should be rejected");
+        assertThrows(CustomException.class, () -> solver.solveMaxK(new long[]{0L}, new long[]{0L}, 10L), "A zero divisor should be rejected");
+        assertThrows(CustomException.class, () -> solver.solveMaxK(new long[]{3L}, new long[]{3L}, 10L), "A remainder not lower than its divisor should be rejected");
+        assertThrows(CustomException.class, () -> solver.solveMaxK(new long[]{3L}, new long[]{1L}, -1L), "A negative n should be rejected");
+    }
+
+    private static long exhaustiveSearch(long[] x, long[] y, long n) {
+        for (long k = n; k >= 0; k--) {
+            boolean satisfied = true;
+            for (int i = 0; i < x.length && satisfied; i++) {
+                satisfied = k % x[i] == y[i];
+            }
+            if (satisfied) {
+                return k;
+            }
+        }
+        return -1L;
+    }
+}
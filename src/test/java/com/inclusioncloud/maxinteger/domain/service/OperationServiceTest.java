@@ -1,11 +1,16 @@
 package com.inclusioncloud.maxinteger.domain.service;
 
 import com.inclusioncloud.maxinteger.config.exception.CustomException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
 import com.inclusioncloud.maxinteger.mocks.MockFactory;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class OperationServiceTest {
     private final OperationService operationService = new OperationService();
@@ -42,4 +47,184 @@ class OperationServiceTest {
         assertThrows(CustomException.class, () -> operationService.calculateMaxK(domain),
                 "A CustomException should be thrown for invalid input");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test the primitive calculateMaxK kernel for successful calculation.
+     */
+    @Test
+    void calculateMaxKPrimitive_Success() {
+        assertEquals(12339L, operationService.calculateMaxK(7L, 5L, 12345L), "The calculated maxK should be correct for the given input");
+        assertEquals(0L, operationService.calculateMaxK(5L, 0L, 4L), "The calculated maxK should be correct for the given input");
+        assertEquals(20L, operationService.calculateMaxK(10L, 0L, 20L), "The calculated maxK should handle border cases correctly");
+    }
+
+    /**
+     * Test the primitive calculateMaxK kernel rejects a zero divisor.
+     */
+    @Test
+    void calculateMaxKPrimitive_ZeroDivisor() {
+        assertThrows(CustomException.class, () -> operationService.calculateMaxK(0L, 0L, 10L),
+                "A CustomException should be thrown for a zero divisor");
+    }
+
+    /**
+     * Test the primitive calculateMaxK kernel does not allocate on the calling thread.
+     */
+    @Test
+    void calculateMaxKPrimitive_ZeroAllocation() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "Thread allocation accounting is not available in this JVM");
+        int iterations = 1_000_000;
+        long threadId = Thread.currentThread().getId();
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += operationService.calculateMaxK(7L, 5L, i);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            sink += operationService.calculateMaxK(7L, 5L, i);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertNotEquals(0L, sink, "The results should be consumed");
+        assertEquals(0L, allocated / iterations, "The kernel should not allocate per call, allocated " + allocated + " bytes");
+    }
+
+    /**
+     * Test the primitive calculateMaxK kernel covers the whole long range when y + n does not fit in a long.
+     */
+    @Test
+    void calculateMaxKPrimitive_FullRange() {
+        long[][] triples = {{7L, 5L, Long.MAX_VALUE}, {7L, 6L, Long.MAX_VALUE - 1}, {Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MAX_VALUE},
+                {1_000_000_007L, 999_999_999L, Long.MAX_VALUE - 3}};
+        for (long[] triple : triples) {
+            BigInteger x = BigInteger.valueOf(triple[0]);
+            BigInteger n = BigInteger.valueOf(triple[2]);
+            BigInteger expected = n.subtract(n.mod(x)).add(BigInteger.valueOf(triple[1]));
+            expected = expected.compareTo(n) > 0 ? expected.subtract(x) : expected;
+
+            assertEquals(expected.longValueExact(), operationService.calculateMaxK(triple[0], triple[1], triple[2]),
+                    "The kernel should match the exact calculation for n=" + triple[2]);
+        }
+    }
+
+    /**
+     * Test the primitive calculateMaxK kernel reports a result larger than the largest long instead of overflowing.
+     */
+    @Test
+    void calculateMaxKPrimitive_Overflow() {
+        CustomException exception = assertThrows(CustomException.class, () -> operationService.calculateMaxK(5L, 8L, Long.MAX_VALUE),
+                "A CustomException should be thrown when the result does not fit in a long");
+
+        assertEquals(SPError.OPERATION_SERVICE_ERROR_OVERFLOW.getErrorCode(), exception.getErrorCode(), "The overflow should be reported with its own code");
+    }
+
+    /**
+     * Test the arbitrary-precision calculateMaxK for values beyond 64 bits, including a y larger than x.
+     */
+    @Test
+    void calculateMaxKBigInteger_Success() {
+        BigInteger n = new BigInteger("123456789012345678901234567890");
+
+        assertEquals(new BigInteger("123456789012345678901234567888"), operationService.calculateMaxK(BigInteger.valueOf(7L), BigInteger.valueOf(5L), n),
+                "The calculated maxK should be correct beyond 64 bits");
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), operationService.calculateMaxK(BigInteger.valueOf(5L), BigInteger.valueOf(8L), BigInteger.valueOf(Long.MAX_VALUE)),
+                "A result beyond the largest long should be calculated instead of overflowing");
+        assertEquals(BigInteger.valueOf(12339L), operationService.calculateMaxK(BigInteger.valueOf(7L), BigInteger.valueOf(5L), BigInteger.valueOf(12345L)),
+                "Small values should give the same result as the kernel");
+    }
+
+    /**
+     * Test the arbitrary-precision calculateMaxK rejects invalid parameters.
+     */
+    @Test
+    void calculateMaxKBigInteger_InvalidInput() {
+        assertThrows(CustomException.class, () -> operationService.calculateMaxK(BigInteger.ZERO, BigInteger.ZERO, BigInteger.TEN),
+                "A CustomException should be thrown for a zero divisor");
+        assertThrows(CustomException.class, () -> operationService.calculateMaxK(BigInteger.valueOf(7L), BigInteger.valueOf(5L), BigInteger.valueOf(-1L)),
+                "A CustomException should be thrown for a negative n");
+    }
+
+    /**
+     * Test the sweepMaxK method produces, for every n of the range, the same value as the kernel.
+     */
+    @Test
+    void sweepMaxK_MatchesKernel() {
+        long[][] sweeps = {{7L, 5L, 0L, 200L, 1L}, {7L, 5L, 3L, 500L, 10L}, {5L, 0L, 4L, 400L, 15L}, {1_000L, 999L, 0L, 5_000L, 1_999L}};
+        for (long[] params : sweeps) {
+            MaxKSweep sweep = operationService.sweepMaxK(params[0], params[1], params[2], params[3], params[4]);
+            long expectedN = params[2];
+            while (sweep.next()) {
+                assertEquals(expectedN, sweep.n(), "The sweep should advance by the step");
+                assertEquals(operationService.calculateMaxK(params[0], params[1], expectedN), sweep.maxK(),
+                        "The sweep should match the kernel for n=" + expectedN);
+                expectedN += params[4];
+            }
+            assertTrue(expectedN > params[3], "The sweep should cover the whole range");
+            assertFalse(sweep.next(), "An exhausted sweep should stay exhausted");
+        }
+    }
+
+    /**
+     * Test the sweepMaxK method stops at the end of the range without overflowing near the largest long.
+     */
+    @Test
+    void sweepMaxK_EndOfRange() {
+        long x = Long.MAX_VALUE - 1;
+        MaxKSweep sweep = operationService.sweepMaxK(x, 3L, Long.MAX_VALUE - 10, Long.MAX_VALUE, 4L);
+
+        int count = 0;
+        while (sweep.next()) {
+            assertEquals(operationService.calculateMaxK(x, 3L, sweep.n()), sweep.maxK(), "The sweep should match the kernel for n=" + sweep.n());
+            count++;
+        }
+
+        assertEquals(3, count, "Only the values of n inside the range should be produced");
+    }
+
+    /**
+     * Test the sweepMaxK method rejects invalid parameters before calculating anything.
+     */
+    @Test
+    void sweepMaxK_InvalidInput() {
+        assertThrows(CustomException.class, () -> operationService.sweepMaxK(0L, 0L, 0L, 10L, 1L),
+                "A CustomException should be thrown for a zero divisor");
+        assertThrows(CustomException.class, () -> operationService.sweepMaxK(7L, 5L, 10L, 9L, 1L),
+                "A CustomException should be thrown for an empty range");
+        assertThrows(CustomException.class, () -> operationService.sweepMaxK(7L, 5L, 0L, 10L, 0L),
+                "A CustomException should be thrown for a zero step");
+    }
+
+    /**
+     * Test the calculateMaxKBatch method for successful calculation, keeping the input order.
+     */
+    @Test
+    void calculateMaxKBatch_Success() {
+        long[] result = operationService.calculateMaxKBatch(
+                new long[]{7L, 5L, 10L},
+                new long[]{5L, 0L, 0L},
+                new long[]{12345L, 4L, 20L});
+
+        assertArrayEquals(new long[]{12339L, 0L, 20L}, result, "The calculated batch should be correct and ordered");
+    }
+
+    /**
+     * Test the calculateMaxKBatch method for handling arrays of different sizes.
+     */
+    @Test
+    void calculateMaxKBatch_SizeMismatch() {
+        assertThrows(CustomException.class, () -> operationService.calculateMaxKBatch(new long[]{7L}, new long[]{5L}, new long[0]),
+                "A CustomException should be thrown for arrays of different sizes");
+    }
+
+    /**
+     * Test the calculateMaxKBatch method for handling an invalid triple inside the batch.
+     */
+    @Test
+    void calculateMaxKBatch_InvalidInput() {
+        assertThrows(CustomException.class, () -> operationService.calculateMaxKBatch(new long[]{7L, 0L}, new long[]{5L, 0L}, new long[]{12345L, 4L}),
+                "A CustomException should be thrown for invalid input");
+    }
+}
@@ -2,19 +2,37 @@ package com.inclusioncloud.maxinteger.infrastructure.adapter.h2;
 
 import com.inclusioncloud.maxinteger.config.exception.DataBaseException;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
 import com.inclusioncloud.maxinteger.infrastructure.adapter.h2.models.OperationEntity;
 import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +40,12 @@ class OperationH2AdapterTest {
     @Mock
     private OperationH2Repository repository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private OperationTableVersion tableVersion = new OperationTableVersion();
+
     @InjectMocks
     private OperationH2Adapter adapter;
 
@@ -48,6 +72,34 @@ class OperationH2AdapterTest {
         assertEquals(operationDomain.getY(), result.getY(), "Y values should match");
         assertEquals(operationDomain.getN(), result.getN(), "N values should match");
         assertEquals(operationDomain.getResult(), result.getResult(), "Result values should match");
+        assertEquals(1L, adapter.version(), "The version should increase with the save");
+    }
+
+    /**
+     * Test saving a wide operation keeps its values in the wide columns and leaves the 64-bit columns empty.
+     */
+    @Test
+    void saveWide_Success() {
+        WideOperation wideOperation = MockFactory.getWideOperationDomainFactory().withResult(BigInteger.TEN);
+        when(repository.save(any(OperationEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WideOperation result = adapter.saveWide(wideOperation);
+
+        assertEquals(wideOperation.getN(), result.getN(), "N values should match");
+        assertEquals(BigInteger.TEN, result.getResult(), "Result values should match");
+        verify(repository).save(argThat(entity -> entity.getN() == null && entity.getResult() == null
+                && wideOperation.getN().equals(entity.getWideN())));
+    }
+
+    /**
+     * Test error handling when saving a wide operation to the database fails.
+     */
+    @Test
+    void saveWide_Error() {
+        when(repository.save(any(OperationEntity.class))).thenThrow(new RuntimeException("Database error"));
+
+        assertThrows(DataBaseException.class, () -> adapter.saveWide(MockFactory.getWideOperationDomainFactory()),
+                "DataBaseException should be thrown on saveWide error");
     }
 
     /**
@@ -59,6 +111,7 @@ class OperationH2AdapterTest {
 
         assertThrows(DataBaseException.class, () -> adapter.save(operationDomain),
                 "DataBaseException should be thrown on save error");
+        assertEquals(0L, adapter.version(), "A failed save should not change the version");
     }
 
     /**
@@ -66,7 +119,7 @@ class OperationH2AdapterTest {
      */
     @Test
     void getAll_Success() {
-        when(repository.findAll()).thenReturn(List.of(operationEntity));
+        when(repository.findByResultIsNotNull()).thenReturn(List.of(operationEntity));
 
         List<Operation> result = adapter.getAll();
 
@@ -83,9 +136,222 @@ class OperationH2AdapterTest {
      */
     @Test
     void getAll_Error() {
-        when(repository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(repository.findByResultIsNotNull()).thenThrow(new RuntimeException("Database error"));
 
         assertThrows(DataBaseException.class, () -> adapter.getAll(),
                 "DataBaseException should be thrown on getAll error");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test saving a batch of operations to the database successfully.
+     */
+    @Test
+    void saveAll_Success() {
+        when(repository.saveAll(anyList())).thenReturn(List.of(operationEntity, operationEntity));
+
+        List<Operation> result = adapter.saveAll(List.of(operationDomain, operationDomain));
+
+        assertEquals(2, result.size(), "Every operation of the batch should be returned");
+        assertEquals(operationDomain.getResult(), result.get(1).getResult(), "Result values should match");
+    }
+
+    /**
+     * Test a large batch is flushed in JDBC-sized chunks, clearing the persistence context after each one.
+     */
+    @Test
+    void saveAll_FlushesInChunks() {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<Operation> domains = Collections.nCopies(OperationH2Adapter.BATCH_SIZE * 2 + 1, operationDomain);
+
+        List<Operation> result = adapter.saveAll(domains);
+
+        assertEquals(domains.size(), result.size(), "Every operation of the batch should be returned");
+        verify(repository, times(3)).saveAll(anyList());
+        verify(repository, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+
+    /**
+     * Test error handling when saving a batch of operations to the database fails.
+     */
+    @Test
+    void saveAll_Error() {
+        when(repository.saveAll(anyList())).thenThrow(new RuntimeException("Database error"));
+
+        assertThrows(DataBaseException.class, () -> adapter.saveAll(List.of(operationDomain)),
+                "DataBaseException should be thrown on saveAll error");
+    }
+
+    /**
+     * Test retrieving a page fetches one extra row and returns the cursor of the next page.
+     */
+    @Test
+    void getPage_HasNextPage() {
+        List<OperationEntity> fetched = List.of(storedEntity(11L), storedEntity(12L), storedEntity(13L));
+        when(repository.findByIdGreaterThanAndResultIsNotNullOrderByIdAsc(10L, PageRequest.of(0, 3))).thenReturn(fetched);
+
+        OperationPage page = adapter.getPage(10L, 2);
+
+        assertEquals(2, page.getItems().size(), "The page should not exceed the limit");
+        assertEquals(12L, page.getNextCursor(), "The cursor should point to the last operation of the page");
+    }
+
+    /**
+     * Test retrieving the last page returns no cursor.
+     */
+    @Test
+    void getPage_LastPage() {
+        when(repository.findByIdGreaterThanAndResultIsNotNullOrderByIdAsc(eq(12L), any(Pageable.class))).thenReturn(List.of(storedEntity(13L)));
+
+        OperationPage page = adapter.getPage(12L, 2);
+
+        assertEquals(1, page.getItems().size(), "The page should contain the remaining operation");
+        assertNull(page.getNextCursor(), "The last page should not have a cursor");
+    }
+
+    /**
+     * Test error handling when retrieving a page of operations fails.
+     */
+    @Test
+    void getPage_Error() {
+        when(repository.findByIdGreaterThanAndResultIsNotNullOrderByIdAsc(anyLong(), any(Pageable.class))).thenThrow(new RuntimeException("Database error"));
+
+        assertThrows(DataBaseException.class, () -> adapter.getPage(0L, 10),
+                "DataBaseException should be thrown on getPage error");
+    }
+
+    /**
+     * Test a query with the whole triple is answered by the triple lookup.
+     */
+    @Test
+    void find_ByTriple() {
+        OperationQuery query = OperationQuery.builder().x(10L).y(5L).n(15L).build();
+        when(repository.findByTriple(10L, 5L, 15L, Long.MIN_VALUE, Long.MAX_VALUE, 0L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(storedEntity(1L)));
+
+        OperationPage page = adapter.find(query, 0L, 10);
+
+        assertEquals(1, page.getItems().size(), "The matching operation should be returned");
+        assertNull(page.getNextCursor(), "The last page should not have a cursor");
+    }
+
+    /**
+     * Test a query by x and n range is answered by the x lookup with the unused filters open.
+     */
+    @Test
+    void find_ByX() {
+        OperationQuery query = OperationQuery.builder().x(10L).minN(10L).maxN(20L).build();
+        when(repository.findByX(10L, Long.MIN_VALUE, Long.MAX_VALUE, 10L, 20L, Long.MIN_VALUE, Long.MAX_VALUE, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(storedEntity(1L), storedEntity(2L)));
+
+        OperationPage page = adapter.find(query, 0L, 1);
+
+        assertEquals(1, page.getItems().size(), "The page should not exceed the limit");
+        assertEquals(1L, page.getNextCursor(), "The cursor should point to the last operation of the page");
+    }
+
+    /**
+     * Test a query by exact n without x is answered by the n lookup.
+     */
+    @Test
+    void find_ByN() {
+        OperationQuery query = OperationQuery.builder().n(15L).maxResult(20L).build();
+        when(repository.findByN(15L, 15L, 15L, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, 20L, 0L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(storedEntity(1L)));
+
+        OperationPage page = adapter.find(query, 0L, 10);
+
+        assertEquals(1, page.getItems().size(), "The matching operation should be returned");
+    }
+
+    /**
+     * Test a query by y and n range is answered by the y lookup instead of a range scan.
+     */
+    @Test
+    void find_ByY() {
+        OperationQuery query = OperationQuery.builder().y(5L).minN(10L).maxN(20L).build();
+        when(repository.findByY(5L, 10L, 20L, Long.MIN_VALUE, Long.MAX_VALUE, 0L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(storedEntity(1L)));
+
+        OperationPage page = adapter.find(query, 0L, 10);
+
+        assertEquals(1, page.getItems().size(), "The matching operation should be returned");
+        verify(repository, never()).findByRange(anyLong(), anyLong(), anyLong(), any(Pageable.class));
+    }
+
+    /**
+     * Test a query by result range is answered by the result lookup instead of a range scan.
+     */
+    @Test
+    void find_ByResult() {
+        OperationQuery query = OperationQuery.builder().minResult(10L).maxResult(20L).build();
+        when(repository.findByResult(10L, 20L, Long.MIN_VALUE, Long.MAX_VALUE, 5L, PageRequest.of(0, 11)))
+                .thenReturn(Collections.emptyList());
+
+        OperationPage page = adapter.find(query, 5L, 10);
+
+        assertTrue(page.getItems().isEmpty(), "No operation should be returned");
+        verify(repository, never()).findByRange(anyLong(), anyLong(), anyLong(), any(Pageable.class));
+    }
+
+    /**
+     * Test a query by n range only is answered by the range lookup.
+     */
+    @Test
+    void find_ByRange() {
+        OperationQuery query = OperationQuery.builder().minN(10L).maxN(20L).build();
+        when(repository.findByRange(10L, 20L, 5L, PageRequest.of(0, 11)))
+                .thenReturn(Collections.emptyList());
+
+        OperationPage page = adapter.find(query, 5L, 10);
+
+        assertTrue(page.getItems().isEmpty(), "No operation should be returned");
+    }
+
+    /**
+     * Test error handling when a query fails.
+     */
+    @Test
+    void find_Error() {
+        when(repository.findByRange(anyLong(), anyLong(), anyLong(), any(Pageable.class)))
+                .thenThrow(new RuntimeException("Database error"));
+
+        assertThrows(DataBaseException.class, () -> adapter.find(OperationQuery.builder().minN(1L).build(), 0L, 10),
+                "DataBaseException should be thrown on find error");
+    }
+
+    /**
+     * Test streaming hands every operation to the consumer in order and detaches each entity.
+     */
+    @Test
+    void forEach_Success() {
+        OperationEntity first = storedEntity(1L);
+        OperationEntity second = storedEntity(2L);
+        when(repository.streamAllOrderById()).thenReturn(Stream.of(first, second));
+        List<Long> ids = new ArrayList<>();
+
+        long count = adapter.forEach(operation -> ids.add(operation.getId()));
+
+        assertEquals(2L, count, "Every streamed operation should be counted");
+        assertEquals(List.of(1L, 2L), ids, "The operations should be handed over in order");
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    /**
+     * Test error handling when streaming operations fails.
+     */
+    @Test
+    void forEach_Error() {
+        when(repository.streamAllOrderById()).thenThrow(new RuntimeException("Database error"));
+
+        assertThrows(DataBaseException.class, () -> adapter.forEach(operation -> { }),
+                "DataBaseException should be thrown on forEach error");
+    }
+
+    private OperationEntity storedEntity(long id) {
+        OperationEntity entity = OperationEntity.fromDomain(operationDomain);
+        entity.setId(id);
+        return entity;
+    }
+}
@@ -0,0 +1,183 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.h2;
+
+import com.inclusioncloud.maxinteger.infrastructure.adapter.h2.models.OperationEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the parameter queries of {@link OperationH2Repository} against the in-memory H2 database, with
+ * the table and indexes created from {@link OperationEntity}. Besides the matched rows, the plan of every
+ * query is checked with {@code EXPLAIN}, so a query that stops seeking its index or sorts its matches fails here.
+ */
+@DataJpaTest
+class OperationH2RepositoryTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 100);
+
+    @Autowired
+    private OperationH2Repository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        List<OperationEntity> entities = new ArrayList<>();
+        for (long x = 2; x <= 5; x++) {
+            for (long n = 100; n < 150; n++) {
+                long y = n % x;
+                entities.add(OperationEntity.builder().x(x).y(y).n(n).result(n).build());
+            }
+        }
+        repository.saveAll(entities);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Test the triple lookup returns the operations of the triple and reads the triple index in page order.
+     */
+    @Test
+    void findByTriple_UsesTripleIndex() {
+        List<OperationEntity> found = repository.findByTriple(3L, 1L, 100L, Long.MIN_VALUE, Long.MAX_VALUE, 0L, PAGE);
+
+        assertEquals(1, found.size(), "Only the operation of the triple should be returned");
+        assertEquals(100L, found.get(0).getN(), "The operation of the triple should be returned");
+        String plan = explain(OperationH2Repository.FIND_BY_TRIPLE, Map.of("x", 3L, "y", 1L, "n", 100L,
+                "minResult", Long.MIN_VALUE, "maxResult", Long.MAX_VALUE, "afterId", 0L));
+        assertSeeks(plan, OperationEntity.TRIPLE_INDEX, "X");
+        assertSortedByIndex(plan);
+    }
+
+    /**
+     * Test the x lookup returns the operations of x in the n range, ordered by id, and reads the x index in page order.
+     */
+    @Test
+    void findByX_UsesXIndex() {
+        List<OperationEntity> found = repository.findByX(4L, Long.MIN_VALUE, Long.MAX_VALUE, 110L, 119L,
+                Long.MIN_VALUE, Long.MAX_VALUE, 0L, PAGE);
+
+        assertEquals(10, found.size(), "Every operation of x in the n range should be returned");
+        assertTrue(found.stream().allMatch(entity -> entity.getX() == 4L), "Only the operations of x should be returned");
+        assertIdOrder(found);
+        String plan = explain(OperationH2Repository.FIND_BY_X, rangeParameters(Map.of("x", 4L, "minN", 110L, "maxN", 119L)));
+        assertSeeks(plan, OperationEntity.X_INDEX, "X");
+        assertSortedByIndex(plan);
+    }
+
+    /**
+     * Test the n lookup returns the operations of n after the cursor and reads the n index in page order.
+     */
+    @Test
+    void findByN_UsesNIndex() {
+        List<OperationEntity> all = repository.findByN(120L, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE,
+                Long.MIN_VALUE, Long.MAX_VALUE, 0L, PAGE);
+        List<OperationEntity> afterFirst = repository.findByN(120L, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE,
+                Long.MIN_VALUE, Long.MAX_VALUE, all.get(0).getId(), PAGE);
+
+        assertEquals(4, all.size(), "The operation of n for every x should be returned");
+        assertIdOrder(all);
+        assertEquals(3, afterFirst.size(), "Only the operations after the cursor should be returned");
+        String plan = explain(OperationH2Repository.FIND_BY_N, rangeParameters(Map.of("n", 120L)));
+        assertSeeks(plan, OperationEntity.N_INDEX, "N");
+        assertSortedByIndex(plan);
+    }
+
+    /**
+     * Test the y lookup returns the operations of y in the n range and reads the y index in page order.
+     */
+    @Test
+    void findByY_UsesYIndex() {
+        List<OperationEntity> found = repository.findByY(1L, 110L, 119L, Long.MIN_VALUE, Long.MAX_VALUE, 0L, PAGE);
+
+        assertEquals(12, found.size(), "Every operation of y in the n range should be returned");
+        assertTrue(found.stream().allMatch(entity -> entity.getY() == 1L), "Only the operations of y should be returned");
+        assertIdOrder(found);
+        String plan = explain(OperationH2Repository.FIND_BY_Y, rangeParameters(Map.of("y", 1L, "minN", 110L, "maxN", 119L)));
+        assertSeeks(plan, OperationEntity.Y_INDEX, "Y");
+        assertSortedByIndex(plan);
+    }
+
+    /**
+     * Test the result lookup returns the operations in the result range, ordered by id, and seeks the result index
+     * instead of reading every row.
+     */
+    @Test
+    void findByResult_UsesResultIndex() {
+        List<OperationEntity> all = repository.findByResult(140L, 149L, Long.MIN_VALUE, Long.MAX_VALUE, 0L, PAGE);
+        List<OperationEntity> firstPage = repository.findByResult(140L, 149L, Long.MIN_VALUE, Long.MAX_VALUE,
+                0L, PageRequest.of(0, 5));
+
+        assertEquals(40, all.size(), "Every operation in the result range should be returned");
+        assertTrue(all.stream().allMatch(entity -> entity.getResult() >= 140L && entity.getResult() <= 149L), "Only results in the range should be returned");
+        assertIdOrder(all);
+        assertEquals(all.subList(0, 5).stream().map(OperationEntity::getId).toList(), firstPage.stream().map(OperationEntity::getId).toList(),
+                "The first page should hold the lowest identifiers of the range");
+        String plan = explain(OperationH2Repository.FIND_BY_RESULT, rangeParameters(Map.of("minResult", 140L, "maxResult", 149L)));
+        assertSeeks(plan, OperationEntity.RESULT_INDEX, "RESULT");
+    }
+
+    /**
+     * Test the range lookup honours the page size and reads the rows in id order instead of sorting them.
+     */
+    @Test
+    void findByRange_PagesInIdOrder() {
+        List<OperationEntity> found = repository.findByRange(Long.MIN_VALUE, Long.MAX_VALUE, 0L, PageRequest.of(0, 5));
+
+        assertEquals(5, found.size(), "The page size should be honoured");
+        assertIdOrder(found);
+        String plan = explain(OperationH2Repository.FIND_BY_RANGE, rangeParameters(Map.of()));
+        assertSortedByIndex(plan);
+    }
+
+    private Map<String, Long> rangeParameters(Map<String, Long> given) {
+        Map<String, Long> parameters = new LinkedHashMap<>();
+        for (String name : List.of("minY", "minN", "minResult")) {
+            parameters.put(name, Long.MIN_VALUE);
+        }
+        for (String name : List.of("maxY", "maxN", "maxResult")) {
+            parameters.put(name, Long.MAX_VALUE);
+        }
+        parameters.put("afterId", 0L);
+        parameters.putAll(given);
+        return parameters;
+    }
+
+    private String explain(String sql, Map<String, Long> parameters) {
+        Query query = entityManager.createNativeQuery("EXPLAIN " + sql);
+        parameters.forEach((name, value) -> {
+            if (sql.contains(":" + name + " ") || sql.endsWith(":" + name)) {
+                query.setParameter(name, value);
+            }
+        });
+        return query.getSingleResult().toString().replace("\"", "");
+    }
+
+    private static void assertSeeks(String plan, String index, String column) {
+        String access = "PUBLIC." + index.toUpperCase() + ": " + column + " ";
+        assertTrue(plan.contains(access), "The query should seek " + index + " but its plan is: " + plan);
+        assertFalse(plan.contains("tableScan"), "The query should not scan the table but its plan is: " + plan);
+    }
+
+    private static void assertSortedByIndex(String plan) {
+        assertTrue(plan.contains("index sorted"), "The query should read its rows in page order but its plan is: " + plan);
+    }
+
+    private static void assertIdOrder(List<OperationEntity> found) {
+        for (int i = 1; i < found.size(); i++) {
+            assertTrue(found.get(i - 1).getId() < found.get(i).getId(), "The operations should be ordered by id");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.mmap;
+
+
+import com.inclusioncloud.maxinteger.config.exception.DataBaseException;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OperationMappedFileAdapter}.
+ * These tests validate appends, keyset pages, segment rollover and the recovery of the segments on startup.
+ */
+class OperationMappedFileAdapterTest {
+
+    private static final long SEGMENT_BYTES = 4L * OperationMappedFileAdapter.RECORD_BYTES;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test to ensure saved operations get sequential identifiers and are read back in order.
+     */
+    @Test
+    void save_AssignsSequentialIds() {
+        try (OperationMappedFileAdapter adapter = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            Operation first = adapter.save(MockFactory.getOperationDomainFactory());
+            Operation second = adapter.save(MockFactory.getOperationDomainFactory().withResult(5L));
+
+            assertEquals(1L, first.getId(), "The first operation should get identifier 1");
+            assertEquals(2L, second.getId(), "The second operation should get identifier 2");
+            List<Operation> all = adapter.getAll();
+            assertEquals(2, all.size(), "Every saved operation should be read");
+            assertEquals(15L, all.get(0).getResult(), "The stored result should match the saved one");
+            assertEquals(5L, all.get(1).getResult(), "The stored result should match the saved one");
+        }
+    }
+
+    /**
+     * Test to ensure records are spread over several segments and pages seek across them.
+     */
+    @Test
+    void saveAll_RollsSegments() throws IOException {
+        try (OperationMappedFileAdapter adapter = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            adapter.saveAll(operations(3));
+            adapter.saveAll(operations(3));
+
+            OperationPage page = adapter.getPage(2L, 3);
+
+            assertEquals(List.of(3L, 4L, 5L), page.getItems().stream().map(Operation::getId).toList(), "The page should start after the cursor");
+            assertEquals(5L, page.getNextCursor(), "The cursor should point to the last operation of the page");
+            assertEquals(6L, adapter.forEach(operation -> { }), "Every stored operation should be streamed");
+            assertEquals(6L, adapter.version(), "The version should increase with every batch");
+        }
+        assertEquals(2L, segmentCount(), "A batch that does not fit should start a new segment");
+    }
+
+    /**
+     * Test to ensure a cursor past the last record, up to the largest identifier, gets an empty page.
+     */
+    @Test
+    void getPage_CursorPastLastRecord() {
+        try (OperationMappedFileAdapter adapter = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            adapter.saveAll(operations(3));
+
+            assertTrue(adapter.getPage(3L, 10).getItems().isEmpty(), "A cursor at the last record should get an empty page");
+            assertTrue(adapter.getPage(Long.MAX_VALUE, 10).getItems().isEmpty(), "The largest cursor should get an empty page");
+            assertEquals(List.of(3L), adapter.getPage(2L, Integer.MAX_VALUE - 1).getItems().stream().map(Operation::getId).toList(),
+                    "A large limit should stop at the last record");
+        }
+    }
+
+    /**
+     * Test to ensure a batch larger than a segment is rejected.
+     */
+    @Test
+    void saveAll_BatchTooLarge() {
+        try (OperationMappedFileAdapter adapter = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            DataBaseException thrown = assertThrows(DataBaseException.class, () -> adapter.saveAll(operations(5)));
+
+            assertEquals(SPError.OPERATION_ADAPTER_SAVE_ERROR.getErrorCode(), thrown.getErrorCode(), "The error code should match the expected value");
+            assertEquals(0L, adapter.lastId(), "Nothing should be stored");
+        }
+    }
+
+    /**
+     * Test to ensure the stored operations are recovered after reopening the segments.
+     */
+    @Test
+    void open_RecoversSegments() {
+        try (OperationMappedFileAdapter adapter = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            adapter.saveAll(operations(4));
+            adapter.save(MockFactory.getOperationDomainFactory());
+        }
+
+        try (OperationMappedFileAdapter reopened = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            assertEquals(5L, reopened.lastId(), "Every committed operation should be recovered");
+            assertEquals(6L, reopened.save(MockFactory.getOperationDomainFactory()).getId(), "Identifiers should continue after the recovered ones");
+        }
+    }
+
+    /**
+     * Test to ensure an uncommitted batch left by a crash is erased, even if some of its records were committed.
+     */
+    @Test
+    void open_ErasesUncommittedTail() throws IOException {
+        try (OperationMappedFileAdapter adapter = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            adapter.save(MockFactory.getOperationDomainFactory());
+        }
+        Path segment = directory.resolve(String.format("%020d%s", 1L, OperationMappedFileAdapter.SEGMENT_SUFFIX));
+        writeId(segment, 2, 3L);
+
+        try (OperationMappedFileAdapter reopened = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            assertEquals(1L, reopened.lastId(), "Records after the first uncommitted one should not be recovered");
+            reopened.save(MockFactory.getOperationDomainFactory());
+        }
+        try (OperationMappedFileAdapter reopened = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            assertEquals(2L, reopened.lastId(), "The erased record should not be recovered once the gap is filled");
+        }
+    }
+
+    /**
+     * Test to ensure a parameter query is answered by filtering the stored pages across segments.
+     */
+    @Test
+    void find_FiltersPages() {
+        try (OperationMappedFileAdapter adapter = new OperationMappedFileAdapter(directory, SEGMENT_BYTES, false)) {
+            adapter.saveAll(operations(4));
+            adapter.saveAll(operations(4));
+
+            OperationPage page = adapter.find(OperationQuery.builder().n(101L).build(), 0L, 1);
+
+            assertEquals(List.of(2L), page.getItems().stream().map(Operation::getId).toList(), "The first match should be returned");
+            assertEquals(2L, page.getNextCursor(), "The cursor should point to the last matching operation of the page");
+            assertEquals(List.of(6L), adapter.find(OperationQuery.builder().n(101L).build(), 2L, 1).getItems().stream().map(Operation::getId).toList(),
+                    "The match of the second segment should follow");
+        }
+    }
+
+    private static List<Operation> operations(int count) {
+        List<Operation> operations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long n = 100L + i;
+            operations.add(new Operation(7L, 5L, n, n - Math.floorMod(n - 5L, 7L)));
+        }
+        return operations;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(OperationMappedFileAdapter.SEGMENT_SUFFIX)).count();
+        }
+    }
+
+    private static void writeId(Path segment, int slot, long id) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(0, id);
+            channel.write(buffer, (long) slot * OperationMappedFileAdapter.RECORD_BYTES);
+        }
+    }
+}
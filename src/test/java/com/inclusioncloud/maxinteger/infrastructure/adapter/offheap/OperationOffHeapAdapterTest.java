@@ -0,0 +1,109 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.offheap;
+
+
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OperationOffHeapAdapter}.
+ * These tests validate appends across column chunks, pages and the scans over the columns.
+ */
+class OperationOffHeapAdapterTest {
+
+    private static final int CHUNK_ROWS = 4;
+
+    private OperationOffHeapAdapter adapter;
+
+    /**
+     * Sets up an adapter with small chunks, so a few rows span several of them.
+     */
+    @BeforeEach
+    void setUp() {
+        adapter = new OperationOffHeapAdapter(CHUNK_ROWS);
+    }
+
+    /**
+     * Test to ensure saved operations get sequential identifiers and are read back from the columns.
+     */
+    @Test
+    void save_AssignsSequentialIds() {
+        Operation first = adapter.save(MockFactory.getOperationDomainFactory());
+        Operation second = adapter.save(MockFactory.getOperationDomainFactory().withResult(5L));
+
+        assertEquals(1L, first.getId(), "The first operation should get identifier 1");
+        assertEquals(2L, second.getId(), "The second operation should get identifier 2");
+        List<Operation> all = adapter.getAll();
+        assertEquals(2, all.size(), "Every saved operation should be read");
+        assertEquals(15L, all.get(0).getResult(), "The stored result should match the saved one");
+        assertEquals(5L, all.get(1).getResult(), "The stored result should match the saved one");
+        assertEquals(2L, adapter.version(), "The version should increase with every save");
+    }
+
+    /**
+     * Test to ensure a batch spanning several chunks is paged from any cursor.
+     */
+    @Test
+    void getPage_AcrossChunks() {
+        adapter.saveAll(operations(10));
+
+        OperationPage page = adapter.getPage(3L, 4);
+
+        assertEquals(List.of(4L, 5L, 6L, 7L), page.getItems().stream().map(Operation::getId).toList(), "The page should start after the cursor");
+        assertEquals(7L, page.getNextCursor(), "The cursor should point to the last operation of the page");
+        assertNull(adapter.getPage(8L, 4).getNextCursor(), "The last page should have no cursor");
+        assertEquals(10L, adapter.forEach(operation -> { }), "Every stored operation should be streamed");
+        assertEquals(3L * CHUNK_ROWS * OperationOffHeapAdapter.ROW_BYTES, adapter.allocatedBytes(), "Ten rows should allocate three chunks per column");
+    }
+
+    /**
+     * Test to ensure count, summaries and filtered pages are computed over the columns.
+     */
+    @Test
+    void scans_FilterColumns() {
+        adapter.saveAll(operations(10));
+        RowFilter evenN = (x, y, n, result) -> n % 2 == 0;
+
+        assertEquals(5L, adapter.count(evenN), "Half of the rows should match");
+        LongSummaryStatistics summary = adapter.summarizeResults((x, y, n, result) -> n >= 105);
+        assertEquals(5L, summary.getCount(), "Five results should be summarized");
+        assertEquals(103L, summary.getMin(), "The minimum matching result should match");
+        OperationPage page = adapter.find(evenN, 4L, 2);
+        assertEquals(List.of(5L, 7L), page.getItems().stream().map(Operation::getId).toList(), "Only matching rows after the cursor should be returned");
+        assertEquals(7L, page.getNextCursor(), "The cursor should point to the last matching operation of the page");
+    }
+
+    /**
+     * Test to ensure a parameter query is evaluated over the columns and paged by identifier.
+     */
+    @Test
+    void find_Query() {
+        adapter.saveAll(operations(10));
+        OperationQuery query = OperationQuery.builder().x(7L).minN(103L).maxN(106L).build();
+
+        OperationPage page = adapter.find(query, 0L, 3);
+
+        assertEquals(List.of(4L, 5L, 6L), page.getItems().stream().map(Operation::getId).toList(), "Only rows in the n range should be returned");
+        assertEquals(6L, page.getNextCursor(), "The cursor should point to the last matching operation of the page");
+        assertEquals(List.of(7L), adapter.find(query, 6L, 3).getItems().stream().map(Operation::getId).toList(), "The next page should hold the remaining match");
+        assertTrue(adapter.find(OperationQuery.builder().x(8L).build(), 0L, 3).getItems().isEmpty(), "No row should match another x");
+    }
+
+    private static List<Operation> operations(int count) {
+        List<Operation> operations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long n = 100L + i;
+            operations.add(new Operation(7L, 5L, n, n - Math.floorMod(n - 5L, 7L)));
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,85 @@
+package com.inclusioncloud.maxinteger.infrastructure.adapter.r2dbc;
+
+import com.inclusioncloud.maxinteger.config.exception.DataBaseException;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.infrastructure.adapter.h2.OperationTableVersion;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link OperationR2dbcAdapter} against an in-memory H2 database opened through R2DBC,
+ * with the same table and sequence created by the JPA entity.
+ */
+class OperationR2dbcAdapterTest {
+
+    private DatabaseClient databaseClient;
+    private OperationTableVersion tableVersion;
+    private OperationR2dbcAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem:///r2dbc_adapter_test?options=DB_CLOSE_DELAY=-1"));
+        databaseClient.sql("CREATE SEQUENCE operations_seq START WITH 1 INCREMENT BY 50").then().block();
+        databaseClient.sql("CREATE TABLE operations (id BIGINT PRIMARY KEY, x BIGINT NOT NULL, y BIGINT NOT NULL, n BIGINT NOT NULL, result BIGINT NOT NULL)").then().block();
+        tableVersion = new OperationTableVersion();
+        adapter = new OperationR2dbcAdapter(databaseClient, tableVersion);
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DROP TABLE operations").then().block();
+        databaseClient.sql("DROP SEQUENCE operations_seq").then().block();
+    }
+
+    /**
+     * Test saving an operation assigns it an identifier from the sequence.
+     */
+    @Test
+    void save_Success() {
+        StepVerifier.create(adapter.save(MockFactory.getOperationDomainFactory()))
+                .assertNext(saved -> {
+                    assertNotNull(saved.getId(), "The saved operation should have an identifier");
+                    assertEquals(15L, saved.getResult(), "The saved operation should keep its result");
+                })
+                .verifyComplete();
+        assertEquals(1L, tableVersion.get(), "The table version should increase with the save");
+    }
+
+    /**
+     * Test the saved operations are streamed after the given identifier, ordered by identifier.
+     */
+    @Test
+    void findAfter_Success() {
+        Operation first = adapter.save(MockFactory.getOperationDomainFactory()).block();
+        Operation second = adapter.save(MockFactory.getOperationDomainFactory().withResult(20L)).block();
+
+        StepVerifier.create(adapter.findAfter(0L))
+                .assertNext(operation -> assertEquals(first.getId(), operation.getId(), "The first saved operation should be emitted first"))
+                .assertNext(operation -> assertEquals(second.getId(), operation.getId(), "The second saved operation should be emitted second"))
+                .verifyComplete();
+        StepVerifier.create(adapter.findAfter(first.getId()))
+                .assertNext(operation -> assertEquals(20L, operation.getResult(), "Only the operations after the cursor should be emitted"))
+                .verifyComplete();
+    }
+
+    /**
+     * Test error handling when the operations can not be read.
+     */
+    @Test
+    void findAfter_Error() {
+        databaseClient.sql("DROP TABLE operations").then().block();
+
+        StepVerifier.create(adapter.findAfter(0L))
+                .expectError(DataBaseException.class)
+                .verify();
+
+        databaseClient.sql("CREATE TABLE operations (id BIGINT PRIMARY KEY, x BIGINT NOT NULL, y BIGINT NOT NULL, n BIGINT NOT NULL, result BIGINT NOT NULL)").then().block();
+    }
+}
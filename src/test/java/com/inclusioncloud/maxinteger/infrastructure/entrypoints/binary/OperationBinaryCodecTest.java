@@ -0,0 +1,121 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary;
+
+
+import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.GenericResponse;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationBatchRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationResponse;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OperationBinaryCodec}.
+ * These tests validate the round trip of every message, the size of the encoding and the rejection of malformed messages.
+ */
+class OperationBinaryCodecTest {
+
+    /**
+     * Test to ensure a request is decoded with its values, including the extremes of a long.
+     */
+    @Test
+    void request_RoundTrip() {
+        OperationRequest request = OperationBinaryCodec.decodeRequest(OperationBinaryCodec.encodeRequest(-1L, Long.MAX_VALUE, Long.MIN_VALUE));
+
+        assertEquals(BigInteger.valueOf(-1L), request.getX(), "x should be decoded");
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE), request.getY(), "y should be decoded");
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE), request.getN(), "n should be decoded");
+        assertEquals(3, OperationBinaryCodec.encodeRequest(10L, 5L, 15L).length, "Small values should take one byte each");
+    }
+
+    /**
+     * Test to ensure a batch request keeps the order of its triples.
+     */
+    @Test
+    void batchRequest_RoundTrip() {
+        List<Operation> operations = MockFactory.getOperationBatchDomainFactory();
+
+        OperationBatchRequest request = OperationBinaryCodec.decodeBatchRequest(OperationBinaryCodec.encodeBatchRequest(operations));
+
+        assertEquals(operations.size(), request.getOperations().size(), "Every triple should be decoded");
+        for (int i = 0; i < operations.size(); i++) {
+            assertEquals(BigInteger.valueOf(operations.get(i).getN()), request.getOperations().get(i).getN(), "The triples should keep their order");
+        }
+    }
+
+    /**
+     * Test to ensure a single result keeps its absent fields absent.
+     */
+    @Test
+    void operationResponse_RoundTrip() {
+        byte[] bytes = OperationBinaryCodec.encodeResponse(OperationResponse.of(Operation.ofResult(12339L), HttpStatus.CREATED));
+
+        GenericResponse<?> response = (GenericResponse<?>) OperationBinaryCodec.decodeResponse(bytes);
+
+        Operation operation = (Operation) response.getData();
+        assertEquals(201, response.getCodeStatus(), "The status should be decoded");
+        assertEquals(HttpStatus.CREATED.getReasonPhrase(), response.getMessage(), "The message should be the reason phrase");
+        assertEquals(12339L, operation.getResult(), "The result should be decoded");
+        assertNull(operation.getId(), "An absent field should stay absent");
+        assertEquals(7, bytes.length, "Kind, status, presence and result should take seven bytes");
+    }
+
+    /**
+     * Test to ensure a page is decoded with its operations and cursor.
+     */
+    @Test
+    void pageResponse_RoundTrip() {
+        OperationPage page = new OperationPage(List.of(MockFactory.getStoredOperationDomainFactory(41L), MockFactory.getStoredOperationDomainFactory(42L)), 42L);
+
+        GenericResponse<?> response = (GenericResponse<?>) OperationBinaryCodec.decodeResponse(
+                OperationBinaryCodec.encodeResponse(OperationResponse.of(page, HttpStatus.OK)));
+
+        OperationPage decoded = (OperationPage) response.getData();
+        assertEquals(List.of(41L, 42L), decoded.getItems().stream().map(Operation::getId).toList(), "The operations should be decoded in order");
+        assertEquals(15L, decoded.getItems().get(1).getResult(), "The results should be decoded");
+        assertEquals(42L, decoded.getNextCursor(), "The cursor should be decoded");
+        OperationPage last = (OperationPage) ((GenericResponse<?>) OperationBinaryCodec.decodeResponse(
+                OperationBinaryCodec.encodeResponse(OperationResponse.of(new OperationPage(List.of(), null), HttpStatus.OK)))).getData();
+        assertNull(last.getNextCursor(), "The last page should have no cursor");
+    }
+
+    /**
+     * Test to ensure errors are encoded with their code, message and validation messages.
+     */
+    @Test
+    void errorResponse_RoundTrip() {
+        ErrorResponse error = new ErrorResponse(false, 1005, "Malformed request", List.of("Field: x -> Error: X no puede ser null"));
+
+        ErrorResponse decoded = (ErrorResponse) OperationBinaryCodec.decodeResponse(OperationBinaryCodec.encodeResponse(error));
+
+        assertEquals(1005, decoded.getCodeStatus(), "The error code should be decoded");
+        assertEquals("Malformed request", decoded.getMessage(), "The message should be decoded");
+        assertEquals(error.getData(), decoded.getData(), "The validation messages should be decoded");
+    }
+
+    /**
+     * Test to ensure truncated, oversized and trailing messages are rejected.
+     */
+    @Test
+    void decode_Malformed() {
+        byte[] request = OperationBinaryCodec.encodeRequest(10L, 5L, 300L);
+
+        assertThrows(IllegalArgumentException.class, () -> OperationBinaryCodec.decodeRequest(Arrays.copyOf(request, request.length - 1)),
+                "A truncated request should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> OperationBinaryCodec.decodeRequest(Arrays.copyOf(request, request.length + 1)),
+                "Trailing bytes should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> OperationBinaryCodec.decodeBatchRequest(new byte[]{(byte) 0xFF, 0x7F, 1, 2, 3}),
+                "A count larger than the message should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> OperationBinaryCodec.encodeResponse(OperationResponse.of(42, HttpStatus.OK)),
+                "Data without a binary encoding should be rejected");
+    }
+}
@@ -0,0 +1,70 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary;
+
+
+import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationBatchRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationResponse;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OperationBinaryMessageConverter}.
+ * These tests validate the supported types and media types and the handling of malformed bodies.
+ */
+class OperationBinaryMessageConverterTest {
+
+    private final OperationBinaryMessageConverter converter = new OperationBinaryMessageConverter();
+
+    /**
+     * Test to ensure requests are only read and responses only written, in the binary media type.
+     */
+    @Test
+    void supports_RequestsAndResponses() {
+        assertTrue(converter.canRead(OperationRequest.class, OperationBinaryMessageConverter.MEDIA_TYPE), "A request should be readable");
+        assertTrue(converter.canRead(OperationBatchRequest.class, OperationBinaryMessageConverter.MEDIA_TYPE), "A batch request should be readable");
+        assertFalse(converter.canRead(OperationResponse.class, OperationBinaryMessageConverter.MEDIA_TYPE), "A response should not be readable");
+        assertTrue(converter.canWrite(OperationResponse.class, OperationBinaryMessageConverter.MEDIA_TYPE), "A response should be writable");
+        assertTrue(converter.canWrite(ErrorResponse.class, OperationBinaryMessageConverter.MEDIA_TYPE), "An error should be writable");
+        assertFalse(converter.canWrite(OperationResponse.class, MediaType.APPLICATION_JSON), "JSON should be left to the JSON converter");
+        assertFalse(converter.canWrite(OperationRequest.class, OperationBinaryMessageConverter.MEDIA_TYPE), "A request should not be writable");
+    }
+
+    /**
+     * Test to ensure a written response declares its length and decodes back to the same data.
+     */
+    @Test
+    void write_SetsContentLength() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(OperationResponse.of(MockFactory.getStoredOperationDomainFactory(1L), HttpStatus.CREATED), OperationBinaryMessageConverter.MEDIA_TYPE, output);
+
+        byte[] body = output.getBodyAsBytes();
+        assertEquals(body.length, output.getHeaders().getContentLength(), "The content length should match the body");
+        assertEquals(OperationBinaryMessageConverter.MEDIA_TYPE, output.getHeaders().getContentType(), "The binary media type should be declared");
+        OperationResponse decoded = (OperationResponse) OperationBinaryCodec.decodeResponse(body);
+        assertEquals(201, decoded.getCodeStatus(), "The status should be written");
+    }
+
+    /**
+     * Test to ensure a malformed body is reported as not readable and unsupported data as not writable.
+     */
+    @Test
+    void readWrite_Errors() {
+        MockHttpInputMessage input = new MockHttpInputMessage(new byte[]{(byte) 0x80});
+
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(OperationRequest.class, input),
+                "A truncated request should not be readable");
+        assertThrows(HttpMessageNotWritableException.class,
+                () -> converter.write(OperationResponse.of(42, HttpStatus.OK), OperationBinaryMessageConverter.MEDIA_TYPE, new MockHttpOutputMessage()),
+                "Data without a binary encoding should not be writable");
+    }
+}
@@ -1,26 +1,57 @@
 package com.inclusioncloud.maxinteger.infrastructure.entrypoints.controller;
 
 
+import com.inclusioncloud.maxinteger.application.admission.AdaptiveConcurrencyLimiter;
+import com.inclusioncloud.maxinteger.application.idempotency.IdempotencyStore;
+import com.inclusioncloud.maxinteger.application.usecase.CalculateBatchUseCase;
 import com.inclusioncloud.maxinteger.application.usecase.CalculateUseCase;
 import com.inclusioncloud.maxinteger.application.usecase.ResultsUseCase;
+import com.inclusioncloud.maxinteger.application.usecase.SolveConstraintsUseCase;
+import com.inclusioncloud.maxinteger.application.usecase.StatsUseCase;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationQuery;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary.OperationBinaryCodec;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.binary.OperationBinaryMessageConverter;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.filter.ConcurrencyLimitFilter;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.GenericResponse;
 import com.inclusioncloud.maxinteger.mocks.MockFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.math.BigInteger;
+import java.time.Duration;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,9 +69,24 @@ class OperationsControllerTest {
     @Mock
     private CalculateUseCase calculatorPort;
 
+    @Mock
+    private CalculateBatchUseCase calculatorBatchPort;
+
     @Mock
     private ResultsUseCase resultsPort;
 
+    @Mock
+    private StatsUseCase statsPort;
+
+    @Mock
+    private SolveConstraintsUseCase solveConstraintsPort;
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(true, 16, Duration.ofMinutes(1), Duration.ofSeconds(1));
+
+    @Spy
+    private AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofMinutes(1), 0.5);
+
     @InjectMocks
     private OperationsController operationsController;
 
@@ -49,7 +95,9 @@ class OperationsControllerTest {
      */
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(operationsController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(operationsController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new OperationBinaryMessageConverter())
+                .build();
     }
 
     /**
@@ -91,16 +139,390 @@ class OperationsControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    /**
+     * Test the POST endpoint answers a retry with the same idempotency key without calculating again.
+     */
+    @Test
+    void calculate_IdempotentRetry() throws Exception {
+        when(calculatorPort.calculate(any())).thenReturn(MockFactory.getOperationDomainFactory());
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post(URL)
+                            .header(OperationsController.IDEMPOTENCY_KEY_HEADER, "retry-key")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(MockFactory.getJsonContentValid()))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.result").value(15));
+        }
+        verify(calculatorPort, times(1)).calculate(any());
+    }
+
+    /**
+     * Test the POST endpoint rejects an idempotency key reused for a different request.
+     */
+    @Test
+    void calculate_IdempotencyKeyReused() throws Exception {
+        when(calculatorPort.calculate(any())).thenReturn(MockFactory.getOperationDomainFactory());
+        when(calculatorPort.supportsWide()).thenReturn(true);
+
+        mockMvc.perform(post(URL)
+                        .header(OperationsController.IDEMPOTENCY_KEY_HEADER, "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonContentValid()))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(URL)
+                        .header(OperationsController.IDEMPOTENCY_KEY_HEADER, "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonWideContentValid()))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code_status").value(1023));
+        verify(calculatorPort, never()).calculateWide(any());
+    }
+
+    /**
+     * Test the POST endpoint rejects a request with an idempotency key when the concurrency limit is reached.
+     */
+    @Test
+    void calculate_IdempotencyKeyOverLimit() throws Exception {
+        assertTrue(concurrencyLimiter.tryAcquire(), "The only slot should be taken");
+
+        mockMvc.perform(post(URL)
+                        .header(OperationsController.IDEMPOTENCY_KEY_HEADER, "limited-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonContentValid()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, ConcurrencyLimitFilter.RETRY_AFTER_SECONDS))
+                .andExpect(jsonPath("$.code_status").value(1025));
+        verify(calculatorPort, never()).calculate(any());
+    }
+
+    /**
+     * Test a retry of a completed idempotent request is answered without taking a concurrency slot.
+     */
+    @Test
+    void calculate_IdempotentRetryNotLimited() throws Exception {
+        when(calculatorPort.calculate(any())).thenReturn(MockFactory.getOperationDomainFactory());
+
+        mockMvc.perform(post(URL)
+                        .header(OperationsController.IDEMPOTENCY_KEY_HEADER, "replayed-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonContentValid()))
+                .andExpect(status().isCreated());
+        assertEquals(0, concurrencyLimiter.inFlight(), "The slot should be released once the calculation finished");
+        assertTrue(concurrencyLimiter.tryAcquire(), "The only slot should be taken");
+
+        mockMvc.perform(post(URL)
+                        .header(OperationsController.IDEMPOTENCY_KEY_HEADER, "replayed-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonContentValid()))
+                .andExpect(status().isCreated());
+        verify(calculatorPort, times(1)).calculate(any());
+    }
+
+    /**
+     * Test the POST endpoint rejects an idempotency key longer than the maximum length.
+     */
+    @Test
+    void calculate_IdempotencyKeyTooLong() throws Exception {
+        mockMvc.perform(post(URL)
+                        .header(OperationsController.IDEMPOTENCY_KEY_HEADER, "k".repeat(OperationsController.MAX_IDEMPOTENCY_KEY_LENGTH + 1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonContentValid()))
+                .andExpect(status().isBadRequest());
+        verify(calculatorPort, never()).calculate(any());
+    }
+
+    /**
+     * Test the POST endpoint dispatches a request whose values do not fit in 64 bits to the wide calculation.
+     */
+    @Test
+    void calculate_Wide() throws Exception {
+        WideOperation wide = MockFactory.getWideOperationDomainFactory();
+        when(calculatorPort.supportsWide()).thenReturn(true);
+        when(calculatorPort.calculateWide(any())).thenReturn(WideOperation.ofResult(BigInteger.TEN));
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonWideContentValid()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.result").value(10));
+        verify(calculatorPort).calculateWide(argThat(operation -> wide.getN().equals(operation.getN())));
+        verify(calculatorPort, never()).calculate(any());
+    }
+
+    /**
+     * Test the POST endpoint rejects a request whose values do not fit in 64 bits when the storage can not hold it.
+     */
+    @Test
+    void calculate_WideNotSupported() throws Exception {
+        when(calculatorPort.supportsWide()).thenReturn(false);
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonWideContentValid()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code_status").value(1028));
+        verify(calculatorPort, never()).calculateWide(any());
+        verify(calculatorPort, never()).calculate(any());
+    }
+
+    /**
+     * Test the batch POST endpoint rejects an element whose values do not fit in 64 bits.
+     */
+    @Test
+    void calculateBatch_WideRequest() throws Exception {
+        mockMvc.perform(post(URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonBatchContentWide()))
+                .andExpect(status().isBadRequest());
+        verify(calculatorBatchPort, never()).calculate(any());
+    }
+
+    /**
+     * Test the batch POST endpoint for a successful calculation.
+     */
+    @Test
+    void calculateBatch_Success() throws Exception {
+        when(calculatorBatchPort.calculate(any())).thenReturn(List.of(MockFactory.getOperationDomainFactory(), MockFactory.getOperationDomainFactory()));
+
+        mockMvc.perform(post(URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonBatchContentValid()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data").isArray())
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    /**
+     * Test the batch POST endpoint with an invalid element in the request.
+     */
+    @Test
+    void calculateBatch_InvalidRequest() throws Exception {
+        mockMvc.perform(post(URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonBatchContentInvalid()))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test the constraints POST endpoint for a successful calculation.
+     */
+    @Test
+    void solveConstraints_Success() throws Exception {
+        when(solveConstraintsPort.solve(any(), eq(1_000L))).thenReturn(Operation.ofResult(968L));
+
+        mockMvc.perform(post(URL + "/constraints")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonConstraintsContentValid()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.result").value(968));
+        verify(solveConstraintsPort).solve(argThat(constraints -> constraints.size() == 3 && constraints.get(1).getX() == 5L), eq(1_000L));
+    }
+
+    /**
+     * Test the constraints POST endpoint with a remainder not lower than its divisor.
+     */
+    @Test
+    void solveConstraints_InvalidRequest() throws Exception {
+        mockMvc.perform(post(URL + "/constraints")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonConstraintsContentInvalid()))
+                .andExpect(status().isBadRequest());
+        verify(solveConstraintsPort, never()).solve(any(), anyLong());
+    }
+
+    /**
+     * Test the constraints POST endpoint handling constraints without solution.
+     */
+    @Test
+    void solveConstraints_CalculationError() throws Exception {
+        when(solveConstraintsPort.solve(any(), anyLong())).thenThrow(MockFactory.getCustomExceptionUseCaseFactory());
+
+        mockMvc.perform(post(URL + "/constraints")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MockFactory.getJsonConstraintsContentValid()))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test a wide result is answered in JSON when the binary format was negotiated, since it can not carry it.
+     */
+    @Test
+    void calculate_WideBinaryAccepted() throws Exception {
+        when(calculatorPort.supportsWide()).thenReturn(true);
+        when(calculatorPort.calculateWide(any())).thenReturn(WideOperation.ofResult(BigInteger.TEN));
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(OperationBinaryMessageConverter.MEDIA_TYPE)
+                        .content(MockFactory.getJsonWideContentValid()))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.result").value(10));
+    }
+
+    /**
+     * Test the POST endpoint reading and writing the binary format when it is negotiated.
+     */
+    @Test
+    void calculate_Binary() throws Exception {
+        when(calculatorPort.calculate(any())).thenReturn(MockFactory.getOperationDomainFactory());
+
+        byte[] body = mockMvc.perform(post(URL)
+                        .contentType(OperationBinaryMessageConverter.MEDIA_TYPE)
+                        .accept(OperationBinaryMessageConverter.MEDIA_TYPE)
+                        .content(OperationBinaryCodec.encodeRequest(10L, 5L, 15L)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(OperationBinaryMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Operation result = (Operation) ((GenericResponse<?>) OperationBinaryCodec.decodeResponse(body)).getData();
+        assertEquals(15L, result.getResult(), "The result should be returned in the binary format");
+    }
+
+    /**
+     * Test the POST endpoint validating a binary request like a JSON one.
+     */
+    @Test
+    void calculate_BinaryInvalid() throws Exception {
+        mockMvc.perform(post(URL)
+                        .contentType(OperationBinaryMessageConverter.MEDIA_TYPE)
+                        .accept(OperationBinaryMessageConverter.MEDIA_TYPE)
+                        .content(OperationBinaryCodec.encodeRequest(-2L, 5L, 15L)))
+                .andExpect(status().isBadRequest());
+        verify(calculatorPort, never()).calculate(any());
+    }
+
+    /**
+     * Test the GET endpoint keeps JSON as the format when the client accepts any media type.
+     */
+    @Test
+    void result_DefaultsToJson() throws Exception {
+        when(resultsPort.getResults(0L, 100)).thenReturn(MockFactory.getOperationPageFactory());
+
+        mockMvc.perform(get(URL).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
     /**
      * Test the GET endpoint for successfully retrieving results.
      */
     @Test
     void result_Success() throws Exception {
-        when(resultsPort.getResults()).thenReturn(List.of(MockFactory.getOperationDomainFactory()));
+        when(resultsPort.getResults(0L, 100)).thenReturn(MockFactory.getOperationPageFactory());
 
         mockMvc.perform(get(URL))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data").isArray());
+                .andExpect(jsonPath("$.data.items").isArray())
+                .andExpect(jsonPath("$.data.nextCursor").value(1));
+    }
+
+    /**
+     * Test the GET endpoint answers 304 without reading the storage when no operation was saved since the ETag.
+     */
+    @Test
+    void result_NotModified() throws Exception {
+        when(resultsPort.getResultsVersion()).thenReturn(3L);
+        when(resultsPort.getResults(0L, 100)).thenReturn(MockFactory.getOperationPageFactory());
+
+        String etag = mockMvc.perform(get(URL))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(content().string(""));
+
+        verify(resultsPort, times(1)).getResults(0L, 100);
+    }
+
+    /**
+     * Test the GET endpoint answers with the page again once an operation was saved after the ETag.
+     */
+    @Test
+    void result_ModifiedAfterSave() throws Exception {
+        when(resultsPort.getResultsVersion()).thenReturn(3L, 4L);
+        when(resultsPort.getResults(0L, 100)).thenReturn(MockFactory.getOperationPageFactory());
+
+        String etag = mockMvc.perform(get(URL))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String refreshed = mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items").isArray())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(etag, refreshed, "The ETag should change with the version");
+    }
+
+    /**
+     * Test the ETag shared by the JSON and the binary representations of a page is weak.
+     */
+    @Test
+    void result_WeakETag() throws Exception {
+        when(resultsPort.getResultsVersion()).thenReturn(3L);
+        when(resultsPort.getResults(0L, 100)).thenReturn(MockFactory.getOperationPageFactory());
+
+        String etag = mockMvc.perform(get(URL).accept(OperationBinaryMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(OperationBinaryMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertTrue(etag.startsWith("W/\""), "The ETag should be weak");
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    /**
+     * Test the GET endpoint forwards the cursor and the limit of the requested page.
+     */
+    @Test
+    void result_PageRequested() throws Exception {
+        when(resultsPort.getResults(1L, 1)).thenReturn(new OperationPage(List.of(), null));
+
+        mockMvc.perform(get(URL).param("after", "1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items").isEmpty());
+    }
+
+    /**
+     * Test the GET endpoint forwards the filters to the query lookup instead of the plain page.
+     */
+    @Test
+    void result_Filtered() throws Exception {
+        ArgumentCaptor<OperationQuery> query = ArgumentCaptor.forClass(OperationQuery.class);
+        when(resultsPort.findResults(query.capture(), eq(0L), eq(100))).thenReturn(MockFactory.getOperationPageFactory());
+
+        mockMvc.perform(get(URL).param("x", "10").param("minN", "10").param("maxResult", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].x").value(10));
+
+        assertEquals(10L, query.getValue().getX(), "The x filter should be forwarded");
+        assertEquals(10L, query.getValue().getMinN(), "The minN filter should be forwarded");
+        assertEquals(20L, query.getValue().getMaxResult(), "The maxResult filter should be forwarded");
+        assertNull(query.getValue().getY(), "A filter not given should be null");
+        verify(resultsPort, never()).getResults(anyLong(), anyInt());
+    }
+
+    /**
+     * Test the GET endpoint rejects an inverted n range.
+     */
+    @Test
+    void result_InvalidRange() throws Exception {
+        mockMvc.perform(get(URL).param("minN", "20").param("maxN", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code_status").value(1005));
+    }
+
+    /**
+     * Test the GET endpoint rejects a limit out of range.
+     */
+    @Test
+    void result_InvalidLimit() throws Exception {
+        mockMvc.perform(get(URL).param("limit", "0"))
+                .andExpect(status().isBadRequest());
     }
 
     /**
@@ -108,10 +530,46 @@ class OperationsControllerTest {
      */
     @Test
     void result_ServiceError() throws Exception {
-        when(resultsPort.getResults()).thenThrow(MockFactory.getCustomExceptionUseCaseFactory());
+        when(resultsPort.getResults(anyLong(), anyInt())).thenThrow(MockFactory.getCustomExceptionUseCaseFactory());
 
         mockMvc.perform(get(URL))
                 .andExpect(status().isBadRequest());
     }
 
+    /**
+     * Test the GET stats endpoint returning the overall and per x statistics.
+     */
+    @Test
+    void stats_Success() throws Exception {
+        when(statsPort.getStats()).thenReturn(MockFactory.getOperationStatsFactory());
+
+        mockMvc.perform(get(URL + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.overall.count").value(1))
+                .andExpect(jsonPath("$.data.overall.p99").value(15))
+                .andExpect(jsonPath("$.data.byX.10.mean").value(15.0));
+    }
+
+    /**
+     * Test the GET stats endpoint refuses the binary format, which can not carry the statistics.
+     */
+    @Test
+    void stats_BinaryNotAcceptable() throws Exception {
+        mockMvc.perform(get(URL + "/stats").accept(OperationBinaryMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isNotAcceptable());
+        verify(statsPort, never()).getStats();
+    }
+
+    /**
+     * Test the GET stats endpoint handling a use case error.
+     */
+    @Test
+    void stats_UseCaseError() throws Exception {
+        when(statsPort.getStats()).thenThrow(MockFactory.getCustomExceptionUseCaseFactory());
+
+        mockMvc.perform(get(URL + "/stats"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code_status").value(1018));
+    }
+
 }
@@ -0,0 +1,285 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.controller;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inclusioncloud.maxinteger.application.port.out.OperationStorageRepository;
+import com.inclusioncloud.maxinteger.application.stats.OperationStatistics;
+import com.inclusioncloud.maxinteger.application.usecase.CalculateStreamUseCase;
+import com.inclusioncloud.maxinteger.application.usecase.ResultsUseCase;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.service.OperationService;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for {@link OperationsStreamController} using MockMvc.
+ * These tests ensure every NDJSON record of the request gets its own line in the response
+ * and that the export and the sweep stream every operation.
+ */
+@ExtendWith(MockitoExtension.class)
+class OperationsStreamControllerTest {
+
+    private static final String URL = "/operation/stream";
+    private static final String EXPORT_URL = "/operation/export";
+    private static final String SWEEP_URL = "/operation/sweep";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private OperationStorageRepository repository;
+
+    /**
+     * Setup for MockMvc with a real use case over a mocked repository before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        OperationsStreamController controller = new OperationsStreamController(
+                new CalculateStreamUseCase(new OperationService(), repository, new OperationStatistics(1, 16)),
+                new ResultsUseCase(repository),
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    /**
+     * Test the stream endpoint answers one line per record, in order.
+     */
+    @Test
+    void calculateStream_Success() throws Exception {
+        String body = mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"x\":7,\"y\":5,\"n\":12345}\n{\"x\":5,\"y\":0,\"n\":4}\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length, "There should be one line per record");
+        assertTrue(lines[0].contains("\"result\":12339"), "The first line should contain the first result");
+        assertTrue(lines[1].contains("\"result\":0"), "The second line should contain the second result");
+        verify(repository, times(1)).saveAll(anyList());
+    }
+
+    /**
+     * Test an invalid record is answered with an error line without stopping the stream.
+     */
+    @Test
+    void calculateStream_InvalidRecord() throws Exception {
+        String body = mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"x\":5,\"y\":0}\n{\"x\":5,\"y\":0,\"n\":4}\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length, "There should be one line per record");
+        assertTrue(lines[0].contains(String.valueOf(SPError.INVALID_PARAMS_ERROR.getErrorCode())), "The first line should report the invalid record");
+        assertTrue(lines[1].contains("\"result\":0"), "The second line should contain the result");
+    }
+
+    /**
+     * Test a chunk that can not be persisted ends the stream with an error line counting the unpersisted results.
+     */
+    @Test
+    void calculateStream_PersistenceError() throws Exception {
+        when(repository.saveAll(anyList())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+        String record = "{\"x\":5,\"y\":0,\"n\":4}\n";
+
+        String body = mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(record.repeat(CalculateStreamUseCase.CHUNK_SIZE + 2)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(CalculateStreamUseCase.CHUNK_SIZE + 1, lines.length, "The stream should stop after the error line");
+        assertTrue(lines[CalculateStreamUseCase.CHUNK_SIZE].contains(String.valueOf(SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode())), "The last line should report the persistence error");
+        assertTrue(lines[CalculateStreamUseCase.CHUNK_SIZE].contains("\"data\":" + CalculateStreamUseCase.CHUNK_SIZE), "The last line should count the unpersisted results");
+        verify(repository, times(1)).saveAll(anyList());
+    }
+
+    /**
+     * Test the last chunk that can not be persisted when the stream is closed ends the body with an error line
+     * counting the unpersisted results.
+     */
+    @Test
+    void calculateStream_PersistenceErrorOnClose() throws Exception {
+        when(repository.saveAll(anyList())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+
+        String body = mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"x\":7,\"y\":5,\"n\":12345}\n{\"x\":5,\"y\":0,\"n\":4}\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length, "The results should be followed by the error line");
+        assertTrue(lines[2].contains(String.valueOf(SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode())), "The last line should report the persistence error");
+        assertTrue(lines[2].contains("\"data\":2"), "The last line should count the unpersisted results");
+        verify(repository, times(1)).saveAll(anyList());
+    }
+
+    /**
+     * Test a malformed body ends the stream with an error line.
+     */
+    @Test
+    void calculateStream_MalformedBody() throws Exception {
+        String body = mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"x\":5,\"y\":0,\"n\":4}\n{not-json"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length, "The valid record and the error should be written");
+        assertTrue(lines[1].contains(String.valueOf(SPError.OPERATION_CONTROLLER_ERROR_STREAM.getErrorCode())), "The last line should report the stream error");
+    }
+
+    /**
+     * Test the export endpoint writes one NDJSON line per stored operation.
+     */
+    @Test
+    void export_Ndjson() throws Exception {
+        doAnswer(invocation -> exportStored(invocation.getArgument(0))).when(repository).forEach(any());
+
+        String body = mockMvc.perform(get(EXPORT_URL))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length, "There should be one line per stored operation");
+        assertTrue(lines[0].contains("\"id\":1"), "The first line should contain the first operation");
+        assertTrue(lines[1].contains("\"id\":2"), "The second line should contain the second operation");
+    }
+
+    /**
+     * Test the export endpoint writes a JSON array when the client only accepts JSON.
+     */
+    @Test
+    void export_JsonArray() throws Exception {
+        doAnswer(invocation -> exportStored(invocation.getArgument(0))).when(repository).forEach(any());
+
+        String body = mockMvc.perform(get(EXPORT_URL).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.startsWith("[{") && body.endsWith("}]"), "The body should be a complete JSON array");
+        assertEquals(2, new ObjectMapper().readTree(body).size(), "The array should contain every stored operation");
+    }
+
+    /**
+     * Test a failed export ends the NDJSON body with an error line.
+     */
+    @Test
+    void export_Error() throws Exception {
+        when(repository.forEach(any())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+
+        String body = mockMvc.perform(get(EXPORT_URL))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains(String.valueOf(SPError.OPERATION_USE_CASE_ERROR_EXPORT.getErrorCode())), "The body should report the export error");
+    }
+
+    /**
+     * Test the sweep endpoint writes one line per n of the range without persisting by default.
+     */
+    @Test
+    void sweep_Success() throws Exception {
+        String body = mockMvc.perform(get(SWEEP_URL)
+                        .param("x", "7").param("y", "5").param("nStart", "12340").param("nEnd", "12350").param("step", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length, "There should be one line per n of the range");
+        assertTrue(lines[1].contains("\"n\":12345") && lines[1].contains("\"result\":12339"), "The second line should contain the second result");
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    /**
+     * Test the sweep endpoint persists the results when requested.
+     */
+    @Test
+    void sweep_Persist() throws Exception {
+        mockMvc.perform(get(SWEEP_URL)
+                        .param("x", "5").param("y", "0").param("nStart", "0").param("nEnd", "9").param("persist", "true"))
+                .andExpect(status().isOk());
+
+        verify(repository, times(1)).saveAll(anyList());
+    }
+
+    /**
+     * Test the sweep endpoint rejects invalid parameters before writing any result.
+     */
+    @Test
+    void sweep_InvalidParams() throws Exception {
+        String body = mockMvc.perform(get(SWEEP_URL)
+                        .param("x", "0").param("y", "5").param("nStart", "10").param("nEnd", "9").param("step", "0"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains(String.valueOf(SPError.INVALID_PARAMS_ERROR.getErrorCode())), "The body should report the invalid parameters");
+        assertEquals(1, body.split("\n").length, "Only the error line should be written");
+    }
+
+    /**
+     * Test the sweep endpoint rejects a range whose results do not fit in a long before writing any result.
+     */
+    @Test
+    void sweep_Overflow() throws Exception {
+        String body = mockMvc.perform(get(SWEEP_URL)
+                        .param("x", "1").param("y", String.valueOf(Long.MAX_VALUE)).param("nStart", "0").param("nEnd", "10"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains(String.valueOf(SPError.OPERATION_SERVICE_ERROR_OVERFLOW.getErrorCode())), "The body should report the overflow");
+        assertEquals(1, body.split("\n").length, "Only the error line should be written");
+    }
+
+    /**
+     * Test a persisted sweep whose last chunk can not be saved ends with an error line counting the unpersisted results.
+     */
+    @Test
+    void sweep_PersistenceError() throws Exception {
+        when(repository.saveAll(anyList())).thenThrow(MockFactory.getDataBaseExceptionFactory());
+
+        String body = mockMvc.perform(get(SWEEP_URL)
+                        .param("x", "5").param("y", "0").param("nStart", "0").param("nEnd", "9").param("persist", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(11, lines.length, "The results should be followed by the error line");
+        assertTrue(lines[10].contains(String.valueOf(SPError.OPERATION_USE_CASE_ERROR_STREAM_PERSIST.getErrorCode())), "The last line should report the persistence error");
+        assertTrue(lines[10].contains("\"data\":10"), "The last line should count the unpersisted results");
+    }
+
+    private long exportStored(Consumer<Operation> consumer) {
+        consumer.accept(MockFactory.getStoredOperationDomainFactory(1L));
+        consumer.accept(MockFactory.getStoredOperationDomainFactory(2L));
+        return 2L;
+    }
+}
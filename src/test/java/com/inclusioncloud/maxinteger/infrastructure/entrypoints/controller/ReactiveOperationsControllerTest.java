@@ -0,0 +1,134 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.controller;
+
+
+import com.inclusioncloud.maxinteger.application.usecase.ReactiveCalculateUseCase;
+import com.inclusioncloud.maxinteger.application.usecase.ReactiveResultsUseCase;
+import com.inclusioncloud.maxinteger.config.exception.ErrorResponse;
+import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
+import com.inclusioncloud.maxinteger.mocks.MockFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ReactiveOperationsController} using Mockito and StepVerifier.
+ * These tests ensure the handlers emit the expected responses without blocking.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveOperationsControllerTest {
+
+    @Mock
+    private ReactiveCalculateUseCase calculateUseCase;
+
+    @Mock
+    private ReactiveResultsUseCase resultsUseCase;
+
+    @InjectMocks
+    private ReactiveOperationsController controller;
+
+    /**
+     * Test the POST handler emits a created response with the result.
+     */
+    @Test
+    void calculate_Success() {
+        OperationRequest request = MockFactory.getOperationRequestFactory();
+        when(calculateUseCase.calculate(any(Operation.class))).thenReturn(Mono.just(Operation.ofResult(15L)));
+
+        StepVerifier.create(controller.calculate(request, bindingResult(request)))
+                .assertNext(response -> assertEquals(HttpStatus.CREATED, response.getStatusCode(), "The response should be created"))
+                .verifyComplete();
+    }
+
+    /**
+     * Test the POST handler emits a bad request without calculating when validation fails.
+     */
+    @Test
+    void calculate_ValidationError() {
+        OperationRequest request = MockFactory.getOperationRequestInvalidFactory();
+        BindingResult bindingResult = bindingResult(request);
+        bindingResult.rejectValue("n", "NotNull", "N no puede ser nulo");
+
+        StepVerifier.create(controller.calculate(request, bindingResult))
+                .assertNext(response -> assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "The response should be a bad request"))
+                .verifyComplete();
+        verify(calculateUseCase, never()).calculate(any());
+    }
+
+    /**
+     * Test the POST handler emits a bad request when the use case fails.
+     */
+    @Test
+    void calculate_UseCaseError() {
+        OperationRequest request = MockFactory.getOperationRequestFactory();
+        when(calculateUseCase.calculate(any(Operation.class))).thenReturn(Mono.error(MockFactory.getCustomExceptionUseCaseFactory()));
+
+        StepVerifier.create(controller.calculate(request, bindingResult(request)))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "The response should be a bad request");
+                    assertInstanceOf(ErrorResponse.class, response.getBody(), "The body should describe the error");
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Test the GET handler streams every stored operation.
+     */
+    @Test
+    void results_Success() {
+        when(resultsUseCase.getResults(0L)).thenReturn(Flux.just(
+                MockFactory.getStoredOperationDomainFactory(1L), MockFactory.getStoredOperationDomainFactory(2L)));
+
+        ResponseEntity<Flux<Object>> response = controller.results(0L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "The response should be ok");
+        StepVerifier.create(response.getBody())
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    /**
+     * Test the GET handler ends the stream with an error element when reading fails.
+     */
+    @Test
+    void results_Error() {
+        when(resultsUseCase.getResults(0L)).thenReturn(Flux.error(MockFactory.getCustomExceptionUseCaseFactory()));
+
+        StepVerifier.create(controller.results(0L).getBody())
+                .assertNext(element -> assertEquals(SPError.OPERATION_USE_CASE_ERROR_RESULTS.getErrorCode(), ((ErrorResponse) element).getCodeStatus(),
+                        "The last element should report the error"))
+                .verifyComplete();
+    }
+
+    /**
+     * Test the GET handler rejects a negative cursor.
+     */
+    @Test
+    void results_InvalidCursor() {
+        ResponseEntity<Flux<Object>> response = controller.results(-1L);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "The response should be a bad request");
+        verify(resultsUseCase, never()).getResults(anyLong());
+    }
+
+    private BindingResult bindingResult(OperationRequest request) {
+        return new BeanPropertyBindingResult(request, "request");
+    }
+}
@@ -0,0 +1,145 @@
+package com.inclusioncloud.maxinteger.infrastructure.entrypoints.filter;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inclusioncloud.maxinteger.application.admission.AdaptiveConcurrencyLimiter;
+import com.inclusioncloud.maxinteger.infrastructure.entrypoints.controller.OperationsController;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link ConcurrencyLimitFilter}.
+ * These tests validate that requests above the limit are rejected before the controller and that the excluded
+ * paths are never limited.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    /**
+     * Setup of a filter whose limiter admits a single request.
+     */
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1), 0.5);
+        filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper(), Set.of("/operation/stream"));
+    }
+
+    /**
+     * Test to ensure an admitted request reaches the controller and is released when it finishes.
+     */
+    @Test
+    void doFilter_Admitted() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/operation"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest(), "The request should reach the controller");
+        assertEquals(0, limiter.inFlight(), "The request should be released");
+    }
+
+    /**
+     * Test to ensure a request above the limit is answered with 503 without reaching the controller.
+     */
+    @Test
+    void doFilter_Rejected() throws Exception {
+        assertTrue(limiter.tryAcquire(), "The only slot should be taken");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request("/operation"), response, chain);
+
+        assertEquals(503, response.getStatus(), "The request should be rejected");
+        assertEquals(ConcurrencyLimitFilter.RETRY_AFTER_SECONDS, response.getHeader(HttpHeaders.RETRY_AFTER), "The client should be told when to retry");
+        assertTrue(response.getContentAsString().contains("1025"), "The error code should be returned");
+        assertEquals(1L, limiter.rejectedCount(), "The rejection should be counted");
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    /**
+     * Test to ensure an excluded path is not limited.
+     */
+    @Test
+    void doFilter_ExcludedPath() throws Exception {
+        assertTrue(limiter.tryAcquire(), "The only slot should be taken");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/operation/stream"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest(), "The streaming request should reach the controller");
+        assertEquals(0L, limiter.rejectedCount(), "The streaming request should not be rejected");
+    }
+
+    /**
+     * Test to ensure a request with an idempotency key is let through, the controller takes its slot when it runs.
+     */
+    @Test
+    void doFilter_IdempotencyKey() throws Exception {
+        assertTrue(limiter.tryAcquire(), "The only slot should be taken");
+        MockHttpServletRequest request = request("/operation");
+        request.addHeader(OperationsController.IDEMPOTENCY_KEY_HEADER, "key");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest(), "The idempotent request should reach the controller");
+        assertEquals(0L, limiter.rejectedCount(), "The idempotent request should not be rejected by the filter");
+    }
+
+    /**
+     * Test to ensure an idempotency key does not let a request to another endpoint through the limit.
+     */
+    @Test
+    void doFilter_IdempotencyKeyOnOtherRequest() throws Exception {
+        assertTrue(limiter.tryAcquire(), "The only slot should be taken");
+        MockHttpServletRequest request = request("GET", "/operation");
+        request.addHeader(OperationsController.IDEMPOTENCY_KEY_HEADER, "key");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(503, response.getStatus(), "The request should be rejected");
+        assertEquals(1L, limiter.rejectedCount(), "The rejection should be counted");
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    /**
+     * Test to ensure a request that throws is released.
+     */
+    @Test
+    void doFilter_ReleasesOnError() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        doThrow(new IllegalStateException("boom")).when(chain).doFilter(any(), any());
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request("/operation"), new MockHttpServletResponse(), chain),
+                "The error should be propagated");
+        assertEquals(0, limiter.inFlight(), "The failed request should be released");
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return request("POST", path);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1" + path);
+        request.setContextPath("/api/v1");
+        return request;
+    }
+}
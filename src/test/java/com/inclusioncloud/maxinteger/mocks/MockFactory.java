@@ -4,9 +4,18 @@ package com.inclusioncloud.maxinteger.mocks;
 import com.inclusioncloud.maxinteger.config.exception.CustomException;
 import com.inclusioncloud.maxinteger.config.exception.DataBaseException;
 import com.inclusioncloud.maxinteger.config.exception.SPError;
+import com.inclusioncloud.maxinteger.domain.models.Congruence;
 import com.inclusioncloud.maxinteger.domain.models.Operation;
+import com.inclusioncloud.maxinteger.domain.models.OperationPage;
+import com.inclusioncloud.maxinteger.domain.models.OperationStats;
+import com.inclusioncloud.maxinteger.domain.models.ResultSummary;
+import com.inclusioncloud.maxinteger.domain.models.WideOperation;
 import com.inclusioncloud.maxinteger.infrastructure.entrypoints.model.OperationRequest;
 
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
 /**
  * The {@code MockFactory} class is a utility class for creating mock objects for testing.
  * It provides static methods to generate various mock objects and data structures,
@@ -21,6 +30,7 @@ public class MockFactory {
     private static final Long y = 5L;
     private static final Long n = 15L;
     private static final Long result = 15L;
+    private static final BigInteger wideN = new BigInteger("123456789012345678901234567890");
 
     /**
      * Returns a JSON string representing a valid operation request.
@@ -40,6 +50,60 @@ public class MockFactory {
         return "{\"x\":5,\"y\":0}";
     }
 
+    /**
+     * Returns a JSON string representing a valid operation request whose n does not fit in 64 bits.
+     *
+     * @return A valid JSON string for a wide operation request.
+     */
+    public static String getJsonWideContentValid(){
+        return "{\"x\":7,\"y\":5,\"n\":" + wideN + "}";
+    }
+
+    /**
+     * Returns a JSON string representing a batch operation request with an element whose n does not fit in 64 bits.
+     *
+     * @return A JSON string for a batch operation request with a wide element.
+     */
+    public static String getJsonBatchContentWide(){
+        return "{\"operations\":[{\"x\":7,\"y\":5,\"n\":12345},{\"x\":7,\"y\":5,\"n\":" + wideN + "}]}";
+    }
+
+    /**
+     * Returns a JSON string representing a valid multi-constraint request.
+     *
+     * @return A valid JSON string for a constraints request.
+     */
+    public static String getJsonConstraintsContentValid(){
+        return "{\"n\":1000,\"constraints\":[{\"x\":3,\"y\":2},{\"x\":5,\"y\":3},{\"x\":7,\"y\":2}]}";
+    }
+
+    /**
+     * Returns a JSON string representing a multi-constraint request with a remainder not lower than its divisor.
+     *
+     * @return An invalid JSON string for a constraints request.
+     */
+    public static String getJsonConstraintsContentInvalid(){
+        return "{\"n\":1000,\"constraints\":[{\"x\":3,\"y\":3}]}";
+    }
+
+    /**
+     * Returns a JSON string representing a valid batch operation request.
+     *
+     * @return A valid JSON string for batch operation request.
+     */
+    public static String getJsonBatchContentValid(){
+        return "{\"operations\":[{\"x\":7,\"y\":5,\"n\":12345},{\"x\":5,\"y\":0,\"n\":4}]}";
+    }
+
+    /**
+     * Returns a JSON string representing a batch operation request with an invalid element.
+     *
+     * @return An invalid JSON string for batch operation request.
+     */
+    public static String getJsonBatchContentInvalid(){
+        return "{\"operations\":[{\"x\":7,\"y\":5,\"n\":12345},{\"x\":5,\"y\":0}]}";
+    }
+
     /**
      * Creates and returns an instance of {@link OperationRequest} with valid predefined values.
      *
@@ -47,9 +111,9 @@ public class MockFactory {
      */
     public static OperationRequest getOperationRequestFactory(){
         OperationRequest mock = new OperationRequest();
-        mock.setX(x);
-        mock.setY(y);
-        mock.setN(n);
+        mock.setX(BigInteger.valueOf(x));
+        mock.setY(BigInteger.valueOf(y));
+        mock.setN(BigInteger.valueOf(n));
         return mock;
     }
 
@@ -60,8 +124,8 @@ public class MockFactory {
      */
     public static OperationRequest getOperationRequestInvalidFactory(){
         OperationRequest mock = new OperationRequest();
-        mock.setX(x);
-        mock.setY(y);
+        mock.setX(BigInteger.valueOf(x));
+        mock.setY(BigInteger.valueOf(y));
         // 'n' is intentionally omitted to simulate an invalid mock
         return mock;
     }
@@ -79,6 +143,30 @@ public class MockFactory {
                 .result(result).build();
     }
 
+    /**
+     * Creates and returns a stored {@link Operation} object with its identifier.
+     *
+     * @param id The identifier of the stored operation.
+     * @return A mock stored {@link Operation} object.
+     */
+    public static Operation getStoredOperationDomainFactory(long id){
+        return Operation.builder()
+                .id(id)
+                .x(x)
+                .y(y)
+                .n(n)
+                .result(result).build();
+    }
+
+    /**
+     * Creates and returns a {@link OperationPage} with one stored operation and a cursor to the next page.
+     *
+     * @return A mock {@link OperationPage} object.
+     */
+    public static OperationPage getOperationPageFactory(){
+        return new OperationPage(List.of(getStoredOperationDomainFactory(1L)), 1L);
+    }
+
     /**
      * Creates and returns a {@link Operation} object simulating a borderline case.
      *
@@ -91,6 +179,36 @@ public class MockFactory {
                 .n(20L).build();
     }
 
+    /**
+     * Creates and returns a batch of {@link Operation} objects without results, as received from a batch request.
+     *
+     * @return A list of mock {@link Operation} objects.
+     */
+    public static List<Operation> getOperationBatchDomainFactory(){
+        return List.of(
+                Operation.builder().x(7L).y(5L).n(12345L).build(),
+                Operation.builder().x(5L).y(0L).n(4L).build(),
+                Operation.builder().x(x).y(0L).n(20L).build());
+    }
+
+    /**
+     * Creates and returns a {@link WideOperation} object without result whose n does not fit in 64 bits.
+     *
+     * @return A mock {@link WideOperation} object.
+     */
+    public static WideOperation getWideOperationDomainFactory(){
+        return new WideOperation(BigInteger.valueOf(7L), BigInteger.valueOf(5L), wideN, null);
+    }
+
+    /**
+     * Creates and returns the constraints k mod 3 = 2, k mod 5 = 3 and k mod 7 = 2, whose solutions are 23 modulo 105.
+     *
+     * @return A list of mock {@link Congruence} objects.
+     */
+    public static List<Congruence> getCongruenceDomainFactory(){
+        return List.of(new Congruence(3L, 2L), new Congruence(5L, 3L), new Congruence(7L, 2L));
+    }
+
     /**
      * Creates and returns a {@link Operation} object with invalid values.
      *
@@ -129,4 +247,15 @@ public class MockFactory {
     public static DataBaseException getDataBaseExceptionFactory(){
         return new DataBaseException(SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorCode(), SPError.OPERATION_ADAPTER_FIND_ERROR.getErrorMessage(), new Throwable("Default cause"));
     }
+
+    /**
+     * Creates and returns an {@link OperationStats} object with the statistics of the default operation,
+     * overall and for its divisor.
+     *
+     * @return A mock {@link OperationStats} object.
+     */
+    public static OperationStats getOperationStatsFactory(){
+        ResultSummary summary = new ResultSummary(1L, 15L, 15L, 15.0, 1L, 15L, 15L, 15L);
+        return new OperationStats(summary, Map.of(x, summary), 0L);
+    }
 }